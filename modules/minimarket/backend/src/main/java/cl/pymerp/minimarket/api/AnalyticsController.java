@@ -0,0 +1,67 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.service.CategoryService;
+import cl.pymerp.minimarket.service.LiveSalesService;
+import cl.pymerp.minimarket.service.SalesAnalyticsService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+  private final SalesAnalyticsService analyticsService;
+  private final LiveSalesService liveSalesService;
+  private final CategoryService categoryService;
+
+  public AnalyticsController(
+      SalesAnalyticsService analyticsService,
+      LiveSalesService liveSalesService,
+      CategoryService categoryService) {
+    this.analyticsService = analyticsService;
+    this.liveSalesService = liveSalesService;
+    this.categoryService = categoryService;
+  }
+
+  @GetMapping("/top-products")
+  public List<ProductSalesResponse> topProducts(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "units") String by,
+      @RequestParam(required = false) UUID categoryId,
+      @RequestParam(defaultValue = "10") int limit) {
+    return analyticsService.topProducts(
+        from, to, by, categoryId != null ? categoryService.subtree(categoryId) : null, limit);
+  }
+
+  @GetMapping("/sales-heatmap")
+  public List<SalesHeatmapCell> salesHeatmap(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return analyticsService.heatmap(from, to);
+  }
+
+  @GetMapping("/category-margin")
+  public List<CategoryMarginResponse> categoryMargin(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return analyticsService.categoryMargin(from, to);
+  }
+
+  @GetMapping("/live/top-products")
+  public List<LiveTopProductResponse> liveTopProducts(
+      @RequestParam(defaultValue = "hour") String window,
+      @RequestParam(defaultValue = "20") int limit) {
+    return liveSalesService.topProducts(window, limit);
+  }
+
+  @GetMapping("/live/web-customers")
+  public LiveCustomersResponse liveWebCustomers() {
+    return liveSalesService.webCustomersToday();
+  }
+}
@@ -0,0 +1,76 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.security.UserPrincipal;
+import cl.pymerp.minimarket.service.CategoryService;
+import cl.pymerp.minimarket.service.ProductPage;
+import cl.pymerp.minimarket.service.ProductService;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/categories")
+public class CategoryController {
+  private final CategoryService categoryService;
+  private final ProductService productService;
+
+  public CategoryController(CategoryService categoryService, ProductService productService) {
+    this.categoryService = categoryService;
+    this.productService = productService;
+  }
+
+  @GetMapping("/tree")
+  public CategoryTreeResponse tree(
+      @RequestParam(defaultValue = "true") boolean visibleOnly,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    if (!visibleOnly) {
+      requireAdmin(principal);
+    }
+    return categoryService.tree(visibleOnly);
+  }
+
+  @GetMapping("/{id}/products")
+  public ResponseEntity<List<ProductResponse>> products(
+      @PathVariable UUID id,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int limit) {
+    categoryService.visibleNode(id);
+    ProductPage page = productService.visibleCategoryPage(id, cursor, limit);
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.getNextCursor() != null) {
+      response.header("X-Next-Cursor", page.getNextCursor());
+    }
+    return response.body(page.getItems());
+  }
+
+  @PostMapping
+  public CategoryTreeResponse.Node create(
+      @Valid @RequestBody CategoryRequest request,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    requireAdmin(principal);
+    return categoryService.node(categoryService.create(request));
+  }
+
+  @PutMapping("/{id}")
+  public CategoryTreeResponse.Node update(
+      @PathVariable UUID id,
+      @Valid @RequestBody CategoryRequest request,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    requireAdmin(principal);
+    return categoryService.node(categoryService.update(id, request));
+  }
+
+  private void requireAdmin(UserPrincipal principal) {
+    if (principal == null || principal.getRole() == null) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sin permisos");
+    }
+    if (!"ADMIN".equalsIgnoreCase(principal.getRole())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sin permisos");
+    }
+  }
+}
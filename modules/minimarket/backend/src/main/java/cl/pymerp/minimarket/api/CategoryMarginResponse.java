@@ -0,0 +1,18 @@
+package cl.pymerp.minimarket.api;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class CategoryMarginResponse {
+  private UUID categoryId;
+  private String categoryName;
+  private long units;
+  private BigDecimal revenue;
+  private BigDecimal cost;
+  private BigDecimal grossMargin;
+  private BigDecimal marginRate;
+}
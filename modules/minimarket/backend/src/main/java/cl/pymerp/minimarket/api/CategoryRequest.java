@@ -0,0 +1,18 @@
+package cl.pymerp.minimarket.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CategoryRequest {
+  @NotBlank
+  @Size(max = 150)
+  private String name;
+
+  private UUID parentId;
+  private boolean visibleWeb = true;
+}
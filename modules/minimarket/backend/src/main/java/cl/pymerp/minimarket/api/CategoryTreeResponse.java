@@ -0,0 +1,26 @@
+package cl.pymerp.minimarket.api;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class CategoryTreeResponse {
+  private int categoryCount;
+  private List<Node> roots;
+
+  @Getter
+  @Builder
+  public static class Node {
+    private UUID id;
+    private String name;
+    private UUID parentId;
+    private boolean visibleWeb;
+    private int depth;
+    private long productCount;
+    private long subtreeProductCount;
+    private List<Node> children;
+  }
+}
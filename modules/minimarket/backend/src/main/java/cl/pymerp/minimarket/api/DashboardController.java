@@ -1,21 +1,43 @@
 package cl.pymerp.minimarket.api;
 
+import cl.pymerp.minimarket.domain.SaleType;
 import cl.pymerp.minimarket.service.DashboardService;
+import cl.pymerp.minimarket.service.SalesRollupService;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
   private final DashboardService dashboardService;
+  private final SalesRollupService salesRollupService;
 
-  public DashboardController(DashboardService dashboardService) {
+  public DashboardController(DashboardService dashboardService, SalesRollupService salesRollupService) {
     this.dashboardService = dashboardService;
+    this.salesRollupService = salesRollupService;
   }
 
   @GetMapping("/summary")
   public DashboardResponse summary() {
     return dashboardService.getSummary();
   }
+
+  @GetMapping("/sales/daily")
+  public List<SalesDailyResponse> salesDaily(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(required = false) SaleType saleType) {
+    return salesRollupService.daily(from, to, saleType);
+  }
+
+  @GetMapping("/sales/breakdown")
+  public List<SalesBreakdownResponse> salesBreakdown(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+    return salesRollupService.breakdown(date);
+  }
 }
@@ -16,6 +16,8 @@ public class DashboardResponse {
   private List<WebOrderSummary> pendingOrders;
   private List<LowStockItem> lowStock;
   private List<AdjustmentItem> recentAdjustments;
+  private boolean degraded;
+  private List<String> degradedSections;
 
   @Getter
   @Builder
@@ -0,0 +1,149 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.domain.ExportDataset;
+import cl.pymerp.minimarket.domain.ExportFormat;
+import cl.pymerp.minimarket.security.UserPrincipal;
+import cl.pymerp.minimarket.service.ExportService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+@RestController
+@RequestMapping("/api/exports")
+public class ExportController {
+  private final ExportService exportService;
+  private final Executor exportExecutor;
+  private final long timeoutMillis;
+
+  public ExportController(
+      ExportService exportService,
+      @Qualifier("exportExecutor") Executor exportExecutor,
+      @Value("${app.exports.timeout-ms:1800000}") long timeoutMillis) {
+    this.exportService = exportService;
+    this.exportExecutor = exportExecutor;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  @GetMapping("/local-sales")
+  public ResponseEntity<ResponseBodyEmitter> localSales(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "csv") String format,
+      @RequestParam(required = false) Long sinceVersion,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    return export(ExportDataset.LOCAL_SALES, from, to, format, sinceVersion, principal);
+  }
+
+  @GetMapping("/movements")
+  public ResponseEntity<ResponseBodyEmitter> movements(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "csv") String format,
+      @RequestParam(required = false) Long sinceVersion,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    return export(ExportDataset.MOVEMENTS, from, to, format, sinceVersion, principal);
+  }
+
+  @GetMapping("/payments")
+  public ResponseEntity<ResponseBodyEmitter> payments(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "csv") String format,
+      @RequestParam(required = false) Long sinceVersion,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    return export(ExportDataset.PAYMENTS, from, to, format, sinceVersion, principal);
+  }
+
+  private ResponseEntity<ResponseBodyEmitter> export(
+      ExportDataset dataset,
+      LocalDate from,
+      LocalDate to,
+      String format,
+      Long sinceVersion,
+      UserPrincipal principal) {
+    requireAdmin(principal);
+    ExportFormat exportFormat = parseFormat(format);
+    exportService.validate(from, to);
+    long version = exportService.currentVersion();
+    if (sinceVersion != null && sinceVersion > version) {
+      throw new IllegalArgumentException("sinceVersion no corresponde a esta base");
+    }
+    String filename = dataset.name().toLowerCase(Locale.ROOT).replace('_', '-')
+        + "." + exportFormat.name().toLowerCase(Locale.ROOT) + ".gz";
+    // Own executor and timeout instead of the MVC async defaults shared by every other async endpoint.
+    ResponseBodyEmitter body = new ResponseBodyEmitter(timeoutMillis);
+    try {
+      exportExecutor.execute(() -> {
+        try {
+          exportService.export(dataset, exportFormat, from, to, sinceVersion, version, new EmitterOutputStream(body));
+          body.complete();
+        } catch (IOException | RuntimeException ex) {
+          body.completeWithError(ex);
+        }
+      });
+    } catch (RejectedExecutionException ex) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Demasiadas exportaciones en curso");
+    }
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/gzip"))
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+        .header("X-Export-Version", Long.toString(version))
+        .body(body);
+  }
+
+  private static final class EmitterOutputStream extends OutputStream {
+    private final ResponseBodyEmitter emitter;
+
+    private EmitterOutputStream(ResponseBodyEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      if (length > 0) {
+        // Copied because the emitter may hold the chunk until the response is ready.
+        emitter.send(Arrays.copyOfRange(bytes, offset, offset + length), MediaType.APPLICATION_OCTET_STREAM);
+      }
+    }
+  }
+
+  private ExportFormat parseFormat(String format) {
+    try {
+      return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException("format debe ser csv o ndjson");
+    }
+  }
+
+  private void requireAdmin(UserPrincipal principal) {
+    if (principal == null || principal.getRole() == null) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sin permisos");
+    }
+    if (!"ADMIN".equalsIgnoreCase(principal.getRole())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sin permisos");
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.service.FlashSaleService;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/flash-sales")
+public class FlashSaleController {
+  private final FlashSaleService flashSaleService;
+
+  public FlashSaleController(FlashSaleService flashSaleService) {
+    this.flashSaleService = flashSaleService;
+  }
+
+  @GetMapping
+  public List<FlashSaleResponse> list() {
+    return flashSaleService.list();
+  }
+
+  @PostMapping
+  public FlashSaleResponse enable(@Valid @RequestBody FlashSaleRequest request) {
+    return flashSaleService.enable(request.getProductId());
+  }
+
+  @DeleteMapping("/{productId}")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void disable(@PathVariable UUID productId) {
+    flashSaleService.disable(productId);
+  }
+}
@@ -0,0 +1,13 @@
+package cl.pymerp.minimarket.api;
+
+import java.util.UUID;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class FlashSaleRequest {
+  @NotNull
+  private UUID productId;
+}
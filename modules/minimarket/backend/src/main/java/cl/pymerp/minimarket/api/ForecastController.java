@@ -0,0 +1,45 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.security.UserPrincipal;
+import cl.pymerp.minimarket.service.DemandForecastService;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/forecast")
+public class ForecastController {
+  private final DemandForecastService forecastService;
+
+  public ForecastController(DemandForecastService forecastService) {
+    this.forecastService = forecastService;
+  }
+
+  @GetMapping("/reorder-suggestions")
+  public List<ReorderSuggestionResponse> reorderSuggestions(@RequestParam(defaultValue = "100") int limit) {
+    return forecastService.reorderSuggestions(limit);
+  }
+
+  @PostMapping("/run")
+  public ResponseEntity<Void> run(@AuthenticationPrincipal UserPrincipal principal) {
+    requireAdmin(principal);
+    forecastService.start();
+    return ResponseEntity.accepted().build();
+  }
+
+  private void requireAdmin(UserPrincipal principal) {
+    if (principal == null || principal.getRole() == null) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sin permisos");
+    }
+    if (!"ADMIN".equalsIgnoreCase(principal.getRole())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sin permisos");
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package cl.pymerp.minimarket.api;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ForecastRunResponse {
+  private int products;
+  private int chunks;
+  private long durationMs;
+}
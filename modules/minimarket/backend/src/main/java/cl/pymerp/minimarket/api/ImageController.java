@@ -0,0 +1,56 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.service.ImageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+  private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+
+  private final ImageService imageService;
+
+  public ImageController(ImageService imageService) {
+    this.imageService = imageService;
+  }
+
+  @GetMapping("/{hash}/{size}.jpg")
+  public void thumbnail(
+      @PathVariable String hash,
+      @PathVariable int size,
+      HttpServletRequest request,
+      HttpServletResponse response) throws IOException {
+    String etag = "\"" + hash + "-" + size + "\"";
+    if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+      response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER);
+      response.setHeader(HttpHeaders.ETAG, etag);
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+    Resource image = imageService.thumbnail(hash, size);
+    long length = image.contentLength();
+    response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER);
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+    response.setContentLengthLong(length);
+    if (image.isFile() && Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+      request.setAttribute("org.apache.tomcat.sendfile.filename", image.getFile().getAbsolutePath());
+      request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+      request.setAttribute("org.apache.tomcat.sendfile.end", length);
+      return;
+    }
+    try (InputStream input = image.getInputStream()) {
+      input.transferTo(response.getOutputStream());
+    }
+  }
+}
@@ -2,11 +2,14 @@ package cl.pymerp.minimarket.api;
 
 import cl.pymerp.minimarket.domain.InventoryMovement;
 import cl.pymerp.minimarket.security.UserPrincipal;
+import cl.pymerp.minimarket.service.CostLayerService;
 import cl.pymerp.minimarket.service.InventoryService;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,9 +17,11 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/inventory")
 public class InventoryController {
   private final InventoryService inventoryService;
+  private final CostLayerService costLayerService;
 
-  public InventoryController(InventoryService inventoryService) {
+  public InventoryController(InventoryService inventoryService, CostLayerService costLayerService) {
     this.inventoryService = inventoryService;
+    this.costLayerService = costLayerService;
   }
 
   @PostMapping("/purchase")
@@ -40,16 +45,17 @@ public class InventoryController {
   }
 
   @GetMapping("/{productId}/stock")
-  public StockResponse getStock(@PathVariable UUID productId) {
+  public ResponseEntity<StockResponse> getStock(@PathVariable UUID productId) {
     long stockOnHand = inventoryService.getStockOnHand(productId);
     long reserved = inventoryService.getReserved(productId);
     long available = stockOnHand - reserved;
-    return StockResponse.builder()
+    StockResponse stock = StockResponse.builder()
         .productId(productId)
         .stockOnHand(stockOnHand)
         .reserved(reserved)
         .available(available)
         .build();
+    return ResponseEntity.ok().header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(stock);
   }
 
   @GetMapping("/{productId}/movements")
@@ -57,6 +63,11 @@ public class InventoryController {
     return inventoryService.getMovements(productId).stream().map(this::toResponse).collect(Collectors.toList());
   }
 
+  @GetMapping("/valuation")
+  public InventoryValuationResponse getValuation() {
+    return costLayerService.valuation();
+  }
+
   private MovementResponse toResponse(InventoryMovement movement) {
     return MovementResponse.builder()
         .id(movement.getId())
@@ -67,6 +78,7 @@ public class InventoryController {
         .documentType(movement.getDocumentType())
         .documentNumber(movement.getDocumentNumber())
         .notes(movement.getNotes())
+        .costAmount(movement.getCostAmount())
         .userId(movement.getUser().getId())
         .createdAt(movement.getCreatedAt())
         .build();
@@ -0,0 +1,25 @@
+package cl.pymerp.minimarket.api;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class InventoryValuationResponse {
+  private long totalUnits;
+  private BigDecimal totalValue;
+  private List<ProductValuation> products;
+
+  @Getter
+  @Builder
+  public static class ProductValuation {
+    private UUID productId;
+    private String name;
+    private long units;
+    private BigDecimal value;
+    private BigDecimal averageUnitCost;
+  }
+}
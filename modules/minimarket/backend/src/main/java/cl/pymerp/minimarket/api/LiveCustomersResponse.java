@@ -0,0 +1,12 @@
+package cl.pymerp.minimarket.api;
+
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class LiveCustomersResponse {
+  private LocalDate date;
+  private long distinctCustomers;
+}
@@ -0,0 +1,14 @@
+package cl.pymerp.minimarket.api;
+
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class LiveTopProductResponse {
+  private UUID productId;
+  private String name;
+  private long units;
+  private long maxError;
+}
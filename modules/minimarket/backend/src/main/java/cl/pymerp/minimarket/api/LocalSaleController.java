@@ -41,14 +41,14 @@ public class LocalSaleController {
   }
 
   @PostMapping
-  public LocalSaleResponse create(
+  public ResponseEntity<LocalSaleResponse> create(
       @Valid @RequestBody LocalSaleRequest request,
       @AuthenticationPrincipal UserPrincipal principal) {
     if (request.getUserId() == null && principal != null) {
       request.setUserId(principal.getId());
     }
     LocalSale sale = localSaleService.create(request);
-    return toResponse(sale);
+    return ResponseEntity.ok().header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(toResponse(sale));
   }
 
   @GetMapping("/{id}/receipt.pdf")
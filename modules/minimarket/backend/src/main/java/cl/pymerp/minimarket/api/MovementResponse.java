@@ -2,6 +2,7 @@ package cl.pymerp.minimarket.api;
 
 import cl.pymerp.minimarket.domain.MovementReason;
 import cl.pymerp.minimarket.domain.MovementType;
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 import lombok.Builder;
@@ -18,6 +19,7 @@ public class MovementResponse {
   private String documentType;
   private String documentNumber;
   private String notes;
+  private BigDecimal costAmount;
   private UUID userId;
   private OffsetDateTime createdAt;
 }
@@ -0,0 +1,212 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.domain.PaymentMethod;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class PosProtobufCodec {
+  private static final PaymentMethod[] PAYMENT_METHODS = PaymentMethod.values();
+
+  private PosProtobufCodec() {}
+
+  public static boolean canEncode(Object value) {
+    if (value instanceof List<?> list) {
+      return list.isEmpty() || list.get(0) instanceof ProductResponse || list.get(0) instanceof ProductSuggestionResponse;
+    }
+    return value instanceof ProductResponse
+        || value instanceof StockResponse
+        || value instanceof LocalSaleResponse
+        || value instanceof SyncChangesResponse;
+  }
+
+  public static byte[] encode(Object value) {
+    if (value instanceof List<?> list) {
+      ProtobufWriter writer = new ProtobufWriter(list.size() * 96);
+      for (Object item : list) {
+        int start = writer.beginMessage(1);
+        if (item instanceof ProductResponse product) {
+          writeProduct(writer, product);
+        } else if (item instanceof ProductSuggestionResponse suggestion) {
+          writeSuggestion(writer, suggestion);
+        } else {
+          throw new IllegalArgumentException("tipo no soportado en protobuf: " + item.getClass().getSimpleName());
+        }
+        writer.endMessage(start);
+      }
+      return writer.toByteArray();
+    }
+    ProtobufWriter writer = new ProtobufWriter(256);
+    if (value instanceof ProductResponse product) {
+      writeProduct(writer, product);
+    } else if (value instanceof StockResponse stock) {
+      writer.writeUuid(1, stock.getProductId());
+      writer.writeSint64(2, stock.getStockOnHand());
+      writer.writeSint64(3, stock.getReserved());
+      writer.writeSint64(4, stock.getAvailable());
+    } else if (value instanceof LocalSaleResponse sale) {
+      writeSale(writer, sale);
+    } else if (value instanceof SyncChangesResponse changes) {
+      writeChanges(writer, changes);
+    } else {
+      throw new IllegalArgumentException("tipo no soportado en protobuf: " + value.getClass().getSimpleName());
+    }
+    return writer.toByteArray();
+  }
+
+  public static List<ProductResponse> decodeProducts(byte[] bytes) {
+    ProtobufReader reader = new ProtobufReader(bytes);
+    List<ProductResponse> products = new ArrayList<>();
+    for (int tag = reader.readTag(); tag != 0; tag = reader.readTag()) {
+      if (ProtobufReader.field(tag) == 1) {
+        products.add(readProduct(reader.readMessage()));
+      } else {
+        reader.skip(tag);
+      }
+    }
+    return products;
+  }
+
+  public static LocalSaleRequest decodeSaleRequest(byte[] bytes) {
+    ProtobufReader reader = new ProtobufReader(bytes);
+    LocalSaleRequest request = new LocalSaleRequest();
+    List<LocalSaleItemRequest> items = new ArrayList<>();
+    for (int tag = reader.readTag(); tag != 0; tag = reader.readTag()) {
+      switch (ProtobufReader.field(tag)) {
+        case 1 -> request.setUserId(reader.readUuid());
+        case 2 -> items.add(readSaleItem(reader.readMessage()));
+        case 3 -> {
+          long method = reader.readVarint();
+          request.setMethod(method >= 1 && method <= PAYMENT_METHODS.length ? PAYMENT_METHODS[(int) method - 1] : null);
+        }
+        default -> reader.skip(tag);
+      }
+    }
+    request.setItems(items);
+    return request;
+  }
+
+  private static void writeProduct(ProtobufWriter writer, ProductResponse product) {
+    writer.writeUuid(1, product.getId());
+    writer.writeUuid(2, product.getCategoryId());
+    writer.writeString(3, product.getSku());
+    writer.writeString(4, product.getBarcode());
+    writer.writeString(5, product.getName());
+    writer.writeString(6, product.getDescription());
+    writer.writeString(7, product.getUnit());
+    writer.writeCents(8, product.getPrice());
+    writer.writeCents(9, product.getCost());
+    writer.writeBool(10, product.isVisibleWeb());
+    writer.writeBool(11, product.isActive());
+    writer.writeUint64(12, product.getLowStockThreshold());
+    writer.writeString(13, product.getImageHash());
+  }
+
+  private static ProductResponse readProduct(ProtobufReader reader) {
+    ProductResponse.ProductResponseBuilder product = ProductResponse.builder();
+    for (int tag = reader.readTag(); tag != 0; tag = reader.readTag()) {
+      switch (ProtobufReader.field(tag)) {
+        case 1 -> product.id(reader.readUuid());
+        case 2 -> product.categoryId(reader.readUuid());
+        case 3 -> product.sku(reader.readString());
+        case 4 -> product.barcode(reader.readString());
+        case 5 -> product.name(reader.readString());
+        case 6 -> product.description(reader.readString());
+        case 7 -> product.unit(reader.readString());
+        case 8 -> product.price(reader.readCents());
+        case 9 -> product.cost(reader.readCents());
+        case 10 -> product.visibleWeb(reader.readBool());
+        case 11 -> product.active(reader.readBool());
+        case 12 -> product.lowStockThreshold((int) reader.readVarint());
+        case 13 -> product.imageHash(reader.readString());
+        default -> reader.skip(tag);
+      }
+    }
+    return product.build();
+  }
+
+  private static void writeSuggestion(ProtobufWriter writer, ProductSuggestionResponse suggestion) {
+    writer.writeUuid(1, suggestion.getProductId());
+    writer.writeString(2, suggestion.getName());
+    writer.writeString(3, suggestion.getSku());
+    writer.writeString(4, suggestion.getBarcode());
+    writer.writeCents(5, suggestion.getPrice());
+  }
+
+  private static void writeSale(ProtobufWriter writer, LocalSaleResponse sale) {
+    writer.writeUuid(1, sale.getId());
+    writer.writeCents(2, sale.getTotalAmount());
+    if (sale.getItems() != null) {
+      for (LocalSaleItemResponse item : sale.getItems()) {
+        int start = writer.beginMessage(3);
+        writer.writeUuid(1, item.getProductId());
+        writer.writeString(2, item.getName());
+        writer.writeUint64(3, item.getQuantity());
+        writer.writeCents(4, item.getUnitPrice());
+        writer.writeCents(5, item.getLineTotal());
+        writer.endMessage(start);
+      }
+    }
+    if (sale.getCreatedAt() != null) {
+      writer.writeUint64(4, sale.getCreatedAt().toInstant().toEpochMilli());
+    }
+    writer.writeString(5, sale.getReceiptUrl());
+  }
+
+  private static LocalSaleItemRequest readSaleItem(ProtobufReader reader) {
+    LocalSaleItemRequest item = new LocalSaleItemRequest();
+    for (int tag = reader.readTag(); tag != 0; tag = reader.readTag()) {
+      switch (ProtobufReader.field(tag)) {
+        case 1 -> item.setProductId(reader.readUuid());
+        case 2 -> item.setQuantity((int) reader.readVarint());
+        default -> reader.skip(tag);
+      }
+    }
+    return item;
+  }
+
+  private static void writeChanges(ProtobufWriter writer, SyncChangesResponse changes) {
+    writer.writeUint64(1, changes.getVersion());
+    writer.writeBool(2, changes.isResetRequired());
+    if (changes.getCategories() != null) {
+      for (SyncChangesResponse.Category category : changes.getCategories()) {
+        int start = writer.beginMessage(3);
+        writer.writeUuid(1, category.getId());
+        writer.writeString(2, category.getName());
+        writer.writeUuid(3, category.getParentId());
+        writer.endMessage(start);
+      }
+    }
+    if (changes.getProducts() != null) {
+      for (SyncChangesResponse.Product product : changes.getProducts()) {
+        int start = writer.beginMessage(4);
+        writer.writeUuid(1, product.getId());
+        writer.writeUuid(2, product.getCategoryId());
+        writer.writeString(3, product.getSku());
+        writer.writeString(4, product.getBarcode());
+        writer.writeString(5, product.getName());
+        writer.writeString(6, product.getUnit());
+        writer.writeCents(7, product.getPrice());
+        writer.endMessage(start);
+      }
+    }
+    if (changes.getStock() != null) {
+      for (SyncChangesResponse.Stock stock : changes.getStock()) {
+        int start = writer.beginMessage(5);
+        writer.writeUuid(1, stock.getProductId());
+        writer.writeSint64(2, stock.getOnHand());
+        writer.endMessage(start);
+      }
+    }
+    writeIds(writer, 6, changes.getRemovedProductIds());
+    writeIds(writer, 7, changes.getRemovedCategoryIds());
+  }
+
+  private static void writeIds(ProtobufWriter writer, int field, List<UUID> ids) {
+    if (ids != null) {
+      for (UUID id : ids) {
+        writer.writeUuid(field, id);
+      }
+    }
+  }
+}
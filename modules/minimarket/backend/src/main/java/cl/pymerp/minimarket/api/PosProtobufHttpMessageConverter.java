@@ -0,0 +1,85 @@
+package cl.pymerp.minimarket.api;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+public class PosProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+  public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+  public PosProtobufHttpMessageConverter() {
+    super(PROTOBUF);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return clazz == LocalSaleRequest.class
+        || List.class.isAssignableFrom(clazz)
+        || clazz == ProductResponse.class
+        || clazz == StockResponse.class
+        || clazz == LocalSaleResponse.class
+        || clazz == SyncChangesResponse.class;
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return clazz == LocalSaleRequest.class && canRead(mediaType);
+  }
+
+  @Override
+  public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+    return type == LocalSaleRequest.class && canRead(mediaType);
+  }
+
+  @Override
+  public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+    if (!supports(clazz) || clazz == LocalSaleRequest.class || !canWrite(mediaType)) {
+      return false;
+    }
+    if (!List.class.isAssignableFrom(clazz)) {
+      return true;
+    }
+    if (!(type instanceof ParameterizedType parameterized)) {
+      return false;
+    }
+    // Only declared DTO lists: a List<?> can hold projected maps that have no protobuf encoding.
+    Type element = parameterized.getActualTypeArguments()[0];
+    return element == ProductResponse.class || element == ProductSuggestionResponse.class;
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return mediaType != null && PROTOBUF.includes(mediaType);
+  }
+
+  @Override
+  public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+    return readInternal(LocalSaleRequest.class, inputMessage);
+  }
+
+  @Override
+  protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+    try {
+      return PosProtobufCodec.decodeSaleRequest(inputMessage.getBody().readAllBytes());
+    } catch (IllegalArgumentException ex) {
+      throw new HttpMessageNotReadableException(ex.getMessage(), ex, inputMessage);
+    }
+  }
+
+  @Override
+  protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+    if (!PosProtobufCodec.canEncode(value)) {
+      throw new HttpMessageNotWritableException("Respuesta sin representacion protobuf");
+    }
+    byte[] bytes = PosProtobufCodec.encode(value);
+    outputMessage.getHeaders().setContentLength(bytes.length);
+    outputMessage.getBody().write(bytes);
+  }
+}
@@ -0,0 +1,63 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.domain.PriceChangeStatus;
+import cl.pymerp.minimarket.security.UserPrincipal;
+import cl.pymerp.minimarket.service.PriceChangeService;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/price-changes")
+public class PriceChangeController {
+  private final PriceChangeService priceChangeService;
+
+  public PriceChangeController(PriceChangeService priceChangeService) {
+    this.priceChangeService = priceChangeService;
+  }
+
+  @PostMapping("/preview")
+  public PriceChangePreviewResponse preview(
+      @Valid @RequestBody PriceChangeRequest request,
+      @RequestParam(defaultValue = "100") int limit,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    requireAdmin(principal);
+    return priceChangeService.preview(request, limit);
+  }
+
+  @PostMapping
+  public PriceChangeResponse create(
+      @Valid @RequestBody PriceChangeRequest request,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    requireAdmin(principal);
+    return priceChangeService.create(request, principal.getId());
+  }
+
+  @GetMapping
+  public List<PriceChangeResponse> list(
+      @RequestParam(required = false) PriceChangeStatus status,
+      @RequestParam(defaultValue = "50") int limit,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    requireAdmin(principal);
+    return priceChangeService.list(status, limit);
+  }
+
+  @PostMapping("/{id}/cancel")
+  public PriceChangeResponse cancel(@PathVariable UUID id, @AuthenticationPrincipal UserPrincipal principal) {
+    requireAdmin(principal);
+    return priceChangeService.cancel(id);
+  }
+
+  private void requireAdmin(UserPrincipal principal) {
+    if (principal == null || principal.getRole() == null) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sin permisos");
+    }
+    if (!"ADMIN".equalsIgnoreCase(principal.getRole())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sin permisos");
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package cl.pymerp.minimarket.api;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PriceChangePreviewResponse {
+  private long matchedCount;
+  private long changedCount;
+  private BigDecimal currentTotal;
+  private BigDecimal newTotal;
+  private List<Item> items;
+
+  @Getter
+  @Builder
+  public static class Item {
+    private UUID productId;
+    private String sku;
+    private String name;
+    private BigDecimal currentPrice;
+    private BigDecimal newPrice;
+  }
+}
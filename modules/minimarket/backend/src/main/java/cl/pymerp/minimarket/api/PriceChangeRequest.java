@@ -0,0 +1,31 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.domain.PriceChangeMode;
+import cl.pymerp.minimarket.domain.PriceRounding;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PriceChangeRequest {
+  private UUID categoryId;
+  private boolean includeSubcategories = true;
+  private String skuPrefix;
+  private List<UUID> productIds;
+  private boolean allProducts;
+
+  @NotNull
+  private PriceChangeMode mode;
+
+  @NotNull
+  private BigDecimal value;
+
+  private PriceRounding rounding = PriceRounding.NONE;
+
+  private OffsetDateTime effectiveAt;
+}
@@ -0,0 +1,31 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.domain.PriceChangeMode;
+import cl.pymerp.minimarket.domain.PriceChangeStatus;
+import cl.pymerp.minimarket.domain.PriceRounding;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PriceChangeResponse {
+  private UUID id;
+  private PriceChangeStatus status;
+  private PriceChangeMode mode;
+  private BigDecimal value;
+  private PriceRounding rounding;
+  private UUID categoryId;
+  private String skuPrefix;
+  private OffsetDateTime effectiveAt;
+  private int productCount;
+  private Integer appliedCount;
+  private Integer skippedCount;
+  private int attempts;
+  private String lastError;
+  private UUID createdBy;
+  private OffsetDateTime createdAt;
+  private OffsetDateTime appliedAt;
+}
@@ -1,20 +1,62 @@
 package cl.pymerp.minimarket.api;
 
 import cl.pymerp.minimarket.domain.Product;
+import cl.pymerp.minimarket.repository.ProductCatalogVersion;
+import cl.pymerp.minimarket.security.UserPrincipal;
+import cl.pymerp.minimarket.service.ImageService;
+import cl.pymerp.minimarket.service.ProductImportService;
+import cl.pymerp.minimarket.service.ProductPage;
+import cl.pymerp.minimarket.service.ProductSearchService;
 import cl.pymerp.minimarket.service.ProductService;
+import cl.pymerp.minimarket.service.ProductSuggestIndex;
+import cl.pymerp.minimarket.service.ProductSuggestService;
+import cl.pymerp.minimarket.service.RelatedProductsService;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
+  private static final Map<String, Function<ProductResponse, Object>> FIELDS = fields();
+
   private final ProductService productService;
+  private final RelatedProductsService relatedProductsService;
+  private final ProductSearchService searchService;
+  private final ProductSuggestService suggestService;
+  private final ProductImportService importService;
+  private final ImageService imageService;
 
-  public ProductController(ProductService productService) {
+  public ProductController(
+      ProductService productService,
+      RelatedProductsService relatedProductsService,
+      ProductSearchService searchService,
+      ProductSuggestService suggestService,
+      ProductImportService importService,
+      ImageService imageService) {
     this.productService = productService;
+    this.relatedProductsService = relatedProductsService;
+    this.searchService = searchService;
+    this.suggestService = suggestService;
+    this.importService = importService;
+    this.imageService = imageService;
   }
 
   @PostMapping
@@ -27,9 +69,188 @@ public class ProductController {
     return toResponse(productService.update(id, request));
   }
 
-  @GetMapping
-  public List<ProductResponse> list() {
-    return productService.list().stream().map(this::toResponse).collect(Collectors.toList());
+  @PostMapping(value = "/import", consumes = {"text/csv", "text/plain", "application/octet-stream"})
+  public ProductImportResponse importCsv(InputStream body, @AuthenticationPrincipal UserPrincipal principal)
+      throws IOException {
+    requireAdmin(principal);
+    return importService.importCsv(body);
+  }
+
+  @PostMapping(value = "/{id}/image", consumes = {"image/jpeg", "image/png", "application/octet-stream"})
+  public ProductImageResponse uploadImage(
+      @PathVariable UUID id,
+      InputStream body,
+      @AuthenticationPrincipal UserPrincipal principal) throws IOException {
+    requireAdmin(principal);
+    return imageService.upload(id, body);
+  }
+
+  @GetMapping(params = "!fields")
+  public ResponseEntity<List<ProductResponse>> list(
+      @RequestParam(required = false) UUID categoryId,
+      @RequestParam(defaultValue = "false") boolean includeSubcategories,
+      @RequestParam(required = false) Boolean active,
+      @RequestParam(required = false) Boolean visibleWeb,
+      @RequestParam(required = false) BigDecimal minPrice,
+      @RequestParam(required = false) BigDecimal maxPrice,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit,
+      ServletWebRequest webRequest) {
+    ProductPage page = page(
+        categoryId, includeSubcategories, active, visibleWeb, minPrice, maxPrice, cursor, limit, null, webRequest);
+    return page != null ? ok(page).body(page.getItems()) : null;
+  }
+
+  // Projected maps have no protobuf form; a separate handler lets negotiation answer 406 for them.
+  @GetMapping(params = "fields")
+  public ResponseEntity<List<Map<String, Object>>> listFields(
+      @RequestParam(required = false) UUID categoryId,
+      @RequestParam(defaultValue = "false") boolean includeSubcategories,
+      @RequestParam(required = false) Boolean active,
+      @RequestParam(required = false) Boolean visibleWeb,
+      @RequestParam(required = false) BigDecimal minPrice,
+      @RequestParam(required = false) BigDecimal maxPrice,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) List<String> fields,
+      ServletWebRequest webRequest) {
+    ProductPage page = page(
+        categoryId, includeSubcategories, active, visibleWeb, minPrice, maxPrice, cursor, limit, fields, webRequest);
+    if (page == null) {
+      return null;
+    }
+    return ok(page).body(project(page.getItems(), fields == null || fields.isEmpty() ? List.copyOf(FIELDS.keySet()) : fields));
+  }
+
+  @GetMapping("/search")
+  public ProductSearchResponse search(
+      @RequestParam String q,
+      @RequestParam(defaultValue = "false") boolean visibleWeb,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "20") int size) {
+    return searchService.search(q, visibleWeb, page, size);
+  }
+
+  @GetMapping("/suggest")
+  public ResponseEntity<List<ProductSuggestionResponse>> suggest(
+      @RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok()
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+        .body(suggestService.suggest(q, limit).stream().map(this::toSuggestion).collect(Collectors.toList()));
+  }
+
+  @GetMapping("/{id}/related")
+  public List<RelatedProductResponse> related(@PathVariable UUID id, @RequestParam(defaultValue = "8") int limit) {
+    return relatedProductsService.related(id, limit);
+  }
+
+  private ProductPage page(
+      UUID categoryId,
+      boolean includeSubcategories,
+      Boolean active,
+      Boolean visibleWeb,
+      BigDecimal minPrice,
+      BigDecimal maxPrice,
+      String cursor,
+      Integer limit,
+      List<String> fields,
+      ServletWebRequest webRequest) {
+    ProductCatalogVersion version = productService.catalogVersion();
+    String variant = String.join("|",
+        String.valueOf(categoryId), String.valueOf(includeSubcategories), String.valueOf(active),
+        String.valueOf(visibleWeb), String.valueOf(minPrice), String.valueOf(maxPrice), String.valueOf(cursor),
+        String.valueOf(limit), String.valueOf(fields),
+        negotiatedType(webRequest.getHeader(HttpHeaders.ACCEPT)).toString());
+    // Set before the conditional check so 304 responses carry it too.
+    webRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    if (webRequest.checkNotModified(version.etag(variant))) {
+      return null;
+    }
+    return productService.page(categoryId, includeSubcategories, active, visibleWeb, minPrice, maxPrice, cursor, limit);
+  }
+
+  // Mirrors the converter order: JSON is registered before protobuf, so it wins unless protobuf ranks higher.
+  private static MediaType negotiatedType(String accept) {
+    if (accept == null || accept.isBlank()) {
+      return MediaType.APPLICATION_JSON;
+    }
+    try {
+      List<MediaType> acceptable = MediaType.parseMediaTypes(accept);
+      MimeTypeUtils.sortBySpecificity(acceptable);
+      for (MediaType type : acceptable) {
+        if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+          return MediaType.APPLICATION_JSON;
+        }
+        if (type.isCompatibleWith(PosProtobufHttpMessageConverter.PROTOBUF)) {
+          return PosProtobufHttpMessageConverter.PROTOBUF;
+        }
+      }
+    } catch (IllegalArgumentException ex) {
+      // Spring rejects the header itself; the variant only has to be stable.
+    }
+    return MediaType.APPLICATION_JSON;
+  }
+
+  private ResponseEntity.BodyBuilder ok(ProductPage page) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.getNextCursor() != null) {
+      response.header("X-Next-Cursor", page.getNextCursor());
+    }
+    return response;
+  }
+
+  private List<Map<String, Object>> project(List<ProductResponse> items, List<String> fields) {
+    for (String field : fields) {
+      if (!FIELDS.containsKey(field)) {
+        throw new IllegalArgumentException("campo no soportado: " + field);
+      }
+    }
+    List<Map<String, Object>> rows = new ArrayList<>(items.size());
+    for (ProductResponse item : items) {
+      Map<String, Object> row = new LinkedHashMap<>();
+      for (String field : fields) {
+        row.put(field, FIELDS.get(field).apply(item));
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  private static Map<String, Function<ProductResponse, Object>> fields() {
+    Map<String, Function<ProductResponse, Object>> fields = new LinkedHashMap<>();
+    fields.put("id", ProductResponse::getId);
+    fields.put("categoryId", ProductResponse::getCategoryId);
+    fields.put("sku", ProductResponse::getSku);
+    fields.put("barcode", ProductResponse::getBarcode);
+    fields.put("name", ProductResponse::getName);
+    fields.put("description", ProductResponse::getDescription);
+    fields.put("unit", ProductResponse::getUnit);
+    fields.put("price", ProductResponse::getPrice);
+    fields.put("cost", ProductResponse::getCost);
+    fields.put("visibleWeb", ProductResponse::isVisibleWeb);
+    fields.put("active", ProductResponse::isActive);
+    fields.put("lowStockThreshold", ProductResponse::getLowStockThreshold);
+    fields.put("imageHash", ProductResponse::getImageHash);
+    return Map.copyOf(fields);
+  }
+
+  private void requireAdmin(UserPrincipal principal) {
+    if (principal == null || principal.getRole() == null) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sin permisos");
+    }
+    if (!"ADMIN".equalsIgnoreCase(principal.getRole())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sin permisos");
+    }
+  }
+
+  private ProductSuggestionResponse toSuggestion(ProductSuggestIndex.Suggestion suggestion) {
+    return ProductSuggestionResponse.builder()
+        .productId(suggestion.getProductId())
+        .name(suggestion.getName())
+        .sku(suggestion.getSku())
+        .barcode(suggestion.getBarcode())
+        .price(suggestion.getPrice())
+        .build();
   }
 
   private ProductResponse toResponse(Product product) {
@@ -46,6 +267,7 @@ public class ProductController {
         .visibleWeb(product.isVisibleWeb())
         .active(product.isActive())
         .lowStockThreshold(product.getLowStockThreshold())
+        .imageHash(product.getImageHash())
         .build();
   }
 }
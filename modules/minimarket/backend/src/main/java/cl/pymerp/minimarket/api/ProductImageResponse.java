@@ -0,0 +1,16 @@
+package cl.pymerp.minimarket.api;
+
+import java.util.Map;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ProductImageResponse {
+  private UUID productId;
+  private String imageHash;
+  private int width;
+  private int height;
+  private Map<Integer, String> urls;
+}
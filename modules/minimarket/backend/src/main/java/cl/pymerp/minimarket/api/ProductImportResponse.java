@@ -0,0 +1,24 @@
+package cl.pymerp.minimarket.api;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ProductImportResponse {
+  private long rows;
+  private long created;
+  private long updated;
+  private long failed;
+  private long elapsedMs;
+  private boolean errorsTruncated;
+  private List<RowError> errors;
+
+  @Getter
+  @Builder
+  public static class RowError {
+    private long line;
+    private String message;
+  }
+}
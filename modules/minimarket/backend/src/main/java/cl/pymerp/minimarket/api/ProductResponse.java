@@ -20,4 +20,5 @@ public class ProductResponse {
   private boolean visibleWeb;
   private boolean active;
   private int lowStockThreshold;
+  private String imageHash;
 }
@@ -0,0 +1,31 @@
+package cl.pymerp.minimarket.api;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ProductSearchResponse {
+  private String query;
+  private int page;
+  private int size;
+  private boolean hasMore;
+  private List<Hit> items;
+
+  @Getter
+  @Builder
+  public static class Hit {
+    private UUID id;
+    private UUID categoryId;
+    private String sku;
+    private String barcode;
+    private String name;
+    private String unit;
+    private BigDecimal price;
+    private boolean visibleWeb;
+    private double score;
+  }
+}
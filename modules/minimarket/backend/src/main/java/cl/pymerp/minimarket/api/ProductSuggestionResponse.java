@@ -0,0 +1,16 @@
+package cl.pymerp.minimarket.api;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ProductSuggestionResponse {
+  private UUID productId;
+  private String name;
+  private String sku;
+  private String barcode;
+  private BigDecimal price;
+}
@@ -0,0 +1,125 @@
+package cl.pymerp.minimarket.api;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+final class ProtobufReader {
+  private final byte[] buffer;
+  private int position;
+  private final int limit;
+
+  ProtobufReader(byte[] buffer) {
+    this(buffer, 0, buffer.length);
+  }
+
+  private ProtobufReader(byte[] buffer, int offset, int limit) {
+    this.buffer = buffer;
+    this.position = offset;
+    this.limit = limit;
+  }
+
+  int readTag() {
+    if (position >= limit) {
+      return 0;
+    }
+    long tag = readVarint();
+    if ((tag >>> 3) == 0 || tag > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("protobuf invalido: etiqueta " + tag);
+    }
+    return (int) tag;
+  }
+
+  static int field(int tag) {
+    return tag >>> 3;
+  }
+
+  long readVarint() {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = next();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("protobuf invalido: varint demasiado largo");
+  }
+
+  long readSint64() {
+    long value = readVarint();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  boolean readBool() {
+    return readVarint() != 0;
+  }
+
+  BigDecimal readCents() {
+    return BigDecimal.valueOf(readSint64(), 2);
+  }
+
+  String readString() {
+    int length = readLength();
+    String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+    position += length;
+    return value;
+  }
+
+  UUID readUuid() {
+    int length = readLength();
+    if (length != 16) {
+      throw new IllegalArgumentException("protobuf invalido: uuid de " + length + " bytes");
+    }
+    long most = readLongBigEndian();
+    long least = readLongBigEndian();
+    return new UUID(most, least);
+  }
+
+  ProtobufReader readMessage() {
+    int length = readLength();
+    ProtobufReader nested = new ProtobufReader(buffer, position, position + length);
+    position += length;
+    return nested;
+  }
+
+  void skip(int tag) {
+    switch (tag & 7) {
+      case 0 -> readVarint();
+      case 1 -> advance(8);
+      case 2 -> advance(readLength());
+      case 5 -> advance(4);
+      default -> throw new IllegalArgumentException("protobuf invalido: tipo " + (tag & 7));
+    }
+  }
+
+  private int readLength() {
+    long length = readVarint();
+    if (length < 0 || length > limit - position) {
+      throw new IllegalArgumentException("protobuf invalido: largo fuera de rango");
+    }
+    return (int) length;
+  }
+
+  private long readLongBigEndian() {
+    long value = 0;
+    for (int i = 0; i < 8; i++) {
+      value = (value << 8) | (buffer[position++] & 0xFF);
+    }
+    return value;
+  }
+
+  private void advance(int bytes) {
+    if (bytes > limit - position) {
+      throw new IllegalArgumentException("protobuf invalido: mensaje truncado");
+    }
+    position += bytes;
+  }
+
+  private byte next() {
+    if (position >= limit) {
+      throw new IllegalArgumentException("protobuf invalido: mensaje truncado");
+    }
+    return buffer[position++];
+  }
+}
@@ -0,0 +1,152 @@
+package cl.pymerp.minimarket.api;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+final class ProtobufWriter {
+  private static final int VARINT = 0;
+  private static final int LENGTH_DELIMITED = 2;
+
+  private byte[] buffer;
+  private int size;
+
+  ProtobufWriter(int capacity) {
+    this.buffer = new byte[Math.max(capacity, 16)];
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(buffer, size);
+  }
+
+  int size() {
+    return size;
+  }
+
+  void writeUint64(int field, long value) {
+    if (value != 0) {
+      writeTag(field, VARINT);
+      writeVarint(value);
+    }
+  }
+
+  void writeSint64(int field, long value) {
+    writeUint64(field, (value << 1) ^ (value >> 63));
+  }
+
+  void writeBool(int field, boolean value) {
+    if (value) {
+      writeTag(field, VARINT);
+      writeByte(1);
+    }
+  }
+
+  void writeCents(int field, BigDecimal amount) {
+    if (amount != null) {
+      writeSint64(field, amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+  }
+
+  void writeString(int field, String value) {
+    if (value == null || value.isEmpty()) {
+      return;
+    }
+    writeTag(field, LENGTH_DELIMITED);
+    int length = value.length();
+    boolean ascii = true;
+    for (int i = 0; i < length; i++) {
+      if (value.charAt(i) >= 0x80) {
+        ascii = false;
+        break;
+      }
+    }
+    if (ascii) {
+      writeVarint(length);
+      ensure(length);
+      for (int i = 0; i < length; i++) {
+        buffer[size++] = (byte) value.charAt(i);
+      }
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarint(bytes.length);
+      ensure(bytes.length);
+      System.arraycopy(bytes, 0, buffer, size, bytes.length);
+      size += bytes.length;
+    }
+  }
+
+  void writeUuid(int field, UUID value) {
+    if (value == null) {
+      return;
+    }
+    writeTag(field, LENGTH_DELIMITED);
+    writeByte(16);
+    ensure(16);
+    writeLongBigEndian(value.getMostSignificantBits());
+    writeLongBigEndian(value.getLeastSignificantBits());
+  }
+
+  int beginMessage(int field) {
+    writeTag(field, LENGTH_DELIMITED);
+    ensure(1);
+    return size++;
+  }
+
+  void endMessage(int start) {
+    int length = size - start - 1;
+    int prefix = varintSize(length);
+    if (prefix > 1) {
+      ensure(prefix - 1);
+      System.arraycopy(buffer, start + 1, buffer, start + prefix, length);
+      size += prefix - 1;
+    }
+    int position = start;
+    long value = length;
+    while ((value & ~0x7FL) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position] = (byte) value;
+  }
+
+  private void writeTag(int field, int wireType) {
+    writeVarint(((long) field << 3) | wireType);
+  }
+
+  private void writeVarint(long value) {
+    ensure(10);
+    while ((value & ~0x7FL) != 0) {
+      buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[size++] = (byte) value;
+  }
+
+  private void writeByte(int value) {
+    ensure(1);
+    buffer[size++] = (byte) value;
+  }
+
+  private void writeLongBigEndian(long value) {
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      buffer[size++] = (byte) (value >>> shift);
+    }
+  }
+
+  private void ensure(int extra) {
+    if (size + extra > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+    }
+  }
+
+  private static int varintSize(long value) {
+    int bytes = 1;
+    while ((value & ~0x7FL) != 0) {
+      value >>>= 7;
+      bytes++;
+    }
+    return bytes;
+  }
+}
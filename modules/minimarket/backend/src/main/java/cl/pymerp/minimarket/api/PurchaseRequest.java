@@ -1,9 +1,11 @@
 package cl.pymerp.minimarket.api;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -23,6 +25,9 @@ public class PurchaseRequest {
   @NotBlank
   private String documentNumber;
 
+  @PositiveOrZero
+  private BigDecimal unitCost;
+
   private String notes;
 
   private UUID userId;
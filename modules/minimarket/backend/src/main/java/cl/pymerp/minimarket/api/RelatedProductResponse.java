@@ -0,0 +1,13 @@
+package cl.pymerp.minimarket.api;
+
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class RelatedProductResponse {
+  private UUID productId;
+  private float score;
+  private float confidence;
+}
@@ -0,0 +1,23 @@
+package cl.pymerp.minimarket.api;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ReorderSuggestionResponse {
+  private UUID productId;
+  private String name;
+  private long stockOnHand;
+  private BigDecimal dailyVelocity;
+  private List<BigDecimal> weekdayFactors;
+  private BigDecimal daysOfCover;
+  private BigDecimal forecastDemand;
+  private BigDecimal safetyStock;
+  private int suggestedQuantity;
+  private OffsetDateTime computedAt;
+}
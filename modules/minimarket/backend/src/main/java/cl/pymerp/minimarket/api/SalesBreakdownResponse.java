@@ -0,0 +1,18 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.domain.SaleType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class SalesBreakdownResponse {
+  private LocalDate date;
+  private SaleType saleType;
+  private String paymentMethod;
+  private int hour;
+  private long salesCount;
+  private BigDecimal totalAmount;
+}
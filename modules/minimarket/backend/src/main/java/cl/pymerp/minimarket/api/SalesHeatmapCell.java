@@ -0,0 +1,15 @@
+package cl.pymerp.minimarket.api;
+
+import java.math.BigDecimal;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class SalesHeatmapCell {
+  private int dayOfWeek;
+  private int hour;
+  private long salesCount;
+  private long units;
+  private BigDecimal revenue;
+}
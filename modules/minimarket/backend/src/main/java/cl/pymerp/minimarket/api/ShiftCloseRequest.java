@@ -0,0 +1,15 @@
+package cl.pymerp.minimarket.api;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ShiftCloseRequest {
+  @NotNull
+  @PositiveOrZero
+  private BigDecimal countedCash;
+}
@@ -0,0 +1,59 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.security.UserPrincipal;
+import cl.pymerp.minimarket.service.ShiftService;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/shifts")
+public class ShiftController {
+  private final ShiftService shiftService;
+
+  public ShiftController(ShiftService shiftService) {
+    this.shiftService = shiftService;
+  }
+
+  @PostMapping
+  public ShiftReportResponse open(
+      @Valid @RequestBody ShiftOpenRequest request,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    return shiftService.open(requireUser(principal), request);
+  }
+
+  @GetMapping("/current")
+  public ResponseEntity<ShiftReportResponse> current(@AuthenticationPrincipal UserPrincipal principal) {
+    return shiftService.current(requireUser(principal))
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.noContent().build());
+  }
+
+  @PostMapping("/{id}/close")
+  public ShiftReportResponse close(
+      @PathVariable UUID id,
+      @Valid @RequestBody ShiftCloseRequest request,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    return shiftService.close(id, requireUser(principal), isAdmin(principal), request);
+  }
+
+  @GetMapping("/{id}/report")
+  public ShiftReportResponse report(@PathVariable UUID id, @AuthenticationPrincipal UserPrincipal principal) {
+    return shiftService.report(id, requireUser(principal), isAdmin(principal));
+  }
+
+  private UUID requireUser(UserPrincipal principal) {
+    if (principal == null) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Sesion requerida");
+    }
+    return principal.getId();
+  }
+
+  private boolean isAdmin(UserPrincipal principal) {
+    return "ADMIN".equalsIgnoreCase(principal.getRole());
+  }
+}
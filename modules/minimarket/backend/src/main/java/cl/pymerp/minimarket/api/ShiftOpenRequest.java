@@ -0,0 +1,17 @@
+package cl.pymerp.minimarket.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ShiftOpenRequest {
+  @NotBlank
+  private String terminal;
+
+  @PositiveOrZero
+  private BigDecimal openingCash;
+}
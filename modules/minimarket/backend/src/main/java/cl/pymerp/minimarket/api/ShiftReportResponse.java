@@ -0,0 +1,36 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.domain.PaymentMethod;
+import cl.pymerp.minimarket.domain.ShiftStatus;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ShiftReportResponse {
+  private UUID shiftId;
+  private UUID userId;
+  private String terminal;
+  private ShiftStatus status;
+  private OffsetDateTime openedAt;
+  private OffsetDateTime closedAt;
+  private long salesCount;
+  private BigDecimal totalAmount;
+  private BigDecimal openingCash;
+  private BigDecimal cashExpected;
+  private BigDecimal countedCash;
+  private BigDecimal cashDifference;
+  private List<MethodTotal> methods;
+
+  @Getter
+  @Builder
+  public static class MethodTotal {
+    private PaymentMethod method;
+    private long salesCount;
+    private BigDecimal totalAmount;
+  }
+}
@@ -0,0 +1,36 @@
+package cl.pymerp.minimarket.api;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class StorefrontCatalogResponse {
+  private List<CategoryNode> categories;
+  private List<ProductItem> uncategorized;
+
+  @Getter
+  @Builder
+  public static class CategoryNode {
+    private UUID id;
+    private String name;
+    private List<ProductItem> products;
+    private List<CategoryNode> children;
+  }
+
+  @Getter
+  @Builder
+  public static class ProductItem {
+    private UUID id;
+    private String name;
+    private String description;
+    private String unit;
+    private BigDecimal price;
+    private String imageHash;
+    private boolean available;
+    private boolean lowStock;
+  }
+}
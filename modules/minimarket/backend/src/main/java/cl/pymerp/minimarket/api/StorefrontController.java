@@ -0,0 +1,41 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.service.StorefrontCatalogService;
+import cl.pymerp.minimarket.service.StorefrontSnapshot;
+import java.util.Locale;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/storefront")
+public class StorefrontController {
+  private final StorefrontCatalogService catalogService;
+
+  public StorefrontController(StorefrontCatalogService catalogService) {
+    this.catalogService = catalogService;
+  }
+
+  @GetMapping("/catalog")
+  public ResponseEntity<byte[]> catalog(
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    StorefrontSnapshot snapshot = catalogService.current();
+    boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    String etag = gzip ? snapshot.gzipEtag() : snapshot.getEtag();
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .eTag(etag)
+        .lastModified(snapshot.getBuiltAt().toInstant())
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+        .cacheControl(CacheControl.noCache());
+    if (gzip) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+    }
+    return response.body(snapshot.getJson());
+  }
+}
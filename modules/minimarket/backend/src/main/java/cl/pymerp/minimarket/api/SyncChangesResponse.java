@@ -0,0 +1,50 @@
+package cl.pymerp.minimarket.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class SyncChangesResponse {
+  private long version;
+  private boolean resetRequired;
+  private List<Category> categories;
+  private List<Product> products;
+  private List<Stock> stock;
+  private List<UUID> removedProductIds;
+  private List<UUID> removedCategoryIds;
+
+  @Getter
+  @Builder
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class Category {
+    private UUID id;
+    private String name;
+    private UUID parentId;
+  }
+
+  @Getter
+  @Builder
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class Product {
+    private UUID id;
+    private UUID categoryId;
+    private String sku;
+    private String barcode;
+    private String name;
+    private String unit;
+    private BigDecimal price;
+  }
+
+  @Getter
+  @Builder
+  public static class Stock {
+    private UUID productId;
+    private long onHand;
+  }
+}
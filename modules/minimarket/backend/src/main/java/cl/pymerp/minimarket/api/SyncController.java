@@ -0,0 +1,45 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.service.SyncService;
+import cl.pymerp.minimarket.service.SyncSnapshot;
+import java.util.Locale;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+  private final SyncService syncService;
+
+  public SyncController(SyncService syncService) {
+    this.syncService = syncService;
+  }
+
+  @GetMapping("/changes")
+  public ResponseEntity<SyncChangesResponse> changes(@RequestParam long since) {
+    return ResponseEntity.ok().header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(syncService.changes(since));
+  }
+
+  @GetMapping("/snapshot")
+  public ResponseEntity<byte[]> snapshot(
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    SyncSnapshot snapshot = syncService.snapshot();
+    boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .eTag(snapshot.etag(gzip))
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+        .cacheControl(CacheControl.noCache());
+    if (gzip) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+    }
+    return response.body(snapshot.getJson());
+  }
+}
@@ -0,0 +1,91 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.service.WebOrderBoard;
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/web-orders/events")
+public class WebOrderBoardController {
+  private final WebOrderBoard board;
+  private final long pollTimeoutMillis;
+  private final long streamTimeoutMillis;
+
+  public WebOrderBoardController(
+      WebOrderBoard board,
+      @Value("${app.web-orders.board.poll-timeout-ms:25000}") long pollTimeoutMillis,
+      @Value("${app.web-orders.board.stream-timeout-ms:1800000}") long streamTimeoutMillis) {
+    this.board = board;
+    this.pollTimeoutMillis = pollTimeoutMillis;
+    this.streamTimeoutMillis = streamTimeoutMillis;
+  }
+
+  @GetMapping
+  public DeferredResult<WebOrderBoardResponse> poll(@RequestParam(defaultValue = "-1") long cursor) {
+    DeferredResult<WebOrderBoardResponse> result =
+        new DeferredResult<>(pollTimeoutMillis, () -> board.since(cursor));
+    Runnable unsubscribe = board.subscribe(
+        event -> completeIfChanged(result, cursor), () -> completeIfChanged(result, cursor));
+    result.onCompletion(unsubscribe);
+    completeIfChanged(result, cursor);
+    return result;
+  }
+
+  @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter stream(
+      @RequestParam(required = false) Long cursor,
+      @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+    SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+    BoardStream stream = new BoardStream(emitter, lastEventId != null ? lastEventId : cursor != null ? cursor : -1);
+    Runnable unsubscribe = board.subscribe(event -> stream.flush(board), emitter::complete);
+    emitter.onCompletion(unsubscribe);
+    emitter.onTimeout(unsubscribe);
+    emitter.onError(ex -> unsubscribe.run());
+    stream.flush(board);
+    return emitter;
+  }
+
+  private void completeIfChanged(DeferredResult<WebOrderBoardResponse> result, long cursor) {
+    WebOrderBoardResponse page = board.since(cursor);
+    if (page.isReset() || !page.getEvents().isEmpty()) {
+      result.setResult(page);
+    }
+  }
+
+  private static final class BoardStream {
+    private final SseEmitter emitter;
+    private long lastSent;
+
+    private BoardStream(SseEmitter emitter, long lastSent) {
+      this.emitter = emitter;
+      this.lastSent = lastSent;
+    }
+
+    private synchronized void flush(WebOrderBoard board) {
+      WebOrderBoardResponse page = board.since(lastSent);
+      try {
+        if (page.isReset()) {
+          emitter.send(SseEmitter.event()
+              .id(String.valueOf(page.getCursor()))
+              .name("RESET")
+              .data(page));
+          lastSent = page.getCursor();
+          return;
+        }
+        for (WebOrderBoardEvent event : page.getEvents()) {
+          emitter.send(SseEmitter.event()
+              .id(String.valueOf(event.getSequence()))
+              .name(event.getType())
+              .data(event));
+          lastSent = event.getSequence();
+        }
+      } catch (IOException | IllegalStateException ex) {
+        emitter.completeWithError(ex);
+      }
+    }
+  }
+}
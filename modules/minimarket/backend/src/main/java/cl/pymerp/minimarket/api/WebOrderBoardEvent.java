@@ -0,0 +1,20 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.domain.WebOrderStatus;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class WebOrderBoardEvent {
+  private long sequence;
+  private String type;
+  private UUID orderId;
+  private WebOrderStatus status;
+  private String customerName;
+  private BigDecimal totalAmount;
+  private OffsetDateTime createdAt;
+}
@@ -0,0 +1,13 @@
+package cl.pymerp.minimarket.api;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class WebOrderBoardResponse {
+  private long cursor;
+  private boolean reset;
+  private List<WebOrderBoardEvent> events;
+}
@@ -0,0 +1,23 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.domain.WebOrderStatus;
+import java.util.List;
+import java.util.UUID;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class WebOrderBulkStatusRequest {
+  @NotEmpty
+  @Size(max = 200)
+  private List<@NotNull UUID> orderIds;
+
+  @NotNull
+  private WebOrderStatus status;
+
+  private UUID userId;
+}
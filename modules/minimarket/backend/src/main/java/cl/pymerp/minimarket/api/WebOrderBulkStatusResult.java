@@ -0,0 +1,15 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.domain.WebOrderStatus;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class WebOrderBulkStatusResult {
+  private UUID orderId;
+  private boolean updated;
+  private WebOrderStatus status;
+  private String error;
+}
@@ -1,14 +1,18 @@
 package cl.pymerp.minimarket.api;
 
 import cl.pymerp.minimarket.domain.WebOrder;
+import cl.pymerp.minimarket.domain.WebOrderIntake;
 import cl.pymerp.minimarket.domain.WebOrderItem;
 import cl.pymerp.minimarket.domain.WebOrderStatus;
 import cl.pymerp.minimarket.security.UserPrincipal;
+import cl.pymerp.minimarket.service.FlashSaleService;
+import cl.pymerp.minimarket.service.WebOrderIntakeService;
 import cl.pymerp.minimarket.service.WebOrderService;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,14 +20,41 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/web-orders")
 public class WebOrderController {
   private final WebOrderService webOrderService;
+  private final WebOrderIntakeService intakeService;
+  private final FlashSaleService flashSaleService;
 
-  public WebOrderController(WebOrderService webOrderService) {
+  public WebOrderController(
+      WebOrderService webOrderService,
+      WebOrderIntakeService intakeService,
+      FlashSaleService flashSaleService) {
     this.webOrderService = webOrderService;
+    this.intakeService = intakeService;
+    this.flashSaleService = flashSaleService;
   }
 
   @PostMapping
   public WebOrderResponse create(@Valid @RequestBody WebOrderRequest request) {
-    return toResponse(webOrderService.createOrder(request));
+    FlashSaleService.Ticket ticket = flashSaleService.acquire(request.getItems());
+    WebOrder order;
+    try {
+      order = webOrderService.createOrder(request);
+    } catch (RuntimeException ex) {
+      ticket.release();
+      throw ex;
+    }
+    ticket.commit();
+    return toResponse(order);
+  }
+
+  @PostMapping("/intake")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public WebOrderIntakeResponse enqueue(@Valid @RequestBody WebOrderRequest request) {
+    return toIntakeResponse(intakeService.enqueue(request));
+  }
+
+  @GetMapping("/intake/{trackingId}")
+  public WebOrderIntakeResponse intakeStatus(@PathVariable UUID trackingId) {
+    return toIntakeResponse(intakeService.find(trackingId));
   }
 
   @GetMapping
@@ -42,6 +73,16 @@ public class WebOrderController {
     return toResponse(webOrderService.updateStatus(id, request.getStatus(), request.getUserId()));
   }
 
+  @PatchMapping("/status")
+  public List<WebOrderBulkStatusResult> updateStatusBulk(
+      @Valid @RequestBody WebOrderBulkStatusRequest request,
+      @AuthenticationPrincipal UserPrincipal principal) {
+    if (request.getUserId() == null && principal != null) {
+      request.setUserId(principal.getId());
+    }
+    return webOrderService.updateStatusBulk(request.getOrderIds(), request.getStatus(), request.getUserId());
+  }
+
   private WebOrderResponse toResponse(WebOrder order) {
     List<WebOrderItemResponse> items = order.getItems() == null
         ? List.of()
@@ -57,6 +98,17 @@ public class WebOrderController {
         .build();
   }
 
+  private WebOrderIntakeResponse toIntakeResponse(WebOrderIntake intake) {
+    return WebOrderIntakeResponse.builder()
+        .trackingId(intake.getId())
+        .status(intake.getStatus())
+        .webOrderId(intake.getWebOrderId())
+        .error(intake.getError())
+        .createdAt(intake.getCreatedAt())
+        .statusUrl("/api/web-orders/intake/" + intake.getId())
+        .build();
+  }
+
   private WebOrderItemResponse toItemResponse(WebOrderItem item) {
     return WebOrderItemResponse.builder()
         .productId(item.getProduct().getId())
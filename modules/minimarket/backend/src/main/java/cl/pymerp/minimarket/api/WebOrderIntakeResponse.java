@@ -0,0 +1,18 @@
+package cl.pymerp.minimarket.api;
+
+import cl.pymerp.minimarket.domain.IntakeStatus;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class WebOrderIntakeResponse {
+  private UUID trackingId;
+  private IntakeStatus status;
+  private UUID webOrderId;
+  private String error;
+  private OffsetDateTime createdAt;
+  private String statusUrl;
+}
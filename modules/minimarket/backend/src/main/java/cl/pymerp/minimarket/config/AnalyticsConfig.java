@@ -0,0 +1,33 @@
+package cl.pymerp.minimarket.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AnalyticsConfig {
+  @Bean
+  public ThreadPoolTaskExecutor analyticsExecutor(
+      @Value("${app.analytics.executor.pool-size:4}") int poolSize,
+      @Value("${app.analytics.executor.queue-capacity:200}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("analytics-");
+    executor.initialize();
+    return executor;
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor forecastExecutor(
+      @Value("${app.forecast.executor.pool-size:4}") int poolSize) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setThreadNamePrefix("forecast-");
+    executor.initialize();
+    return executor;
+  }
+}
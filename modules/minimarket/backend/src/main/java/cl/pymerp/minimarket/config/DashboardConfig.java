@@ -0,0 +1,22 @@
+package cl.pymerp.minimarket.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class DashboardConfig {
+  @Bean
+  public ThreadPoolTaskExecutor dashboardExecutor(
+      @Value("${app.dashboard.executor.pool-size:8}") int poolSize,
+      @Value("${app.dashboard.executor.queue-capacity:100}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("dashboard-");
+    executor.initialize();
+    return executor;
+  }
+}
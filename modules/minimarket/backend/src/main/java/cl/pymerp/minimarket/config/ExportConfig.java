@@ -0,0 +1,22 @@
+package cl.pymerp.minimarket.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExportConfig {
+  @Bean
+  public ThreadPoolTaskExecutor exportExecutor(
+      @Value("${app.exports.executor.pool-size:2}") int poolSize,
+      @Value("${app.exports.executor.queue-capacity:10}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("exports-");
+    executor.initialize();
+    return executor;
+  }
+}
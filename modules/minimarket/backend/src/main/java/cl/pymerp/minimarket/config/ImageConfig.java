@@ -0,0 +1,30 @@
+package cl.pymerp.minimarket.config;
+
+import cl.pymerp.minimarket.service.ImageStorage;
+import cl.pymerp.minimarket.service.LocalImageStorage;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImageConfig {
+  @Bean
+  public ImageStorage imageStorage(@Value("${app.images.dir:data/images}") String dir) {
+    return new LocalImageStorage(Path.of(dir));
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor imageExecutor(
+      @Value("${app.images.executor.pool-size:2}") int poolSize,
+      @Value("${app.images.executor.queue-capacity:50}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("images-");
+    executor.initialize();
+    return executor;
+  }
+}
@@ -0,0 +1,33 @@
+package cl.pymerp.minimarket.config;
+
+import cl.pymerp.minimarket.service.FileOutboxSink;
+import cl.pymerp.minimarket.service.OutboxSink;
+import cl.pymerp.minimarket.service.WebhookOutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+  @Bean
+  @ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file")
+  public OutboxSink fileOutboxSink(
+      @Value("${app.outbox.file.path}") String path,
+      ObjectMapper objectMapper) {
+    return new FileOutboxSink(Path.of(path), objectMapper);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.outbox.sink", havingValue = "webhook")
+  public OutboxSink webhookOutboxSink(
+      @Value("${app.outbox.webhook.url}") String url,
+      @Value("${app.outbox.webhook.timeout-ms:5000}") long timeoutMillis,
+      ObjectMapper objectMapper) {
+    return new WebhookOutboxSink(URI.create(url), Duration.ofMillis(timeoutMillis), objectMapper);
+  }
+}
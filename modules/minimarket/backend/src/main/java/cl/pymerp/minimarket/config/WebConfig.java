@@ -0,0 +1,15 @@
+package cl.pymerp.minimarket.config;
+
+import cl.pymerp.minimarket.api.PosProtobufHttpMessageConverter;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.add(new PosProtobufHttpMessageConverter());
+  }
+}
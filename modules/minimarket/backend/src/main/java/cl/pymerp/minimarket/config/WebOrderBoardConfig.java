@@ -0,0 +1,22 @@
+package cl.pymerp.minimarket.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class WebOrderBoardConfig {
+  @Bean
+  public ThreadPoolTaskExecutor boardExecutor(
+      @Value("${app.web-orders.board.executor.pool-size:4}") int poolSize,
+      @Value("${app.web-orders.board.executor.queue-capacity:500}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("board-");
+    executor.initialize();
+    return executor;
+  }
+}
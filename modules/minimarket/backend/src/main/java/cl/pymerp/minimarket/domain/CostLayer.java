@@ -0,0 +1,38 @@
+package cl.pymerp.minimarket.domain;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "cost_layers")
+@Getter
+@Setter
+public class CostLayer {
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @ManyToOne(optional = false)
+  @JoinColumn(name = "product_id", nullable = false)
+  private Product product;
+
+  @ManyToOne
+  @JoinColumn(name = "movement_id")
+  private InventoryMovement movement;
+
+  @Column(name = "unit_cost", nullable = false)
+  private BigDecimal unitCost;
+
+  @Column(name = "quantity_received", nullable = false)
+  private int quantityReceived;
+
+  @Column(name = "quantity_remaining", nullable = false)
+  private int quantityRemaining;
+
+  @Column(name = "received_at", nullable = false)
+  private OffsetDateTime receivedAt = OffsetDateTime.now();
+}
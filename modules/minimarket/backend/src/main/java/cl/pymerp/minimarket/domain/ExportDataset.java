@@ -0,0 +1,7 @@
+package cl.pymerp.minimarket.domain;
+
+public enum ExportDataset {
+  LOCAL_SALES,
+  MOVEMENTS,
+  PAYMENTS
+}
@@ -0,0 +1,6 @@
+package cl.pymerp.minimarket.domain;
+
+public enum ExportFormat {
+  CSV,
+  NDJSON
+}
@@ -0,0 +1,7 @@
+package cl.pymerp.minimarket.domain;
+
+public enum IntakeStatus {
+  QUEUED,
+  COMPLETED,
+  REJECTED
+}
@@ -1,5 +1,6 @@
 package cl.pymerp.minimarket.domain;
 
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 import jakarta.persistence.*;
@@ -42,6 +43,9 @@ public class InventoryMovement {
   @JoinColumn(name = "user_id", nullable = false)
   private User user;
 
+  @Column(name = "cost_amount")
+  private BigDecimal costAmount;
+
   @Column(name = "created_at", nullable = false)
   private OffsetDateTime createdAt = OffsetDateTime.now();
 }
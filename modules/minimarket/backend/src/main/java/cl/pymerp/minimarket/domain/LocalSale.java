@@ -21,6 +21,10 @@ public class LocalSale {
   @JoinColumn(name = "user_id", nullable = false)
   private User user;
 
+  @ManyToOne
+  @JoinColumn(name = "shift_id")
+  private RegisterShift shift;
+
   @Column(name = "total_amount", nullable = false)
   private BigDecimal totalAmount = BigDecimal.ZERO;
 
@@ -0,0 +1,8 @@
+package cl.pymerp.minimarket.domain;
+
+public enum PriceChangeStatus {
+  PENDING,
+  APPLIED,
+  CANCELLED,
+  FAILED
+}
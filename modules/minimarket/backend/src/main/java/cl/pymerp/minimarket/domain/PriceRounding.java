@@ -0,0 +1,7 @@
+package cl.pymerp.minimarket.domain;
+
+public enum PriceRounding {
+  NONE,
+  END_90,
+  END_990
+}
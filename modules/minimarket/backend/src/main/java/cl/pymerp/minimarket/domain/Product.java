@@ -47,6 +47,9 @@ public class Product {
   @Column(name = "low_stock_threshold", nullable = false)
   private int lowStockThreshold = 3;
 
+  @Column(name = "image_hash", insertable = false, updatable = false)
+  private String imageHash;
+
   @Column(name = "created_at", nullable = false)
   private OffsetDateTime createdAt = OffsetDateTime.now();
 
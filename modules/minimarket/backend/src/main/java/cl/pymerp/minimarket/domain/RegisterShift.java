@@ -0,0 +1,44 @@
+package cl.pymerp.minimarket.domain;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "register_shifts")
+@Getter
+@Setter
+public class RegisterShift {
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @ManyToOne(optional = false)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  @Column(nullable = false)
+  private String terminal;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private ShiftStatus status = ShiftStatus.OPEN;
+
+  @Column(name = "opening_cash", nullable = false)
+  private BigDecimal openingCash = BigDecimal.ZERO;
+
+  @Column(name = "counted_cash")
+  private BigDecimal countedCash;
+
+  @Column(name = "cash_expected")
+  private BigDecimal cashExpected;
+
+  @Column(name = "opened_at", nullable = false)
+  private OffsetDateTime openedAt = OffsetDateTime.now();
+
+  @Column(name = "closed_at")
+  private OffsetDateTime closedAt;
+}
@@ -0,0 +1,46 @@
+package cl.pymerp.minimarket.domain;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "web_order_intake")
+@Getter
+@Setter
+public class WebOrderIntake {
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Column(nullable = false)
+  private String payload;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private IntakeStatus status = IntakeStatus.QUEUED;
+
+  @Column(name = "web_order_id")
+  private UUID webOrderId;
+
+  private String error;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private OffsetDateTime nextAttemptAt = OffsetDateTime.now();
+
+  @Column(name = "created_at", nullable = false)
+  private OffsetDateTime createdAt = OffsetDateTime.now();
+
+  @Column(name = "updated_at", nullable = false)
+  private OffsetDateTime updatedAt = OffsetDateTime.now();
+
+  @PreUpdate
+  public void onUpdate() {
+    this.updatedAt = OffsetDateTime.now();
+  }
+}
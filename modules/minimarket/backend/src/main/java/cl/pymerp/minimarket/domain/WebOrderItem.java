@@ -28,4 +28,7 @@ public class WebOrderItem {
 
   @Column(name = "unit_price", nullable = false)
   private BigDecimal unitPrice;
+
+  @Column(name = "cost_amount")
+  private BigDecimal costAmount;
 }
@@ -0,0 +1,50 @@
+package cl.pymerp.minimarket.repository;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class CategoryTreeRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  public CategoryTreeRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public List<CategoryRow> findAll() {
+    return jdbcTemplate.query(
+        """
+        SELECT c.id, c.name, c.parent_id, c.visible_web, COUNT(p.id) AS products
+        FROM categories c
+        LEFT JOIN products p ON p.category_id = c.id AND p.active = true
+        GROUP BY c.id, c.name, c.parent_id, c.visible_web
+        ORDER BY c.name, c.id
+        """,
+        (rs, rowNum) -> new CategoryRow(
+            rs.getObject("id", UUID.class),
+            rs.getString("name"),
+            rs.getObject("parent_id", UUID.class),
+            rs.getBoolean("visible_web"),
+            rs.getLong("products")));
+  }
+
+  @Getter
+  public static class CategoryRow {
+    private final UUID id;
+    private final String name;
+    private final UUID parentId;
+    private final boolean visibleWeb;
+    private final long productCount;
+
+    public CategoryRow(UUID id, String name, UUID parentId, boolean visibleWeb, long productCount) {
+      this.id = id;
+      this.name = name;
+      this.parentId = parentId;
+      this.visibleWeb = visibleWeb;
+      this.productCount = productCount;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.domain.CostLayer;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CostLayerRepository extends JpaRepository<CostLayer, UUID> {
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "SELECT l FROM CostLayer l WHERE l.product.id IN :productIds AND l.quantityRemaining > 0 "
+          + "ORDER BY l.product.id, l.receivedAt, l.id")
+  List<CostLayer> lockOpenLayers(@Param("productIds") Collection<UUID> productIds);
+}
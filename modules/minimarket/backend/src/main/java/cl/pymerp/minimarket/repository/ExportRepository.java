@@ -0,0 +1,98 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.domain.ExportDataset;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ExportRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  public ExportRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Every transaction below this version has finished; later exports resume from here. */
+  public long watermark() {
+    return jdbcTemplate.queryForObject("SELECT sync_watermark()", Long.class);
+  }
+
+  public void stream(
+      ExportDataset dataset,
+      OffsetDateTime from,
+      OffsetDateTime to,
+      Long sinceVersion,
+      long upToVersion,
+      int fetchSize,
+      ResultSetExtractor<?> extractor) {
+    String alias;
+    String select;
+    String order;
+    switch (dataset) {
+      case LOCAL_SALES -> {
+        alias = "s";
+        select = """
+            SELECT s.id AS sale_id, s.created_at, s.user_id, s.status, s.total_amount,
+              i.id AS item_id, i.product_id, i.quantity, i.unit_price, i.cost_amount
+            FROM local_sales s
+            JOIN local_sale_items i ON i.local_sale_id = s.id
+            """;
+        order = " ORDER BY s.created_at, s.id, i.id";
+      }
+      case MOVEMENTS -> {
+        alias = "m";
+        select = """
+            SELECT m.id, m.created_at, m.product_id, m.type, m.reason, m.quantity, m.cost_amount,
+              m.document_type, m.document_number, m.notes, m.user_id
+            FROM inventory_movements m
+            """;
+        order = " ORDER BY m.created_at, m.id";
+      }
+      case PAYMENTS -> {
+        alias = "p";
+        select = """
+            SELECT p.id, p.created_at, p.sale_type, p.reference_id, p.method, p.amount
+            FROM payments p
+            """;
+        order = " ORDER BY p.created_at, p.id";
+      }
+      default -> throw new IllegalArgumentException("dataset no soportado: " + dataset);
+    }
+
+    List<String> conditions = new ArrayList<>();
+    List<Object> args = new ArrayList<>();
+    if (from != null) {
+      conditions.add(alias + ".created_at >= ?");
+      args.add(from);
+    }
+    if (to != null) {
+      conditions.add(alias + ".created_at < ?");
+      args.add(to);
+    }
+    if (sinceVersion != null) {
+      conditions.add(alias + ".export_xid >= ?");
+      args.add(sinceVersion);
+    }
+    conditions.add(alias + ".export_xid < ?");
+    args.add(upToVersion);
+    String sql = select + " WHERE " + String.join(" AND ", conditions) + order;
+
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(
+              sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+          statement.setFetchSize(fetchSize);
+          for (int i = 0; i < args.size(); i++) {
+            statement.setObject(i + 1, args.get(i));
+          }
+          return statement;
+        },
+        extractor);
+  }
+}
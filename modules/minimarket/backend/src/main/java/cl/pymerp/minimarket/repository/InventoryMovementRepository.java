@@ -2,6 +2,7 @@ package cl.pymerp.minimarket.repository;
 
 import cl.pymerp.minimarket.domain.InventoryMovement;
 import cl.pymerp.minimarket.domain.MovementType;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -20,4 +21,13 @@ public interface InventoryMovementRepository extends JpaRepository<InventoryMove
           + "ELSE 0 END), 0) "
           + "FROM InventoryMovement m WHERE m.product.id = :productId")
   long getStockOnHand(@Param("productId") UUID productId);
+
+  @Query(
+      "SELECT m.product.id, COALESCE(SUM(CASE "
+          + "WHEN m.type = cl.pymerp.minimarket.domain.MovementType.IN THEN m.quantity "
+          + "WHEN m.type = cl.pymerp.minimarket.domain.MovementType.OUT THEN -m.quantity "
+          + "WHEN m.type = cl.pymerp.minimarket.domain.MovementType.ADJUST THEN m.quantity "
+          + "ELSE 0 END), 0) "
+          + "FROM InventoryMovement m WHERE m.product.id IN :productIds GROUP BY m.product.id")
+  List<Object[]> getStockOnHandByProductIds(@Param("productIds") Collection<UUID> productIds);
 }
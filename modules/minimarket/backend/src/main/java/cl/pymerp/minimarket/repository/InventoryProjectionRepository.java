@@ -1,6 +1,9 @@
 package cl.pymerp.minimarket.repository;
 
 import cl.pymerp.minimarket.api.DashboardResponse.LowStockItem;
+import cl.pymerp.minimarket.api.InventoryValuationResponse.ProductValuation;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -32,4 +35,31 @@ public class InventoryProjectionRepository {
             .threshold(rs.getInt("low_stock_threshold"))
             .build());
   }
+
+  public List<ProductValuation> findValuation() {
+    String sql = """
+        SELECT p.id, p.name, v.units, v.value
+        FROM (
+          SELECT product_id, SUM(quantity_remaining) AS units, SUM(quantity_remaining * unit_cost) AS value
+          FROM cost_layers
+          WHERE quantity_remaining > 0
+          GROUP BY product_id
+        ) v
+        JOIN products p ON p.id = v.product_id
+        ORDER BY v.value DESC
+        """;
+    return jdbcTemplate.query(
+        sql,
+        (rs, rowNum) -> {
+          long units = rs.getLong("units");
+          BigDecimal value = rs.getBigDecimal("value").setScale(2, RoundingMode.HALF_UP);
+          return ProductValuation.builder()
+              .productId(UUID.fromString(rs.getString("id")))
+              .name(rs.getString("name"))
+              .units(units)
+              .value(value)
+              .averageUnitCost(value.divide(BigDecimal.valueOf(units), 4, RoundingMode.HALF_UP))
+              .build();
+        });
+  }
 }
@@ -0,0 +1,40 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.domain.OutboxEvent;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+  @Query(value = "SELECT CAST(pg_advisory_xact_lock(hashtext('outbox_events')) AS TEXT)", nativeQuery = true)
+  String lockRelay();
+
+  @Query(
+      value = "SELECT EXISTS (SELECT 1 FROM outbox_events WHERE published_at IS NULL AND claimed_until > NOW())",
+      nativeQuery = true)
+  boolean hasActiveClaim();
+
+  @Query(
+      value = "SELECT * FROM outbox_events WHERE published_at IS NULL ORDER BY commit_seq LIMIT :limit",
+      nativeQuery = true)
+  List<OutboxEvent> findUnpublished(@Param("limit") int limit);
+
+  @Modifying
+  @Query(
+      value = "UPDATE outbox_events SET claimed_until = NOW() + :leaseMillis * INTERVAL '1 millisecond' "
+          + "WHERE id IN (:ids)",
+      nativeQuery = true)
+  int claim(@Param("ids") Collection<Long> ids, @Param("leaseMillis") long leaseMillis);
+
+  @Modifying
+  @Query("UPDATE OutboxEvent e SET e.claimedUntil = NULL WHERE e.id IN :ids")
+  int release(@Param("ids") Collection<Long> ids);
+
+  @Modifying
+  @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt, e.claimedUntil = NULL WHERE e.id IN :ids")
+  int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") OffsetDateTime publishedAt);
+}
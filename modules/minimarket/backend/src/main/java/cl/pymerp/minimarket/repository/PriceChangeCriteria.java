@@ -0,0 +1,21 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.domain.PriceChangeMode;
+import cl.pymerp.minimarket.domain.PriceRounding;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PriceChangeCriteria {
+  private UUID categoryId;
+  private boolean includeSubcategories;
+  private String skuPrefix;
+  private List<UUID> productIds;
+  private PriceChangeMode mode;
+  private BigDecimal value;
+  private PriceRounding rounding;
+}
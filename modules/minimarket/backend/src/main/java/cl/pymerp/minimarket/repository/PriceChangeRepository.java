@@ -0,0 +1,223 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.api.PriceChangePreviewResponse;
+import cl.pymerp.minimarket.api.PriceChangeResponse;
+import cl.pymerp.minimarket.domain.PriceChangeMode;
+import cl.pymerp.minimarket.domain.PriceChangeStatus;
+import cl.pymerp.minimarket.domain.PriceRounding;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class PriceChangeRepository {
+  private static final RowMapper<PriceChangeResponse> CHANGE_MAPPER = (rs, rowNum) -> PriceChangeResponse.builder()
+      .id(rs.getObject("id", UUID.class))
+      .status(PriceChangeStatus.valueOf(rs.getString("status")))
+      .mode(PriceChangeMode.valueOf(rs.getString("mode")))
+      .value(rs.getBigDecimal("value"))
+      .rounding(PriceRounding.valueOf(rs.getString("rounding")))
+      .categoryId(rs.getObject("category_id", UUID.class))
+      .skuPrefix(rs.getString("sku_prefix"))
+      .effectiveAt(rs.getObject("effective_at", OffsetDateTime.class))
+      .productCount(rs.getInt("product_count"))
+      .appliedCount((Integer) rs.getObject("applied_count"))
+      .skippedCount((Integer) rs.getObject("skipped_count"))
+      .attempts(rs.getInt("attempts"))
+      .lastError(rs.getString("last_error"))
+      .createdBy(rs.getObject("created_by", UUID.class))
+      .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+      .appliedAt(rs.getObject("applied_at", OffsetDateTime.class))
+      .build();
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public PriceChangeRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public PriceChangePreviewResponse preview(PriceChangeCriteria criteria, int limit) {
+    List<Object> args = new ArrayList<>();
+    String diff = diff(criteria, args);
+    PriceChangePreviewResponse.PriceChangePreviewResponseBuilder preview = jdbcTemplate.queryForObject(
+        "WITH diff AS (" + diff + ") "
+            + "SELECT COUNT(*) AS matched, COUNT(*) FILTER (WHERE new_price <> current_price) AS changed, "
+            + "COALESCE(SUM(current_price), 0) AS current_total, COALESCE(SUM(new_price), 0) AS new_total FROM diff",
+        (rs, rowNum) -> PriceChangePreviewResponse.builder()
+            .matchedCount(rs.getLong("matched"))
+            .changedCount(rs.getLong("changed"))
+            .currentTotal(rs.getBigDecimal("current_total"))
+            .newTotal(rs.getBigDecimal("new_total")),
+        args.toArray());
+    args.add(limit);
+    List<PriceChangePreviewResponse.Item> items = jdbcTemplate.query(
+        "WITH diff AS (" + diff + ") "
+            + "SELECT * FROM diff WHERE new_price <> current_price ORDER BY name, id LIMIT ?",
+        (rs, rowNum) -> PriceChangePreviewResponse.Item.builder()
+            .productId(rs.getObject("id", UUID.class))
+            .sku(rs.getString("sku"))
+            .name(rs.getString("name"))
+            .currentPrice(rs.getBigDecimal("current_price"))
+            .newPrice(rs.getBigDecimal("new_price"))
+            .build(),
+        args.toArray());
+    return preview.items(items).build();
+  }
+
+  public long countNegative(PriceChangeCriteria criteria) {
+    List<Object> args = new ArrayList<>();
+    String diff = diff(criteria, args);
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM (" + diff + ") diff WHERE new_price < 0", Long.class, args.toArray());
+  }
+
+  public void insert(UUID id, PriceChangeCriteria criteria, OffsetDateTime effectiveAt, UUID createdBy) {
+    jdbcTemplate.update(
+        """
+        INSERT INTO price_changes (id, mode, value, rounding, category_id, include_subcategories, sku_prefix,
+          status, effective_at, created_by)
+        VALUES (?, ?, ?, ?, ?, ?, ?, 'PENDING', ?, ?)
+        """,
+        id,
+        criteria.getMode().name(),
+        criteria.getValue(),
+        criteria.getRounding().name(),
+        criteria.getCategoryId(),
+        criteria.isIncludeSubcategories(),
+        criteria.getSkuPrefix(),
+        effectiveAt,
+        createdBy);
+  }
+
+  public int insertItems(UUID id, PriceChangeCriteria criteria) {
+    List<Object> args = new ArrayList<>();
+    args.add(id);
+    String diff = diff(criteria, args);
+    int count = jdbcTemplate.update(
+        "INSERT INTO price_change_items (price_change_id, product_id, old_price, new_price) "
+            + "SELECT ?, id, current_price, new_price FROM (" + diff + ") diff WHERE new_price <> current_price",
+        args.toArray());
+    jdbcTemplate.update("UPDATE price_changes SET product_count = ? WHERE id = ?", count, id);
+    return count;
+  }
+
+  /**
+   * Only touches products still at the price seen when the change was created; anything edited since is
+   * left alone and counted in skipped_count.
+   */
+  public List<UUID> apply(UUID id) {
+    List<UUID> productIds = jdbcTemplate.query(
+        """
+        UPDATE products p SET price = i.new_price, updated_at = NOW()
+        FROM price_change_items i
+        WHERE i.price_change_id = ? AND p.id = i.product_id AND p.price = i.old_price
+        RETURNING p.id
+        """,
+        (rs, rowNum) -> rs.getObject("id", UUID.class),
+        id);
+    jdbcTemplate.update(
+        """
+        UPDATE price_changes
+        SET status = 'APPLIED', applied_count = ?, skipped_count = product_count - ?, applied_at = NOW()
+        WHERE id = ?
+        """,
+        productIds.size(),
+        productIds.size(),
+        id);
+    return productIds;
+  }
+
+  public List<UUID> findDue(int limit) {
+    return jdbcTemplate.query(
+        """
+        SELECT id FROM price_changes
+        WHERE status = 'PENDING' AND effective_at <= NOW()
+        ORDER BY effective_at, created_at
+        LIMIT ?
+        """,
+        (rs, rowNum) -> rs.getObject("id", UUID.class),
+        limit);
+  }
+
+  public boolean lockDue(UUID id) {
+    return !jdbcTemplate.query(
+        """
+        SELECT id FROM price_changes
+        WHERE id = ? AND status = 'PENDING' AND effective_at <= NOW()
+        FOR UPDATE SKIP LOCKED
+        """,
+        (rs, rowNum) -> rs.getObject("id", UUID.class),
+        id).isEmpty();
+  }
+
+  public void recordFailure(UUID id, String error, int maxAttempts) {
+    jdbcTemplate.update(
+        """
+        UPDATE price_changes
+        SET attempts = attempts + 1, last_error = ?,
+          status = CASE WHEN attempts + 1 >= ? THEN 'FAILED' ELSE status END
+        WHERE id = ? AND status = 'PENDING'
+        """,
+        error,
+        maxAttempts,
+        id);
+  }
+
+  public boolean cancel(UUID id) {
+    return jdbcTemplate.update(
+        "UPDATE price_changes SET status = 'CANCELLED' WHERE id = ? AND status = 'PENDING'", id) > 0;
+  }
+
+  public Optional<PriceChangeResponse> findById(UUID id) {
+    return jdbcTemplate.query("SELECT * FROM price_changes WHERE id = ?", CHANGE_MAPPER, id).stream().findFirst();
+  }
+
+  public List<PriceChangeResponse> findByStatus(PriceChangeStatus status, int limit) {
+    if (status == null) {
+      return jdbcTemplate.query(
+          "SELECT * FROM price_changes ORDER BY effective_at DESC, created_at DESC LIMIT ?", CHANGE_MAPPER, limit);
+    }
+    return jdbcTemplate.query(
+        "SELECT * FROM price_changes WHERE status = ? ORDER BY effective_at DESC, created_at DESC LIMIT ?",
+        CHANGE_MAPPER,
+        status.name(),
+        limit);
+  }
+
+  private String diff(PriceChangeCriteria criteria, List<Object> args) {
+    String adjusted = criteria.getMode() == PriceChangeMode.PERCENT
+        ? "p.price * (1 + CAST(? AS NUMERIC) / 100)"
+        : "p.price + CAST(? AS NUMERIC)";
+    args.add(criteria.getValue());
+    String rounded = switch (criteria.getRounding()) {
+      case END_90 -> "CEIL((" + adjusted + " - 90) / 100) * 100 + 90";
+      case END_990 -> "CEIL((" + adjusted + " - 990) / 1000) * 1000 + 990";
+      case NONE -> "ROUND(" + adjusted + ", 2)";
+    };
+
+    List<String> conditions = new ArrayList<>();
+    conditions.add("p.active = true");
+    if (criteria.getCategoryId() != null) {
+      conditions.add(criteria.isIncludeSubcategories()
+          ? "p.category_id IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = ?)"
+          : "p.category_id = ?");
+      args.add(criteria.getCategoryId());
+    }
+    if (criteria.getSkuPrefix() != null) {
+      conditions.add("p.sku LIKE ? ESCAPE '\\'");
+      args.add(criteria.getSkuPrefix().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+    }
+    if (criteria.getProductIds() != null && !criteria.getProductIds().isEmpty()) {
+      conditions.add("p.id IN (" + String.join(", ", Collections.nCopies(criteria.getProductIds().size(), "?")) + ")");
+      args.addAll(criteria.getProductIds());
+    }
+    return "SELECT p.id, p.sku, p.name, p.price AS current_price, " + rounded + " AS new_price "
+        + "FROM products p WHERE " + String.join(" AND ", conditions);
+  }
+}
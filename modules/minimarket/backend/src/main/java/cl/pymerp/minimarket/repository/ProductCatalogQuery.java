@@ -0,0 +1,20 @@
+package cl.pymerp.minimarket.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ProductCatalogQuery {
+  private UUID categoryId;
+  private boolean includeSubcategories;
+  private boolean visibleCategoriesOnly;
+  private Boolean active;
+  private Boolean visibleWeb;
+  private BigDecimal minPrice;
+  private BigDecimal maxPrice;
+  private String afterName;
+  private UUID afterId;
+}
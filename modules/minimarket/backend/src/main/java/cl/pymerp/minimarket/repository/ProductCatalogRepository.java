@@ -0,0 +1,128 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.api.ProductResponse;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ProductCatalogRepository {
+  private static final String COLUMNS = """
+      SELECT p.id, p.category_id, p.sku, p.barcode, p.name, p.description, p.unit, p.price, p.cost,
+        p.visible_web, p.active, p.low_stock_threshold, p.image_hash
+      FROM products p
+      """;
+  private static final RowMapper<ProductResponse> PRODUCT_MAPPER = (rs, rowNum) -> ProductResponse.builder()
+      .id(rs.getObject("id", UUID.class))
+      .categoryId(rs.getObject("category_id", UUID.class))
+      .sku(rs.getString("sku"))
+      .barcode(rs.getString("barcode"))
+      .name(rs.getString("name"))
+      .description(rs.getString("description"))
+      .unit(rs.getString("unit"))
+      .price(rs.getBigDecimal("price"))
+      .cost(rs.getBigDecimal("cost"))
+      .visibleWeb(rs.getBoolean("visible_web"))
+      .active(rs.getBoolean("active"))
+      .lowStockThreshold(rs.getInt("low_stock_threshold"))
+      .imageHash(rs.getString("image_hash"))
+      .build();
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ProductCatalogRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public ProductCatalogVersion findVersion() {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) AS products, COALESCE(SUM(sync_version), 0) AS version_sum FROM products",
+        (rs, rowNum) -> new ProductCatalogVersion(
+            rs.getLong("products"),
+            rs.getBigDecimal("version_sum").toBigIntegerExact()));
+  }
+
+  public List<ProductResponse> findActive() {
+    return jdbcTemplate.query(COLUMNS + " WHERE p.active = true", PRODUCT_MAPPER);
+  }
+
+  public Optional<ProductResponse> findById(UUID id) {
+    return jdbcTemplate.query(COLUMNS + " WHERE p.id = ?", PRODUCT_MAPPER, id).stream().findFirst();
+  }
+
+  public List<ProductResponse> findByIds(Collection<UUID> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.query(
+        COLUMNS + " WHERE p.id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")",
+        PRODUCT_MAPPER,
+        ids.toArray());
+  }
+
+  /** Locks the product row so it cannot disappear between storing its image and pointing at it. */
+  public boolean lockForImage(UUID id) {
+    return !jdbcTemplate.queryForList("SELECT id FROM products WHERE id = ? FOR UPDATE", UUID.class, id).isEmpty();
+  }
+
+  public boolean updateImageHash(UUID id, String imageHash) {
+    return jdbcTemplate.update("UPDATE products SET image_hash = ?, updated_at = NOW() WHERE id = ?", imageHash, id) > 0;
+  }
+
+  /** A null limit returns every matching row. */
+  public List<ProductResponse> findPage(ProductCatalogQuery query, Integer limit) {
+    List<String> conditions = new ArrayList<>();
+    List<Object> args = new ArrayList<>();
+    if (query.getCategoryId() != null) {
+      if (!query.isIncludeSubcategories()) {
+        conditions.add("p.category_id = ?");
+      } else if (query.isVisibleCategoriesOnly()) {
+        // Drop descendants that sit under a hidden category anywhere between them and the requested one.
+        conditions.add("""
+            p.category_id IN (
+              SELECT c.descendant_id FROM category_closure c
+              WHERE c.ancestor_id = ? AND NOT EXISTS (
+                SELECT 1 FROM category_closure h JOIN categories hc ON hc.id = h.ancestor_id
+                WHERE h.descendant_id = c.descendant_id AND h.depth <= c.depth AND hc.visible_web = false))""");
+      } else {
+        conditions.add("p.category_id IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = ?)");
+      }
+      args.add(query.getCategoryId());
+    }
+    if (query.getActive() != null) {
+      conditions.add("p.active = ?");
+      args.add(query.getActive());
+    }
+    if (query.getVisibleWeb() != null) {
+      conditions.add("p.visible_web = ?");
+      args.add(query.getVisibleWeb());
+    }
+    if (query.getMinPrice() != null) {
+      conditions.add("p.price >= ?");
+      args.add(query.getMinPrice());
+    }
+    if (query.getMaxPrice() != null) {
+      conditions.add("p.price <= ?");
+      args.add(query.getMaxPrice());
+    }
+    if (query.getAfterName() != null) {
+      conditions.add("(p.name, p.id) > (?, ?)");
+      args.add(query.getAfterName());
+      args.add(query.getAfterId());
+    }
+    if (limit != null) {
+      args.add(limit);
+    }
+    String sql = COLUMNS
+        + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+        + " ORDER BY p.name, p.id"
+        + (limit != null ? " LIMIT ?" : "");
+    return jdbcTemplate.query(sql, PRODUCT_MAPPER, args.toArray());
+  }
+}
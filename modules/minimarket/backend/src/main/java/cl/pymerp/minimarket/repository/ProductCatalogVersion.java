@@ -0,0 +1,25 @@
+package cl.pymerp.minimarket.repository;
+
+import java.math.BigInteger;
+import lombok.Getter;
+
+/**
+ * Every committed insert, update or delete on products changes the pair: a write stamps its row with the
+ * writer's transaction id (V14), which is always above the version it replaces, so the sum only moves forward
+ * regardless of commit order, and deletes change the count.
+ */
+@Getter
+public class ProductCatalogVersion {
+  private final long products;
+  private final BigInteger versionSum;
+
+  public ProductCatalogVersion(long products, BigInteger versionSum) {
+    this.products = products;
+    this.versionSum = versionSum;
+  }
+
+  public String etag(String variant) {
+    return "\"" + versionSum.toString(16) + "-" + Long.toHexString(products)
+        + "-" + Integer.toHexString(variant.hashCode()) + "\"";
+  }
+}
@@ -0,0 +1,122 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.api.ReorderSuggestionResponse;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ProductForecastRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  public ProductForecastRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public List<UUID> findActiveProductIds() {
+    return jdbcTemplate.query(
+        "SELECT id FROM products WHERE active = true ORDER BY id",
+        (rs, rowNum) -> UUID.fromString(rs.getString("id")));
+  }
+
+  public void forEachDailySale(List<UUID> productIds, LocalDate from, ZoneId zone, DailySaleCallback callback) {
+    String sql = """
+        SELECT product_id, (created_at AT TIME ZONE ?)::date AS sale_date, SUM(quantity) AS units
+        FROM inventory_movements
+        WHERE type = 'OUT' AND reason = 'venta' AND created_at >= ? AND product_id IN (%s)
+        GROUP BY 1, 2
+        """.formatted(placeholders(productIds.size()));
+    Object[] args = new Object[productIds.size() + 2];
+    args[0] = zone.getId();
+    args[1] = from.atStartOfDay(zone).toOffsetDateTime();
+    for (int i = 0; i < productIds.size(); i++) {
+      args[i + 2] = productIds.get(i);
+    }
+    jdbcTemplate.query(
+        sql,
+        rs -> {
+          callback.accept(
+              UUID.fromString(rs.getString("product_id")),
+              rs.getObject("sale_date", LocalDate.class),
+              rs.getLong("units"));
+        },
+        args);
+  }
+
+  public void upsert(List<ReorderSuggestionResponse> forecasts) {
+    jdbcTemplate.batchUpdate(
+        """
+        INSERT INTO product_forecasts (product_id, daily_velocity, weekday_factors, stock_on_hand, days_of_cover,
+          forecast_demand, safety_stock, suggested_quantity, computed_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (product_id) DO UPDATE SET
+          daily_velocity = EXCLUDED.daily_velocity,
+          weekday_factors = EXCLUDED.weekday_factors,
+          stock_on_hand = EXCLUDED.stock_on_hand,
+          days_of_cover = EXCLUDED.days_of_cover,
+          forecast_demand = EXCLUDED.forecast_demand,
+          safety_stock = EXCLUDED.safety_stock,
+          suggested_quantity = EXCLUDED.suggested_quantity,
+          computed_at = EXCLUDED.computed_at
+        """,
+        forecasts,
+        forecasts.size(),
+        (ps, forecast) -> {
+          ps.setObject(1, forecast.getProductId());
+          ps.setBigDecimal(2, forecast.getDailyVelocity());
+          ps.setString(3, forecast.getWeekdayFactors().stream()
+              .map(BigDecimal::toPlainString)
+              .collect(Collectors.joining(",")));
+          ps.setLong(4, forecast.getStockOnHand());
+          ps.setBigDecimal(5, forecast.getDaysOfCover());
+          ps.setBigDecimal(6, forecast.getForecastDemand());
+          ps.setBigDecimal(7, forecast.getSafetyStock());
+          ps.setInt(8, forecast.getSuggestedQuantity());
+          ps.setObject(9, forecast.getComputedAt());
+        });
+  }
+
+  public List<ReorderSuggestionResponse> findReorderSuggestions(int limit) {
+    String sql = """
+        SELECT f.*, p.name
+        FROM product_forecasts f
+        JOIN products p ON p.id = f.product_id
+        WHERE f.suggested_quantity > 0 AND p.active = true
+        ORDER BY f.days_of_cover ASC NULLS LAST, f.forecast_demand DESC
+        LIMIT ?
+        """;
+    return jdbcTemplate.query(
+        sql,
+        (rs, rowNum) -> ReorderSuggestionResponse.builder()
+            .productId(UUID.fromString(rs.getString("product_id")))
+            .name(rs.getString("name"))
+            .stockOnHand(rs.getLong("stock_on_hand"))
+            .dailyVelocity(rs.getBigDecimal("daily_velocity"))
+            .weekdayFactors(Arrays.stream(rs.getString("weekday_factors").split(","))
+                .map(BigDecimal::new)
+                .collect(Collectors.toList()))
+            .daysOfCover(rs.getBigDecimal("days_of_cover"))
+            .forecastDemand(rs.getBigDecimal("forecast_demand"))
+            .safetyStock(rs.getBigDecimal("safety_stock"))
+            .suggestedQuantity(rs.getInt("suggested_quantity"))
+            .computedAt(rs.getObject("computed_at", OffsetDateTime.class))
+            .build(),
+        limit);
+  }
+
+  private String placeholders(int count) {
+    return String.join(", ", Collections.nCopies(count, "?"));
+  }
+
+  public interface DailySaleCallback {
+    void accept(UUID productId, LocalDate date, long units);
+  }
+}
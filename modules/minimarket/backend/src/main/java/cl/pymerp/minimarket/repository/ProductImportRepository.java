@@ -0,0 +1,145 @@
+package cl.pymerp.minimarket.repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ProductImportRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  public ProductImportRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public Set<UUID> findCategoryIds() {
+    return new HashSet<>(jdbcTemplate.query(
+        "SELECT id FROM categories",
+        (rs, rowNum) -> rs.getObject("id", UUID.class)));
+  }
+
+  public List<ProductKey> findByCodes(Collection<String> skus, Collection<String> barcodes) {
+    if (skus.isEmpty() && barcodes.isEmpty()) {
+      return List.of();
+    }
+    String sql = "SELECT id, sku, barcode FROM products WHERE "
+        + (skus.isEmpty() ? "" : "sku IN (" + placeholders(skus.size()) + ")")
+        + (skus.isEmpty() || barcodes.isEmpty() ? "" : " OR ")
+        + (barcodes.isEmpty() ? "" : "barcode IN (" + placeholders(barcodes.size()) + ")")
+        + " ORDER BY created_at, id";
+    Object[] args = new Object[skus.size() + barcodes.size()];
+    int index = 0;
+    for (String sku : skus) {
+      args[index++] = sku;
+    }
+    for (String barcode : barcodes) {
+      args[index++] = barcode;
+    }
+    return jdbcTemplate.query(
+        sql,
+        (rs, rowNum) -> new ProductKey(rs.getObject("id", UUID.class), rs.getString("sku"), rs.getString("barcode")),
+        args);
+  }
+
+  public void insert(List<ProductImportRow> rows) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        """
+        INSERT INTO products (id, category_id, sku, barcode, name, description, unit, price, cost,
+          visible_web, active, low_stock_threshold)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """,
+        rows,
+        rows.size(),
+        (ps, row) -> {
+          ps.setObject(1, row.getId());
+          setNullable(ps, 2, row.getCategoryId(), Types.OTHER);
+          setNullable(ps, 3, row.getSku(), Types.VARCHAR);
+          setNullable(ps, 4, row.getBarcode(), Types.VARCHAR);
+          ps.setString(5, row.getName());
+          setNullable(ps, 6, row.getDescription(), Types.VARCHAR);
+          ps.setString(7, row.getUnit() != null ? row.getUnit() : "unidad");
+          ps.setBigDecimal(8, row.getPrice());
+          ps.setBigDecimal(9, row.getCost() != null ? row.getCost() : BigDecimal.ZERO);
+          ps.setBoolean(10, row.getVisibleWeb() == null || row.getVisibleWeb());
+          ps.setBoolean(11, row.getActive() == null || row.getActive());
+          ps.setInt(12, row.getLowStockThreshold() != null ? row.getLowStockThreshold() : 3);
+        });
+  }
+
+  public void update(List<ProductImportRow> rows) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        """
+        UPDATE products SET
+          category_id = COALESCE(?, category_id),
+          sku = COALESCE(?, sku),
+          barcode = COALESCE(?, barcode),
+          name = COALESCE(?, name),
+          description = COALESCE(?, description),
+          unit = COALESCE(?, unit),
+          price = COALESCE(?, price),
+          cost = COALESCE(?, cost),
+          visible_web = COALESCE(?, visible_web),
+          active = COALESCE(?, active),
+          low_stock_threshold = COALESCE(?, low_stock_threshold),
+          updated_at = NOW()
+        WHERE id = ?
+        """,
+        rows,
+        rows.size(),
+        (ps, row) -> {
+          setNullable(ps, 1, row.getCategoryId(), Types.OTHER);
+          setNullable(ps, 2, row.getSku(), Types.VARCHAR);
+          setNullable(ps, 3, row.getBarcode(), Types.VARCHAR);
+          setNullable(ps, 4, row.getName(), Types.VARCHAR);
+          setNullable(ps, 5, row.getDescription(), Types.VARCHAR);
+          setNullable(ps, 6, row.getUnit(), Types.VARCHAR);
+          setNullable(ps, 7, row.getPrice(), Types.NUMERIC);
+          setNullable(ps, 8, row.getCost(), Types.NUMERIC);
+          setNullable(ps, 9, row.getVisibleWeb(), Types.BOOLEAN);
+          setNullable(ps, 10, row.getActive(), Types.BOOLEAN);
+          setNullable(ps, 11, row.getLowStockThreshold(), Types.INTEGER);
+          ps.setObject(12, row.getId());
+        });
+  }
+
+  private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+    if (value == null) {
+      ps.setNull(index, sqlType);
+    } else {
+      ps.setObject(index, value);
+    }
+  }
+
+  private String placeholders(int count) {
+    return String.join(", ", Collections.nCopies(count, "?"));
+  }
+
+  @Getter
+  public static class ProductKey {
+    private final UUID id;
+    private final String sku;
+    private final String barcode;
+
+    public ProductKey(UUID id, String sku, String barcode) {
+      this.id = id;
+      this.sku = sku;
+      this.barcode = barcode;
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package cl.pymerp.minimarket.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ProductImportRow {
+  private long line;
+  private UUID id;
+  private boolean existing;
+  private UUID categoryId;
+  private String sku;
+  private String barcode;
+  private String name;
+  private String description;
+  private String unit;
+  private BigDecimal price;
+  private BigDecimal cost;
+  private Boolean visibleWeb;
+  private Boolean active;
+  private Integer lowStockThreshold;
+}
@@ -0,0 +1,48 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.api.ProductSearchResponse.Hit;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ProductSearchRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  public ProductSearchRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public List<Hit> search(String tsQuery, String term, String code, boolean visibleWebOnly, int limit, int offset) {
+    String sql = """
+        WITH q AS (
+          SELECT to_tsquery('spanish', f_unaccent(?)) AS ts, lower(f_unaccent(?)) AS term
+        )
+        SELECT p.id, p.category_id, p.sku, p.barcode, p.name, p.unit, p.price, p.visible_web,
+          CASE WHEN p.sku = ? OR p.barcode = ? THEN 10 ELSE 0 END
+            + ts_rank_cd(p.search_vector, q.ts, 1) * 2
+            + word_similarity(q.term, p.search_text) AS score
+        FROM products p, q
+        WHERE p.active = true
+          AND (CAST(? AS BOOLEAN) = false OR p.visible_web = true)
+          AND (p.search_vector @@ q.ts OR q.term <% p.search_text OR p.sku = ? OR p.barcode = ?)
+        ORDER BY score DESC, p.name, p.id
+        LIMIT ? OFFSET ?
+        """;
+    return jdbcTemplate.query(
+        sql,
+        (rs, rowNum) -> Hit.builder()
+            .id(rs.getObject("id", UUID.class))
+            .categoryId(rs.getObject("category_id", UUID.class))
+            .sku(rs.getString("sku"))
+            .barcode(rs.getString("barcode"))
+            .name(rs.getString("name"))
+            .unit(rs.getString("unit"))
+            .price(rs.getBigDecimal("price"))
+            .visibleWeb(rs.getBoolean("visible_web"))
+            .score(rs.getDouble("score"))
+            .build(),
+        tsQuery, term, code, code, visibleWebOnly, code, code, limit, offset);
+  }
+}
@@ -0,0 +1,27 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.domain.RegisterShift;
+import cl.pymerp.minimarket.domain.ShiftStatus;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RegisterShiftRepository extends JpaRepository<RegisterShift, UUID> {
+  Optional<RegisterShift> findFirstByUserIdAndStatus(UUID userId, ShiftStatus status);
+
+  boolean existsByUserIdAndStatus(UUID userId, ShiftStatus status);
+
+  boolean existsByTerminalAndStatus(String terminal, ShiftStatus status);
+
+  @Lock(LockModeType.PESSIMISTIC_READ)
+  @Query("SELECT s FROM RegisterShift s WHERE s.user.id = :userId AND s.status = :status")
+  Optional<RegisterShift> lockForSale(@Param("userId") UUID userId, @Param("status") ShiftStatus status);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM RegisterShift s WHERE s.id = :id")
+  Optional<RegisterShift> lockById(@Param("id") UUID id);
+}
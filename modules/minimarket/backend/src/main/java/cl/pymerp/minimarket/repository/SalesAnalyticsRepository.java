@@ -0,0 +1,163 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.api.ProductSalesResponse;
+import cl.pymerp.minimarket.api.SalesHeatmapCell;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class SalesAnalyticsRepository {
+  private static final String SALE_LINES = """
+      WITH lines AS (
+        SELECT s.id AS sale_id, s.created_at AS sold_at, i.product_id, i.quantity, i.unit_price, i.cost_amount
+        FROM local_sales s
+        JOIN local_sale_items i ON i.local_sale_id = s.id
+        WHERE s.status = 'COMPLETED' AND s.created_at >= ? AND s.created_at < ?
+        UNION ALL
+        SELECT o.id, o.updated_at, i.product_id, i.quantity, i.unit_price, i.cost_amount
+        FROM web_orders o
+        JOIN web_order_items i ON i.web_order_id = o.id
+        WHERE o.status IN ('PAID', 'DELIVERED') AND o.updated_at >= ? AND o.updated_at < ?
+      )
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public SalesAnalyticsRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public Map<LocalDate, List<ProductSalesResponse>> findProductSalesByDay(LocalDate from, LocalDate to, ZoneId zone) {
+    String sql = SALE_LINES + """
+        SELECT (l.sold_at AT TIME ZONE ?)::date AS sale_date,
+          p.id, p.name, c.id AS category_id, c.name AS category_name,
+          SUM(l.quantity) AS units,
+          SUM(l.quantity * l.unit_price) AS revenue,
+          SUM(COALESCE(l.cost_amount, l.quantity * p.cost)) AS cost
+        FROM lines l
+        JOIN products p ON p.id = l.product_id
+        LEFT JOIN categories c ON c.id = p.category_id
+        GROUP BY 1, p.id, p.name, c.id, c.name
+        """;
+    Map<LocalDate, List<ProductSalesResponse>> byDay = new TreeMap<>();
+    OffsetDateTime start = from.atStartOfDay(zone).toOffsetDateTime();
+    OffsetDateTime end = to.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
+    jdbcTemplate.query(
+        sql,
+        rs -> {
+          String categoryId = rs.getString("category_id");
+          byDay.computeIfAbsent(rs.getObject("sale_date", LocalDate.class), day -> new ArrayList<>())
+              .add(ProductSalesResponse.builder()
+                  .productId(UUID.fromString(rs.getString("id")))
+                  .name(rs.getString("name"))
+                  .categoryId(categoryId != null ? UUID.fromString(categoryId) : null)
+                  .categoryName(rs.getString("category_name"))
+                  .units(rs.getLong("units"))
+                  .revenue(rs.getBigDecimal("revenue"))
+                  .cost(rs.getBigDecimal("cost"))
+                  .build());
+        },
+        start, end, start, end, zone.getId());
+    return byDay;
+  }
+
+  public Map<LocalDate, List<SalesHeatmapCell>> findHourlySalesByDay(LocalDate from, LocalDate to, ZoneId zone) {
+    String sql = SALE_LINES + """
+        SELECT (l.sold_at AT TIME ZONE ?)::date AS sale_date,
+          EXTRACT(HOUR FROM l.sold_at AT TIME ZONE ?) AS sale_hour,
+          COUNT(DISTINCT l.sale_id) AS sales_count,
+          SUM(l.quantity) AS units,
+          SUM(l.quantity * l.unit_price) AS revenue
+        FROM lines l
+        GROUP BY 1, 2
+        """;
+    Map<LocalDate, List<SalesHeatmapCell>> byDay = new TreeMap<>();
+    OffsetDateTime start = from.atStartOfDay(zone).toOffsetDateTime();
+    OffsetDateTime end = to.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
+    jdbcTemplate.query(
+        sql,
+        rs -> {
+          LocalDate date = rs.getObject("sale_date", LocalDate.class);
+          byDay.computeIfAbsent(date, day -> new ArrayList<>())
+              .add(SalesHeatmapCell.builder()
+                  .dayOfWeek(date.getDayOfWeek().getValue())
+                  .hour(rs.getInt("sale_hour"))
+                  .salesCount(rs.getLong("sales_count"))
+                  .units(rs.getLong("units"))
+                  .revenue(rs.getBigDecimal("revenue"))
+                  .build());
+        },
+        start, end, start, end, zone.getId(), zone.getId());
+    return byDay;
+  }
+
+  public void forEachSaleLine(OffsetDateTime since, SaleLineCallback callback) {
+    String sql = SALE_LINES + """
+        SELECT l.product_id, l.quantity, l.sold_at
+        FROM lines l
+        """;
+    OffsetDateTime end = OffsetDateTime.now().plusDays(1);
+    jdbcTemplate.query(
+        sql,
+        rs -> {
+          callback.accept(
+              UUID.fromString(rs.getString("product_id")),
+              rs.getLong("quantity"),
+              rs.getObject("sold_at", OffsetDateTime.class));
+        },
+        since, end, since, end);
+  }
+
+  public void forEachWebCustomerPhone(OffsetDateTime since, Consumer<String> callback) {
+    jdbcTemplate.query(
+        "SELECT customer_phone FROM web_orders WHERE created_at >= ?",
+        rs -> {
+          callback.accept(rs.getString("customer_phone"));
+        },
+        since);
+  }
+
+  public void forEachBasketLine(OffsetDateTime from, OffsetDateTime to, int fetchSize, BasketLineCallback callback) {
+    String sql = SALE_LINES + """
+        SELECT l.sale_id, l.product_id, l.sold_at
+        FROM lines l
+        ORDER BY l.sale_id
+        """;
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(
+              sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+          statement.setFetchSize(fetchSize);
+          statement.setObject(1, from);
+          statement.setObject(2, to);
+          statement.setObject(3, from);
+          statement.setObject(4, to);
+          return statement;
+        },
+        rs -> {
+          callback.accept(
+              UUID.fromString(rs.getString("sale_id")),
+              UUID.fromString(rs.getString("product_id")),
+              rs.getObject("sold_at", OffsetDateTime.class));
+        });
+  }
+
+  public interface BasketLineCallback {
+    void accept(UUID saleId, UUID productId, OffsetDateTime soldAt);
+  }
+
+  public interface SaleLineCallback {
+    void accept(UUID productId, long quantity, OffsetDateTime soldAt);
+  }
+}
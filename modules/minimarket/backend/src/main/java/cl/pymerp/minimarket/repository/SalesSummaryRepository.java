@@ -0,0 +1,86 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.api.SalesBreakdownResponse;
+import cl.pymerp.minimarket.api.SalesDailyResponse;
+import cl.pymerp.minimarket.domain.SaleType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class SalesSummaryRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  public SalesSummaryRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void increment(
+      LocalDate date, SaleType saleType, String paymentMethod, int hour, long count, BigDecimal amount) {
+    jdbcTemplate.update(
+        """
+        INSERT INTO sales_daily_summary (sale_date, sale_type, sales_count, total_amount, updated_at)
+        VALUES (?, ?, ?, ?, NOW())
+        ON CONFLICT (sale_date, sale_type) DO UPDATE SET
+          sales_count = sales_daily_summary.sales_count + EXCLUDED.sales_count,
+          total_amount = sales_daily_summary.total_amount + EXCLUDED.total_amount,
+          updated_at = NOW()
+        """,
+        date, saleType.name(), count, amount);
+    jdbcTemplate.update(
+        """
+        INSERT INTO sales_daily_breakdown (sale_date, sale_type, payment_method, sale_hour, sales_count, total_amount)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT (sale_date, sale_type, payment_method, sale_hour) DO UPDATE SET
+          sales_count = sales_daily_breakdown.sales_count + EXCLUDED.sales_count,
+          total_amount = sales_daily_breakdown.total_amount + EXCLUDED.total_amount
+        """,
+        date, saleType.name(), paymentMethod, hour, count, amount);
+  }
+
+  public Optional<SalesDailyResponse> findDay(LocalDate date, SaleType saleType) {
+    return findRange(date, date, saleType).stream().findFirst();
+  }
+
+  public List<SalesDailyResponse> findRange(LocalDate from, LocalDate to, SaleType saleType) {
+    String sql = """
+        SELECT sale_date, sale_type, sales_count, total_amount
+        FROM sales_daily_summary
+        WHERE sale_date BETWEEN ? AND ? AND (CAST(? AS VARCHAR) IS NULL OR sale_type = ?)
+        ORDER BY sale_date, sale_type
+        """;
+    String type = saleType != null ? saleType.name() : null;
+    return jdbcTemplate.query(
+        sql,
+        (rs, rowNum) -> SalesDailyResponse.builder()
+            .date(rs.getObject("sale_date", LocalDate.class))
+            .saleType(SaleType.valueOf(rs.getString("sale_type")))
+            .salesCount(rs.getLong("sales_count"))
+            .totalAmount(rs.getBigDecimal("total_amount"))
+            .build(),
+        from, to, type, type);
+  }
+
+  public List<SalesBreakdownResponse> findBreakdown(LocalDate date) {
+    String sql = """
+        SELECT sale_date, sale_type, payment_method, sale_hour, sales_count, total_amount
+        FROM sales_daily_breakdown
+        WHERE sale_date = ?
+        ORDER BY sale_type, sale_hour, payment_method
+        """;
+    return jdbcTemplate.query(
+        sql,
+        (rs, rowNum) -> SalesBreakdownResponse.builder()
+            .date(rs.getObject("sale_date", LocalDate.class))
+            .saleType(SaleType.valueOf(rs.getString("sale_type")))
+            .paymentMethod(rs.getString("payment_method"))
+            .hour(rs.getInt("sale_hour"))
+            .salesCount(rs.getLong("sales_count"))
+            .totalAmount(rs.getBigDecimal("total_amount"))
+            .build(),
+        date);
+  }
+}
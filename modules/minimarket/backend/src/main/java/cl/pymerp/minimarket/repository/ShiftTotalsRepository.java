@@ -0,0 +1,45 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.api.ShiftReportResponse;
+import cl.pymerp.minimarket.domain.PaymentMethod;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ShiftTotalsRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  public ShiftTotalsRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void increment(UUID shiftId, PaymentMethod method, long count, BigDecimal amount) {
+    jdbcTemplate.update(
+        """
+        INSERT INTO register_shift_totals (shift_id, payment_method, sales_count, total_amount)
+        VALUES (?, ?, ?, ?)
+        ON CONFLICT (shift_id, payment_method) DO UPDATE SET
+          sales_count = register_shift_totals.sales_count + EXCLUDED.sales_count,
+          total_amount = register_shift_totals.total_amount + EXCLUDED.total_amount
+        """,
+        shiftId, method.name(), count, amount);
+  }
+
+  public List<ShiftReportResponse.MethodTotal> findByShift(UUID shiftId) {
+    return jdbcTemplate.query(
+        """
+        SELECT payment_method, sales_count, total_amount
+        FROM register_shift_totals
+        WHERE shift_id = ?
+        """,
+        (rs, rowNum) -> ShiftReportResponse.MethodTotal.builder()
+            .method(PaymentMethod.valueOf(rs.getString("payment_method")))
+            .salesCount(rs.getLong("sales_count"))
+            .totalAmount(rs.getBigDecimal("total_amount"))
+            .build(),
+        shiftId);
+  }
+}
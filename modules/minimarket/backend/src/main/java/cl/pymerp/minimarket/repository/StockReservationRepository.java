@@ -2,6 +2,7 @@ package cl.pymerp.minimarket.repository;
 
 import cl.pymerp.minimarket.domain.ReservationStatus;
 import cl.pymerp.minimarket.domain.StockReservation;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,5 +13,14 @@ public interface StockReservationRepository extends JpaRepository<StockReservati
   @Query("SELECT COALESCE(SUM(r.quantity), 0) FROM StockReservation r WHERE r.product.id = :productId AND r.status = :status")
   long sumByProductAndStatus(@Param("productId") UUID productId, @Param("status") ReservationStatus status);
 
+  @Query(
+      "SELECT r.product.id, COALESCE(SUM(r.quantity), 0) FROM StockReservation r "
+          + "WHERE r.product.id IN :productIds AND r.status = :status GROUP BY r.product.id")
+  List<Object[]> sumByProductIdsAndStatus(
+      @Param("productIds") Collection<UUID> productIds,
+      @Param("status") ReservationStatus status);
+
   List<StockReservation> findByWebOrderIdAndStatus(UUID webOrderId, ReservationStatus status);
+
+  List<StockReservation> findByWebOrderIdInAndStatus(Collection<UUID> webOrderIds, ReservationStatus status);
 }
@@ -0,0 +1,84 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.api.StorefrontCatalogResponse.ProductItem;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class StorefrontRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  public StorefrontRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public List<CategoryRow> findVisibleCategories() {
+    return jdbcTemplate.query(
+        "SELECT id, name, parent_id FROM categories WHERE visible_web = true ORDER BY name, id",
+        (rs, rowNum) -> new CategoryRow(
+            rs.getObject("id", UUID.class),
+            rs.getString("name"),
+            rs.getObject("parent_id", UUID.class)));
+  }
+
+  public List<ProductRow> findVisibleProducts() {
+    String sql = """
+        SELECT p.id, p.category_id, p.name, p.description, p.unit, p.price, p.image_hash, p.low_stock_threshold,
+          i.stock_on_hand - COALESCE(r.reserved, 0) AS available
+        FROM products p
+        JOIN inventory i ON i.product_id = p.id
+        LEFT JOIN (
+          SELECT product_id, SUM(quantity) AS reserved
+          FROM stock_reservations
+          WHERE status = 'ACTIVE'
+          GROUP BY product_id
+        ) r ON r.product_id = p.id
+        WHERE p.active = true AND p.visible_web = true
+        ORDER BY p.name, p.id
+        """;
+    return jdbcTemplate.query(
+        sql,
+        (rs, rowNum) -> {
+          long available = rs.getLong("available");
+          return new ProductRow(
+              rs.getObject("category_id", UUID.class),
+              ProductItem.builder()
+                  .id(rs.getObject("id", UUID.class))
+                  .name(rs.getString("name"))
+                  .description(rs.getString("description"))
+                  .unit(rs.getString("unit"))
+                  .price(rs.getBigDecimal("price"))
+                  .imageHash(rs.getString("image_hash"))
+                  .available(available > 0)
+                  .lowStock(available > 0 && available <= rs.getInt("low_stock_threshold"))
+                  .build());
+        });
+  }
+
+  @Getter
+  public static class CategoryRow {
+    private final UUID id;
+    private final String name;
+    private final UUID parentId;
+
+    public CategoryRow(UUID id, String name, UUID parentId) {
+      this.id = id;
+      this.name = name;
+      this.parentId = parentId;
+    }
+  }
+
+  @Getter
+  public static class ProductRow {
+    private final UUID categoryId;
+    private final ProductItem item;
+
+    public ProductRow(UUID categoryId, ProductItem item) {
+      this.categoryId = categoryId;
+      this.item = item;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.api.SyncChangesResponse;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class SyncRepository {
+  private static final RowMapper<SyncChangesResponse.Category> CATEGORY_MAPPER =
+      (rs, rowNum) -> SyncChangesResponse.Category.builder()
+          .id(rs.getObject("id", UUID.class))
+          .name(rs.getString("name"))
+          .parentId(rs.getObject("parent_id", UUID.class))
+          .build();
+  private static final RowMapper<ProductChange> PRODUCT_MAPPER = (rs, rowNum) -> new ProductChange(
+      rs.getBoolean("active"),
+      SyncChangesResponse.Product.builder()
+          .id(rs.getObject("id", UUID.class))
+          .categoryId(rs.getObject("category_id", UUID.class))
+          .sku(rs.getString("sku"))
+          .barcode(rs.getString("barcode"))
+          .name(rs.getString("name"))
+          .unit(rs.getString("unit"))
+          .price(rs.getBigDecimal("price"))
+          .build());
+  private static final RowMapper<SyncChangesResponse.Stock> STOCK_MAPPER =
+      (rs, rowNum) -> SyncChangesResponse.Stock.builder()
+          .productId(rs.getObject("product_id", UUID.class))
+          .onHand(rs.getLong("on_hand"))
+          .build();
+  private static final String ON_HAND = """
+      COALESCE((
+        SELECT SUM(CASE WHEN m.type = 'OUT' THEN -m.quantity ELSE m.quantity END)
+        FROM inventory_movements m
+        WHERE m.product_id = s.product_id
+      ), 0) AS on_hand
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public SyncRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public long watermark() {
+    return jdbcTemplate.queryForObject("SELECT sync_watermark()", Long.class);
+  }
+
+  public List<SyncChangesResponse.Category> findCategories(long since, long upTo, int limit) {
+    return jdbcTemplate.query(
+        """
+        SELECT id, name, parent_id FROM categories
+        WHERE sync_version >= ? AND sync_version < ?
+        ORDER BY sync_version, id
+        LIMIT ?
+        """,
+        CATEGORY_MAPPER,
+        since,
+        upTo,
+        limit);
+  }
+
+  public List<ProductChange> findProducts(long since, long upTo, int limit) {
+    return jdbcTemplate.query(
+        """
+        SELECT id, category_id, sku, barcode, name, unit, price, active FROM products
+        WHERE sync_version >= ? AND sync_version < ?
+        ORDER BY sync_version, id
+        LIMIT ?
+        """,
+        PRODUCT_MAPPER,
+        since,
+        upTo,
+        limit);
+  }
+
+  public List<SyncChangesResponse.Stock> findStock(long since, long upTo, int limit) {
+    return jdbcTemplate.query(
+        "SELECT s.product_id, " + ON_HAND
+            + """
+            FROM product_stock_sync s
+            JOIN products p ON p.id = s.product_id AND p.active = true
+            WHERE s.sync_version >= ? AND s.sync_version < ?
+            ORDER BY s.sync_version, s.product_id
+            LIMIT ?
+            """,
+        STOCK_MAPPER,
+        since,
+        upTo,
+        limit);
+  }
+
+  public List<Tombstone> findTombstones(long since, long upTo, int limit) {
+    return jdbcTemplate.query(
+        """
+        SELECT entity, entity_id FROM sync_tombstones
+        WHERE sync_version >= ? AND sync_version < ?
+        ORDER BY sync_version
+        LIMIT ?
+        """,
+        (rs, rowNum) -> new Tombstone(rs.getString("entity"), rs.getObject("entity_id", UUID.class)),
+        since,
+        upTo,
+        limit);
+  }
+
+  public List<SyncChangesResponse.Category> findAllCategories() {
+    return jdbcTemplate.query("SELECT id, name, parent_id FROM categories ORDER BY name, id", CATEGORY_MAPPER);
+  }
+
+  public List<SyncChangesResponse.Product> findActiveProducts() {
+    return jdbcTemplate.query(
+        "SELECT id, category_id, sku, barcode, name, unit, price, active FROM products WHERE active = true ORDER BY id",
+        (rs, rowNum) -> PRODUCT_MAPPER.mapRow(rs, rowNum).getProduct());
+  }
+
+  public List<SyncChangesResponse.Stock> findActiveStock() {
+    return jdbcTemplate.query(
+        """
+        SELECT p.id AS product_id,
+          COALESCE(SUM(CASE WHEN m.type = 'OUT' THEN -m.quantity ELSE m.quantity END), 0) AS on_hand
+        FROM products p
+        LEFT JOIN inventory_movements m ON m.product_id = p.id
+        WHERE p.active = true
+        GROUP BY p.id
+        ORDER BY p.id
+        """,
+        STOCK_MAPPER);
+  }
+
+  @Getter
+  public static class ProductChange {
+    private final boolean active;
+    private final SyncChangesResponse.Product product;
+
+    public ProductChange(boolean active, SyncChangesResponse.Product product) {
+      this.active = active;
+      this.product = product;
+    }
+  }
+
+  @Getter
+  public static class Tombstone {
+    private final String entity;
+    private final UUID entityId;
+
+    public Tombstone(String entity, UUID entityId) {
+      this.entity = entity;
+      this.entityId = entityId;
+    }
+  }
+}
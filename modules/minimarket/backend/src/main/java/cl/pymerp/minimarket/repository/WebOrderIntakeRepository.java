@@ -0,0 +1,21 @@
+package cl.pymerp.minimarket.repository;
+
+import cl.pymerp.minimarket.domain.IntakeStatus;
+import cl.pymerp.minimarket.domain.WebOrderIntake;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface WebOrderIntakeRepository extends JpaRepository<WebOrderIntake, UUID> {
+  long countByStatus(IntakeStatus status);
+
+  @Query(value = "SELECT CAST(pg_advisory_xact_lock(hashtext('web_order_intake')) AS TEXT)", nativeQuery = true)
+  String lockForEnqueue();
+
+  @Query(
+      value = "SELECT * FROM web_order_intake WHERE status = 'QUEUED' AND next_attempt_at <= NOW() "
+          + "ORDER BY next_attempt_at, created_at LIMIT 1 FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  Optional<WebOrderIntake> claimNext();
+}
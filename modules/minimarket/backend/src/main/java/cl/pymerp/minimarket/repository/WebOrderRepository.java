@@ -2,6 +2,7 @@ package cl.pymerp.minimarket.repository;
 
 import cl.pymerp.minimarket.domain.WebOrder;
 import cl.pymerp.minimarket.domain.WebOrderStatus;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,4 +10,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface WebOrderRepository extends JpaRepository<WebOrder, UUID> {
   List<WebOrder> findByStatusOrderByCreatedAtAsc(WebOrderStatus status);
   List<WebOrder> findAllByOrderByCreatedAtDesc();
+  List<WebOrder> findTop10ByStatusInOrderByCreatedAtAsc(Collection<WebOrderStatus> statuses);
+  long countByStatusIn(Collection<WebOrderStatus> statuses);
 }
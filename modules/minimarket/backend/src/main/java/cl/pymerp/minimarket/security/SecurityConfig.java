@@ -1,5 +1,6 @@
 package cl.pymerp.minimarket.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -22,10 +23,19 @@ public class SecurityConfig {
         .csrf(csrf -> csrf.disable())
         .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
             .requestMatchers("/api/auth/**").permitAll()
             .requestMatchers(HttpMethod.GET, "/api/products").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/products/*/related").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/products/search").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/storefront/catalog").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/categories/tree").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/categories/*/products").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/images/**").permitAll()
             .requestMatchers(HttpMethod.GET, "/api/inventory/*/stock").permitAll()
             .requestMatchers(HttpMethod.POST, "/api/web-orders").permitAll()
+            .requestMatchers(HttpMethod.POST, "/api/web-orders/intake").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/web-orders/intake/*").permitAll()
             .requestMatchers(HttpMethod.GET, "/api/local-sales/*/receipt.pdf").permitAll()
             .requestMatchers(HttpMethod.GET, "/api/local-sales/*/receipt.html").permitAll()
             .anyRequest().authenticated());
@@ -0,0 +1,13 @@
+package cl.pymerp.minimarket.service;
+
+import java.util.UUID;
+import lombok.Getter;
+
+@Getter
+public class CategoryChangedEvent {
+  private final UUID categoryId;
+
+  public CategoryChangedEvent(UUID categoryId) {
+    this.categoryId = categoryId;
+  }
+}
@@ -0,0 +1,136 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.CategoryRequest;
+import cl.pymerp.minimarket.api.CategoryTreeResponse;
+import cl.pymerp.minimarket.domain.Category;
+import cl.pymerp.minimarket.repository.CategoryRepository;
+import cl.pymerp.minimarket.repository.CategoryTreeRepository;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class CategoryService {
+  private final CategoryRepository categoryRepository;
+  private final CategoryTreeRepository treeRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0, null));
+
+  public CategoryService(
+      CategoryRepository categoryRepository,
+      CategoryTreeRepository treeRepository,
+      ApplicationEventPublisher eventPublisher) {
+    this.categoryRepository = categoryRepository;
+    this.treeRepository = treeRepository;
+    this.eventPublisher = eventPublisher;
+  }
+
+  public CategoryTreeResponse tree(boolean visibleOnly) {
+    return current().toResponse(visibleOnly);
+  }
+
+  public CategoryTreeResponse.Node node(UUID id) {
+    CategoryTreeResponse.Node node = current().node(id);
+    if (node == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Categoria no encontrada");
+    }
+    return node;
+  }
+
+  public CategoryTreeResponse.Node visibleNode(UUID id) {
+    CategoryTree current = current();
+    if (!current.isVisible(id)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Categoria no encontrada");
+    }
+    return current.node(id);
+  }
+
+  public Set<UUID> subtree(UUID id) {
+    CategoryTree current = current();
+    if (!current.contains(id)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Categoria no encontrada");
+    }
+    return current.subtree(id);
+  }
+
+  @Transactional
+  public UUID create(CategoryRequest request) {
+    Category category = new Category();
+    apply(category, request);
+    Category saved = categoryRepository.save(category);
+    eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
+    return saved.getId();
+  }
+
+  @Transactional
+  public UUID update(UUID id, CategoryRequest request) {
+    Category category = categoryRepository.findById(id)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Categoria no encontrada"));
+    if (request.getParentId() != null && current().isInSubtree(id, request.getParentId())) {
+      throw new IllegalArgumentException("una categoria no puede quedar dentro de su propio arbol");
+    }
+    apply(category, request);
+    categoryRepository.save(category);
+    eventPublisher.publishEvent(new CategoryChangedEvent(id));
+    return id;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onCategoryChanged(CategoryChangedEvent event) {
+    invalidate();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onProductChanged(ProductChangedEvent event) {
+    invalidate();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onProductsChanged(ProductsChangedEvent event) {
+    invalidate();
+  }
+
+  private void invalidate() {
+    snapshot.updateAndGet(current -> new Snapshot(current.generation + 1, null));
+  }
+
+  private CategoryTree current() {
+    Snapshot seen = snapshot.get();
+    if (seen.tree != null) {
+      return seen.tree;
+    }
+    CategoryTree built = CategoryTree.build(treeRepository.findAll());
+    // An invalidation while building replaces the snapshot, so the stale tree is served once but never cached.
+    snapshot.compareAndSet(seen, new Snapshot(seen.generation, built));
+    return built;
+  }
+
+  private void apply(Category category, CategoryRequest request) {
+    category.setName(request.getName().trim());
+    category.setVisibleWeb(request.isVisibleWeb());
+    if (request.getParentId() == null) {
+      category.setParent(null);
+      return;
+    }
+    Category parent = categoryRepository.findById(request.getParentId())
+        .orElseThrow(() -> new IllegalArgumentException("categoria padre no encontrada"));
+    category.setParent(parent);
+  }
+
+  private static final class Snapshot {
+    private final long generation;
+    private final CategoryTree tree;
+
+    private Snapshot(long generation, CategoryTree tree) {
+      this.generation = generation;
+      this.tree = tree;
+    }
+  }
+}
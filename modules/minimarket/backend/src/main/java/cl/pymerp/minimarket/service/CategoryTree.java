@@ -0,0 +1,193 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.CategoryTreeResponse;
+import cl.pymerp.minimarket.repository.CategoryTreeRepository.CategoryRow;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+final class CategoryTree {
+  private final Map<UUID, Integer> positions;
+  private final UUID[] preorder;
+  private final int[] subtreeEnd;
+  private final CategoryTreeResponse.Node[] nodes;
+  private final boolean[] visible;
+  private final List<CategoryTreeResponse.Node> roots;
+  private final List<CategoryTreeResponse.Node> visibleRoots;
+  private final int visibleCount;
+
+  private CategoryTree(
+      Map<UUID, Integer> positions,
+      UUID[] preorder,
+      int[] subtreeEnd,
+      CategoryTreeResponse.Node[] nodes,
+      boolean[] visible,
+      List<CategoryTreeResponse.Node> roots,
+      List<CategoryTreeResponse.Node> visibleRoots,
+      int visibleCount) {
+    this.positions = positions;
+    this.preorder = preorder;
+    this.subtreeEnd = subtreeEnd;
+    this.nodes = nodes;
+    this.visible = visible;
+    this.roots = roots;
+    this.visibleRoots = visibleRoots;
+    this.visibleCount = visibleCount;
+  }
+
+  static CategoryTree build(List<CategoryRow> rows) {
+    Map<UUID, Integer> index = new HashMap<>(rows.size() * 2);
+    for (int i = 0; i < rows.size(); i++) {
+      index.put(rows.get(i).getId(), i);
+    }
+    List<List<Integer>> children = new ArrayList<>(rows.size());
+    List<Integer> rootRows = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i++) {
+      children.add(new ArrayList<>(0));
+    }
+    for (int i = 0; i < rows.size(); i++) {
+      Integer parent = rows.get(i).getParentId() != null ? index.get(rows.get(i).getParentId()) : null;
+      (parent != null ? children.get(parent) : rootRows).add(i);
+    }
+
+    int[] rowAt = new int[rows.size()];
+    int[] depths = new int[rows.size()];
+    int[] subtreeEnd = new int[rows.size()];
+    int visited = 0;
+    Deque<int[]> stack = new ArrayDeque<>();
+    for (int r = rootRows.size() - 1; r >= 0; r--) {
+      stack.push(new int[] {rootRows.get(r), 0});
+    }
+    while (!stack.isEmpty()) {
+      int[] entry = stack.pop();
+      rowAt[visited] = entry[0];
+      depths[visited] = entry[1];
+      visited++;
+      List<Integer> kids = children.get(entry[0]);
+      for (int c = kids.size() - 1; c >= 0; c--) {
+        stack.push(new int[] {kids.get(c), entry[1] + 1});
+      }
+    }
+
+    Map<UUID, Integer> positions = new HashMap<>(visited * 2);
+    UUID[] preorder = new UUID[visited];
+    int[] positionOf = new int[rows.size()];
+    for (int pos = 0; pos < visited; pos++) {
+      positionOf[rowAt[pos]] = pos;
+      preorder[pos] = rows.get(rowAt[pos]).getId();
+      positions.put(preorder[pos], pos);
+    }
+    // Preorder puts parents first; a category is public only if it and every ancestor are visible.
+    boolean[] visible = new boolean[visited];
+    for (int pos = 0; pos < visited; pos++) {
+      CategoryRow row = rows.get(rowAt[pos]);
+      Integer parent = row.getParentId() != null ? index.get(row.getParentId()) : null;
+      visible[pos] = row.isVisibleWeb() && (parent == null || visible[positionOf[parent]]);
+    }
+
+    CategoryTreeResponse.Node[] nodes = new CategoryTreeResponse.Node[visited];
+    CategoryTreeResponse.Node[] visibleNodes = new CategoryTreeResponse.Node[visited];
+    int[] visibleSizes = new int[visited];
+    for (int pos = visited - 1; pos >= 0; pos--) {
+      CategoryRow row = rows.get(rowAt[pos]);
+      List<Integer> kids = children.get(rowAt[pos]);
+      List<CategoryTreeResponse.Node> childNodes = new ArrayList<>(kids.size());
+      List<CategoryTreeResponse.Node> visibleChildNodes = new ArrayList<>(kids.size());
+      long subtreeProducts = row.getProductCount();
+      long visibleSubtreeProducts = row.getProductCount();
+      int end = pos + 1;
+      for (int kid : kids) {
+        int kidPos = positionOf[kid];
+        childNodes.add(nodes[kidPos]);
+        subtreeProducts += nodes[kidPos].getSubtreeProductCount();
+        if (visibleNodes[kidPos] != null) {
+          visibleChildNodes.add(visibleNodes[kidPos]);
+          visibleSubtreeProducts += visibleNodes[kidPos].getSubtreeProductCount();
+        }
+        end = Math.max(end, subtreeEnd[kidPos]);
+      }
+      subtreeEnd[pos] = end;
+      nodes[pos] = node(row, depths[pos], subtreeProducts, childNodes);
+      if (row.isVisibleWeb()) {
+        visibleNodes[pos] = node(row, depths[pos], visibleSubtreeProducts, visibleChildNodes);
+        visibleSizes[pos] = 1;
+        for (int kid : kids) {
+          visibleSizes[pos] += visibleSizes[positionOf[kid]];
+        }
+      }
+    }
+
+    List<CategoryTreeResponse.Node> roots = new ArrayList<>(rootRows.size());
+    List<CategoryTreeResponse.Node> visibleRoots = new ArrayList<>(rootRows.size());
+    int visibleCount = 0;
+    for (int root : rootRows) {
+      int pos = positionOf[root];
+      roots.add(nodes[pos]);
+      if (visibleNodes[pos] != null) {
+        visibleRoots.add(visibleNodes[pos]);
+        visibleCount += visibleSizes[pos];
+      }
+    }
+    return new CategoryTree(
+        positions, preorder, subtreeEnd, nodes, visible, List.copyOf(roots), List.copyOf(visibleRoots), visibleCount);
+  }
+
+  boolean contains(UUID id) {
+    return positions.containsKey(id);
+  }
+
+  CategoryTreeResponse.Node node(UUID id) {
+    Integer pos = positions.get(id);
+    return pos != null ? nodes[pos] : null;
+  }
+
+  boolean isVisible(UUID id) {
+    Integer pos = positions.get(id);
+    return pos != null && visible[pos];
+  }
+
+  boolean isInSubtree(UUID ancestorId, UUID categoryId) {
+    Integer ancestor = positions.get(ancestorId);
+    Integer category = positions.get(categoryId);
+    return ancestor != null && category != null && category >= ancestor && category < subtreeEnd[ancestor];
+  }
+
+  Set<UUID> subtree(UUID id) {
+    Integer pos = positions.get(id);
+    if (pos == null) {
+      return Set.of();
+    }
+    Set<UUID> ids = new HashSet<>((subtreeEnd[pos] - pos) * 2);
+    Collections.addAll(ids, Arrays.copyOfRange(preorder, pos, subtreeEnd[pos]));
+    return Collections.unmodifiableSet(ids);
+  }
+
+  CategoryTreeResponse toResponse(boolean visibleOnly) {
+    return CategoryTreeResponse.builder()
+        .categoryCount(visibleOnly ? visibleCount : preorder.length)
+        .roots(visibleOnly ? visibleRoots : roots)
+        .build();
+  }
+
+  private static CategoryTreeResponse.Node node(
+      CategoryRow row, int depth, long subtreeProducts, List<CategoryTreeResponse.Node> children) {
+    return CategoryTreeResponse.Node.builder()
+        .id(row.getId())
+        .name(row.getName())
+        .parentId(row.getParentId())
+        .visibleWeb(row.isVisibleWeb())
+        .depth(depth)
+        .productCount(row.getProductCount())
+        .subtreeProductCount(subtreeProducts)
+        .children(List.copyOf(children))
+        .build();
+  }
+}
@@ -0,0 +1,102 @@
+package cl.pymerp.minimarket.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import lombok.Getter;
+
+public class CoOccurrenceIndex {
+  private final int maxBasketSize;
+  private final Map<UUID, Integer> ids = new HashMap<>();
+  private final List<UUID> products = new ArrayList<>();
+  private final List<IntFloatHashMap> partners = new ArrayList<>();
+  private float[] baskets = new float[64];
+
+  public CoOccurrenceIndex(int maxBasketSize) {
+    this.maxBasketSize = maxBasketSize;
+  }
+
+  public synchronized void addBasket(Collection<UUID> basket, float weight) {
+    int[] members = new LinkedHashSet<>(basket).stream()
+        .limit(maxBasketSize)
+        .mapToInt(this::idOf)
+        .toArray();
+    for (int i = 0; i < members.length; i++) {
+      baskets[members[i]] += weight;
+      for (int j = i + 1; j < members.length; j++) {
+        partners.get(members[i]).addTo(members[j], weight);
+        partners.get(members[j]).addTo(members[i], weight);
+      }
+    }
+  }
+
+  public synchronized void mergeFrom(CoOccurrenceIndex other) {
+    int[] mapping = new int[other.products.size()];
+    for (int i = 0; i < mapping.length; i++) {
+      mapping[i] = idOf(other.products.get(i));
+      baskets[mapping[i]] += other.baskets[i];
+    }
+    for (int i = 0; i < mapping.length; i++) {
+      IntFloatHashMap target = partners.get(mapping[i]);
+      other.partners.get(i).forEach((partner, weight) -> target.addTo(mapping[partner], weight));
+    }
+  }
+
+  public synchronized List<Partner> top(UUID productId, int limit) {
+    Integer id = ids.get(productId);
+    if (id == null) {
+      return List.of();
+    }
+    PriorityQueue<Partner> best = new PriorityQueue<>(limit + 1, (a, b) -> Float.compare(a.score, b.score));
+    float own = baskets[id];
+    partners.get(id).forEach((partner, weight) -> {
+      if (best.size() < limit || weight > best.peek().score) {
+        best.add(new Partner(products.get(partner), weight, own > 0 ? weight / own : 0f));
+        if (best.size() > limit) {
+          best.poll();
+        }
+      }
+    });
+    List<Partner> result = new ArrayList<>(best);
+    result.sort((a, b) -> Float.compare(b.score, a.score));
+    return result;
+  }
+
+  public synchronized int size() {
+    return products.size();
+  }
+
+  private int idOf(UUID productId) {
+    Integer existing = ids.get(productId);
+    if (existing != null) {
+      return existing;
+    }
+    int id = products.size();
+    ids.put(productId, id);
+    products.add(productId);
+    partners.add(new IntFloatHashMap(8));
+    if (id >= baskets.length) {
+      baskets = Arrays.copyOf(baskets, baskets.length * 2);
+    }
+    return id;
+  }
+
+  @Getter
+  public static final class Partner {
+    private final UUID productId;
+    private final float score;
+    private final float confidence;
+
+    private Partner(UUID productId, float score, float confidence) {
+      this.productId = productId;
+      this.score = score;
+      this.confidence = confidence;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.InventoryValuationResponse;
+import cl.pymerp.minimarket.api.InventoryValuationResponse.ProductValuation;
+import cl.pymerp.minimarket.domain.CostLayer;
+import cl.pymerp.minimarket.domain.InventoryMovement;
+import cl.pymerp.minimarket.domain.MovementType;
+import cl.pymerp.minimarket.repository.CostLayerRepository;
+import cl.pymerp.minimarket.repository.InventoryProjectionRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class CostLayerService {
+  private final CostLayerRepository layerRepository;
+  private final InventoryProjectionRepository projectionRepository;
+
+  public CostLayerService(CostLayerRepository layerRepository, InventoryProjectionRepository projectionRepository) {
+    this.layerRepository = layerRepository;
+    this.projectionRepository = projectionRepository;
+  }
+
+  @Transactional(readOnly = true)
+  public InventoryValuationResponse valuation() {
+    List<ProductValuation> products = projectionRepository.findValuation();
+    return InventoryValuationResponse.builder()
+        .totalUnits(products.stream().mapToLong(ProductValuation::getUnits).sum())
+        .totalValue(products.stream().map(ProductValuation::getValue).reduce(BigDecimal.ZERO, BigDecimal::add))
+        .products(products)
+        .build();
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public CostLayer receive(InventoryMovement movement, BigDecimal unitCost) {
+    if (movement.getQuantity() <= 0) {
+      throw new IllegalArgumentException("solo ingresos positivos crean capas de costo");
+    }
+    CostLayer layer = new CostLayer();
+    layer.setProduct(movement.getProduct());
+    layer.setMovement(movement);
+    layer.setUnitCost(unitCost != null ? unitCost : movement.getProduct().getCost());
+    layer.setQuantityReceived(movement.getQuantity());
+    layer.setQuantityRemaining(movement.getQuantity());
+    layer.setReceivedAt(movement.getCreatedAt());
+    return layerRepository.save(layer);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void assignCost(List<InventoryMovement> outgoing) {
+    List<InventoryMovement> consuming = outgoing.stream()
+        .filter(movement -> movement.getType() == MovementType.OUT
+            || (movement.getType() == MovementType.ADJUST && movement.getQuantity() < 0))
+        .collect(Collectors.toList());
+    if (consuming.isEmpty()) {
+      return;
+    }
+
+    Map<UUID, Deque<CostLayer>> open = new HashMap<>();
+    List<UUID> productIds = consuming.stream().map(movement -> movement.getProduct().getId()).distinct().toList();
+    for (CostLayer layer : layerRepository.lockOpenLayers(productIds)) {
+      open.computeIfAbsent(layer.getProduct().getId(), id -> new ArrayDeque<>()).addLast(layer);
+    }
+
+    Set<CostLayer> touched = new LinkedHashSet<>();
+    for (InventoryMovement movement : consuming) {
+      Deque<CostLayer> layers = open.getOrDefault(movement.getProduct().getId(), new ArrayDeque<>());
+      int pending = Math.abs(movement.getQuantity());
+      BigDecimal cost = BigDecimal.ZERO;
+      while (pending > 0 && !layers.isEmpty()) {
+        CostLayer layer = layers.peekFirst();
+        int taken = Math.min(pending, layer.getQuantityRemaining());
+        cost = cost.add(layer.getUnitCost().multiply(BigDecimal.valueOf(taken)));
+        layer.setQuantityRemaining(layer.getQuantityRemaining() - taken);
+        pending -= taken;
+        touched.add(layer);
+        if (layer.getQuantityRemaining() == 0) {
+          layers.removeFirst();
+        }
+      }
+      if (pending > 0) {
+        cost = cost.add(movement.getProduct().getCost().multiply(BigDecimal.valueOf(pending)));
+      }
+      movement.setCostAmount(cost.setScale(2, RoundingMode.HALF_UP));
+    }
+    layerRepository.saveAll(touched);
+  }
+
+  public Map<UUID, BigDecimal> costByProduct(List<InventoryMovement> movements) {
+    Map<UUID, BigDecimal> costs = new HashMap<>();
+    for (InventoryMovement movement : movements) {
+      if (movement.getCostAmount() != null) {
+        costs.merge(movement.getProduct().getId(), movement.getCostAmount(), BigDecimal::add);
+      }
+    }
+    return costs;
+  }
+}
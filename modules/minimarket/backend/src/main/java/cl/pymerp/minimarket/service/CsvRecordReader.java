@@ -0,0 +1,101 @@
+package cl.pymerp.minimarket.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+class CsvRecordReader {
+  private static final int DETECT_LIMIT = 8 * 1024;
+
+  private final BufferedReader reader;
+  private final char delimiter;
+  private final StringBuilder field = new StringBuilder();
+  private long line = 1;
+  private long recordLine;
+
+  CsvRecordReader(BufferedReader reader) throws IOException {
+    this.reader = reader;
+    this.delimiter = detectDelimiter(reader);
+  }
+
+  long getRecordLine() {
+    return recordLine;
+  }
+
+  List<String> next() throws IOException {
+    int c = reader.read();
+    if (c == '\uFEFF' && line == 1) {
+      c = reader.read();
+    }
+    if (c == -1) {
+      return null;
+    }
+    recordLine = line;
+    List<String> values = new ArrayList<>();
+    field.setLength(0);
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new IllegalArgumentException("comillas sin cerrar desde la linea " + recordLine);
+        }
+        if (c == '"') {
+          reader.mark(1);
+          int following = reader.read();
+          if (following == '"') {
+            field.append('"');
+          } else {
+            quoted = false;
+            reader.reset();
+          }
+        } else {
+          if (c == '\n') {
+            line++;
+          }
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.length() == 0) {
+        quoted = true;
+      } else if (c == delimiter) {
+        values.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n' || c == '\r' || c == -1) {
+        if (c == '\r') {
+          reader.mark(1);
+          if (reader.read() != '\n') {
+            reader.reset();
+          }
+        }
+        if (c != -1) {
+          line++;
+        }
+        values.add(field.toString());
+        return values;
+      } else {
+        field.append((char) c);
+      }
+      c = reader.read();
+    }
+  }
+
+  private static char detectDelimiter(BufferedReader reader) throws IOException {
+    reader.mark(DETECT_LIMIT);
+    int commas = 0;
+    int semicolons = 0;
+    boolean quoted = false;
+    for (int i = 0, c = reader.read(); i < DETECT_LIMIT && c != -1; i++, c = reader.read()) {
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (!quoted && (c == '\n' || c == '\r')) {
+        break;
+      } else if (!quoted && c == ',') {
+        commas++;
+      } else if (!quoted && c == ';') {
+        semicolons++;
+      }
+    }
+    reader.reset();
+    return semicolons > commas ? ';' : ',';
+  }
+}
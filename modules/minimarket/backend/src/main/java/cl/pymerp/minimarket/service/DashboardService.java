@@ -2,58 +2,111 @@ package cl.pymerp.minimarket.service;
 
 import cl.pymerp.minimarket.api.DashboardResponse;
 import cl.pymerp.minimarket.api.DashboardResponse.AdjustmentItem;
+import cl.pymerp.minimarket.api.DashboardResponse.LowStockItem;
 import cl.pymerp.minimarket.api.DashboardResponse.WebOrderSummary;
+import cl.pymerp.minimarket.api.SalesDailyResponse;
 import cl.pymerp.minimarket.domain.InventoryMovement;
 import cl.pymerp.minimarket.domain.MovementType;
+import cl.pymerp.minimarket.domain.SaleType;
 import cl.pymerp.minimarket.domain.WebOrder;
 import cl.pymerp.minimarket.domain.WebOrderStatus;
 import cl.pymerp.minimarket.repository.InventoryMovementRepository;
 import cl.pymerp.minimarket.repository.InventoryProjectionRepository;
-import cl.pymerp.minimarket.repository.LocalSaleRepository;
 import cl.pymerp.minimarket.repository.WebOrderRepository;
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.OffsetDateTime;
-import java.time.ZoneId;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class DashboardService {
-  private final LocalSaleRepository localSaleRepository;
+  private static final List<WebOrderStatus> PENDING_STATUSES = List.of(WebOrderStatus.REQUESTED, WebOrderStatus.PENDING);
+
+  private final SalesRollupService salesRollupService;
   private final WebOrderRepository webOrderRepository;
   private final InventoryMovementRepository movementRepository;
   private final InventoryProjectionRepository projectionRepository;
+  private final DashboardSummaryCache summaryCache;
+  private final Executor executor;
+  private final TransactionTemplate transaction;
+  private final JdbcTemplate jdbcTemplate;
+  private final long queryTimeoutMillis;
 
   public DashboardService(
-      LocalSaleRepository localSaleRepository,
+      SalesRollupService salesRollupService,
       WebOrderRepository webOrderRepository,
       InventoryMovementRepository movementRepository,
-      InventoryProjectionRepository projectionRepository) {
-    this.localSaleRepository = localSaleRepository;
+      InventoryProjectionRepository projectionRepository,
+      DashboardSummaryCache summaryCache,
+      @Qualifier("dashboardExecutor") Executor executor,
+      PlatformTransactionManager transactionManager,
+      JdbcTemplate jdbcTemplate,
+      @Value("${app.dashboard.query-timeout-ms:2000}") long queryTimeoutMillis) {
+    this.salesRollupService = salesRollupService;
     this.webOrderRepository = webOrderRepository;
     this.movementRepository = movementRepository;
     this.projectionRepository = projectionRepository;
+    this.summaryCache = summaryCache;
+    this.executor = executor;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.transaction.setReadOnly(true);
+    this.jdbcTemplate = jdbcTemplate;
+    this.queryTimeoutMillis = queryTimeoutMillis;
   }
 
   public DashboardResponse getSummary() {
-    ZoneId zone = ZoneId.of("America/Santiago");
-    LocalDate today = LocalDate.now(zone);
-    OffsetDateTime start = today.atStartOfDay(zone).toOffsetDateTime();
-    OffsetDateTime end = today.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
+    return summaryCache.get(this::loadSummary);
+  }
+
+  private DashboardResponse loadSummary() {
+    List<String> degraded = new CopyOnWriteArrayList<>();
+
+    CompletableFuture<SalesDailyResponse> salesFuture = query(
+        "salesToday",
+        () -> salesRollupService.today(SaleType.LOCAL_SALE),
+        SalesDailyResponse.builder()
+            .saleType(SaleType.LOCAL_SALE)
+            .salesCount(0)
+            .totalAmount(BigDecimal.ZERO)
+            .build(),
+        degraded);
+    CompletableFuture<Long> pendingCountFuture = query(
+        "pendingOrders",
+        () -> webOrderRepository.countByStatusIn(PENDING_STATUSES),
+        0L,
+        degraded);
+    CompletableFuture<List<WebOrder>> pendingFuture = query(
+        "pendingOrders",
+        () -> webOrderRepository.findTop10ByStatusInOrderByCreatedAtAsc(PENDING_STATUSES),
+        List.of(),
+        degraded);
+    CompletableFuture<List<InventoryMovement>> adjustmentsFuture = query(
+        "recentAdjustments",
+        () -> movementRepository.findTop10ByTypeOrderByCreatedAtDesc(MovementType.ADJUST),
+        List.of(),
+        degraded);
+    CompletableFuture<List<LowStockItem>> lowStockFuture = query(
+        "lowStock",
+        projectionRepository::findLowStock,
+        List.of(),
+        degraded);
+
+    CompletableFuture.allOf(salesFuture, pendingCountFuture, pendingFuture, adjustmentsFuture, lowStockFuture).join();
 
-    var salesToday = localSaleRepository.findByCreatedAtBetween(start, end);
-    BigDecimal total = salesToday.stream()
-        .map(sale -> sale.getTotalAmount())
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+    SalesDailyResponse salesToday = salesFuture.join();
 
-    List<WebOrder> pending = new java.util.ArrayList<>(
-        webOrderRepository.findByStatusOrderByCreatedAtAsc(WebOrderStatus.REQUESTED));
-    pending.addAll(webOrderRepository.findByStatusOrderByCreatedAtAsc(WebOrderStatus.PENDING));
-    pending.sort(java.util.Comparator.comparing(WebOrder::getCreatedAt));
-    List<WebOrderSummary> pendingSummaries = pending.stream()
-        .limit(10)
+    List<WebOrderSummary> pendingSummaries = pendingFuture.join().stream()
         .map(order -> WebOrderSummary.builder()
             .id(order.getId())
             .customerName(order.getCustomerName())
@@ -62,8 +115,7 @@ public class DashboardService {
             .build())
         .collect(Collectors.toList());
 
-    List<InventoryMovement> adjustments = movementRepository.findTop10ByTypeOrderByCreatedAtDesc(MovementType.ADJUST);
-    List<AdjustmentItem> adjustmentItems = adjustments.stream()
+    List<AdjustmentItem> adjustmentItems = adjustmentsFuture.join().stream()
         .map(movement -> AdjustmentItem.builder()
             .id(movement.getId())
             .productId(movement.getProduct().getId())
@@ -75,12 +127,37 @@ public class DashboardService {
         .collect(Collectors.toList());
 
     return DashboardResponse.builder()
-        .salesTodayTotal(total)
-        .salesTodayCount(salesToday.size())
-        .pendingWebOrders(pending.size())
+        .salesTodayTotal(salesToday.getTotalAmount())
+        .salesTodayCount((int) salesToday.getSalesCount())
+        .pendingWebOrders(pendingCountFuture.join().intValue())
         .pendingOrders(pendingSummaries)
-        .lowStock(projectionRepository.findLowStock())
+        .lowStock(lowStockFuture.join())
         .recentAdjustments(adjustmentItems)
+        .degraded(!degraded.isEmpty())
+        .degradedSections(degraded.stream().distinct().collect(Collectors.toList()))
         .build();
   }
+
+  private <T> CompletableFuture<T> query(String section, Supplier<T> supplier, T fallback, List<String> degraded) {
+    CompletableFuture<T> future;
+    try {
+      future = CompletableFuture.supplyAsync(() -> withStatementTimeout(supplier), executor);
+    } catch (RejectedExecutionException ex) {
+      future = CompletableFuture.failedFuture(ex);
+    }
+    return future
+        .orTimeout(queryTimeoutMillis, TimeUnit.MILLISECONDS)
+        .exceptionally(ex -> {
+          degraded.add(section);
+          return fallback;
+        });
+  }
+
+  // orTimeout only abandons the future; statement_timeout makes Postgres cancel the query and free the connection.
+  private <T> T withStatementTimeout(Supplier<T> supplier) {
+    return transaction.execute(status -> {
+      jdbcTemplate.execute("SET LOCAL statement_timeout = " + queryTimeoutMillis);
+      return supplier.get();
+    });
+  }
 }
@@ -0,0 +1,78 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.DashboardResponse;
+import cl.pymerp.minimarket.domain.OutboxEvent;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class DashboardSummaryCache {
+  private final long ttlNanos;
+  private final AtomicReference<Entry> current = new AtomicReference<>();
+
+  public DashboardSummaryCache(@Value("${app.dashboard.cache-ttl-ms:5000}") long ttlMillis) {
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+  }
+
+  public DashboardResponse get(Supplier<DashboardResponse> loader) {
+    while (true) {
+      Entry entry = current.get();
+      if (entry != null && !entry.isExpired(ttlNanos)) {
+        return await(entry.future);
+      }
+      Entry fresh = new Entry();
+      if (!current.compareAndSet(entry, fresh)) {
+        continue;
+      }
+      try {
+        DashboardResponse response = loader.get();
+        fresh.loadedAt = System.nanoTime();
+        fresh.future.complete(response);
+        if (response.isDegraded()) {
+          current.compareAndSet(fresh, null);
+        }
+        return response;
+      } catch (RuntimeException ex) {
+        current.compareAndSet(fresh, null);
+        fresh.future.completeExceptionally(ex);
+        throw ex;
+      }
+    }
+  }
+
+  public void invalidate() {
+    current.set(null);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onDataChanged(OutboxEvent event) {
+    invalidate();
+  }
+
+  private DashboardResponse await(CompletableFuture<DashboardResponse> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  private static final class Entry {
+    private final CompletableFuture<DashboardResponse> future = new CompletableFuture<>();
+    private volatile long loadedAt;
+
+    private boolean isExpired(long ttlNanos) {
+      return future.isDone() && System.nanoTime() - loadedAt >= ttlNanos;
+    }
+  }
+}
@@ -1,13 +1,10 @@
 package cl.pymerp.minimarket.service;
 
+import cl.pymerp.minimarket.api.PurchaseRequest;
 import cl.pymerp.minimarket.domain.Category;
-import cl.pymerp.minimarket.domain.InventoryMovement;
-import cl.pymerp.minimarket.domain.MovementReason;
-import cl.pymerp.minimarket.domain.MovementType;
 import cl.pymerp.minimarket.domain.Product;
 import cl.pymerp.minimarket.domain.User;
 import cl.pymerp.minimarket.repository.CategoryRepository;
-import cl.pymerp.minimarket.repository.InventoryMovementRepository;
 import cl.pymerp.minimarket.repository.ProductRepository;
 import cl.pymerp.minimarket.repository.UserRepository;
 import java.math.BigDecimal;
@@ -23,7 +20,7 @@ public class DataSeeder implements CommandLineRunner {
   private final UserRepository userRepository;
   private final CategoryRepository categoryRepository;
   private final ProductRepository productRepository;
-  private final InventoryMovementRepository movementRepository;
+  private final InventoryService inventoryService;
   private final PasswordEncoder passwordEncoder;
   private final boolean enabled;
 
@@ -31,13 +28,13 @@ public class DataSeeder implements CommandLineRunner {
       UserRepository userRepository,
       CategoryRepository categoryRepository,
       ProductRepository productRepository,
-      InventoryMovementRepository movementRepository,
+      InventoryService inventoryService,
       PasswordEncoder passwordEncoder,
       @Value("${seed.enabled:true}") boolean enabled) {
     this.userRepository = userRepository;
     this.categoryRepository = categoryRepository;
     this.productRepository = productRepository;
-    this.movementRepository = movementRepository;
+    this.inventoryService = inventoryService;
     this.passwordEncoder = passwordEncoder;
     this.enabled = enabled;
   }
@@ -95,15 +92,14 @@ public class DataSeeder implements CommandLineRunner {
   }
 
   private void seedStock(Product product, User user, int quantity) {
-    InventoryMovement movement = new InventoryMovement();
-    movement.setProduct(product);
-    movement.setType(MovementType.IN);
-    movement.setReason(MovementReason.compra);
-    movement.setQuantity(quantity);
-    movement.setDocumentType("Factura");
-    movement.setDocumentNumber("SEED-001");
-    movement.setNotes("Stock inicial");
-    movement.setUser(user);
-    movementRepository.save(movement);
+    PurchaseRequest purchase = new PurchaseRequest();
+    purchase.setProductId(product.getId());
+    purchase.setQuantity(quantity);
+    purchase.setDocumentType("Factura");
+    purchase.setDocumentNumber("SEED-001");
+    purchase.setUnitCost(product.getCost());
+    purchase.setNotes("Stock inicial");
+    purchase.setUserId(user.getId());
+    inventoryService.registerPurchase(purchase);
   }
 }
@@ -0,0 +1,218 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.ForecastRunResponse;
+import cl.pymerp.minimarket.api.ReorderSuggestionResponse;
+import cl.pymerp.minimarket.repository.ProductForecastRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class DemandForecastService {
+  private static final Logger log = LoggerFactory.getLogger(DemandForecastService.class);
+  private static final double SMOOTHING = 0.1;
+  private static final int SEASONAL_WINDOW_DAYS = 182;
+  private static final int RESIDUAL_WINDOW_DAYS = 56;
+
+  private final ProductForecastRepository forecastRepository;
+  private final InventoryService inventoryService;
+  private final Executor executor;
+  private final ZoneId zone;
+  private final int historyDays;
+  private final int leadTimeDays;
+  private final int reviewDays;
+  private final double serviceLevelZ;
+  private final int chunkSize;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  public DemandForecastService(
+      ProductForecastRepository forecastRepository,
+      InventoryService inventoryService,
+      @Qualifier("forecastExecutor") Executor executor,
+      @Value("${app.store.zone:America/Santiago}") String zone,
+      @Value("${app.forecast.history-days:730}") int historyDays,
+      @Value("${app.forecast.lead-time-days:3}") int leadTimeDays,
+      @Value("${app.forecast.review-days:7}") int reviewDays,
+      @Value("${app.forecast.service-level-z:1.65}") double serviceLevelZ,
+      @Value("${app.forecast.chunk-size:500}") int chunkSize) {
+    this.forecastRepository = forecastRepository;
+    this.inventoryService = inventoryService;
+    this.executor = executor;
+    this.zone = ZoneId.of(zone);
+    this.historyDays = historyDays;
+    this.leadTimeDays = leadTimeDays;
+    this.reviewDays = reviewDays;
+    this.serviceLevelZ = serviceLevelZ;
+    this.chunkSize = chunkSize;
+  }
+
+  @Scheduled(cron = "${app.forecast.cron:0 30 3 * * *}", zone = "${app.store.zone:America/Santiago}")
+  public void scheduledRun() {
+    try {
+      start();
+    } catch (ResponseStatusException ex) {
+      log.info("Pronostico de demanda ya en ejecucion, se omite");
+    }
+  }
+
+  /**
+   * Submits the chunks to the forecast executor and returns without waiting, so neither the shared scheduler
+   * thread nor a request thread is held for the length of the run.
+   */
+  public CompletableFuture<ForecastRunResponse> start() {
+    if (!running.compareAndSet(false, true)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "pronostico en ejecucion");
+    }
+    try {
+      long started = System.nanoTime();
+      LocalDate today = LocalDate.now(zone);
+      LocalDate from = today.minusDays(historyDays);
+      OffsetDateTime computedAt = OffsetDateTime.now();
+      List<UUID> productIds = forecastRepository.findActiveProductIds();
+      List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+      for (int start = 0; start < productIds.size(); start += chunkSize) {
+        List<UUID> chunk = productIds.subList(start, Math.min(start + chunkSize, productIds.size()));
+        chunks.add(CompletableFuture.supplyAsync(() -> processChunk(chunk, from, today, computedAt), executor));
+      }
+      return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+          .thenApply(done -> ForecastRunResponse.builder()
+              .products(chunks.stream().mapToInt(CompletableFuture::join).sum())
+              .chunks(chunks.size())
+              .durationMs((System.nanoTime() - started) / 1_000_000)
+              .build())
+          .whenComplete((result, error) -> {
+            running.set(false);
+            if (error != null) {
+              log.error("Pronostico de demanda fallido", error);
+            } else {
+              log.info("Pronostico de demanda: {} productos en {} ms", result.getProducts(), result.getDurationMs());
+            }
+          });
+    } catch (RuntimeException ex) {
+      running.set(false);
+      throw ex;
+    }
+  }
+
+  public List<ReorderSuggestionResponse> reorderSuggestions(int limit) {
+    if (limit < 1 || limit > 1000) {
+      throw new IllegalArgumentException("limit debe estar entre 1 y 1000");
+    }
+    return forecastRepository.findReorderSuggestions(limit);
+  }
+
+  private int processChunk(List<UUID> productIds, LocalDate from, LocalDate today, OffsetDateTime computedAt) {
+    int days = (int) ChronoUnit.DAYS.between(from, today);
+    Map<UUID, long[]> history = new HashMap<>();
+    forecastRepository.forEachDailySale(productIds, from, zone, (productId, date, units) -> {
+      int index = (int) ChronoUnit.DAYS.between(from, date);
+      if (index >= 0 && index < days) {
+        history.computeIfAbsent(productId, id -> new long[days])[index] += units;
+      }
+    });
+    Map<UUID, Long> stock = inventoryService.getStockOnHand(productIds);
+    List<ReorderSuggestionResponse> forecasts = productIds.stream()
+        .map(productId -> forecast(
+            productId,
+            history.getOrDefault(productId, new long[days]),
+            from,
+            stock.getOrDefault(productId, 0L),
+            computedAt))
+        .collect(Collectors.toList());
+    forecastRepository.upsert(forecasts);
+    return forecasts.size();
+  }
+
+  ReorderSuggestionResponse forecast(
+      UUID productId, long[] daily, LocalDate firstDay, long stockOnHand, OffsetDateTime computedAt) {
+    double[] factors = weekdayFactors(daily, firstDay);
+
+    double level = 0;
+    int warmup = Math.min(28, daily.length);
+    for (int i = 0; i < warmup; i++) {
+      level += daily[i] / factors[dayOfWeek(firstDay, i)];
+    }
+    level = warmup > 0 ? level / warmup : 0;
+    double squaredError = 0;
+    int residuals = 0;
+    for (int i = 0; i < daily.length; i++) {
+      double factor = factors[dayOfWeek(firstDay, i)];
+      if (i >= daily.length - RESIDUAL_WINDOW_DAYS) {
+        double error = daily[i] - level * factor;
+        squaredError += error * error;
+        residuals++;
+      }
+      level = SMOOTHING * (daily[i] / factor) + (1 - SMOOTHING) * level;
+    }
+    double sigma = residuals > 1 ? Math.sqrt(squaredError / (residuals - 1)) : 0;
+
+    int horizon = leadTimeDays + reviewDays;
+    double demand = 0;
+    for (int i = 0; i < horizon; i++) {
+      demand += level * factors[dayOfWeek(firstDay, daily.length + i)];
+    }
+    double safetyStock = serviceLevelZ * sigma * Math.sqrt(horizon);
+    int suggested = Math.max(0, decimal(demand + safetyStock - stockOnHand, 2).setScale(0, RoundingMode.CEILING).intValue());
+
+    return ReorderSuggestionResponse.builder()
+        .productId(productId)
+        .stockOnHand(stockOnHand)
+        .dailyVelocity(decimal(level, 4))
+        .weekdayFactors(Arrays.stream(factors).mapToObj(factor -> decimal(factor, 3)).collect(Collectors.toList()))
+        .daysOfCover(level > 0 ? decimal(Math.max(stockOnHand, 0) / level, 2) : null)
+        .forecastDemand(decimal(demand, 2))
+        .safetyStock(decimal(safetyStock, 2))
+        .suggestedQuantity(suggested)
+        .computedAt(computedAt)
+        .build();
+  }
+
+  private double[] weekdayFactors(long[] daily, LocalDate firstDay) {
+    double[] sums = new double[7];
+    int[] counts = new int[7];
+    double total = 0;
+    int start = Math.max(0, daily.length - SEASONAL_WINDOW_DAYS);
+    for (int i = start; i < daily.length; i++) {
+      int dow = dayOfWeek(firstDay, i);
+      sums[dow] += daily[i];
+      counts[dow]++;
+      total += daily[i];
+    }
+    double[] factors = new double[7];
+    int window = daily.length - start;
+    double mean = window > 0 ? total / window : 0;
+    for (int dow = 0; dow < 7; dow++) {
+      factors[dow] = mean > 0 && counts[dow] > 0 ? Math.max(0.05, (sums[dow] / counts[dow]) / mean) : 1.0;
+    }
+    return factors;
+  }
+
+  private int dayOfWeek(LocalDate firstDay, int offset) {
+    return (firstDay.getDayOfWeek().getValue() - 1 + offset) % 7;
+  }
+
+  private BigDecimal decimal(double value, int scale) {
+    return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
+  }
+}
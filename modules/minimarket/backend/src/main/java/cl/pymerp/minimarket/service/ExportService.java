@@ -0,0 +1,163 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.domain.ExportDataset;
+import cl.pymerp.minimarket.domain.ExportFormat;
+import cl.pymerp.minimarket.repository.ExportRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class ExportService {
+  private final ExportRepository exportRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final ObjectMapper objectMapper;
+  private final ZoneId zone;
+  private final int fetchSize;
+
+  public ExportService(
+      ExportRepository exportRepository,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      @Value("${app.store.zone:America/Santiago}") String zone,
+      @Value("${app.exports.fetch-size:2000}") int fetchSize) {
+    this.exportRepository = exportRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.objectMapper = objectMapper;
+    this.zone = ZoneId.of(zone);
+    this.fetchSize = fetchSize;
+  }
+
+  public void validate(LocalDate from, LocalDate to) {
+    if (from != null && to != null && from.isAfter(to)) {
+      throw new IllegalArgumentException("from no puede ser posterior a to");
+    }
+  }
+
+  public long currentVersion() {
+    return exportRepository.watermark();
+  }
+
+  public void export(
+      ExportDataset dataset,
+      ExportFormat format,
+      LocalDate from,
+      LocalDate to,
+      Long sinceVersion,
+      long upToVersion,
+      OutputStream output) throws IOException {
+    validate(from, to);
+    GZIPOutputStream gzip = new GZIPOutputStream(output, 64 * 1024);
+    Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), 64 * 1024);
+    try {
+      readOnlyTransaction.executeWithoutResult(status -> exportRepository.stream(
+          dataset,
+          from != null ? from.atStartOfDay(zone).toOffsetDateTime() : null,
+          to != null ? to.plusDays(1).atStartOfDay(zone).toOffsetDateTime() : null,
+          sinceVersion,
+          upToVersion,
+          fetchSize,
+          rs -> {
+            try {
+              if (format == ExportFormat.CSV) {
+                writeCsv(rs, writer);
+              } else {
+                writeNdjson(rs, writer);
+              }
+            } catch (IOException ex) {
+              throw new UncheckedIOException(ex);
+            }
+            return null;
+          }));
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+    writer.flush();
+    gzip.finish();
+  }
+
+  private void writeCsv(ResultSet rs, Writer writer) throws SQLException, IOException {
+    ResultSetMetaData meta = rs.getMetaData();
+    int columns = meta.getColumnCount();
+    for (int i = 1; i <= columns; i++) {
+      if (i > 1) {
+        writer.write(',');
+      }
+      writer.write(meta.getColumnLabel(i));
+    }
+    writer.write("\r\n");
+    while (rs.next()) {
+      for (int i = 1; i <= columns; i++) {
+        if (i > 1) {
+          writer.write(',');
+        }
+        Object value = value(rs, meta, i);
+        if (value != null) {
+          writer.write(csvField(value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString()));
+        }
+      }
+      writer.write("\r\n");
+    }
+  }
+
+  private void writeNdjson(ResultSet rs, Writer writer) throws SQLException, IOException {
+    ResultSetMetaData meta = rs.getMetaData();
+    int columns = meta.getColumnCount();
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    while (rs.next()) {
+      generator.writeStartObject();
+      for (int i = 1; i <= columns; i++) {
+        Object value = value(rs, meta, i);
+        generator.writeFieldName(meta.getColumnLabel(i));
+        if (value == null) {
+          generator.writeNull();
+        } else if (value instanceof BigDecimal decimal) {
+          generator.writeNumber(decimal);
+        } else if (value instanceof Integer number) {
+          generator.writeNumber(number);
+        } else if (value instanceof Long number) {
+          generator.writeNumber(number);
+        } else {
+          generator.writeString(value.toString());
+        }
+      }
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+    }
+    generator.flush();
+  }
+
+  private Object value(ResultSet rs, ResultSetMetaData meta, int column) throws SQLException {
+    if ("timestamptz".equals(meta.getColumnTypeName(column))) {
+      return rs.getObject(column, OffsetDateTime.class);
+    }
+    return rs.getObject(column);
+  }
+
+  private String csvField(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,36 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.domain.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class FileOutboxSink implements OutboxSink {
+  private final Path path;
+  private final ObjectMapper objectMapper;
+
+  public FileOutboxSink(Path path, ObjectMapper objectMapper) {
+    this.path = path;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void publish(List<OutboxEvent> events) throws IOException {
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(OutboxNdjson.encode(objectMapper, events));
+    try (FileChannel channel = FileChannel.open(
+        path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.FlashSaleResponse;
+import cl.pymerp.minimarket.api.WebOrderItemRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class FlashSaleService {
+  private final InventoryService inventoryService;
+  private final Map<UUID, Counter> counters = new ConcurrentHashMap<>();
+
+  public FlashSaleService(InventoryService inventoryService) {
+    this.inventoryService = inventoryService;
+  }
+
+  public FlashSaleResponse enable(UUID productId) {
+    long available = inventoryService.getAvailable(Set.of(productId)).getOrDefault(productId, 0L);
+    Counter counter = new Counter(Math.max(0, available));
+    counters.put(productId, counter);
+    return toResponse(productId, counter);
+  }
+
+  public void disable(UUID productId) {
+    counters.remove(productId);
+  }
+
+  public List<FlashSaleResponse> list() {
+    return counters.entrySet().stream()
+        .map(entry -> toResponse(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  public Ticket acquire(List<WebOrderItemRequest> items) {
+    Map<UUID, Long> requested = new TreeMap<>();
+    for (WebOrderItemRequest item : items) {
+      if (counters.containsKey(item.getProductId())) {
+        requested.merge(item.getProductId(), item.getQuantity().longValue(), Long::sum);
+      }
+    }
+
+    Ticket ticket = new Ticket();
+    for (Map.Entry<UUID, Long> entry : requested.entrySet()) {
+      Counter counter = counters.get(entry.getKey());
+      if (counter == null) {
+        continue;
+      }
+      if (!counter.tryTake(entry.getValue())) {
+        ticket.release();
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "producto agotado en venta flash: " + entry.getKey());
+      }
+      ticket.taken.add(new Taken(counter, entry.getValue()));
+    }
+    return ticket;
+  }
+
+  @Scheduled(fixedDelayString = "${app.flash-sale.reconcile-interval-ms:5000}")
+  public void reconcile() {
+    if (counters.isEmpty()) {
+      return;
+    }
+    Map<UUID, State> before = counters.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().state.get()));
+    Map<UUID, Long> available = inventoryService.getAvailable(before.keySet());
+    before.forEach((productId, read) -> {
+      Counter counter = counters.get(productId);
+      if (counter != null) {
+        long target = Math.max(0, available.getOrDefault(productId, 0L) - read.inFlight);
+        counter.adjust(target - read.tokens);
+      }
+    });
+  }
+
+  private FlashSaleResponse toResponse(UUID productId, Counter counter) {
+    State state = counter.state.get();
+    return FlashSaleResponse.builder()
+        .productId(productId)
+        .tokens(state.tokens)
+        .inFlight(state.inFlight)
+        .build();
+  }
+
+  public static final class Ticket {
+    private final List<Taken> taken = new ArrayList<>();
+    private boolean done;
+
+    public synchronized void commit() {
+      if (done) {
+        return;
+      }
+      done = true;
+      for (Taken entry : taken) {
+        entry.counter.settle(entry.quantity, false);
+      }
+    }
+
+    public synchronized void release() {
+      if (done) {
+        return;
+      }
+      done = true;
+      for (Taken entry : taken) {
+        entry.counter.settle(entry.quantity, true);
+      }
+    }
+  }
+
+  private static final class Taken {
+    private final Counter counter;
+    private final long quantity;
+
+    private Taken(Counter counter, long quantity) {
+      this.counter = counter;
+      this.quantity = quantity;
+    }
+  }
+
+  private static final class Counter {
+    private final AtomicReference<State> state;
+
+    private Counter(long tokens) {
+      this.state = new AtomicReference<>(new State(tokens, 0));
+    }
+
+    private boolean tryTake(long quantity) {
+      State current;
+      do {
+        current = state.get();
+        if (current.tokens < quantity) {
+          return false;
+        }
+      } while (!state.compareAndSet(current, new State(current.tokens - quantity, current.inFlight + quantity)));
+      return true;
+    }
+
+    private void settle(long quantity, boolean restock) {
+      state.updateAndGet(current -> new State(
+          restock ? current.tokens + quantity : current.tokens, current.inFlight - quantity));
+    }
+
+    private void adjust(long delta) {
+      state.updateAndGet(current -> new State(current.tokens + delta, current.inFlight));
+    }
+  }
+
+  // tokens and inFlight change together so reconcile can read a consistent pair.
+  private static final class State {
+    private final long tokens;
+    private final long inFlight;
+
+    private State(long tokens, long inFlight) {
+      this.tokens = tokens;
+      this.inFlight = inFlight;
+    }
+  }
+}
@@ -0,0 +1,256 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.ProductImageResponse;
+import cl.pymerp.minimarket.repository.ProductCatalogRepository;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class ImageService {
+  private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+  private static final List<String> FORMATS = List.of("jpeg", "png");
+
+  private final ImageStorage storage;
+  private final ProductCatalogRepository catalogRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Executor executor;
+  private final List<Integer> sizes;
+  private final int maxUploadBytes;
+  private final long maxPixels;
+  private final long renderTimeoutMs;
+  private final Map<String, CompletableFuture<Resource>> rendering = new ConcurrentHashMap<>();
+
+  public ImageService(
+      ImageStorage storage,
+      ProductCatalogRepository catalogRepository,
+      ApplicationEventPublisher eventPublisher,
+      @Qualifier("imageExecutor") Executor executor,
+      @Value("${app.images.sizes:160,320,800}") List<Integer> sizes,
+      @Value("${app.images.max-upload-bytes:10485760}") int maxUploadBytes,
+      @Value("${app.images.max-pixels:25000000}") long maxPixels,
+      @Value("${app.images.render-timeout-ms:10000}") long renderTimeoutMs) {
+    this.storage = storage;
+    this.catalogRepository = catalogRepository;
+    this.eventPublisher = eventPublisher;
+    this.executor = executor;
+    this.sizes = List.copyOf(sizes);
+    this.maxUploadBytes = maxUploadBytes;
+    this.maxPixels = maxPixels;
+    this.renderTimeoutMs = renderTimeoutMs;
+  }
+
+  @Transactional
+  public ProductImageResponse upload(UUID productId, InputStream input) throws IOException {
+    byte[] content = input.readNBytes(maxUploadBytes + 1);
+    if (content.length == 0) {
+      throw new IllegalArgumentException("imagen vacia");
+    }
+    if (content.length > maxUploadBytes) {
+      throw new IllegalArgumentException("la imagen supera " + maxUploadBytes / (1024 * 1024) + " MB");
+    }
+    Decoded image = decode(content, Collections.max(sizes));
+    if (!catalogRepository.lockForImage(productId)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Producto no encontrado");
+    }
+    String hash = sha256(content);
+    if (storage.find(originalKey(hash)).isEmpty()) {
+      storage.write(originalKey(hash), content);
+    }
+    catalogRepository.updateImageHash(productId, hash);
+    eventPublisher.publishEvent(new ProductChangedEvent(productId));
+    return ProductImageResponse.builder()
+        .productId(productId)
+        .imageHash(hash)
+        .width(image.width)
+        .height(image.height)
+        .urls(urls(hash))
+        .build();
+  }
+
+  public Resource thumbnail(String hash, int size) {
+    if (!HASH.matcher(hash).matches() || !sizes.contains(size)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Imagen no encontrada");
+    }
+    String key = thumbnailKey(hash, size);
+    Optional<Resource> cached = storage.find(key);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    CompletableFuture<Resource> future = rendering.computeIfAbsent(key, k -> render(hash, size, k));
+    // Drop the entry however the render ends, including after every waiter timed out, so a failure can be retried.
+    future.whenComplete((resource, error) -> rendering.remove(key, future));
+    try {
+      return future.get(renderTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Miniatura en proceso");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Miniatura en proceso");
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof ResponseStatusException status) {
+        throw status;
+      }
+      throw new IllegalStateException("No se pudo generar la miniatura", ex.getCause());
+    }
+  }
+
+  private CompletableFuture<Resource> render(String hash, int size, String key) {
+    try {
+      return CompletableFuture.supplyAsync(() -> {
+        Resource original = storage.find(originalKey(hash))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Imagen no encontrada"));
+        try (InputStream input = original.getInputStream()) {
+          storage.write(key, resize(decode(input.readAllBytes(), size).image, size));
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+        return storage.find(key).orElseThrow();
+      }, executor);
+    } catch (RejectedExecutionException ex) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Generador de miniaturas ocupado");
+    }
+  }
+
+  private Decoded decode(byte[] content, int targetSize) throws IOException {
+    try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+      if (!readers.hasNext()) {
+        throw new IllegalArgumentException("formato de imagen no soportado");
+      }
+      ImageReader reader = readers.next();
+      try {
+        if (!FORMATS.contains(reader.getFormatName().toLowerCase(Locale.ROOT))) {
+          throw new IllegalArgumentException("solo se aceptan imagenes JPEG o PNG");
+        }
+        reader.setInput(stream, true, true);
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        if ((long) width * height > maxPixels) {
+          throw new IllegalArgumentException("la imagen tiene demasiados pixeles");
+        }
+        ImageReadParam param = reader.getDefaultReadParam();
+        int subsampling = Math.max(1, Math.max(width, height) / (2 * targetSize));
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        return new Decoded(reader.read(0, param), width, height);
+      } catch (IOException ex) {
+        throw new IllegalArgumentException("imagen danada o ilegible");
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  static byte[] resize(BufferedImage source, int size) throws IOException {
+    double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+    int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+    int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+    BufferedImage current = source;
+    int currentWidth = source.getWidth();
+    int currentHeight = source.getHeight();
+    do {
+      currentWidth = Math.max(width, currentWidth / 2);
+      currentHeight = Math.max(height, currentHeight / 2);
+      BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+      Graphics2D graphics = step.createGraphics();
+      try {
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, currentWidth, currentHeight);
+        graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+      } finally {
+        graphics.dispose();
+      }
+      current = step;
+    } while (currentWidth != width || currentHeight != height);
+
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (MemoryCacheImageOutputStream stream = new MemoryCacheImageOutputStream(output)) {
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(0.82f);
+      writer.setOutput(stream);
+      writer.write(null, new IIOImage(current, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return output.toByteArray();
+  }
+
+  private Map<Integer, String> urls(String hash) {
+    return sizes.stream().collect(Collectors.toMap(
+        size -> size, size -> "/api/images/" + hash + "/" + size + ".jpg", (a, b) -> a, LinkedHashMap::new));
+  }
+
+  private static String originalKey(String hash) {
+    return "originals/" + hash.substring(0, 2) + "/" + hash;
+  }
+
+  private static String thumbnailKey(String hash, int size) {
+    return "thumbs/" + size + "/" + hash.substring(0, 2) + "/" + hash + ".jpg";
+  }
+
+  private static class Decoded {
+    private final BufferedImage image;
+    private final int width;
+    private final int height;
+
+    Decoded(BufferedImage image, int width, int height) {
+      this.image = image;
+      this.width = width;
+      this.height = height;
+    }
+  }
+
+  private static String sha256(byte[] content) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
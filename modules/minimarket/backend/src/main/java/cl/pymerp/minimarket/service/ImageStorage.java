@@ -0,0 +1,11 @@
+package cl.pymerp.minimarket.service;
+
+import java.io.IOException;
+import java.util.Optional;
+import org.springframework.core.io.Resource;
+
+public interface ImageStorage {
+  Optional<Resource> find(String key);
+
+  void write(String key, byte[] content) throws IOException;
+}
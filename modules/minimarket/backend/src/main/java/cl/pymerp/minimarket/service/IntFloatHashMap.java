@@ -0,0 +1,79 @@
+package cl.pymerp.minimarket.service;
+
+import java.util.Arrays;
+
+public class IntFloatHashMap {
+  private static final int EMPTY = -1;
+
+  private int[] keys;
+  private float[] values;
+  private int size;
+
+  public IntFloatHashMap(int expected) {
+    int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+    keys = new int[capacity];
+    values = new float[capacity];
+    Arrays.fill(keys, EMPTY);
+  }
+
+  public void addTo(int key, float delta) {
+    if (key < 0) {
+      throw new IllegalArgumentException("key debe ser no negativa");
+    }
+    int slot = find(keys, key);
+    if (keys[slot] == key) {
+      values[slot] += delta;
+      return;
+    }
+    keys[slot] = key;
+    values[slot] = delta;
+    if (++size * 4 > keys.length * 3) {
+      grow();
+    }
+  }
+
+  public float get(int key) {
+    int slot = find(keys, key);
+    return keys[slot] == key ? values[slot] : 0f;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void forEach(IntFloatConsumer consumer) {
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY) {
+        consumer.accept(keys[i], values[i]);
+      }
+    }
+  }
+
+  private void grow() {
+    int[] oldKeys = keys;
+    float[] oldValues = values;
+    keys = new int[oldKeys.length * 2];
+    values = new float[oldKeys.length * 2];
+    Arrays.fill(keys, EMPTY);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        int slot = find(keys, oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private static int find(int[] table, int key) {
+    int mask = table.length - 1;
+    int slot = (key * 0x9E3779B9) >>> 1 & mask;
+    while (table[slot] != EMPTY && table[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  public interface IntFloatConsumer {
+    void accept(int key, float value);
+  }
+}
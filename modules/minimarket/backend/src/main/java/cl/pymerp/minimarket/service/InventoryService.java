@@ -12,7 +12,10 @@ import cl.pymerp.minimarket.repository.InventoryMovementRepository;
 import cl.pymerp.minimarket.repository.ProductRepository;
 import cl.pymerp.minimarket.repository.StockReservationRepository;
 import cl.pymerp.minimarket.repository.UserRepository;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,26 +26,54 @@ public class InventoryService {
   private final ProductRepository productRepository;
   private final UserRepository userRepository;
   private final StockReservationRepository reservationRepository;
+  private final OutboxService outboxService;
+  private final CostLayerService costLayerService;
 
   public InventoryService(
       InventoryMovementRepository movementRepository,
       ProductRepository productRepository,
       UserRepository userRepository,
-      StockReservationRepository reservationRepository) {
+      StockReservationRepository reservationRepository,
+      OutboxService outboxService,
+      CostLayerService costLayerService) {
     this.movementRepository = movementRepository;
     this.productRepository = productRepository;
     this.userRepository = userRepository;
     this.reservationRepository = reservationRepository;
+    this.outboxService = outboxService;
+    this.costLayerService = costLayerService;
   }
 
   public long getStockOnHand(UUID productId) {
     return movementRepository.getStockOnHand(productId);
   }
 
+  public Map<UUID, Long> getStockOnHand(Collection<UUID> productIds) {
+    Map<UUID, Long> stock = new HashMap<>();
+    if (productIds.isEmpty()) {
+      return stock;
+    }
+    for (Object[] row : movementRepository.getStockOnHandByProductIds(productIds)) {
+      stock.put((UUID) row[0], ((Number) row[1]).longValue());
+    }
+    return stock;
+  }
+
   public long getReserved(UUID productId) {
     return reservationRepository.sumByProductAndStatus(productId, ReservationStatus.ACTIVE);
   }
 
+  public Map<UUID, Long> getAvailable(Collection<UUID> productIds) {
+    Map<UUID, Long> available = getStockOnHand(productIds);
+    if (productIds.isEmpty()) {
+      return available;
+    }
+    for (Object[] row : reservationRepository.sumByProductIdsAndStatus(productIds, ReservationStatus.ACTIVE)) {
+      available.merge((UUID) row[0], -((Number) row[1]).longValue(), Long::sum);
+    }
+    return available;
+  }
+
   public List<InventoryMovement> getMovements(UUID productId) {
     return movementRepository.findByProductIdOrderByCreatedAtDesc(productId);
   }
@@ -73,7 +104,10 @@ public class InventoryService {
     movement.setNotes(request.getNotes());
     movement.setUser(user);
 
-    return movementRepository.save(movement);
+    InventoryMovement saved = movementRepository.save(movement);
+    costLayerService.receive(saved, request.getUnitCost());
+    outboxService.recordMovements("PRODUCT", product.getId(), List.of(saved));
+    return saved;
   }
 
   @Transactional
@@ -109,6 +143,14 @@ public class InventoryService {
     movement.setNotes(request.getNotes());
     movement.setUser(user);
 
-    return movementRepository.save(movement);
+    if (request.getQuantity() < 0) {
+      costLayerService.assignCost(List.of(movement));
+    }
+    InventoryMovement saved = movementRepository.save(movement);
+    if (request.getQuantity() > 0) {
+      costLayerService.receive(saved, null);
+    }
+    outboxService.recordMovements("PRODUCT", product.getId(), List.of(saved));
+    return saved;
   }
 }
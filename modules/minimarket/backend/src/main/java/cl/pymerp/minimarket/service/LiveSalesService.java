@@ -0,0 +1,137 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.LiveCustomersResponse;
+import cl.pymerp.minimarket.api.LiveTopProductResponse;
+import cl.pymerp.minimarket.domain.Product;
+import cl.pymerp.minimarket.repository.ProductRepository;
+import cl.pymerp.minimarket.repository.SalesAnalyticsRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+public class LiveSalesService {
+  private static final long MINUTE = 60_000L;
+
+  private final SalesAnalyticsRepository analyticsRepository;
+  private final ProductRepository productRepository;
+  private final ZoneId zone;
+  private final Clock clock;
+  private final SlidingTopK<UUID> lastHour;
+  private final SlidingTopK<UUID> lastDay;
+  private final HyperLogLog webCustomers;
+  private LocalDate webCustomersDate;
+
+  public LiveSalesService(
+      SalesAnalyticsRepository analyticsRepository,
+      ProductRepository productRepository,
+      @Value("${app.store.zone:America/Santiago}") String zone,
+      @Value("${app.live-sales.top-capacity:200}") int topCapacity,
+      @Value("${app.live-sales.hll-precision:14}") int hllPrecision) {
+    this.analyticsRepository = analyticsRepository;
+    this.productRepository = productRepository;
+    this.zone = ZoneId.of(zone);
+    this.clock = Clock.systemUTC();
+    this.lastHour = new SlidingTopK<>(5 * MINUTE, 12, topCapacity);
+    this.lastDay = new SlidingTopK<>(60 * MINUTE, 24, topCapacity);
+    this.webCustomers = new HyperLogLog(hllPrecision);
+    this.webCustomersDate = LocalDate.now(this.zone);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void rebuild() {
+    lastHour.clear();
+    lastDay.clear();
+    webCustomers.clear();
+    OffsetDateTime now = OffsetDateTime.now(clock);
+    analyticsRepository.forEachSaleLine(now.minusDays(1), (productId, quantity, soldAt) -> {
+      long at = soldAt.toInstant().toEpochMilli();
+      lastHour.add(productId, quantity, at);
+      lastDay.add(productId, quantity, at);
+    });
+    webCustomersDate = now.atZoneSameInstant(zone).toLocalDate();
+    analyticsRepository.forEachWebCustomerPhone(
+        webCustomersDate.atStartOfDay(zone).toOffsetDateTime(),
+        this::addCustomer);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public synchronized void onProductsSold(ProductsSoldEvent event) {
+    long at = event.getSoldAt() != null ? event.getSoldAt().toInstant().toEpochMilli() : clock.millis();
+    event.getQuantities().forEach((productId, quantity) -> {
+      lastHour.add(productId, quantity, at);
+      lastDay.add(productId, quantity, at);
+    });
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public synchronized void onWebOrderChanged(WebOrderChangedEvent event) {
+    if (event.isCreated()) {
+      rollCustomersDay();
+      addCustomer(event.getCustomerPhone());
+    }
+  }
+
+  public List<LiveTopProductResponse> topProducts(String window, int limit) {
+    if (limit < 1 || limit > 50) {
+      throw new IllegalArgumentException("limit debe estar entre 1 y 50");
+    }
+    List<Map.Entry<UUID, long[]>> top;
+    synchronized (this) {
+      if ("hour".equals(window)) {
+        top = lastHour.top(limit, clock.millis());
+      } else if ("day".equals(window)) {
+        top = lastDay.top(limit, clock.millis());
+      } else {
+        throw new IllegalArgumentException("window debe ser hour o day");
+      }
+    }
+    Map<UUID, String> names = productRepository.findAllById(top.stream().map(Map.Entry::getKey).toList()).stream()
+        .collect(Collectors.toMap(Product::getId, Product::getName));
+    return top.stream()
+        .map(entry -> LiveTopProductResponse.builder()
+            .productId(entry.getKey())
+            .name(names.get(entry.getKey()))
+            .units(entry.getValue()[0])
+            .maxError(entry.getValue()[1])
+            .build())
+        .collect(Collectors.toList());
+  }
+
+  public synchronized LiveCustomersResponse webCustomersToday() {
+    rollCustomersDay();
+    return LiveCustomersResponse.builder()
+        .date(webCustomersDate)
+        .distinctCustomers(webCustomers.estimate())
+        .build();
+  }
+
+  private void rollCustomersDay() {
+    LocalDate today = LocalDate.now(clock.withZone(zone));
+    if (!today.equals(webCustomersDate)) {
+      webCustomers.clear();
+      webCustomersDate = today;
+    }
+  }
+
+  private void addCustomer(String phone) {
+    if (phone == null) {
+      return;
+    }
+    String key = phone.replaceAll("[^0-9]", "");
+    if (!key.isEmpty()) {
+      webCustomers.add(key);
+    }
+  }
+}
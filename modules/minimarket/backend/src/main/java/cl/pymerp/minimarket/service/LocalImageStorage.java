@@ -0,0 +1,44 @@
+package cl.pymerp.minimarket.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+public class LocalImageStorage implements ImageStorage {
+  private final Path root;
+
+  public LocalImageStorage(Path root) {
+    this.root = root.toAbsolutePath().normalize();
+  }
+
+  @Override
+  public Optional<Resource> find(String key) {
+    Path path = resolve(key);
+    return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+  }
+
+  @Override
+  public void write(String key, byte[] content) throws IOException {
+    Path path = resolve(key);
+    Files.createDirectories(path.getParent());
+    Path temp = Files.createTempFile(path.getParent(), ".upload-", ".tmp");
+    try {
+      Files.write(temp, content);
+      Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private Path resolve(String key) {
+    Path path = root.resolve(key).normalize();
+    if (!path.startsWith(root)) {
+      throw new IllegalArgumentException("clave de imagen invalida: " + key);
+    }
+    return path;
+  }
+}
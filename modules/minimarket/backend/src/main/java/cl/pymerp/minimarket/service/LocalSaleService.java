@@ -9,6 +9,7 @@ import cl.pymerp.minimarket.domain.MovementReason;
 import cl.pymerp.minimarket.domain.MovementType;
 import cl.pymerp.minimarket.domain.Payment;
 import cl.pymerp.minimarket.domain.Product;
+import cl.pymerp.minimarket.domain.RegisterShift;
 import cl.pymerp.minimarket.domain.SaleStatus;
 import cl.pymerp.minimarket.domain.SaleType;
 import cl.pymerp.minimarket.domain.User;
@@ -19,7 +20,12 @@ import cl.pymerp.minimarket.repository.ProductRepository;
 import cl.pymerp.minimarket.repository.UserRepository;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +37,11 @@ public class LocalSaleService {
   private final InventoryMovementRepository movementRepository;
   private final PaymentRepository paymentRepository;
   private final InventoryService inventoryService;
+  private final OutboxService outboxService;
+  private final SalesRollupService salesRollupService;
+  private final CostLayerService costLayerService;
+  private final ShiftService shiftService;
+  private final ApplicationEventPublisher eventPublisher;
 
   public LocalSaleService(
       LocalSaleRepository saleRepository,
@@ -38,13 +49,23 @@ public class LocalSaleService {
       UserRepository userRepository,
       InventoryMovementRepository movementRepository,
       PaymentRepository paymentRepository,
-      InventoryService inventoryService) {
+      InventoryService inventoryService,
+      OutboxService outboxService,
+      SalesRollupService salesRollupService,
+      CostLayerService costLayerService,
+      ShiftService shiftService,
+      ApplicationEventPublisher eventPublisher) {
     this.saleRepository = saleRepository;
     this.productRepository = productRepository;
     this.userRepository = userRepository;
     this.movementRepository = movementRepository;
     this.paymentRepository = paymentRepository;
     this.inventoryService = inventoryService;
+    this.outboxService = outboxService;
+    this.salesRollupService = salesRollupService;
+    this.costLayerService = costLayerService;
+    this.shiftService = shiftService;
+    this.eventPublisher = eventPublisher;
   }
 
   @Transactional
@@ -53,19 +74,24 @@ public class LocalSaleService {
       throw new IllegalArgumentException("userId es obligatorio");
     }
     User user = userRepository.findById(request.getUserId()).orElseThrow();
+    RegisterShift shift = shiftService.lockOpenShift(user.getId()).orElse(null);
 
     LocalSale sale = new LocalSale();
     sale.setUser(user);
+    sale.setShift(shift);
     sale.setStatus(SaleStatus.COMPLETED);
 
     List<LocalSaleItem> items = new ArrayList<>();
     BigDecimal total = BigDecimal.ZERO;
 
+    productRepository.lockAllById(
+        request.getItems().stream().map(LocalSaleItemRequest::getProductId).collect(Collectors.toSet()));
+    Map<UUID, Long> requested = new HashMap<>();
     for (LocalSaleItemRequest itemRequest : request.getItems()) {
       Product product = productRepository.findById(itemRequest.getProductId()).orElseThrow();
       long available = inventoryService.getStockOnHand(product.getId())
           - inventoryService.getReserved(product.getId());
-      if (itemRequest.getQuantity() > available) {
+      if (requested.merge(product.getId(), itemRequest.getQuantity().longValue(), Long::sum) > available) {
         throw new IllegalArgumentException("stock insuficiente para producto: " + product.getName());
       }
 
@@ -79,29 +105,43 @@ public class LocalSaleService {
       total = total.add(product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
     }
 
-    sale.setItems(items);
-    sale.setTotalAmount(total);
-
-    LocalSale saved = saleRepository.save(sale);
-
+    List<InventoryMovement> movements = new ArrayList<>();
     for (LocalSaleItem item : items) {
       InventoryMovement movement = new InventoryMovement();
       movement.setProduct(item.getProduct());
       movement.setType(MovementType.OUT);
       movement.setReason(MovementReason.venta);
       movement.setQuantity(item.getQuantity());
-      movement.setNotes("Venta local: " + saved.getId());
       movement.setUser(user);
-      movementRepository.save(movement);
+      movements.add(movement);
+    }
+    costLayerService.assignCost(movements);
+    for (int i = 0; i < items.size(); i++) {
+      items.get(i).setCostAmount(movements.get(i).getCostAmount());
     }
 
+    sale.setItems(items);
+    sale.setTotalAmount(total);
+
+    LocalSale saved = saleRepository.save(sale);
+
+    movements.forEach(movement -> movement.setNotes("Venta local: " + saved.getId()));
+    movementRepository.saveAll(movements);
+
     Payment payment = new Payment();
     payment.setSaleType(SaleType.LOCAL_SALE);
     payment.setReferenceId(saved.getId());
     payment.setMethod(request.getMethod());
     payment.setAmount(total);
     paymentRepository.save(payment);
+    if (shift != null) {
+      shiftService.recordSale(shift, request.getMethod(), total);
+    }
 
+    salesRollupService.recordSale(SaleType.LOCAL_SALE, request.getMethod(), 1, total, saved.getCreatedAt());
+    outboxService.recordLocalSale(saved, payment);
+    outboxService.recordMovements("LOCAL_SALE", saved.getId(), movements);
+    eventPublisher.publishEvent(new ProductsSoldEvent(saved.getCreatedAt(), movements));
     return saved;
   }
 }
@@ -0,0 +1,28 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.domain.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+final class OutboxNdjson {
+  private OutboxNdjson() {}
+
+  static byte[] encode(ObjectMapper objectMapper, List<OutboxEvent> events) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    for (OutboxEvent event : events) {
+      ObjectNode line = objectMapper.createObjectNode();
+      line.put("id", event.getId());
+      line.put("aggregateType", event.getAggregateType());
+      line.put("aggregateId", event.getAggregateId().toString());
+      line.put("type", event.getEventType());
+      line.put("createdAt", event.getCreatedAt().toString());
+      line.set("payload", objectMapper.readTree(event.getPayload()));
+      output.write(objectMapper.writeValueAsBytes(line));
+      output.write('\n');
+    }
+    return output.toByteArray();
+  }
+}
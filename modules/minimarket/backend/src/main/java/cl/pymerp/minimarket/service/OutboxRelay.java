@@ -0,0 +1,46 @@
+package cl.pymerp.minimarket.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxRelay {
+  private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+  private final OutboxService outboxService;
+  private final OutboxSink sink;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+
+  public OutboxRelay(
+      OutboxService outboxService,
+      ObjectProvider<OutboxSink> sinkProvider,
+      @Value("${app.outbox.batch-size:200}") int batchSize,
+      @Value("${app.outbox.max-batches-per-run:20}") int maxBatchesPerRun) {
+    this.outboxService = outboxService;
+    this.sink = sinkProvider.getIfAvailable();
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+  }
+
+  @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+  public void relay() {
+    if (sink == null) {
+      return;
+    }
+    for (int i = 0; i < maxBatchesPerRun; i++) {
+      try {
+        if (outboxService.publishBatch(sink, batchSize) < batchSize) {
+          return;
+        }
+      } catch (RuntimeException ex) {
+        log.warn("No se pudo publicar lote del outbox, se reintentara: {}", ex.getMessage());
+        return;
+      }
+    }
+  }
+}
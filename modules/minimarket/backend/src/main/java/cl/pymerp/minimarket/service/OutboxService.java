@@ -0,0 +1,151 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.domain.InventoryMovement;
+import cl.pymerp.minimarket.domain.LocalSale;
+import cl.pymerp.minimarket.domain.LocalSaleItem;
+import cl.pymerp.minimarket.domain.OutboxEvent;
+import cl.pymerp.minimarket.domain.Payment;
+import cl.pymerp.minimarket.domain.WebOrder;
+import cl.pymerp.minimarket.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class OutboxService {
+  private final OutboxEventRepository outboxRepository;
+  private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transaction;
+  private final long claimLeaseMillis;
+
+  public OutboxService(
+      OutboxEventRepository outboxRepository,
+      ObjectMapper objectMapper,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.outbox.claim-lease-ms:60000}") long claimLeaseMillis) {
+    this.outboxRepository = outboxRepository;
+    this.objectMapper = objectMapper;
+    this.eventPublisher = eventPublisher;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.claimLeaseMillis = claimLeaseMillis;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordLocalSale(LocalSale sale, Payment payment) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("saleId", sale.getId());
+    payload.put("userId", sale.getUser().getId());
+    payload.put("status", sale.getStatus());
+    payload.put("totalAmount", sale.getTotalAmount());
+    payload.put("method", payment.getMethod());
+    payload.put("createdAt", sale.getCreatedAt());
+    payload.put("items", sale.getItems().stream().map(this::saleItem).collect(Collectors.toList()));
+    append("LOCAL_SALE", sale.getId(), "LOCAL_SALE_CREATED", payload);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordWebOrder(WebOrder order, String eventType) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("orderId", order.getId());
+    payload.put("status", order.getStatus());
+    payload.put("customerName", order.getCustomerName());
+    payload.put("totalAmount", order.getTotalAmount());
+    payload.put("createdAt", order.getCreatedAt());
+    append("WEB_ORDER", order.getId(), eventType, payload);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordMovements(String aggregateType, UUID aggregateId, List<InventoryMovement> movements) {
+    if (movements.isEmpty()) {
+      return;
+    }
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("movements", movements.stream().map(this::movement).collect(Collectors.toList()));
+    append(aggregateType, aggregateId, "MOVEMENTS_RECORDED", payload);
+  }
+
+  public int publishBatch(OutboxSink sink, int batchSize) {
+    List<OutboxEvent> events = transaction.execute(status -> claim(batchSize));
+    if (events == null || events.isEmpty()) {
+      return 0;
+    }
+    List<Long> ids = events.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+    try {
+      sink.publish(events);
+    } catch (IOException ex) {
+      transaction.executeWithoutResult(status -> outboxRepository.release(ids));
+      throw new UncheckedIOException(ex);
+    } catch (RuntimeException ex) {
+      transaction.executeWithoutResult(status -> outboxRepository.release(ids));
+      throw ex;
+    }
+    transaction.executeWithoutResult(status -> outboxRepository.markPublished(ids, OffsetDateTime.now()));
+    return events.size();
+  }
+
+  private List<OutboxEvent> claim(int batchSize) {
+    outboxRepository.lockRelay();
+    if (outboxRepository.hasActiveClaim()) {
+      return List.of();
+    }
+    List<OutboxEvent> events = outboxRepository.findUnpublished(batchSize);
+    if (!events.isEmpty()) {
+      outboxRepository.claim(
+          events.stream().map(OutboxEvent::getId).collect(Collectors.toList()),
+          claimLeaseMillis);
+    }
+    return events;
+  }
+
+  private void append(String aggregateType, UUID aggregateId, String eventType, Object payload) {
+    OutboxEvent event = new OutboxEvent();
+    event.setAggregateType(aggregateType);
+    event.setAggregateId(aggregateId);
+    event.setEventType(eventType);
+    try {
+      event.setPayload(objectMapper.writeValueAsString(payload));
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("no se pudo serializar evento " + eventType, ex);
+    }
+    outboxRepository.save(event);
+    eventPublisher.publishEvent(event);
+  }
+
+  private Map<String, Object> saleItem(LocalSaleItem item) {
+    Map<String, Object> line = new LinkedHashMap<>();
+    line.put("productId", item.getProduct().getId());
+    line.put("quantity", item.getQuantity());
+    line.put("unitPrice", item.getUnitPrice());
+    return line;
+  }
+
+  private Map<String, Object> movement(InventoryMovement movement) {
+    Map<String, Object> line = new LinkedHashMap<>();
+    line.put("id", movement.getId());
+    line.put("productId", movement.getProduct().getId());
+    line.put("type", movement.getType());
+    line.put("reason", movement.getReason());
+    line.put("quantity", movement.getQuantity());
+    line.put("documentType", movement.getDocumentType());
+    line.put("documentNumber", movement.getDocumentNumber());
+    line.put("userId", movement.getUser().getId());
+    line.put("createdAt", movement.getCreatedAt());
+    return line;
+  }
+}
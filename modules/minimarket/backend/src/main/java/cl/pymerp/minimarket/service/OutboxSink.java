@@ -0,0 +1,9 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.domain.OutboxEvent;
+import java.io.IOException;
+import java.util.List;
+
+public interface OutboxSink {
+  void publish(List<OutboxEvent> events) throws IOException;
+}
@@ -0,0 +1,177 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.PriceChangePreviewResponse;
+import cl.pymerp.minimarket.api.PriceChangeRequest;
+import cl.pymerp.minimarket.api.PriceChangeResponse;
+import cl.pymerp.minimarket.domain.PriceChangeMode;
+import cl.pymerp.minimarket.domain.PriceChangeStatus;
+import cl.pymerp.minimarket.domain.PriceRounding;
+import cl.pymerp.minimarket.repository.PriceChangeCriteria;
+import cl.pymerp.minimarket.repository.PriceChangeRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class PriceChangeService {
+  private static final Logger log = LoggerFactory.getLogger(PriceChangeService.class);
+  private static final int MAX_PREVIEW_ITEMS = 1000;
+  private static final BigDecimal MIN_PERCENT = new BigDecimal("-90");
+  private static final BigDecimal MAX_PERCENT = new BigDecimal("500");
+
+  private final PriceChangeRepository priceChangeRepository;
+  private final TransactionTemplate transaction;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int batchSize;
+  private final int maxAttempts;
+
+  public PriceChangeService(
+      PriceChangeRepository priceChangeRepository,
+      PlatformTransactionManager transactionManager,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${app.prices.batch-size:10}") int batchSize,
+      @Value("${app.prices.max-attempts:5}") int maxAttempts) {
+    this.priceChangeRepository = priceChangeRepository;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.eventPublisher = eventPublisher;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+  }
+
+  @Transactional(readOnly = true)
+  public PriceChangePreviewResponse preview(PriceChangeRequest request, int limit) {
+    if (limit < 1 || limit > MAX_PREVIEW_ITEMS) {
+      throw new IllegalArgumentException("limit debe estar entre 1 y " + MAX_PREVIEW_ITEMS);
+    }
+    PriceChangeCriteria criteria = criteria(request);
+    requireNonNegative(criteria);
+    return priceChangeRepository.preview(criteria, limit);
+  }
+
+  @Transactional
+  public PriceChangeResponse create(PriceChangeRequest request, UUID userId) {
+    PriceChangeCriteria criteria = criteria(request);
+    requireNonNegative(criteria);
+    OffsetDateTime now = OffsetDateTime.now();
+    OffsetDateTime effectiveAt = request.getEffectiveAt() != null ? request.getEffectiveAt() : now;
+    UUID id = UUID.randomUUID();
+    priceChangeRepository.insert(id, criteria, effectiveAt, userId);
+    priceChangeRepository.insertItems(id, criteria);
+    if (!effectiveAt.isAfter(now)) {
+      apply(id);
+    }
+    return priceChangeRepository.findById(id).orElseThrow();
+  }
+
+  @Transactional
+  public PriceChangeResponse cancel(UUID id) {
+    priceChangeRepository.findById(id)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cambio de precios no encontrado"));
+    if (!priceChangeRepository.cancel(id)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "Solo se pueden cancelar cambios pendientes");
+    }
+    return priceChangeRepository.findById(id).orElseThrow();
+  }
+
+  @Transactional(readOnly = true)
+  public List<PriceChangeResponse> list(PriceChangeStatus status, int limit) {
+    if (limit < 1 || limit > 500) {
+      throw new IllegalArgumentException("limit debe estar entre 1 y 500");
+    }
+    return priceChangeRepository.findByStatus(status, limit);
+  }
+
+  @Scheduled(fixedDelayString = "${app.prices.poll-interval-ms:30000}")
+  public void applyDue() {
+    boolean more = true;
+    while (more) {
+      List<UUID> due = priceChangeRepository.findDue(batchSize);
+      int applied = 0;
+      for (UUID id : due) {
+        if (applyDue(id)) {
+          applied++;
+        }
+      }
+      // A failed or busy change waits for the next poll instead of being retried in this loop.
+      more = due.size() == batchSize && applied == due.size();
+    }
+  }
+
+  private boolean applyDue(UUID id) {
+    try {
+      Boolean applied = transaction.execute(status -> {
+        if (!priceChangeRepository.lockDue(id)) {
+          return false;
+        }
+        apply(id);
+        return true;
+      });
+      return Boolean.TRUE.equals(applied);
+    } catch (RuntimeException ex) {
+      log.warn("No se pudo aplicar el cambio de precios {}", id, ex);
+      String error = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+      transaction.executeWithoutResult(status -> priceChangeRepository.recordFailure(id, error, maxAttempts));
+      return false;
+    }
+  }
+
+  private void requireNonNegative(PriceChangeCriteria criteria) {
+    if (criteria.getMode() != PriceChangeMode.AMOUNT) {
+      return;
+    }
+    long negative = priceChangeRepository.countNegative(criteria);
+    if (negative > 0) {
+      throw new IllegalArgumentException("el cambio dejaria " + negative + " productos con precio negativo");
+    }
+  }
+
+  private void apply(UUID id) {
+    List<UUID> productIds = priceChangeRepository.apply(id);
+    log.info("Cambio de precios {} aplicado a {} productos", id, productIds.size());
+    if (!productIds.isEmpty()) {
+      eventPublisher.publishEvent(new ProductsChangedEvent(productIds));
+    }
+  }
+
+  private PriceChangeCriteria criteria(PriceChangeRequest request) {
+    boolean hasIds = request.getProductIds() != null && !request.getProductIds().isEmpty();
+    String skuPrefix = request.getSkuPrefix() != null && !request.getSkuPrefix().isBlank()
+        ? request.getSkuPrefix().trim()
+        : null;
+    if (request.getCategoryId() == null && skuPrefix == null && !hasIds && !request.isAllProducts()) {
+      throw new IllegalArgumentException("debe indicar categoryId, skuPrefix, productIds o allProducts");
+    }
+    if (hasIds && request.getProductIds().size() > 5000) {
+      throw new IllegalArgumentException("productIds admite hasta 5000 productos");
+    }
+    if (request.getMode() == PriceChangeMode.PERCENT
+        && (request.getValue().compareTo(MIN_PERCENT) < 0 || request.getValue().compareTo(MAX_PERCENT) > 0)) {
+      throw new IllegalArgumentException("el porcentaje debe estar entre -90 y 500");
+    }
+    PriceRounding rounding = request.getRounding() != null ? request.getRounding() : PriceRounding.NONE;
+    if (request.getValue().signum() == 0 && rounding == PriceRounding.NONE) {
+      throw new IllegalArgumentException("value no puede ser 0 sin redondeo");
+    }
+    return PriceChangeCriteria.builder()
+        .categoryId(request.getCategoryId())
+        .includeSubcategories(request.isIncludeSubcategories())
+        .skuPrefix(skuPrefix)
+        .productIds(hasIds ? request.getProductIds() : null)
+        .mode(request.getMode())
+        .value(request.getValue())
+        .rounding(rounding)
+        .build();
+  }
+}
@@ -0,0 +1,13 @@
+package cl.pymerp.minimarket.service;
+
+import java.util.UUID;
+import lombok.Getter;
+
+@Getter
+public class ProductChangedEvent {
+  private final UUID productId;
+
+  public ProductChangedEvent(UUID productId) {
+    this.productId = productId;
+  }
+}
@@ -0,0 +1,359 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.ProductImportResponse;
+import cl.pymerp.minimarket.repository.ProductImportRepository;
+import cl.pymerp.minimarket.repository.ProductImportRow;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class ProductImportService {
+  private static final Map<String, String> COLUMN_ALIASES = columnAliases();
+  private static final Locale ES_CL = Locale.forLanguageTag("es-CL");
+  private static final Pattern ES_CL_AMOUNT = Pattern.compile("-?(\\d{1,3}(\\.\\d{3})+|\\d+)(,\\d+)?");
+
+  private final ProductImportRepository importRepository;
+  private final TransactionTemplate transaction;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int chunkSize;
+  private final int maxErrors;
+
+  public ProductImportService(
+      ProductImportRepository importRepository,
+      PlatformTransactionManager transactionManager,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${app.products.import.chunk-size:1000}") int chunkSize,
+      @Value("${app.products.import.max-errors:1000}") int maxErrors) {
+    this.importRepository = importRepository;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.eventPublisher = eventPublisher;
+    this.chunkSize = chunkSize;
+    this.maxErrors = maxErrors;
+  }
+
+  public ProductImportResponse importCsv(InputStream input) throws IOException {
+    long started = System.nanoTime();
+    CsvRecordReader reader = new CsvRecordReader(
+        new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024));
+    List<String> header = reader.next();
+    if (header == null) {
+      throw new IllegalArgumentException("archivo vacio");
+    }
+    Map<String, Integer> columns = parseHeader(header);
+    Set<UUID> categoryIds = importRepository.findCategoryIds();
+    ImportTally tally = new ImportTally(maxErrors);
+    List<ProductImportRow> chunk = new ArrayList<>(chunkSize);
+    List<String> record;
+    while ((record = reader.next()) != null) {
+      if (record.stream().allMatch(String::isBlank)) {
+        continue;
+      }
+      tally.rows++;
+      try {
+        chunk.add(parseRow(reader.getRecordLine(), record, columns, categoryIds));
+      } catch (IllegalArgumentException ex) {
+        tally.fail(reader.getRecordLine(), ex.getMessage());
+      }
+      if (chunk.size() == chunkSize) {
+        writeChunk(chunk, tally);
+        chunk = new ArrayList<>(chunkSize);
+      }
+    }
+    if (!chunk.isEmpty()) {
+      writeChunk(chunk, tally);
+    }
+    return ProductImportResponse.builder()
+        .rows(tally.rows)
+        .created(tally.created)
+        .updated(tally.updated)
+        .failed(tally.failed)
+        .elapsedMs((System.nanoTime() - started) / 1_000_000)
+        .errorsTruncated(tally.failed > tally.errors.size())
+        .errors(tally.errors)
+        .build();
+  }
+
+  private void writeChunk(List<ProductImportRow> chunk, ImportTally tally) {
+    List<ProductImportRow> rows = resolve(chunk, tally);
+    if (rows.isEmpty()) {
+      return;
+    }
+    try {
+      transaction.executeWithoutResult(status -> write(rows));
+      tally.count(rows);
+    } catch (DataAccessException ex) {
+      for (ProductImportRow row : rows) {
+        try {
+          transaction.executeWithoutResult(status -> write(List.of(row)));
+          tally.count(List.of(row));
+        } catch (DataAccessException rowEx) {
+          tally.fail(row.getLine(), "no se pudo guardar: " + rootMessage(rowEx));
+        }
+      }
+    }
+  }
+
+  private List<ProductImportRow> resolve(List<ProductImportRow> chunk, ImportTally tally) {
+    Set<String> skus = new LinkedHashSet<>();
+    Set<String> barcodes = new LinkedHashSet<>();
+    for (ProductImportRow row : chunk) {
+      if (row.getSku() != null) {
+        skus.add(row.getSku());
+      }
+      if (row.getBarcode() != null) {
+        barcodes.add(row.getBarcode());
+      }
+    }
+    Map<String, UUID> bySku = new HashMap<>();
+    Map<String, UUID> byBarcode = new HashMap<>();
+    for (ProductImportRepository.ProductKey key : importRepository.findByCodes(skus, barcodes)) {
+      if (key.getSku() != null) {
+        bySku.putIfAbsent(key.getSku(), key.getId());
+      }
+      if (key.getBarcode() != null) {
+        byBarcode.putIfAbsent(key.getBarcode(), key.getId());
+      }
+    }
+
+    Set<String> seen = new HashSet<>();
+    List<ProductImportRow> rows = new ArrayList<>(chunk.size());
+    for (ProductImportRow row : chunk) {
+      boolean repeated = (row.getSku() != null && !seen.add("sku:" + row.getSku()))
+          | (row.getBarcode() != null && !seen.add("barcode:" + row.getBarcode()));
+      if (repeated) {
+        tally.fail(row.getLine(), "sku o barcode repetido en el archivo");
+        continue;
+      }
+      UUID id = row.getSku() != null ? bySku.get(row.getSku()) : null;
+      if (id == null && row.getBarcode() != null) {
+        id = byBarcode.get(row.getBarcode());
+      }
+      if (id == null && (row.getName() == null || row.getPrice() == null)) {
+        tally.fail(row.getLine(), "name y price son obligatorios para productos nuevos");
+        continue;
+      }
+      row.setExisting(id != null);
+      row.setId(id != null ? id : UUID.randomUUID());
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  private void write(List<ProductImportRow> rows) {
+    List<ProductImportRow> inserts = new ArrayList<>();
+    List<ProductImportRow> updates = new ArrayList<>();
+    List<UUID> productIds = new ArrayList<>(rows.size());
+    for (ProductImportRow row : rows) {
+      (row.isExisting() ? updates : inserts).add(row);
+      productIds.add(row.getId());
+    }
+    importRepository.insert(inserts);
+    importRepository.update(updates);
+    eventPublisher.publishEvent(new ProductsChangedEvent(productIds));
+  }
+
+  private Map<String, Integer> parseHeader(List<String> header) {
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+      if (name.isEmpty()) {
+        continue;
+      }
+      String column = COLUMN_ALIASES.get(name);
+      if (column == null) {
+        throw new IllegalArgumentException("columna desconocida: " + header.get(i).trim());
+      }
+      if (columns.put(column, i) != null) {
+        throw new IllegalArgumentException("columna repetida: " + column);
+      }
+    }
+    if (!columns.containsKey("sku") && !columns.containsKey("barcode")) {
+      throw new IllegalArgumentException("el archivo debe tener columna sku o barcode");
+    }
+    return columns;
+  }
+
+  private ProductImportRow parseRow(long line, List<String> record, Map<String, Integer> columns, Set<UUID> categoryIds) {
+    ProductImportRow row = new ProductImportRow();
+    row.setLine(line);
+    row.setSku(text(record, columns, "sku", 80));
+    row.setBarcode(text(record, columns, "barcode", 80));
+    if (row.getSku() == null && row.getBarcode() == null) {
+      throw new IllegalArgumentException("sku o barcode es obligatorio");
+    }
+    row.setName(text(record, columns, "name", 255));
+    row.setDescription(text(record, columns, "description", Integer.MAX_VALUE));
+    row.setUnit(text(record, columns, "unit", 30));
+    row.setPrice(amount(record, columns, "price"));
+    row.setCost(amount(record, columns, "cost"));
+    row.setVisibleWeb(flag(record, columns, "visibleWeb"));
+    row.setActive(flag(record, columns, "active"));
+    String threshold = text(record, columns, "lowStockThreshold", 10);
+    if (threshold != null) {
+      try {
+        row.setLowStockThreshold(Integer.parseInt(threshold));
+      } catch (NumberFormatException ex) {
+        throw new IllegalArgumentException("lowStockThreshold invalido: " + threshold);
+      }
+      if (row.getLowStockThreshold() < 0) {
+        throw new IllegalArgumentException("lowStockThreshold no puede ser negativo");
+      }
+    }
+    String category = text(record, columns, "categoryId", 36);
+    if (category != null) {
+      try {
+        row.setCategoryId(UUID.fromString(category));
+      } catch (IllegalArgumentException ex) {
+        throw new IllegalArgumentException("categoryId invalido: " + category);
+      }
+      if (!categoryIds.contains(row.getCategoryId())) {
+        throw new IllegalArgumentException("categoria no encontrada: " + category);
+      }
+    }
+    return row;
+  }
+
+  private static String text(List<String> record, Map<String, Integer> columns, String column, int maxLength) {
+    Integer index = columns.get(column);
+    if (index == null || index >= record.size()) {
+      return null;
+    }
+    String value = record.get(index).trim();
+    if (value.isEmpty()) {
+      return null;
+    }
+    if (value.length() > maxLength) {
+      throw new IllegalArgumentException(column + " supera " + maxLength + " caracteres");
+    }
+    return value;
+  }
+
+  private static BigDecimal amount(List<String> record, Map<String, Integer> columns, String column) {
+    String value = text(record, columns, column, 20);
+    if (value == null) {
+      return null;
+    }
+    // es-CL: '.' groups thousands and ',' is the decimal mark, so "1.290" is 1290.
+    if (!ES_CL_AMOUNT.matcher(value).matches()) {
+      throw new IllegalArgumentException(column + " invalido: " + value);
+    }
+    DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(ES_CL);
+    symbols.setGroupingSeparator('.');
+    symbols.setDecimalSeparator(',');
+    DecimalFormat format = new DecimalFormat("#,##0.#", symbols);
+    format.setParseBigDecimal(true);
+    ParsePosition position = new ParsePosition(0);
+    BigDecimal amount = (BigDecimal) format.parse(value, position);
+    if (amount == null || position.getIndex() != value.length()) {
+      throw new IllegalArgumentException(column + " invalido: " + value);
+    }
+    if (amount.signum() < 0) {
+      throw new IllegalArgumentException(column + " no puede ser negativo");
+    }
+    return amount;
+  }
+
+  private static Boolean flag(List<String> record, Map<String, Integer> columns, String column) {
+    String value = text(record, columns, column, 5);
+    if (value == null) {
+      return null;
+    }
+    switch (value.toLowerCase(Locale.ROOT)) {
+      case "true", "si", "s", "1":
+        return true;
+      case "false", "no", "n", "0":
+        return false;
+      default:
+        throw new IllegalArgumentException(column + " invalido: " + value);
+    }
+  }
+
+  private static String rootMessage(Throwable ex) {
+    Throwable root = ex;
+    while (root.getCause() != null) {
+      root = root.getCause();
+    }
+    return root.getMessage();
+  }
+
+  private static Map<String, String> columnAliases() {
+    Map<String, String> aliases = new HashMap<>();
+    aliases.put("sku", "sku");
+    aliases.put("barcode", "barcode");
+    aliases.put("codigo_barras", "barcode");
+    aliases.put("name", "name");
+    aliases.put("nombre", "name");
+    aliases.put("description", "description");
+    aliases.put("descripcion", "description");
+    aliases.put("unit", "unit");
+    aliases.put("unidad", "unit");
+    aliases.put("price", "price");
+    aliases.put("precio", "price");
+    aliases.put("cost", "cost");
+    aliases.put("costo", "cost");
+    aliases.put("categoryid", "categoryId");
+    aliases.put("category_id", "categoryId");
+    aliases.put("categoria_id", "categoryId");
+    aliases.put("visibleweb", "visibleWeb");
+    aliases.put("visible_web", "visibleWeb");
+    aliases.put("active", "active");
+    aliases.put("activo", "active");
+    aliases.put("lowstockthreshold", "lowStockThreshold");
+    aliases.put("low_stock_threshold", "lowStockThreshold");
+    aliases.put("stock_minimo", "lowStockThreshold");
+    return Map.copyOf(aliases);
+  }
+
+  private static class ImportTally {
+    private final int maxErrors;
+    private final List<ProductImportResponse.RowError> errors = new ArrayList<>();
+    private long rows;
+    private long created;
+    private long updated;
+    private long failed;
+
+    ImportTally(int maxErrors) {
+      this.maxErrors = maxErrors;
+    }
+
+    void count(List<ProductImportRow> written) {
+      for (ProductImportRow row : written) {
+        if (row.isExisting()) {
+          updated++;
+        } else {
+          created++;
+        }
+      }
+    }
+
+    void fail(long line, String message) {
+      failed++;
+      if (errors.size() < maxErrors) {
+        errors.add(ProductImportResponse.RowError.builder().line(line).message(message).build());
+      }
+    }
+  }
+}
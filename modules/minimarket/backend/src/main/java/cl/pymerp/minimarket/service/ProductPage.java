@@ -0,0 +1,16 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.ProductResponse;
+import java.util.List;
+import lombok.Getter;
+
+@Getter
+public class ProductPage {
+  private final List<ProductResponse> items;
+  private final String nextCursor;
+
+  public ProductPage(List<ProductResponse> items, String nextCursor) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+  }
+}
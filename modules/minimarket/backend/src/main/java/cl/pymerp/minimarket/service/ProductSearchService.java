@@ -0,0 +1,74 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.ProductSearchResponse;
+import cl.pymerp.minimarket.repository.ProductSearchRepository;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ProductSearchService {
+  private final ProductSearchRepository searchRepository;
+  private final int maxResults;
+
+  public ProductSearchService(
+      ProductSearchRepository searchRepository,
+      @Value("${app.products.search.max-results:1000}") int maxResults) {
+    this.searchRepository = searchRepository;
+    this.maxResults = maxResults;
+  }
+
+  @Transactional(readOnly = true)
+  public ProductSearchResponse search(String query, boolean visibleWebOnly, int page, int size) {
+    String trimmed = query != null ? query.trim() : "";
+    if (trimmed.length() < 2) {
+      throw new IllegalArgumentException("q debe tener al menos 2 caracteres");
+    }
+    if (size < 1 || size > 50) {
+      throw new IllegalArgumentException("size debe estar entre 1 y 50");
+    }
+    if (page < 0 || (long) (page + 1) * size > maxResults) {
+      throw new IllegalArgumentException("page fuera de rango");
+    }
+    List<String> tokens = tokens(trimmed);
+    if (tokens.isEmpty()) {
+      throw new IllegalArgumentException("q no contiene terminos buscables");
+    }
+    List<ProductSearchResponse.Hit> hits = searchRepository.search(
+        prefixQuery(tokens), String.join(" ", tokens), trimmed, visibleWebOnly, size + 1, page * size);
+    boolean hasMore = hits.size() > size;
+    return ProductSearchResponse.builder()
+        .query(trimmed)
+        .page(page)
+        .size(size)
+        .hasMore(hasMore)
+        .items(hasMore ? hits.subList(0, size) : hits)
+        .build();
+  }
+
+  static List<String> tokens(String query) {
+    String normalized = Normalizer.normalize(query, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    List<String> tokens = new ArrayList<>();
+    for (String token : normalized.split("[^\\p{L}\\p{N}]+")) {
+      if (token.length() >= 2) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  static String prefixQuery(List<String> tokens) {
+    StringBuilder tsQuery = new StringBuilder();
+    for (String token : tokens) {
+      if (tsQuery.length() > 0) {
+        tsQuery.append(" | ");
+      }
+      tsQuery.append(token).append(":*");
+    }
+    return tsQuery.toString();
+  }
+}
@@ -1,38 +1,142 @@
 package cl.pymerp.minimarket.service;
 
 import cl.pymerp.minimarket.api.ProductRequest;
+import cl.pymerp.minimarket.api.ProductResponse;
 import cl.pymerp.minimarket.domain.Category;
 import cl.pymerp.minimarket.domain.Product;
+import cl.pymerp.minimarket.repository.ProductCatalogQuery;
+import cl.pymerp.minimarket.repository.ProductCatalogRepository;
+import cl.pymerp.minimarket.repository.ProductCatalogVersion;
 import cl.pymerp.minimarket.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ProductService {
   private final ProductRepository productRepository;
+  private final ProductCatalogRepository catalogRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int defaultPageSize;
+  private final int maxPageSize;
 
-  public ProductService(ProductRepository productRepository) {
+  public ProductService(
+      ProductRepository productRepository,
+      ProductCatalogRepository catalogRepository,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${app.products.default-page-size:100}") int defaultPageSize,
+      @Value("${app.products.max-page-size:500}") int maxPageSize) {
     this.productRepository = productRepository;
+    this.catalogRepository = catalogRepository;
+    this.eventPublisher = eventPublisher;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
   }
 
-  public List<Product> list() {
-    return productRepository.findAll();
+  public ProductCatalogVersion catalogVersion() {
+    return catalogRepository.findVersion();
+  }
+
+  public ProductPage page(
+      UUID categoryId,
+      boolean includeSubcategories,
+      Boolean active,
+      Boolean visibleWeb,
+      BigDecimal minPrice,
+      BigDecimal maxPrice,
+      String cursor,
+      Integer limit) {
+    if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+      throw new IllegalArgumentException("minPrice no puede ser mayor que maxPrice");
+    }
+    ProductCatalogQuery.ProductCatalogQueryBuilder query = ProductCatalogQuery.builder()
+        .categoryId(categoryId)
+        .includeSubcategories(includeSubcategories)
+        .active(active)
+        .visibleWeb(visibleWeb)
+        .minPrice(minPrice)
+        .maxPrice(maxPrice);
+    return page(query, cursor, limit);
+  }
+
+  /** Active, web-visible products of a category branch, leaving out anything under a hidden subcategory. */
+  public ProductPage visibleCategoryPage(UUID categoryId, String cursor, int limit) {
+    ProductCatalogQuery.ProductCatalogQueryBuilder query = ProductCatalogQuery.builder()
+        .categoryId(categoryId)
+        .includeSubcategories(true)
+        .visibleCategoriesOnly(true)
+        .active(true)
+        .visibleWeb(true);
+    return page(query, cursor, limit);
+  }
+
+  private ProductPage page(ProductCatalogQuery.ProductCatalogQueryBuilder query, String cursor, Integer limit) {
+    boolean paged = limit != null || (cursor != null && !cursor.isBlank());
+    if (limit == null) {
+      limit = defaultPageSize;
+    }
+    if (limit < 1 || limit > maxPageSize) {
+      throw new IllegalArgumentException("limit debe estar entre 1 y " + maxPageSize);
+    }
+    if (!paged) {
+      // Clients that never sent limit or cursor keep getting the whole list.
+      return new ProductPage(catalogRepository.findPage(query.build(), null), null);
+    }
+    if (cursor != null && !cursor.isBlank()) {
+      String[] parts = decodeCursor(cursor);
+      query.afterName(parts[0]).afterId(UUID.fromString(parts[1]));
+    }
+    List<ProductResponse> rows = catalogRepository.findPage(query.build(), limit + 1);
+    if (rows.size() <= limit) {
+      return new ProductPage(rows, null);
+    }
+    List<ProductResponse> items = rows.subList(0, limit);
+    ProductResponse last = items.get(limit - 1);
+    return new ProductPage(items, encodeCursor(last.getName(), last.getId()));
   }
 
   @Transactional
   public Product create(ProductRequest request) {
     Product product = new Product();
     applyRequest(product, request);
-    return productRepository.save(product);
+    Product saved = productRepository.save(product);
+    eventPublisher.publishEvent(new ProductChangedEvent(saved.getId()));
+    return saved;
   }
 
   @Transactional
   public Product update(UUID id, ProductRequest request) {
     Product product = productRepository.findById(id).orElseThrow();
     applyRequest(product, request);
-    return productRepository.save(product);
+    Product saved = productRepository.save(product);
+    eventPublisher.publishEvent(new ProductChangedEvent(saved.getId()));
+    return saved;
+  }
+
+  static String encodeCursor(String name, UUID id) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((name + "\n" + id).getBytes(StandardCharsets.UTF_8));
+  }
+
+  static String[] decodeCursor(String cursor) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = decoded.lastIndexOf('\n');
+      if (separator < 0) {
+        throw new IllegalArgumentException("cursor invalido");
+      }
+      String id = decoded.substring(separator + 1);
+      UUID.fromString(id);
+      return new String[] {decoded.substring(0, separator), id};
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException("cursor invalido");
+    }
   }
 
   private void applyRequest(Product product, ProductRequest request) {
@@ -0,0 +1,641 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.ProductResponse;
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+import lombok.Getter;
+
+public class ProductSuggestIndex {
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final int[] NO_TOKENS = new int[0];
+  private static final String[] NO_CODES = new String[0];
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<UUID, Integer> ordinals = new HashMap<>();
+  private UUID[] ids = new UUID[64];
+  private String[] names = new String[64];
+  private String[] skus = new String[64];
+  private String[] barcodes = new String[64];
+  private BigDecimal[] prices = new BigDecimal[64];
+  private int[][] nameTokens = new int[64][];
+  private String[][] productCodes = new String[64][];
+  private int productSlots;
+  private int[] freeSlots = new int[16];
+  private int freeCount;
+
+  private final Map<String, Integer> tokenIds = new HashMap<>();
+  private String[] tokens = new String[256];
+  private int[][] postings = new int[256][];
+  private int[] postingSizes = new int[256];
+  private int[][] heads = new int[256][];
+  private int[] headSizes = new int[256];
+  private int tokenCount;
+  private String[] sortedTokens = new String[0];
+  private int[] sortedTokenIds = new int[0];
+
+  private String[] codes = new String[256];
+  private int[] codeSlots = new int[256];
+  private int codeCount;
+
+  public void replaceAll(Collection<ProductResponse> products) {
+    lock.writeLock().lock();
+    try {
+      boolean incremental = !ordinals.isEmpty();
+      for (ProductResponse product : products) {
+        put(product, incremental);
+      }
+      if (!incremental) {
+        reorder();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void upsert(ProductResponse product) {
+    lock.writeLock().lock();
+    try {
+      put(product, true);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(UUID productId) {
+    lock.writeLock().lock();
+    try {
+      Integer slot = ordinals.remove(productId);
+      if (slot == null) {
+        return;
+      }
+      unlink(slot);
+      ids[slot] = null;
+      names[slot] = null;
+      skus[slot] = null;
+      barcodes[slot] = null;
+      prices[slot] = null;
+      if (freeCount == freeSlots.length) {
+        freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+      }
+      freeSlots[freeCount++] = slot;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return ordinals.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int vocabularySize() {
+    lock.readLock().lock();
+    try {
+      return tokenCount + codeCount;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public List<Suggestion> suggest(String query, int limit) {
+    String[] terms = tokenize(query);
+    if (terms.length == 0 || limit < 1) {
+      return List.of();
+    }
+    String joined = String.join("", terms);
+    lock.readLock().lock();
+    try {
+      Collector collector = new Collector(limit);
+
+      for (int c = lowerBoundCode(joined); c < codeCount && codes[c].equals(joined); c++) {
+        collector.add(codeSlots[c]);
+      }
+
+      int headFrom = lowerBound(terms[0]);
+      int headTo = prefixEnd(terms[0], headFrom);
+      if (!collector.full()) {
+        scan(headFrom, headTo, heads, headSizes,
+            slot -> !matchesAll(slot, terms, 1) || collector.add(slot));
+      }
+
+      if (!collector.full()) {
+        int driverFrom = headFrom;
+        int driverTo = headTo;
+        long driverCost = cost(headFrom, headTo, Long.MAX_VALUE);
+        for (int t = 1; t < terms.length; t++) {
+          int from = lowerBound(terms[t]);
+          int to = prefixEnd(terms[t], from);
+          long cost = cost(from, to, driverCost);
+          if (cost < driverCost) {
+            driverFrom = from;
+            driverTo = to;
+            driverCost = cost;
+          }
+        }
+        scan(driverFrom, driverTo, postings, postingSizes, slot ->
+            tokens[nameTokens[slot][0]].startsWith(terms[0])
+                || !matchesAll(slot, terms, 0)
+                || collector.add(slot));
+      }
+
+      for (int c = lowerBoundCode(joined);
+          !collector.full() && c < codeCount && codes[c].startsWith(joined); c++) {
+        collector.add(codeSlots[c]);
+      }
+
+      List<Suggestion> result = new ArrayList<>(collector.count);
+      for (int i = 0; i < collector.count; i++) {
+        int slot = collector.slots[i];
+        result.add(new Suggestion(ids[slot], names[slot], skus[slot], barcodes[slot], prices[slot]));
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  static String[] tokenize(String text) {
+    if (text == null || text.isBlank()) {
+      return new String[0];
+    }
+    String folded = text;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) > 127) {
+        folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        break;
+      }
+    }
+    List<String> words = new ArrayList<>(4);
+    int start = -1;
+    for (int i = 0; i <= folded.length(); i++) {
+      boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+      if (wordChar && start < 0) {
+        start = i;
+      } else if (!wordChar && start >= 0) {
+        words.add(folded.substring(start, i).toLowerCase(Locale.ROOT));
+        start = -1;
+      }
+    }
+    return words.toArray(new String[0]);
+  }
+
+  private boolean matchesAll(int slot, String[] terms, int fromTerm) {
+    int[] own = nameTokens[slot];
+    for (int t = fromTerm; t < terms.length; t++) {
+      boolean matched = false;
+      for (int i = 0; i < own.length && !matched; i++) {
+        matched = tokens[own[i]].startsWith(terms[t]);
+      }
+      if (!matched) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private long cost(int from, int to, long bound) {
+    long cost = 0;
+    for (int i = from; i < to && cost < bound; i++) {
+      cost += postingSizes[sortedTokenIds[i]];
+    }
+    return cost;
+  }
+
+  private void scan(int from, int to, int[][] lists, int[] sizes, IntPredicate visitor) {
+    int[] heapTokens = new int[to - from];
+    int[] heapPositions = new int[to - from];
+    int heapSize = 0;
+    for (int i = from; i < to; i++) {
+      int token = sortedTokenIds[i];
+      if (sizes[token] > 0) {
+        heapTokens[heapSize++] = token;
+      }
+    }
+    for (int i = heapSize / 2 - 1; i >= 0; i--) {
+      siftDown(heapTokens, heapPositions, heapSize, i, lists);
+    }
+    int previous = -1;
+    while (heapSize > 0) {
+      int token = heapTokens[0];
+      int slot = lists[token][heapPositions[0]];
+      if (slot != previous) {
+        if (!visitor.test(slot)) {
+          return;
+        }
+        previous = slot;
+      }
+      if (++heapPositions[0] == sizes[token]) {
+        heapSize--;
+        heapTokens[0] = heapTokens[heapSize];
+        heapPositions[0] = heapPositions[heapSize];
+      }
+      siftDown(heapTokens, heapPositions, heapSize, 0, lists);
+    }
+  }
+
+  private void siftDown(int[] heapTokens, int[] heapPositions, int heapSize, int index, int[][] lists) {
+    while (true) {
+      int smallest = index;
+      int left = index * 2 + 1;
+      int right = left + 1;
+      if (left < heapSize && compareSlots(lists[heapTokens[left]][heapPositions[left]],
+          lists[heapTokens[smallest]][heapPositions[smallest]]) < 0) {
+        smallest = left;
+      }
+      if (right < heapSize && compareSlots(lists[heapTokens[right]][heapPositions[right]],
+          lists[heapTokens[smallest]][heapPositions[smallest]]) < 0) {
+        smallest = right;
+      }
+      if (smallest == index) {
+        return;
+      }
+      int token = heapTokens[index];
+      int position = heapPositions[index];
+      heapTokens[index] = heapTokens[smallest];
+      heapPositions[index] = heapPositions[smallest];
+      heapTokens[smallest] = token;
+      heapPositions[smallest] = position;
+      index = smallest;
+    }
+  }
+
+  private int compareSlots(int a, int b) {
+    if (a == b) {
+      return 0;
+    }
+    int byLength = Integer.compare(names[a].length(), names[b].length());
+    if (byLength != 0) {
+      return byLength;
+    }
+    int byName = names[a].compareTo(names[b]);
+    return byName != 0 ? byName : Integer.compare(a, b);
+  }
+
+  private void put(ProductResponse product, boolean incremental) {
+    String name = product.getName() != null ? product.getName() : "";
+    String[] ownCodes = codesOf(product);
+    Integer existing = ordinals.get(product.getId());
+    int slot;
+    boolean sameName = false;
+    boolean sameCodes = false;
+    if (existing != null) {
+      slot = existing;
+      sameName = name.equals(names[slot]);
+      sameCodes = Arrays.equals(ownCodes, productCodes[slot]);
+      if (!sameName) {
+        unlinkName(slot);
+      }
+      if (!sameCodes) {
+        unlinkCodes(slot);
+      }
+    } else {
+      slot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot();
+      ordinals.put(product.getId(), slot);
+    }
+    ids[slot] = product.getId();
+    names[slot] = name;
+    skus[slot] = product.getSku();
+    barcodes[slot] = product.getBarcode();
+    prices[slot] = product.getPrice();
+
+    if (!sameName) {
+      String[] words = tokenize(name);
+      int[] own = new int[words.length];
+      int count = 0;
+      for (String word : words) {
+        int token = intern(word, incremental);
+        boolean duplicate = false;
+        for (int i = 0; i < count && !duplicate; i++) {
+          duplicate = own[i] == token;
+        }
+        if (!duplicate) {
+          own[count++] = token;
+          insert(postings, postingSizes, token, slot, incremental);
+        }
+      }
+      nameTokens[slot] = count == own.length ? own : Arrays.copyOf(own, count);
+      if (count > 0) {
+        insert(heads, headSizes, own[0], slot, incremental);
+      }
+    }
+    if (!sameCodes) {
+      productCodes[slot] = ownCodes;
+      for (String code : ownCodes) {
+        insertCode(code, slot, incremental);
+      }
+    }
+  }
+
+  private static String[] codesOf(ProductResponse product) {
+    String sku = String.join("", tokenize(product.getSku()));
+    String barcode = String.join("", tokenize(product.getBarcode()));
+    if (sku.isEmpty() && barcode.isEmpty()) {
+      return NO_CODES;
+    }
+    if (sku.isEmpty() || barcode.isEmpty() || sku.equals(barcode)) {
+      return new String[] {sku.isEmpty() ? barcode : sku};
+    }
+    return new String[] {sku, barcode};
+  }
+
+  private int nextSlot() {
+    if (productSlots == ids.length) {
+      int capacity = ids.length * 2;
+      ids = Arrays.copyOf(ids, capacity);
+      names = Arrays.copyOf(names, capacity);
+      skus = Arrays.copyOf(skus, capacity);
+      barcodes = Arrays.copyOf(barcodes, capacity);
+      prices = Arrays.copyOf(prices, capacity);
+      nameTokens = Arrays.copyOf(nameTokens, capacity);
+      productCodes = Arrays.copyOf(productCodes, capacity);
+    }
+    return productSlots++;
+  }
+
+  private int intern(String word, boolean incremental) {
+    Integer existing = tokenIds.get(word);
+    if (existing != null) {
+      return existing;
+    }
+    if (tokenCount == tokens.length) {
+      int capacity = tokens.length * 2;
+      tokens = Arrays.copyOf(tokens, capacity);
+      postings = Arrays.copyOf(postings, capacity);
+      postingSizes = Arrays.copyOf(postingSizes, capacity);
+      heads = Arrays.copyOf(heads, capacity);
+      headSizes = Arrays.copyOf(headSizes, capacity);
+    }
+    int token = tokenCount++;
+    tokens[token] = word;
+    postings[token] = new int[2];
+    heads[token] = NO_TOKENS;
+    tokenIds.put(word, token);
+    if (incremental) {
+      int position = lowerBound(word);
+      String[] nextTokens = new String[sortedTokens.length + 1];
+      int[] nextIds = new int[sortedTokenIds.length + 1];
+      System.arraycopy(sortedTokens, 0, nextTokens, 0, position);
+      System.arraycopy(sortedTokenIds, 0, nextIds, 0, position);
+      nextTokens[position] = word;
+      nextIds[position] = token;
+      System.arraycopy(sortedTokens, position, nextTokens, position + 1, sortedTokens.length - position);
+      System.arraycopy(sortedTokenIds, position, nextIds, position + 1, sortedTokenIds.length - position);
+      sortedTokens = nextTokens;
+      sortedTokenIds = nextIds;
+    }
+    return token;
+  }
+
+  private void insert(int[][] lists, int[] sizes, int token, int slot, boolean incremental) {
+    int size = sizes[token];
+    int[] list = lists[token];
+    if (size == list.length) {
+      list = Arrays.copyOf(list, Math.max(2, size * 2));
+      lists[token] = list;
+    }
+    int position = incremental ? -searchSlot(list, size, slot) - 1 : size;
+    System.arraycopy(list, position, list, position + 1, size - position);
+    list[position] = slot;
+    sizes[token] = size + 1;
+  }
+
+  private void delete(int[][] lists, int[] sizes, int token, int slot) {
+    int size = sizes[token];
+    int position = searchSlot(lists[token], size, slot);
+    if (position >= 0) {
+      System.arraycopy(lists[token], position + 1, lists[token], position, size - position - 1);
+      sizes[token] = size - 1;
+    }
+  }
+
+  private int searchSlot(int[] list, int size, int slot) {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int compared = compareSlots(list[mid], slot);
+      if (compared < 0) {
+        low = mid + 1;
+      } else if (compared > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  private void insertCode(String code, int slot, boolean incremental) {
+    if (codeCount == codes.length) {
+      codes = Arrays.copyOf(codes, codeCount * 2);
+      codeSlots = Arrays.copyOf(codeSlots, codeCount * 2);
+    }
+    int position = incremental ? -searchCode(code, slot) - 1 : codeCount;
+    System.arraycopy(codes, position, codes, position + 1, codeCount - position);
+    System.arraycopy(codeSlots, position, codeSlots, position + 1, codeCount - position);
+    codes[position] = code;
+    codeSlots[position] = slot;
+    codeCount++;
+  }
+
+  private int searchCode(String code, int slot) {
+    int low = 0;
+    int high = codeCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int compared = codes[mid].compareTo(code);
+      if (compared == 0) {
+        compared = Integer.compare(codeSlots[mid], slot);
+      }
+      if (compared < 0) {
+        low = mid + 1;
+      } else if (compared > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  private void unlink(int slot) {
+    unlinkName(slot);
+    unlinkCodes(slot);
+  }
+
+  private void unlinkName(int slot) {
+    int[] own = nameTokens[slot];
+    for (int token : own) {
+      delete(postings, postingSizes, token, slot);
+    }
+    if (own.length > 0) {
+      delete(heads, headSizes, own[0], slot);
+    }
+    nameTokens[slot] = NO_TOKENS;
+  }
+
+  private void unlinkCodes(int slot) {
+    for (String code : productCodes[slot]) {
+      int position = searchCode(code, slot);
+      if (position >= 0) {
+        System.arraycopy(codes, position + 1, codes, position, codeCount - position - 1);
+        System.arraycopy(codeSlots, position + 1, codeSlots, position, codeCount - position - 1);
+        codeCount--;
+        codes[codeCount] = null;
+      }
+    }
+    productCodes[slot] = NO_CODES;
+  }
+
+  private void reorder() {
+    Integer[] tokenOrder = new Integer[tokenCount];
+    for (int i = 0; i < tokenCount; i++) {
+      tokenOrder[i] = i;
+    }
+    Arrays.sort(tokenOrder, (a, b) -> tokens[a].compareTo(tokens[b]));
+    sortedTokens = new String[tokenCount];
+    sortedTokenIds = new int[tokenCount];
+    for (int i = 0; i < tokenCount; i++) {
+      sortedTokens[i] = tokens[tokenOrder[i]];
+      sortedTokenIds[i] = tokenOrder[i];
+    }
+
+    Integer[] slotOrder = ordinals.values().toArray(new Integer[0]);
+    Arrays.sort(slotOrder, this::compareSlots);
+    int[] rank = new int[productSlots];
+    for (int i = 0; i < slotOrder.length; i++) {
+      rank[slotOrder[i]] = i;
+    }
+    for (int token = 0; token < tokenCount; token++) {
+      sortByRank(postings[token], postingSizes[token], rank);
+      sortByRank(heads[token], headSizes[token], rank);
+    }
+
+    Integer[] codeOrder = new Integer[codeCount];
+    for (int i = 0; i < codeCount; i++) {
+      codeOrder[i] = i;
+    }
+    Arrays.sort(codeOrder, (a, b) -> {
+      int compared = codes[a].compareTo(codes[b]);
+      return compared != 0 ? compared : Integer.compare(codeSlots[a], codeSlots[b]);
+    });
+    String[] sortedCodes = new String[codes.length];
+    int[] sortedSlots = new int[codes.length];
+    for (int i = 0; i < codeCount; i++) {
+      sortedCodes[i] = codes[codeOrder[i]];
+      sortedSlots[i] = codeSlots[codeOrder[i]];
+    }
+    codes = sortedCodes;
+    codeSlots = sortedSlots;
+  }
+
+  private static void sortByRank(int[] list, int size, int[] rank) {
+    long[] keyed = new long[size];
+    for (int i = 0; i < size; i++) {
+      keyed[i] = ((long) rank[list[i]] << 32) | list[i];
+    }
+    Arrays.sort(keyed);
+    for (int i = 0; i < size; i++) {
+      list[i] = (int) keyed[i];
+    }
+  }
+
+  private int lowerBound(String term) {
+    int low = 0;
+    int high = sortedTokens.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sortedTokens[mid].compareTo(term) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int prefixEnd(String term, int from) {
+    int low = from;
+    int high = sortedTokens.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sortedTokens[mid].startsWith(term)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int lowerBoundCode(String code) {
+    int low = 0;
+    int high = codeCount;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (codes[mid].compareTo(code) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static class Collector {
+    private final int[] slots;
+    private int count;
+
+    Collector(int limit) {
+      this.slots = new int[limit];
+    }
+
+    boolean add(int slot) {
+      for (int i = 0; i < count; i++) {
+        if (slots[i] == slot) {
+          return true;
+        }
+      }
+      slots[count++] = slot;
+      return !full();
+    }
+
+    boolean full() {
+      return count == slots.length;
+    }
+  }
+
+  @Getter
+  public static class Suggestion {
+    private final UUID productId;
+    private final String name;
+    private final String sku;
+    private final String barcode;
+    private final BigDecimal price;
+
+    public Suggestion(UUID productId, String name, String sku, String barcode, BigDecimal price) {
+      this.productId = productId;
+      this.name = name;
+      this.sku = sku;
+      this.barcode = barcode;
+      this.price = price;
+    }
+  }
+}
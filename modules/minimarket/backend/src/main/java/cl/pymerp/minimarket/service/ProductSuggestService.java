@@ -0,0 +1,110 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.ProductResponse;
+import cl.pymerp.minimarket.repository.ProductCatalogRepository;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+public class ProductSuggestService {
+  private static final Logger log = LoggerFactory.getLogger(ProductSuggestService.class);
+
+  private final ProductCatalogRepository catalogRepository;
+  private final Executor executor;
+  private final AtomicReference<ProductSuggestIndex> index = new AtomicReference<>(new ProductSuggestIndex());
+  private final AtomicBoolean loading = new AtomicBoolean();
+  private final Queue<UUID> pendingChanges = new ConcurrentLinkedQueue<>();
+
+  public ProductSuggestService(
+      ProductCatalogRepository catalogRepository,
+      @Qualifier("analyticsExecutor") Executor executor) {
+    this.catalogRepository = catalogRepository;
+    this.executor = executor;
+  }
+
+  public List<ProductSuggestIndex.Suggestion> suggest(String query, int limit) {
+    if (limit < 1 || limit > 20) {
+      throw new IllegalArgumentException("limit debe estar entre 1 y 20");
+    }
+    return index.get().suggest(query, limit);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onProductChanged(ProductChangedEvent event) {
+    if (loading.get()) {
+      pendingChanges.add(event.getProductId());
+    }
+    apply(index.get(), event.getProductId());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onProductsChanged(ProductsChangedEvent event) {
+    if (loading.get()) {
+      pendingChanges.addAll(event.getProductIds());
+    }
+    applyAll(index.get(), event.getProductIds());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    executor.execute(this::load);
+  }
+
+  public void load() {
+    if (!loading.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      long started = System.nanoTime();
+      ProductSuggestIndex rebuilt = new ProductSuggestIndex();
+      rebuilt.replaceAll(catalogRepository.findActive());
+      index.set(rebuilt);
+      List<UUID> pending = new ArrayList<>();
+      UUID productId;
+      while ((productId = pendingChanges.poll()) != null) {
+        pending.add(productId);
+      }
+      applyAll(rebuilt, pending);
+      log.info("Indice de sugerencias: {} productos, {} terminos en {} ms",
+          rebuilt.size(), rebuilt.vocabularySize(), (System.nanoTime() - started) / 1_000_000);
+    } catch (RuntimeException ex) {
+      log.warn("No se pudo cargar el indice de sugerencias: {}", ex.getMessage());
+    } finally {
+      pendingChanges.clear();
+      loading.set(false);
+    }
+  }
+
+  private void applyAll(ProductSuggestIndex target, List<UUID> productIds) {
+    Set<UUID> removed = new HashSet<>(productIds);
+    for (ProductResponse product : catalogRepository.findByIds(removed)) {
+      if (product.isActive()) {
+        target.upsert(product);
+        removed.remove(product.getId());
+      }
+    }
+    removed.forEach(target::remove);
+  }
+
+  private void apply(ProductSuggestIndex target, UUID productId) {
+    catalogRepository.findById(productId)
+        .filter(ProductResponse::isActive)
+        .ifPresentOrElse(target::upsert, () -> target.remove(productId));
+  }
+}
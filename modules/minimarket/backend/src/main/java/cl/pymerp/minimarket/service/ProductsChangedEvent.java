@@ -0,0 +1,14 @@
+package cl.pymerp.minimarket.service;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+
+@Getter
+public class ProductsChangedEvent {
+  private final List<UUID> productIds;
+
+  public ProductsChangedEvent(List<UUID> productIds) {
+    this.productIds = productIds;
+  }
+}
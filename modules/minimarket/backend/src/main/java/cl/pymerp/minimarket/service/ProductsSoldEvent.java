@@ -0,0 +1,22 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.domain.InventoryMovement;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.Getter;
+
+@Getter
+public class ProductsSoldEvent {
+  private final OffsetDateTime soldAt;
+  private final Map<UUID, Long> quantities = new LinkedHashMap<>();
+
+  public ProductsSoldEvent(OffsetDateTime soldAt, List<InventoryMovement> movements) {
+    this.soldAt = soldAt;
+    for (InventoryMovement movement : movements) {
+      quantities.merge(movement.getProduct().getId(), (long) movement.getQuantity(), Long::sum);
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.RelatedProductResponse;
+import cl.pymerp.minimarket.repository.SalesAnalyticsRepository;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class RelatedProductsService {
+  private static final Logger log = LoggerFactory.getLogger(RelatedProductsService.class);
+
+  private final SalesAnalyticsRepository analyticsRepository;
+  private final Executor executor;
+  private final TransactionTemplate readOnlyTransaction;
+  private final int historyDays;
+  private final double halfLifeDays;
+  private final int partitions;
+  private final int maxBasketSize;
+  private final int fetchSize;
+  private final AtomicReference<CoOccurrenceIndex> index = new AtomicReference<>();
+  private final AtomicBoolean rebuilding = new AtomicBoolean();
+  private final Queue<List<UUID>> pendingBaskets = new ConcurrentLinkedQueue<>();
+  private final Object swapLock = new Object();
+
+  public RelatedProductsService(
+      SalesAnalyticsRepository analyticsRepository,
+      @Qualifier("analyticsExecutor") Executor executor,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.related.history-days:365}") int historyDays,
+      @Value("${app.related.half-life-days:90}") double halfLifeDays,
+      @Value("${app.related.partitions:4}") int partitions,
+      @Value("${app.related.max-basket-size:40}") int maxBasketSize,
+      @Value("${app.related.fetch-size:5000}") int fetchSize) {
+    this.analyticsRepository = analyticsRepository;
+    this.executor = executor;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.historyDays = historyDays;
+    this.halfLifeDays = halfLifeDays;
+    this.partitions = partitions;
+    this.maxBasketSize = maxBasketSize;
+    this.fetchSize = fetchSize;
+    this.index.set(new CoOccurrenceIndex(maxBasketSize));
+  }
+
+  public List<RelatedProductResponse> related(UUID productId, int limit) {
+    if (limit < 1 || limit > 50) {
+      throw new IllegalArgumentException("limit debe estar entre 1 y 50");
+    }
+    return index.get().top(productId, limit).stream()
+        .map(partner -> RelatedProductResponse.builder()
+            .productId(partner.getProductId())
+            .score(partner.getScore())
+            .confidence(partner.getConfidence())
+            .build())
+        .collect(Collectors.toList());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onProductsSold(ProductsSoldEvent event) {
+    List<UUID> basket = new ArrayList<>(event.getQuantities().keySet());
+    if (basket.size() < 2) {
+      return;
+    }
+    // Same lock as the swap: a basket is either queued for the new index or added to it, never both.
+    synchronized (swapLock) {
+      if (rebuilding.get()) {
+        pendingBaskets.add(basket);
+      }
+      index.get().addBasket(basket, 1f);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStartup() {
+    rebuild();
+  }
+
+  @Scheduled(cron = "${app.related.rebuild-cron:0 0 4 * * *}", zone = "${app.store.zone:America/Santiago}")
+  public void scheduledRebuild() {
+    rebuild();
+  }
+
+  /**
+   * Submits the partitions and returns; the merge and swap run on whichever pool thread finishes last, so no
+   * thread (scheduler or executor) ever blocks waiting on the other partitions.
+   */
+  CompletableFuture<Void> rebuild() {
+    if (!rebuilding.compareAndSet(false, true)) {
+      return CompletableFuture.completedFuture(null);
+    }
+    long started = System.nanoTime();
+    List<CompletableFuture<CoOccurrenceIndex>> parts = new ArrayList<>();
+    try {
+      OffsetDateTime now = OffsetDateTime.now();
+      OffsetDateTime from = now.minusDays(historyDays);
+      Duration slice = Duration.between(from, now).dividedBy(partitions);
+      for (int i = 0; i < partitions; i++) {
+        OffsetDateTime start = from.plus(slice.multipliedBy(i));
+        OffsetDateTime end = i == partitions - 1 ? now : start.plus(slice);
+        parts.add(CompletableFuture.supplyAsync(() -> buildPartition(start, end, now), executor));
+      }
+    } catch (RuntimeException ex) {
+      parts.add(CompletableFuture.failedFuture(ex));
+    }
+    return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+        .thenApply(done -> {
+          CoOccurrenceIndex rebuilt = new CoOccurrenceIndex(maxBasketSize);
+          parts.forEach(part -> rebuilt.mergeFrom(part.join()));
+          return rebuilt;
+        })
+        .handle((rebuilt, error) -> {
+          if (error != null) {
+            log.warn("No se pudo reconstruir el indice de productos relacionados: {}", error.getMessage());
+            synchronized (swapLock) {
+              pendingBaskets.clear();
+              rebuilding.set(false);
+            }
+            return null;
+          }
+          swap(rebuilt);
+          log.info("Indice de productos relacionados: {} productos en {} ms",
+              rebuilt.size(), (System.nanoTime() - started) / 1_000_000);
+          return null;
+        });
+  }
+
+  private void swap(CoOccurrenceIndex rebuilt) {
+    // Replay most of the backlog without the lock, then the remainder and the swap under it.
+    List<UUID> basket;
+    while ((basket = pendingBaskets.poll()) != null) {
+      rebuilt.addBasket(basket, 1f);
+    }
+    synchronized (swapLock) {
+      while ((basket = pendingBaskets.poll()) != null) {
+        rebuilt.addBasket(basket, 1f);
+      }
+      index.set(rebuilt);
+      rebuilding.set(false);
+    }
+  }
+
+  private CoOccurrenceIndex buildPartition(OffsetDateTime start, OffsetDateTime end, OffsetDateTime now) {
+    CoOccurrenceIndex partial = new CoOccurrenceIndex(maxBasketSize);
+    double decayPerDay = Math.log(2) / halfLifeDays;
+    readOnlyTransaction.executeWithoutResult(status -> {
+      BasketCollector collector = new BasketCollector(partial, now, decayPerDay);
+      analyticsRepository.forEachBasketLine(start, end, fetchSize, collector::accept);
+      collector.flush();
+    });
+    return partial;
+  }
+
+  private static final class BasketCollector {
+    private final CoOccurrenceIndex target;
+    private final OffsetDateTime now;
+    private final double decayPerDay;
+    private final List<UUID> basket = new ArrayList<>();
+    private UUID saleId;
+    private OffsetDateTime soldAt;
+
+    private BasketCollector(CoOccurrenceIndex target, OffsetDateTime now, double decayPerDay) {
+      this.target = target;
+      this.now = now;
+      this.decayPerDay = decayPerDay;
+    }
+
+    private void accept(UUID lineSaleId, UUID productId, OffsetDateTime lineSoldAt) {
+      if (!lineSaleId.equals(saleId)) {
+        flush();
+        saleId = lineSaleId;
+        soldAt = lineSoldAt;
+      }
+      basket.add(productId);
+    }
+
+    private void flush() {
+      if (basket.size() > 1) {
+        double ageDays = Duration.between(soldAt, now).toHours() / 24.0;
+        target.addBasket(basket, (float) Math.exp(-decayPerDay * Math.max(0, ageDays)));
+      }
+      basket.clear();
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.CategoryMarginResponse;
+import cl.pymerp.minimarket.api.ProductSalesResponse;
+import cl.pymerp.minimarket.api.SalesHeatmapCell;
+import cl.pymerp.minimarket.repository.SalesAnalyticsRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+public class SalesAnalyticsService {
+  private final SalesAnalyticsRepository analyticsRepository;
+  private final Executor executor;
+  private final ZoneId zone;
+  private final int partitionDays;
+  private final int maxRangeDays;
+  private final int cachedDays;
+  private final ConcurrentSkipListMap<LocalDate, DaySales> closedDays = new ConcurrentSkipListMap<>();
+
+  public SalesAnalyticsService(
+      SalesAnalyticsRepository analyticsRepository,
+      @Qualifier("analyticsExecutor") Executor executor,
+      @Value("${app.store.zone:America/Santiago}") String zone,
+      @Value("${app.analytics.partition-days:31}") int partitionDays,
+      @Value("${app.analytics.max-range-days:731}") int maxRangeDays,
+      @Value("${app.analytics.cached-days:800}") int cachedDays) {
+    this.analyticsRepository = analyticsRepository;
+    this.executor = executor;
+    this.zone = ZoneId.of(zone);
+    this.partitionDays = partitionDays;
+    this.maxRangeDays = maxRangeDays;
+    this.cachedDays = cachedDays;
+  }
+
+  public List<ProductSalesResponse> topProducts(
+      LocalDate from, LocalDate to, String by, Set<UUID> categoryIds, int limit) {
+    if (limit < 1 || limit > 100) {
+      throw new IllegalArgumentException("limit debe estar entre 1 y 100");
+    }
+    Comparator<ProductSalesResponse> order;
+    if ("units".equals(by)) {
+      order = Comparator.comparingLong(ProductSalesResponse::getUnits).reversed();
+    } else if ("revenue".equals(by)) {
+      order = Comparator.comparing(ProductSalesResponse::getRevenue).reversed();
+    } else {
+      throw new IllegalArgumentException("by debe ser units o revenue");
+    }
+    return productTotals(load(from, to)).stream()
+        .filter(product -> categoryIds == null || categoryIds.contains(product.getCategoryId()))
+        .sorted(order.thenComparing(ProductSalesResponse::getName))
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  public List<SalesHeatmapCell> heatmap(LocalDate from, LocalDate to) {
+    Map<Integer, HeatmapTotals> cells = new HashMap<>();
+    for (DaySales day : load(from, to)) {
+      for (SalesHeatmapCell cell : day.hours) {
+        cells.computeIfAbsent(cell.getDayOfWeek() * 24 + cell.getHour(), key -> new HeatmapTotals()).add(cell);
+      }
+    }
+    return cells.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .map(entry -> SalesHeatmapCell.builder()
+            .dayOfWeek(entry.getKey() / 24)
+            .hour(entry.getKey() % 24)
+            .salesCount(entry.getValue().salesCount)
+            .units(entry.getValue().units)
+            .revenue(entry.getValue().revenue)
+            .build())
+        .collect(Collectors.toList());
+  }
+
+  public List<CategoryMarginResponse> categoryMargin(LocalDate from, LocalDate to) {
+    Map<UUID, List<ProductSalesResponse>> byCategory = new LinkedHashMap<>();
+    for (ProductSalesResponse product : productTotals(load(from, to))) {
+      byCategory.computeIfAbsent(product.getCategoryId(), key -> new ArrayList<>()).add(product);
+    }
+    return byCategory.values().stream()
+        .map(products -> {
+          BigDecimal revenue = products.stream().map(ProductSalesResponse::getRevenue).reduce(BigDecimal.ZERO, BigDecimal::add);
+          BigDecimal cost = products.stream().map(ProductSalesResponse::getCost).reduce(BigDecimal.ZERO, BigDecimal::add);
+          BigDecimal margin = revenue.subtract(cost);
+          ProductSalesResponse first = products.get(0);
+          return CategoryMarginResponse.builder()
+              .categoryId(first.getCategoryId())
+              .categoryName(first.getCategoryName() != null ? first.getCategoryName() : "Sin categoria")
+              .units(products.stream().mapToLong(ProductSalesResponse::getUnits).sum())
+              .revenue(revenue)
+              .cost(cost)
+              .grossMargin(margin)
+              .marginRate(revenue.signum() == 0 ? BigDecimal.ZERO : margin.divide(revenue, 4, RoundingMode.HALF_UP))
+              .build();
+        })
+        .sorted(Comparator.comparing(CategoryMarginResponse::getGrossMargin).reversed())
+        .collect(Collectors.toList());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onProductChanged(ProductChangedEvent event) {
+    closedDays.clear();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onProductsChanged(ProductsChangedEvent event) {
+    closedDays.clear();
+  }
+
+  private List<DaySales> load(LocalDate from, LocalDate to) {
+    if (from == null || to == null) {
+      throw new IllegalArgumentException("from y to son obligatorios");
+    }
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("from no puede ser posterior a to");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+      throw new IllegalArgumentException("rango maximo: " + maxRangeDays + " dias");
+    }
+    LocalDate today = LocalDate.now(zone);
+    Map<LocalDate, DaySales> days = new LinkedHashMap<>();
+    List<LocalDate[]> partitions = new ArrayList<>();
+    LocalDate[] open = null;
+    for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+      DaySales cached = day.isBefore(today) ? closedDays.get(day) : null;
+      days.put(day, cached);
+      if (cached != null) {
+        open = null;
+      } else if (open != null && ChronoUnit.DAYS.between(open[0], day) < partitionDays) {
+        open[1] = day;
+      } else {
+        open = new LocalDate[] {day, day};
+        partitions.add(open);
+      }
+    }
+
+    List<CompletableFuture<Map<LocalDate, DaySales>>> loads = partitions.stream()
+        .map(range -> CompletableFuture.supplyAsync(() -> fetch(range[0], range[1]), executor))
+        .collect(Collectors.toList());
+    for (CompletableFuture<Map<LocalDate, DaySales>> partition : loads) {
+      partition.join().forEach((day, sales) -> {
+        days.put(day, sales);
+        if (day.isBefore(today)) {
+          remember(day, sales);
+        }
+      });
+    }
+    return days.values().stream().filter(Objects::nonNull).collect(Collectors.toList());
+  }
+
+  private Map<LocalDate, DaySales> fetch(LocalDate from, LocalDate to) {
+    Map<LocalDate, List<ProductSalesResponse>> products = analyticsRepository.findProductSalesByDay(from, to, zone);
+    Map<LocalDate, List<SalesHeatmapCell>> hours = analyticsRepository.findHourlySalesByDay(from, to, zone);
+    Map<LocalDate, DaySales> result = new LinkedHashMap<>();
+    for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+      result.put(day, new DaySales(
+          products.getOrDefault(day, List.of()),
+          hours.getOrDefault(day, List.of())));
+    }
+    return result;
+  }
+
+  private void remember(LocalDate day, DaySales sales) {
+    closedDays.put(day, sales);
+    while (closedDays.size() > cachedDays) {
+      closedDays.pollFirstEntry();
+    }
+  }
+
+  private List<ProductSalesResponse> productTotals(List<DaySales> days) {
+    Map<UUID, ProductSalesResponse> totals = new LinkedHashMap<>();
+    for (DaySales day : days) {
+      for (ProductSalesResponse line : day.products) {
+        totals.merge(line.getProductId(), line, (current, next) -> ProductSalesResponse.builder()
+            .productId(current.getProductId())
+            .name(current.getName())
+            .categoryId(current.getCategoryId())
+            .categoryName(current.getCategoryName())
+            .units(current.getUnits() + next.getUnits())
+            .revenue(current.getRevenue().add(next.getRevenue()))
+            .cost(current.getCost().add(next.getCost()))
+            .build());
+      }
+    }
+    return new ArrayList<>(totals.values());
+  }
+
+  private static final class DaySales {
+    private final List<ProductSalesResponse> products;
+    private final List<SalesHeatmapCell> hours;
+
+    private DaySales(List<ProductSalesResponse> products, List<SalesHeatmapCell> hours) {
+      this.products = products;
+      this.hours = hours;
+    }
+  }
+
+  private static final class HeatmapTotals {
+    private long salesCount;
+    private long units;
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    private void add(SalesHeatmapCell cell) {
+      salesCount += cell.getSalesCount();
+      units += cell.getUnits();
+      revenue = revenue.add(cell.getRevenue());
+    }
+  }
+}
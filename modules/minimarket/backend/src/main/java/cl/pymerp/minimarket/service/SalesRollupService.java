@@ -0,0 +1,75 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.SalesBreakdownResponse;
+import cl.pymerp.minimarket.api.SalesDailyResponse;
+import cl.pymerp.minimarket.domain.PaymentMethod;
+import cl.pymerp.minimarket.domain.SaleType;
+import cl.pymerp.minimarket.repository.SalesSummaryRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class SalesRollupService {
+  private final SalesSummaryRepository summaryRepository;
+  private final ZoneId zone;
+
+  public SalesRollupService(
+      SalesSummaryRepository summaryRepository,
+      @Value("${app.store.zone:America/Santiago}") String zone) {
+    this.summaryRepository = summaryRepository;
+    this.zone = ZoneId.of(zone);
+  }
+
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordSale(
+      SaleType saleType, PaymentMethod method, long count, BigDecimal amount, OffsetDateTime at) {
+    if (count == 0) {
+      return;
+    }
+    ZonedDateTime local = at.atZoneSameInstant(zone);
+    summaryRepository.increment(
+        local.toLocalDate(),
+        saleType,
+        method != null ? method.name() : "UNSPECIFIED",
+        local.getHour(),
+        count,
+        amount);
+  }
+
+  @Transactional(readOnly = true)
+  public SalesDailyResponse today(SaleType saleType) {
+    LocalDate today = LocalDate.now(zone);
+    return summaryRepository.findDay(today, saleType)
+        .orElseGet(() -> SalesDailyResponse.builder()
+            .date(today)
+            .saleType(saleType)
+            .salesCount(0)
+            .totalAmount(BigDecimal.ZERO)
+            .build());
+  }
+
+  @Transactional(readOnly = true)
+  public List<SalesDailyResponse> daily(LocalDate from, LocalDate to, SaleType saleType) {
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("from no puede ser posterior a to");
+    }
+    return summaryRepository.findRange(from, to, saleType);
+  }
+
+  @Transactional(readOnly = true)
+  public List<SalesBreakdownResponse> breakdown(LocalDate date) {
+    return summaryRepository.findBreakdown(date);
+  }
+}
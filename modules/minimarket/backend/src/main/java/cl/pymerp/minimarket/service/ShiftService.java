@@ -0,0 +1,153 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.ShiftCloseRequest;
+import cl.pymerp.minimarket.api.ShiftOpenRequest;
+import cl.pymerp.minimarket.api.ShiftReportResponse;
+import cl.pymerp.minimarket.domain.PaymentMethod;
+import cl.pymerp.minimarket.domain.RegisterShift;
+import cl.pymerp.minimarket.domain.ShiftStatus;
+import cl.pymerp.minimarket.domain.User;
+import cl.pymerp.minimarket.repository.RegisterShiftRepository;
+import cl.pymerp.minimarket.repository.ShiftTotalsRepository;
+import cl.pymerp.minimarket.repository.UserRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class ShiftService {
+  private final RegisterShiftRepository shiftRepository;
+  private final ShiftTotalsRepository totalsRepository;
+  private final UserRepository userRepository;
+
+  public ShiftService(
+      RegisterShiftRepository shiftRepository,
+      ShiftTotalsRepository totalsRepository,
+      UserRepository userRepository) {
+    this.shiftRepository = shiftRepository;
+    this.totalsRepository = totalsRepository;
+    this.userRepository = userRepository;
+  }
+
+  @Transactional
+  public ShiftReportResponse open(UUID userId, ShiftOpenRequest request) {
+    String terminal = request.getTerminal().trim();
+    if (shiftRepository.existsByUserIdAndStatus(userId, ShiftStatus.OPEN)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "el usuario ya tiene un turno abierto");
+    }
+    if (shiftRepository.existsByTerminalAndStatus(terminal, ShiftStatus.OPEN)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "la caja ya tiene un turno abierto: " + terminal);
+    }
+    User user = userRepository.findById(userId).orElseThrow();
+    RegisterShift shift = new RegisterShift();
+    shift.setUser(user);
+    shift.setTerminal(terminal);
+    shift.setOpeningCash(request.getOpeningCash() != null ? request.getOpeningCash() : BigDecimal.ZERO);
+    try {
+      // The partial unique indexes still decide a race between two concurrent opens.
+      return toReport(shiftRepository.saveAndFlush(shift), List.of());
+    } catch (DataIntegrityViolationException ex) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "el usuario o la caja ya tiene un turno abierto");
+    }
+  }
+
+  @Transactional(readOnly = true)
+  public Optional<ShiftReportResponse> current(UUID userId) {
+    return shiftRepository.findFirstByUserIdAndStatus(userId, ShiftStatus.OPEN)
+        .map(shift -> toReport(shift, totalsRepository.findByShift(shift.getId())));
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public Optional<RegisterShift> lockOpenShift(UUID userId) {
+    return shiftRepository.lockForSale(userId, ShiftStatus.OPEN);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordSale(RegisterShift shift, PaymentMethod method, BigDecimal amount) {
+    totalsRepository.increment(shift.getId(), method, 1, amount);
+  }
+
+  @Transactional
+  public ShiftReportResponse close(UUID shiftId, UUID userId, boolean admin, ShiftCloseRequest request) {
+    RegisterShift shift = shiftRepository.lockById(shiftId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Turno no encontrado"));
+    requireOwnerOrAdmin(shift, userId, admin);
+    if (shift.getStatus() != ShiftStatus.OPEN) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "el turno ya esta cerrado");
+    }
+    List<ShiftReportResponse.MethodTotal> totals = totalsRepository.findByShift(shiftId);
+    shift.setStatus(ShiftStatus.CLOSED);
+    shift.setClosedAt(OffsetDateTime.now());
+    shift.setCountedCash(request.getCountedCash());
+    shift.setCashExpected(cashExpected(shift, totals));
+    return toReport(shiftRepository.save(shift), totals);
+  }
+
+  @Transactional(readOnly = true)
+  public ShiftReportResponse report(UUID shiftId, UUID userId, boolean admin) {
+    RegisterShift shift = shiftRepository.findById(shiftId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Turno no encontrado"));
+    requireOwnerOrAdmin(shift, userId, admin);
+    return toReport(shift, totalsRepository.findByShift(shiftId));
+  }
+
+  private void requireOwnerOrAdmin(RegisterShift shift, UUID userId, boolean admin) {
+    if (!admin && !shift.getUser().getId().equals(userId)) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sin permisos");
+    }
+  }
+
+  private BigDecimal cashExpected(RegisterShift shift, List<ShiftReportResponse.MethodTotal> totals) {
+    BigDecimal cash = totals.stream()
+        .filter(total -> total.getMethod() == PaymentMethod.CASH)
+        .map(ShiftReportResponse.MethodTotal::getTotalAmount)
+        .findFirst()
+        .orElse(BigDecimal.ZERO);
+    return shift.getOpeningCash().add(cash);
+  }
+
+  private ShiftReportResponse toReport(RegisterShift shift, List<ShiftReportResponse.MethodTotal> totals) {
+    Map<PaymentMethod, ShiftReportResponse.MethodTotal> byMethod = new EnumMap<>(PaymentMethod.class);
+    totals.forEach(total -> byMethod.put(total.getMethod(), total));
+    List<ShiftReportResponse.MethodTotal> methods = new ArrayList<>();
+    long count = 0;
+    BigDecimal amount = BigDecimal.ZERO;
+    for (PaymentMethod method : PaymentMethod.values()) {
+      ShiftReportResponse.MethodTotal total = byMethod.getOrDefault(method, ShiftReportResponse.MethodTotal.builder()
+          .method(method)
+          .salesCount(0)
+          .totalAmount(BigDecimal.ZERO)
+          .build());
+      methods.add(total);
+      count += total.getSalesCount();
+      amount = amount.add(total.getTotalAmount());
+    }
+    BigDecimal expected = shift.getCashExpected() != null ? shift.getCashExpected() : cashExpected(shift, totals);
+    return ShiftReportResponse.builder()
+        .shiftId(shift.getId())
+        .userId(shift.getUser().getId())
+        .terminal(shift.getTerminal())
+        .status(shift.getStatus())
+        .openedAt(shift.getOpenedAt())
+        .closedAt(shift.getClosedAt())
+        .salesCount(count)
+        .totalAmount(amount)
+        .openingCash(shift.getOpeningCash())
+        .cashExpected(expected)
+        .countedCash(shift.getCountedCash())
+        .cashDifference(shift.getCountedCash() != null ? shift.getCountedCash().subtract(expected) : null)
+        .methods(methods)
+        .build();
+  }
+}
@@ -0,0 +1,62 @@
+package cl.pymerp.minimarket.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class SlidingTopK<K> {
+  private final long bucketMillis;
+  private final List<SpaceSavingSketch<K>> buckets;
+  private final long[] epochs;
+  private long latestEpoch = Long.MIN_VALUE;
+
+  public SlidingTopK(long bucketMillis, int bucketCount, int capacityPerBucket) {
+    this.bucketMillis = bucketMillis;
+    this.buckets = IntStream.range(0, bucketCount)
+        .mapToObj(i -> new SpaceSavingSketch<K>(capacityPerBucket))
+        .collect(Collectors.toList());
+    this.epochs = new long[bucketCount];
+    Arrays.fill(epochs, Long.MIN_VALUE);
+  }
+
+  public void add(K key, long weight, long atMillis) {
+    long epoch = Math.floorDiv(atMillis, bucketMillis);
+    if (latestEpoch != Long.MIN_VALUE && epoch <= latestEpoch - buckets.size()) {
+      return;
+    }
+    latestEpoch = Math.max(latestEpoch, epoch);
+    int slot = (int) Math.floorMod(epoch, (long) buckets.size());
+    if (epochs[slot] != epoch) {
+      if (epochs[slot] > epoch) {
+        return;
+      }
+      buckets.get(slot).clear();
+      epochs[slot] = epoch;
+    }
+    buckets.get(slot).add(key, weight);
+  }
+
+  public List<Map.Entry<K, long[]>> top(int limit, long nowMillis) {
+    long current = Math.floorDiv(nowMillis, bucketMillis);
+    Map<K, long[]> totals = new HashMap<>();
+    for (int slot = 0; slot < buckets.size(); slot++) {
+      if (epochs[slot] > current - buckets.size() && epochs[slot] <= current) {
+        buckets.get(slot).mergeInto(totals);
+      }
+    }
+    return totals.entrySet().stream()
+        .sorted(Comparator.comparingLong((Map.Entry<K, long[]> entry) -> entry.getValue()[0]).reversed())
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  public void clear() {
+    buckets.forEach(SpaceSavingSketch::clear);
+    Arrays.fill(epochs, Long.MIN_VALUE);
+    latestEpoch = Long.MIN_VALUE;
+  }
+}
@@ -0,0 +1,65 @@
+package cl.pymerp.minimarket.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+public class SpaceSavingSketch<K> {
+  private final int capacity;
+  private final Map<K, Counter<K>> counters = new HashMap<>();
+  private final TreeSet<Counter<K>> byCount = new TreeSet<>(
+      Comparator.<Counter<K>>comparingLong(counter -> counter.count).thenComparingLong(counter -> counter.sequence));
+  private long nextSequence;
+
+  public SpaceSavingSketch(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity debe ser positiva");
+    }
+    this.capacity = capacity;
+  }
+
+  public void add(K key, long weight) {
+    Counter<K> counter = counters.get(key);
+    if (counter != null) {
+      byCount.remove(counter);
+      counter.count += weight;
+    } else if (counters.size() < capacity) {
+      counter = new Counter<>(key, weight, 0);
+      counters.put(key, counter);
+    } else {
+      Counter<K> min = byCount.pollFirst();
+      counters.remove(min.key);
+      counter = new Counter<>(key, min.count + weight, min.count);
+      counters.put(key, counter);
+    }
+    counter.sequence = nextSequence++;
+    byCount.add(counter);
+  }
+
+  public void mergeInto(Map<K, long[]> totals) {
+    for (Counter<K> counter : counters.values()) {
+      long[] total = totals.computeIfAbsent(counter.key, key -> new long[2]);
+      total[0] += counter.count;
+      total[1] += counter.error;
+    }
+  }
+
+  public void clear() {
+    counters.clear();
+    byCount.clear();
+  }
+
+  private static final class Counter<K> {
+    private final K key;
+    private long count;
+    private final long error;
+    private long sequence;
+
+    private Counter(K key, long count, long error) {
+      this.key = key;
+      this.count = count;
+      this.error = error;
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.StorefrontCatalogResponse;
+import cl.pymerp.minimarket.api.StorefrontCatalogResponse.CategoryNode;
+import cl.pymerp.minimarket.api.StorefrontCatalogResponse.ProductItem;
+import cl.pymerp.minimarket.domain.OutboxEvent;
+import cl.pymerp.minimarket.repository.StorefrontRepository;
+import cl.pymerp.minimarket.repository.StorefrontRepository.CategoryRow;
+import cl.pymerp.minimarket.repository.StorefrontRepository.ProductRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+@Service
+public class StorefrontCatalogService {
+  private static final Logger log = LoggerFactory.getLogger(StorefrontCatalogService.class);
+
+  private final StorefrontRepository storefrontRepository;
+  private final ObjectMapper objectMapper;
+  private final Executor executor;
+  private final AtomicReference<StorefrontSnapshot> snapshot = new AtomicReference<>();
+  private final AtomicBoolean dirty = new AtomicBoolean();
+
+  public StorefrontCatalogService(
+      StorefrontRepository storefrontRepository,
+      ObjectMapper objectMapper,
+      @Qualifier("analyticsExecutor") Executor executor) {
+    this.storefrontRepository = storefrontRepository;
+    this.objectMapper = objectMapper;
+    this.executor = executor;
+  }
+
+  public StorefrontSnapshot current() {
+    StorefrontSnapshot current = snapshot.get();
+    if (current != null) {
+      return current;
+    }
+    synchronized (this) {
+      if (snapshot.get() == null) {
+        rebuild();
+      }
+      return snapshot.get();
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onProductChanged(ProductChangedEvent event) {
+    dirty.set(true);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onProductsChanged(ProductsChangedEvent event) {
+    dirty.set(true);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onCategoryChanged(CategoryChangedEvent event) {
+    dirty.set(true);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onDataChanged(OutboxEvent event) {
+    dirty.set(true);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStartup() {
+    executor.execute(this::rebuild);
+  }
+
+  @Scheduled(fixedDelayString = "${app.storefront.refresh-interval-ms:2000}")
+  public void refreshIfDirty() {
+    if (dirty.compareAndSet(true, false)) {
+      rebuild();
+    }
+  }
+
+  synchronized void rebuild() {
+    try {
+      long started = System.nanoTime();
+      byte[] json = objectMapper.writeValueAsBytes(
+          build(storefrontRepository.findVisibleCategories(), storefrontRepository.findVisibleProducts()));
+      StorefrontSnapshot current = snapshot.get();
+      String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+      if (current != null && current.getEtag().equals(etag)) {
+        return;
+      }
+      snapshot.set(new StorefrontSnapshot(json, gzip(json), etag, OffsetDateTime.now()));
+      log.debug("Catalogo de tienda regenerado: {} bytes en {} ms",
+          json.length, (System.nanoTime() - started) / 1_000_000);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("No se pudo serializar el catalogo de tienda", ex);
+    } catch (RuntimeException ex) {
+      dirty.set(true);
+      log.warn("No se pudo regenerar el catalogo de tienda: {}", ex.getMessage());
+      if (snapshot.get() == null) {
+        throw ex;
+      }
+    }
+  }
+
+  static StorefrontCatalogResponse build(List<CategoryRow> categories, List<ProductRow> products) {
+    Map<UUID, List<ProductItem>> productsByCategory = new HashMap<>();
+    List<ProductItem> uncategorized = new ArrayList<>();
+    for (ProductRow row : products) {
+      if (row.getCategoryId() == null) {
+        uncategorized.add(row.getItem());
+      } else {
+        productsByCategory.computeIfAbsent(row.getCategoryId(), id -> new ArrayList<>()).add(row.getItem());
+      }
+    }
+    Map<UUID, List<CategoryRow>> childrenByParent = new HashMap<>();
+    List<CategoryRow> roots = new ArrayList<>();
+    for (CategoryRow category : categories) {
+      if (category.getParentId() == null) {
+        roots.add(category);
+      } else {
+        childrenByParent.computeIfAbsent(category.getParentId(), id -> new ArrayList<>()).add(category);
+      }
+    }
+    return StorefrontCatalogResponse.builder()
+        .categories(nodes(roots, childrenByParent, productsByCategory))
+        .uncategorized(uncategorized)
+        .build();
+  }
+
+  private static List<CategoryNode> nodes(
+      List<CategoryRow> categories,
+      Map<UUID, List<CategoryRow>> childrenByParent,
+      Map<UUID, List<ProductItem>> productsByCategory) {
+    List<CategoryNode> nodes = new ArrayList<>();
+    for (CategoryRow category : categories) {
+      List<CategoryNode> children = nodes(
+          childrenByParent.getOrDefault(category.getId(), List.of()), childrenByParent, productsByCategory);
+      List<ProductItem> items = productsByCategory.getOrDefault(category.getId(), List.of());
+      if (items.isEmpty() && children.isEmpty()) {
+        continue;
+      }
+      nodes.add(CategoryNode.builder()
+          .id(category.getId())
+          .name(category.getName())
+          .products(items)
+          .children(children)
+          .build());
+    }
+    return nodes;
+  }
+
+  private static byte[] gzip(byte[] json) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream(json.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(output) {
+      {
+        def.setLevel(Deflater.BEST_COMPRESSION);
+      }
+    }) {
+      gzip.write(json);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,23 @@
+package cl.pymerp.minimarket.service;
+
+import java.time.OffsetDateTime;
+import lombok.Getter;
+
+@Getter
+public class StorefrontSnapshot {
+  private final byte[] json;
+  private final byte[] gzip;
+  private final String etag;
+  private final OffsetDateTime builtAt;
+
+  public StorefrontSnapshot(byte[] json, byte[] gzip, String etag, OffsetDateTime builtAt) {
+    this.json = json;
+    this.gzip = gzip;
+    this.etag = etag;
+    this.builtAt = builtAt;
+  }
+
+  public String gzipEtag() {
+    return etag.substring(0, etag.length() - 1) + "-gzip\"";
+  }
+}
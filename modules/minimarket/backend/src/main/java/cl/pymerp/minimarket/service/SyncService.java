@@ -0,0 +1,125 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.SyncChangesResponse;
+import cl.pymerp.minimarket.repository.SyncRepository;
+import cl.pymerp.minimarket.repository.SyncRepository.ProductChange;
+import cl.pymerp.minimarket.repository.SyncRepository.Tombstone;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class SyncService {
+  private final SyncRepository syncRepository;
+  private final ObjectMapper objectMapper;
+  private final int maxChanges;
+  private final long snapshotTtlMs;
+  private final AtomicReference<SyncSnapshot> snapshot = new AtomicReference<>();
+
+  public SyncService(
+      SyncRepository syncRepository,
+      ObjectMapper objectMapper,
+      @Value("${app.sync.max-changes:5000}") int maxChanges,
+      @Value("${app.sync.snapshot-ttl-ms:60000}") long snapshotTtlMs) {
+    this.syncRepository = syncRepository;
+    this.objectMapper = objectMapper;
+    this.maxChanges = maxChanges;
+    this.snapshotTtlMs = snapshotTtlMs;
+  }
+
+  @Transactional(readOnly = true)
+  public SyncChangesResponse changes(long since) {
+    if (since < 0) {
+      throw new IllegalArgumentException("since no puede ser negativo");
+    }
+    long upTo = syncRepository.watermark();
+    if (since > upTo) {
+      return SyncChangesResponse.builder().version(upTo).resetRequired(true).build();
+    }
+    if (since == upTo) {
+      return SyncChangesResponse.builder().version(upTo).build();
+    }
+    List<SyncChangesResponse.Category> categories = syncRepository.findCategories(since, upTo, maxChanges + 1);
+    List<ProductChange> productChanges = syncRepository.findProducts(since, upTo, maxChanges + 1);
+    List<SyncChangesResponse.Stock> stock = syncRepository.findStock(since, upTo, maxChanges + 1);
+    List<Tombstone> tombstones = syncRepository.findTombstones(since, upTo, maxChanges + 1);
+    if (categories.size() > maxChanges || productChanges.size() > maxChanges
+        || stock.size() > maxChanges || tombstones.size() > maxChanges) {
+      return SyncChangesResponse.builder().version(since).resetRequired(true).build();
+    }
+
+    List<SyncChangesResponse.Product> products = new ArrayList<>(productChanges.size());
+    List<UUID> removedProductIds = new ArrayList<>();
+    List<UUID> removedCategoryIds = new ArrayList<>();
+    for (ProductChange change : productChanges) {
+      if (change.isActive()) {
+        products.add(change.getProduct());
+      } else {
+        removedProductIds.add(change.getProduct().getId());
+      }
+    }
+    for (Tombstone tombstone : tombstones) {
+      ("category".equals(tombstone.getEntity()) ? removedCategoryIds : removedProductIds).add(tombstone.getEntityId());
+    }
+    return SyncChangesResponse.builder()
+        .version(upTo)
+        .categories(categories)
+        .products(products)
+        .stock(stock)
+        .removedProductIds(removedProductIds)
+        .removedCategoryIds(removedCategoryIds)
+        .build();
+  }
+
+  public SyncSnapshot snapshot() {
+    SyncSnapshot current = snapshot.get();
+    if (current != null && System.currentTimeMillis() - current.getBuiltAtMillis() < snapshotTtlMs) {
+      return current;
+    }
+    synchronized (this) {
+      current = snapshot.get();
+      if (current != null && System.currentTimeMillis() - current.getBuiltAtMillis() < snapshotTtlMs) {
+        return current;
+      }
+      current = buildSnapshot();
+      snapshot.set(current);
+      return current;
+    }
+  }
+
+  private SyncSnapshot buildSnapshot() {
+    long version = syncRepository.watermark();
+    SyncChangesResponse body = SyncChangesResponse.builder()
+        .version(version)
+        .categories(syncRepository.findAllCategories())
+        .products(syncRepository.findActiveProducts())
+        .stock(syncRepository.findActiveStock())
+        .build();
+    try {
+      byte[] json = objectMapper.writeValueAsBytes(body);
+      return new SyncSnapshot(version, json, gzip(json), System.currentTimeMillis());
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("No se pudo serializar el snapshot de sincronizacion", ex);
+    }
+  }
+
+  private static byte[] gzip(byte[] json) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream(json.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+      gzip.write(json);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,22 @@
+package cl.pymerp.minimarket.service;
+
+import lombok.Getter;
+
+@Getter
+public class SyncSnapshot {
+  private final long version;
+  private final byte[] json;
+  private final byte[] gzip;
+  private final long builtAtMillis;
+
+  public SyncSnapshot(long version, byte[] json, byte[] gzip, long builtAtMillis) {
+    this.version = version;
+    this.json = json;
+    this.gzip = gzip;
+    this.builtAtMillis = builtAtMillis;
+  }
+
+  public String etag(boolean gzip) {
+    return "\"sync-" + version + (gzip ? "-gzip\"" : "\"");
+  }
+}
@@ -0,0 +1,145 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.WebOrderBoardEvent;
+import cl.pymerp.minimarket.api.WebOrderBoardResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class WebOrderBoard {
+  private final int capacity;
+  private final int subscriberQueue;
+  private final Executor executor;
+  private final Deque<WebOrderBoardEvent> events = new ArrayDeque<>();
+  private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+  private long lastSequence;
+
+  public WebOrderBoard(
+      @Value("${app.web-orders.board.capacity:1000}") int capacity,
+      @Value("${app.web-orders.board.subscriber-queue:100}") int subscriberQueue,
+      @Qualifier("boardExecutor") Executor executor) {
+    this.capacity = capacity;
+    this.subscriberQueue = subscriberQueue;
+    this.executor = executor;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onOrderChanged(WebOrderChangedEvent change) {
+    WebOrderBoardEvent event;
+    synchronized (this) {
+      event = WebOrderBoardEvent.builder()
+          .sequence(++lastSequence)
+          .type(change.isCreated() ? "CREATED" : "STATUS_CHANGED")
+          .orderId(change.getOrderId())
+          .status(change.getStatus())
+          .customerName(change.getCustomerName())
+          .totalAmount(change.getTotalAmount())
+          .createdAt(change.getCreatedAt())
+          .build();
+      events.addLast(event);
+      if (events.size() > capacity) {
+        events.removeFirst();
+      }
+    }
+    for (Subscription subscription : subscriptions) {
+      subscription.offer(event);
+    }
+  }
+
+  public synchronized WebOrderBoardResponse since(long cursor) {
+    long oldest = events.isEmpty() ? lastSequence + 1 : events.peekFirst().getSequence();
+    boolean reset = cursor > lastSequence || cursor < oldest - 1;
+    List<WebOrderBoardEvent> pending = new ArrayList<>();
+    if (!reset) {
+      for (WebOrderBoardEvent event : events) {
+        if (event.getSequence() > cursor) {
+          pending.add(event);
+        }
+      }
+    }
+    return WebOrderBoardResponse.builder()
+        .cursor(lastSequence)
+        .reset(reset)
+        .events(pending)
+        .build();
+  }
+
+  public Runnable subscribe(Consumer<WebOrderBoardEvent> listener) {
+    return subscribe(listener, () -> { });
+  }
+
+  public Runnable subscribe(Consumer<WebOrderBoardEvent> listener, Runnable onOverflow) {
+    Subscription subscription = new Subscription(listener, onOverflow, new ArrayBlockingQueue<>(subscriberQueue));
+    subscriptions.add(subscription);
+    return () -> subscriptions.remove(subscription);
+  }
+
+  private final class Subscription {
+    private final Consumer<WebOrderBoardEvent> listener;
+    private final Runnable onOverflow;
+    private final BlockingQueue<WebOrderBoardEvent> queue;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean overflowed;
+
+    private Subscription(
+        Consumer<WebOrderBoardEvent> listener, Runnable onOverflow, BlockingQueue<WebOrderBoardEvent> queue) {
+      this.listener = listener;
+      this.onOverflow = onOverflow;
+      this.queue = queue;
+    }
+
+    private void offer(WebOrderBoardEvent event) {
+      if (!queue.offer(event)) {
+        overflowed = true;
+        subscriptions.remove(this);
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      if (closed.get() || !scheduled.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException ex) {
+        overflowed = true;
+        subscriptions.remove(this);
+        scheduled.set(false);
+      }
+    }
+
+    private void drain() {
+      try {
+        WebOrderBoardEvent event;
+        while (!overflowed && (event = queue.poll()) != null) {
+          listener.accept(event);
+        }
+        if (overflowed && closed.compareAndSet(false, true)) {
+          queue.clear();
+          onOverflow.run();
+        }
+      } finally {
+        scheduled.set(false);
+      }
+      if (overflowed || !queue.isEmpty()) {
+        schedule();
+      }
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.domain.WebOrder;
+import cl.pymerp.minimarket.domain.WebOrderStatus;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.Getter;
+
+@Getter
+public class WebOrderChangedEvent {
+  private final UUID orderId;
+  private final boolean created;
+  private final WebOrderStatus status;
+  private final String customerName;
+  private final String customerPhone;
+  private final BigDecimal totalAmount;
+  private final OffsetDateTime createdAt;
+
+  public WebOrderChangedEvent(WebOrder order, boolean created) {
+    this.orderId = order.getId();
+    this.created = created;
+    this.status = order.getStatus();
+    this.customerName = order.getCustomerName();
+    this.customerPhone = order.getCustomerPhone();
+    this.totalAmount = order.getTotalAmount();
+    this.createdAt = order.getCreatedAt();
+  }
+}
@@ -0,0 +1,16 @@
+package cl.pymerp.minimarket.service;
+
+import java.util.UUID;
+
+public class WebOrderIntakeException extends RuntimeException {
+  private final UUID intakeId;
+
+  public WebOrderIntakeException(UUID intakeId, RuntimeException cause) {
+    super(cause.getMessage(), cause);
+    this.intakeId = intakeId;
+  }
+
+  public UUID getIntakeId() {
+    return intakeId;
+  }
+}
@@ -0,0 +1,117 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.api.WebOrderRequest;
+import cl.pymerp.minimarket.domain.IntakeStatus;
+import cl.pymerp.minimarket.domain.WebOrder;
+import cl.pymerp.minimarket.domain.WebOrderIntake;
+import cl.pymerp.minimarket.repository.WebOrderIntakeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class WebOrderIntakeService {
+  private final WebOrderIntakeRepository intakeRepository;
+  private final WebOrderService webOrderService;
+  private final ObjectMapper objectMapper;
+  private final long capacity;
+  private final int maxAttempts;
+  private final long retryBackoffMs;
+
+  public WebOrderIntakeService(
+      WebOrderIntakeRepository intakeRepository,
+      WebOrderService webOrderService,
+      ObjectMapper objectMapper,
+      @Value("${app.web-orders.intake.capacity:5000}") long capacity,
+      @Value("${app.web-orders.intake.max-attempts:3}") int maxAttempts,
+      @Value("${app.web-orders.intake.retry-backoff-ms:2000}") long retryBackoffMs) {
+    this.intakeRepository = intakeRepository;
+    this.webOrderService = webOrderService;
+    this.objectMapper = objectMapper;
+    this.capacity = capacity;
+    this.maxAttempts = maxAttempts;
+    this.retryBackoffMs = retryBackoffMs;
+  }
+
+  @Transactional
+  public WebOrderIntake enqueue(WebOrderRequest request) {
+    intakeRepository.lockForEnqueue();
+    if (intakeRepository.countByStatus(IntakeStatus.QUEUED) >= capacity) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "cola de pedidos llena");
+    }
+    WebOrderIntake intake = new WebOrderIntake();
+    intake.setPayload(writePayload(request));
+    intake.setStatus(IntakeStatus.QUEUED);
+    return intakeRepository.save(intake);
+  }
+
+  @Transactional(readOnly = true)
+  public WebOrderIntake find(UUID id) {
+    return intakeRepository.findById(id)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pedido no encontrado"));
+  }
+
+  @Transactional
+  public Optional<UUID> processNext() {
+    Optional<WebOrderIntake> claimed = intakeRepository.claimNext();
+    if (claimed.isEmpty()) {
+      return Optional.empty();
+    }
+    WebOrderIntake intake = claimed.get();
+    try {
+      WebOrder order = webOrderService.createOrder(readPayload(intake.getPayload()));
+      intake.setWebOrderId(order.getId());
+      intake.setStatus(IntakeStatus.COMPLETED);
+      intake.setAttempts(intake.getAttempts() + 1);
+      intakeRepository.save(intake);
+      return Optional.of(intake.getId());
+    } catch (RuntimeException ex) {
+      throw new WebOrderIntakeException(intake.getId(), ex);
+    }
+  }
+
+  @Transactional
+  public void markFailed(UUID id, Throwable cause) {
+    WebOrderIntake intake = intakeRepository.findById(id).orElseThrow();
+    intake.setAttempts(intake.getAttempts() + 1);
+    if (cause instanceof IllegalArgumentException) {
+      intake.setStatus(IntakeStatus.REJECTED);
+      intake.setError(cause.getMessage());
+    } else if (cause instanceof NoSuchElementException) {
+      intake.setStatus(IntakeStatus.REJECTED);
+      intake.setError("producto no encontrado");
+    } else if (intake.getAttempts() >= maxAttempts) {
+      intake.setStatus(IntakeStatus.REJECTED);
+      intake.setError("no fue posible procesar el pedido");
+    } else {
+      long backoff = retryBackoffMs << Math.min(intake.getAttempts() - 1, 10);
+      intake.setNextAttemptAt(OffsetDateTime.now().plus(Duration.ofMillis(backoff)));
+    }
+    intakeRepository.save(intake);
+  }
+
+  private String writePayload(WebOrderRequest request) {
+    try {
+      return objectMapper.writeValueAsString(request);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException("pedido invalido");
+    }
+  }
+
+  private WebOrderRequest readPayload(String payload) {
+    try {
+      return objectMapper.readValue(payload, WebOrderRequest.class);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException("pedido invalido");
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package cl.pymerp.minimarket.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WebOrderIntakeWorker {
+  private final WebOrderIntakeService intakeService;
+  private final boolean enabled;
+  private final int batchSize;
+
+  public WebOrderIntakeWorker(
+      WebOrderIntakeService intakeService,
+      @Value("${app.web-orders.intake.enabled:true}") boolean enabled,
+      @Value("${app.web-orders.intake.batch-size:20}") int batchSize) {
+    this.intakeService = intakeService;
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(fixedDelayString = "${app.web-orders.intake.poll-interval-ms:500}")
+  public void drain() {
+    if (!enabled) {
+      return;
+    }
+    for (int i = 0; i < batchSize; i++) {
+      try {
+        if (intakeService.processNext().isEmpty()) {
+          return;
+        }
+      } catch (WebOrderIntakeException ex) {
+        intakeService.markFailed(ex.getIntakeId(), ex.getCause());
+      }
+    }
+  }
+}
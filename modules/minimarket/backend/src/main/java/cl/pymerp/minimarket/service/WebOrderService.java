@@ -1,5 +1,6 @@
 package cl.pymerp.minimarket.service;
 
+import cl.pymerp.minimarket.api.WebOrderBulkStatusResult;
 import cl.pymerp.minimarket.api.WebOrderItemRequest;
 import cl.pymerp.minimarket.api.WebOrderRequest;
 import cl.pymerp.minimarket.domain.InventoryMovement;
@@ -7,6 +8,7 @@ import cl.pymerp.minimarket.domain.MovementReason;
 import cl.pymerp.minimarket.domain.MovementType;
 import cl.pymerp.minimarket.domain.Product;
 import cl.pymerp.minimarket.domain.ReservationStatus;
+import cl.pymerp.minimarket.domain.SaleType;
 import cl.pymerp.minimarket.domain.StockReservation;
 import cl.pymerp.minimarket.domain.User;
 import cl.pymerp.minimarket.domain.WebOrder;
@@ -18,9 +20,17 @@ import cl.pymerp.minimarket.repository.StockReservationRepository;
 import cl.pymerp.minimarket.repository.UserRepository;
 import cl.pymerp.minimarket.repository.WebOrderRepository;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +42,10 @@ public class WebOrderService {
   private final InventoryMovementRepository movementRepository;
   private final UserRepository userRepository;
   private final InventoryService inventoryService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final OutboxService outboxService;
+  private final SalesRollupService salesRollupService;
+  private final CostLayerService costLayerService;
 
   public WebOrderService(
       WebOrderRepository webOrderRepository,
@@ -39,13 +53,21 @@ public class WebOrderService {
       StockReservationRepository reservationRepository,
       InventoryMovementRepository movementRepository,
       UserRepository userRepository,
-      InventoryService inventoryService) {
+      InventoryService inventoryService,
+      ApplicationEventPublisher eventPublisher,
+      OutboxService outboxService,
+      SalesRollupService salesRollupService,
+      CostLayerService costLayerService) {
     this.webOrderRepository = webOrderRepository;
     this.productRepository = productRepository;
     this.reservationRepository = reservationRepository;
     this.movementRepository = movementRepository;
     this.userRepository = userRepository;
     this.inventoryService = inventoryService;
+    this.eventPublisher = eventPublisher;
+    this.outboxService = outboxService;
+    this.salesRollupService = salesRollupService;
+    this.costLayerService = costLayerService;
   }
 
   @Transactional(readOnly = true)
@@ -67,11 +89,14 @@ public class WebOrderService {
     List<WebOrderItem> items = new ArrayList<>();
     BigDecimal total = BigDecimal.ZERO;
 
+    productRepository.lockAllById(
+        request.getItems().stream().map(WebOrderItemRequest::getProductId).collect(Collectors.toSet()));
+    Map<UUID, Long> requested = new HashMap<>();
     for (WebOrderItemRequest itemRequest : request.getItems()) {
       Product product = productRepository.findById(itemRequest.getProductId()).orElseThrow();
       long available = inventoryService.getStockOnHand(product.getId())
           - inventoryService.getReserved(product.getId());
-      if (itemRequest.getQuantity() > available) {
+      if (requested.merge(product.getId(), itemRequest.getQuantity().longValue(), Long::sum) > available) {
         throw new IllegalArgumentException("stock insuficiente para producto: " + product.getName());
       }
 
@@ -99,6 +124,8 @@ public class WebOrderService {
       reservationRepository.save(reservation);
     }
 
+    outboxService.recordWebOrder(savedOrder, "WEB_ORDER_CREATED");
+    eventPublisher.publishEvent(new WebOrderChangedEvent(savedOrder, true));
     return savedOrder;
   }
 
@@ -106,9 +133,7 @@ public class WebOrderService {
   public WebOrder updateStatus(UUID orderId, WebOrderStatus status, UUID userId) {
     WebOrder order = webOrderRepository.findById(orderId).orElseThrow();
 
-    if (order.getStatus() == WebOrderStatus.CANCELLED
-        || order.getStatus() == WebOrderStatus.PAID
-        || order.getStatus() == WebOrderStatus.DELIVERED) {
+    if (isFinalized(order.getStatus())) {
       throw new IllegalArgumentException("pedido ya finalizado");
     }
 
@@ -117,7 +142,10 @@ public class WebOrderService {
         throw new IllegalArgumentException("userId es obligatorio para marcar pagado");
       }
       User user = userRepository.findById(userId).orElseThrow();
-      consumeReservations(order, user);
+      List<InventoryMovement> movements = consumeReservations(order, user);
+      outboxService.recordMovements("WEB_ORDER", order.getId(), movements);
+      salesRollupService.recordSale(SaleType.WEB_ORDER, null, 1, order.getTotalAmount(), OffsetDateTime.now());
+      eventPublisher.publishEvent(new ProductsSoldEvent(OffsetDateTime.now(), movements));
     }
 
     if (status == WebOrderStatus.CANCELLED) {
@@ -125,13 +153,147 @@ public class WebOrderService {
     }
 
     order.setStatus(status);
-    return webOrderRepository.save(order);
+    WebOrder saved = webOrderRepository.save(order);
+    outboxService.recordWebOrder(saved, "WEB_ORDER_STATUS_CHANGED");
+    eventPublisher.publishEvent(new WebOrderChangedEvent(saved, false));
+    return saved;
   }
 
-  private void consumeReservations(WebOrder order, User user) {
+  @Transactional
+  public List<WebOrderBulkStatusResult> updateStatusBulk(List<UUID> orderIds, WebOrderStatus status, UUID userId) {
+    boolean consume = status == WebOrderStatus.PAID || status == WebOrderStatus.DELIVERED;
+    User user = null;
+    if (consume) {
+      if (userId == null) {
+        throw new IllegalArgumentException("userId es obligatorio para marcar pagado");
+      }
+      user = userRepository.findById(userId).orElseThrow();
+    }
+
+    List<UUID> ids = orderIds.stream().distinct().toList();
+    Map<UUID, WebOrder> orders = webOrderRepository.findAllById(ids).stream()
+        .collect(Collectors.toMap(WebOrder::getId, Function.identity()));
+    Map<UUID, List<StockReservation>> reservationsByOrder = reservationRepository
+        .findByWebOrderIdInAndStatus(orders.keySet(), ReservationStatus.ACTIVE).stream()
+        .collect(Collectors.groupingBy(reservation -> reservation.getWebOrder().getId()));
+
+    Map<UUID, Long> remainingStock = consume
+        ? inventoryService.getStockOnHand(reservationsByOrder.values().stream()
+            .flatMap(List::stream)
+            .map(reservation -> reservation.getProduct().getId())
+            .collect(Collectors.toSet()))
+        : new HashMap<>();
+
+    List<WebOrderBulkStatusResult> results = new ArrayList<>();
+    List<WebOrder> updatedOrders = new ArrayList<>();
+    List<StockReservation> updatedReservations = new ArrayList<>();
+    Map<UUID, List<InventoryMovement>> movementsByOrder = new LinkedHashMap<>();
+
+    for (UUID id : ids) {
+      WebOrder order = orders.get(id);
+      if (order == null) {
+        results.add(failed(id, null, "pedido no encontrado"));
+        continue;
+      }
+      if (isFinalized(order.getStatus())) {
+        results.add(failed(id, order.getStatus(), "pedido ya finalizado"));
+        continue;
+      }
+
+      List<StockReservation> reservations = reservationsByOrder.getOrDefault(id, List.of());
+      if (consume) {
+        Map<UUID, Integer> required = reservations.stream()
+            .collect(Collectors.groupingBy(
+                reservation -> reservation.getProduct().getId(),
+                Collectors.summingInt(StockReservation::getQuantity)));
+        boolean enoughStock = required.entrySet().stream()
+            .allMatch(entry -> remainingStock.getOrDefault(entry.getKey(), 0L) >= entry.getValue());
+        if (!enoughStock) {
+          results.add(failed(id, order.getStatus(), "stock insuficiente para entregar pedido"));
+          continue;
+        }
+        required.forEach((productId, quantity) -> remainingStock.merge(productId, (long) -quantity, Long::sum));
+
+        List<InventoryMovement> orderMovements = new ArrayList<>();
+        for (StockReservation reservation : reservations) {
+          orderMovements.add(buildSaleMovement(order, reservation, user));
+          reservation.setStatus(ReservationStatus.CONSUMED);
+          updatedReservations.add(reservation);
+        }
+        movementsByOrder.put(id, orderMovements);
+      }
+
+      if (status == WebOrderStatus.CANCELLED) {
+        for (StockReservation reservation : reservations) {
+          reservation.setStatus(ReservationStatus.RELEASED);
+          updatedReservations.add(reservation);
+        }
+      }
+
+      order.setStatus(status);
+      updatedOrders.add(order);
+      results.add(WebOrderBulkStatusResult.builder()
+          .orderId(id)
+          .updated(true)
+          .status(status)
+          .build());
+    }
+
+    List<InventoryMovement> soldMovements = movementsByOrder.values().stream()
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+    costLayerService.assignCost(soldMovements);
+    movementsByOrder.forEach((orderId, orderMovements) -> applyItemCosts(orders.get(orderId), orderMovements));
+    movementRepository.saveAll(soldMovements);
+    reservationRepository.saveAll(updatedReservations);
+    webOrderRepository.saveAll(updatedOrders);
+    movementsByOrder.forEach((orderId, orderMovements) ->
+        outboxService.recordMovements("WEB_ORDER", orderId, orderMovements));
+    if (consume) {
+      BigDecimal paidTotal = updatedOrders.stream()
+          .map(WebOrder::getTotalAmount)
+          .reduce(BigDecimal.ZERO, BigDecimal::add);
+      salesRollupService.recordSale(SaleType.WEB_ORDER, null, updatedOrders.size(), paidTotal, OffsetDateTime.now());
+      OffsetDateTime soldAt = OffsetDateTime.now();
+      movementsByOrder.values().forEach(orderMovements ->
+          eventPublisher.publishEvent(new ProductsSoldEvent(soldAt, orderMovements)));
+    }
+    updatedOrders.forEach(order -> outboxService.recordWebOrder(order, "WEB_ORDER_STATUS_CHANGED"));
+    updatedOrders.forEach(order -> eventPublisher.publishEvent(new WebOrderChangedEvent(order, false)));
+    return results;
+  }
+
+  private boolean isFinalized(WebOrderStatus status) {
+    return status == WebOrderStatus.CANCELLED
+        || status == WebOrderStatus.PAID
+        || status == WebOrderStatus.DELIVERED;
+  }
+
+  private WebOrderBulkStatusResult failed(UUID orderId, WebOrderStatus currentStatus, String error) {
+    return WebOrderBulkStatusResult.builder()
+        .orderId(orderId)
+        .updated(false)
+        .status(currentStatus)
+        .error(error)
+        .build();
+  }
+
+  private InventoryMovement buildSaleMovement(WebOrder order, StockReservation reservation, User user) {
+    InventoryMovement movement = new InventoryMovement();
+    movement.setProduct(reservation.getProduct());
+    movement.setType(MovementType.OUT);
+    movement.setReason(MovementReason.venta);
+    movement.setQuantity(reservation.getQuantity());
+    movement.setNotes("Pedido web: " + order.getId());
+    movement.setUser(user);
+    return movement;
+  }
+
+  private List<InventoryMovement> consumeReservations(WebOrder order, User user) {
     List<StockReservation> reservations = reservationRepository
         .findByWebOrderIdAndStatus(order.getId(), ReservationStatus.ACTIVE);
 
+    List<InventoryMovement> movements = new ArrayList<>();
     for (StockReservation reservation : reservations) {
       long stockOnHand = inventoryService.getStockOnHand(reservation.getProduct().getId());
       long projected = stockOnHand - reservation.getQuantity();
@@ -139,18 +301,32 @@ public class WebOrderService {
         throw new IllegalArgumentException("stock insuficiente para entregar pedido");
       }
 
-      InventoryMovement movement = new InventoryMovement();
-      movement.setProduct(reservation.getProduct());
-      movement.setType(MovementType.OUT);
-      movement.setReason(MovementReason.venta);
-      movement.setQuantity(reservation.getQuantity());
-      movement.setNotes("Pedido web: " + order.getId());
-      movement.setUser(user);
-      movementRepository.save(movement);
+      movements.add(buildSaleMovement(order, reservation, user));
 
       reservation.setStatus(ReservationStatus.CONSUMED);
       reservationRepository.save(reservation);
     }
+    costLayerService.assignCost(movements);
+    applyItemCosts(order, movements);
+    movementRepository.saveAll(movements);
+    return movements;
+  }
+
+  private void applyItemCosts(WebOrder order, List<InventoryMovement> movements) {
+    if (order.getItems() == null) {
+      return;
+    }
+    Map<UUID, BigDecimal> costs = costLayerService.costByProduct(movements);
+    Map<UUID, Integer> units = order.getItems().stream()
+        .collect(Collectors.groupingBy(item -> item.getProduct().getId(), Collectors.summingInt(WebOrderItem::getQuantity)));
+    for (WebOrderItem item : order.getItems()) {
+      BigDecimal cost = costs.get(item.getProduct().getId());
+      if (cost != null) {
+        item.setCostAmount(cost
+            .multiply(BigDecimal.valueOf(item.getQuantity()))
+            .divide(BigDecimal.valueOf(units.get(item.getProduct().getId())), 2, RoundingMode.HALF_UP));
+      }
+    }
   }
 
   private void releaseReservations(WebOrder order) {
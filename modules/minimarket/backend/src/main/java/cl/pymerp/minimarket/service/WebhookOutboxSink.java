@@ -0,0 +1,45 @@
+package cl.pymerp.minimarket.service;
+
+import cl.pymerp.minimarket.domain.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+public class WebhookOutboxSink implements OutboxSink {
+  private final URI endpoint;
+  private final Duration timeout;
+  private final ObjectMapper objectMapper;
+  private final HttpClient httpClient;
+
+  public WebhookOutboxSink(URI endpoint, Duration timeout, ObjectMapper objectMapper) {
+    this.endpoint = endpoint;
+    this.timeout = timeout;
+    this.objectMapper = objectMapper;
+    this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+  }
+
+  @Override
+  public void publish(List<OutboxEvent> events) throws IOException {
+    HttpRequest request = HttpRequest.newBuilder(endpoint)
+        .timeout(timeout)
+        .header("Content-Type", "application/x-ndjson")
+        .header("X-Outbox-Last-Id", String.valueOf(events.get(events.size() - 1).getId()))
+        .POST(HttpRequest.BodyPublishers.ofByteArray(OutboxNdjson.encode(objectMapper, events)))
+        .build();
+    HttpResponse<Void> response;
+    try {
+      response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("envio de eventos interrumpido", ex);
+    }
+    if (response.statusCode() / 100 != 2) {
+      throw new IOException("webhook respondio " + response.statusCode());
+    }
+  }
+}
@@ -0,0 +1,2 @@
+CREATE INDEX idx_products_name_id ON products(name, id);
+CREATE INDEX idx_products_updated ON products(updated_at);
@@ -0,0 +1,21 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE FUNCTION f_unaccent(text) RETURNS text
+  LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+  AS $$ SELECT public.unaccent('public.unaccent', $1) $$;
+
+ALTER TABLE products ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+  setweight(to_tsvector('spanish', f_unaccent(coalesce(name, ''))), 'A')
+  || setweight(to_tsvector('simple', coalesce(sku, '') || ' ' || coalesce(barcode, '')), 'A')
+  || setweight(to_tsvector('spanish', f_unaccent(coalesce(description, ''))), 'C')
+) STORED;
+
+ALTER TABLE products ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+  lower(f_unaccent(name || ' ' || coalesce(sku, '') || ' ' || coalesce(barcode, '')))
+) STORED;
+
+CREATE INDEX idx_products_search_vector ON products USING GIN (search_vector);
+CREATE INDEX idx_products_search_trgm ON products USING GIN (search_text gin_trgm_ops);
+CREATE INDEX idx_products_sku ON products(sku);
+CREATE INDEX idx_products_barcode ON products(barcode);
@@ -0,0 +1,29 @@
+CREATE TABLE price_changes (
+  id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+  mode VARCHAR(10) NOT NULL CHECK (mode IN ('PERCENT', 'AMOUNT')),
+  value NUMERIC(12,4) NOT NULL,
+  rounding VARCHAR(10) NOT NULL CHECK (rounding IN ('NONE', 'END_90', 'END_990')),
+  category_id UUID REFERENCES categories(id),
+  include_subcategories BOOLEAN NOT NULL DEFAULT TRUE,
+  sku_prefix VARCHAR(80),
+  status VARCHAR(10) NOT NULL CHECK (status IN ('PENDING', 'APPLIED', 'CANCELLED')),
+  effective_at TIMESTAMP WITH TIME ZONE NOT NULL,
+  product_count INTEGER NOT NULL DEFAULT 0,
+  applied_count INTEGER,
+  created_by UUID REFERENCES users(id),
+  created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+  applied_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_price_changes_pending ON price_changes(effective_at) WHERE status = 'PENDING';
+
+CREATE TABLE price_change_items (
+  price_change_id UUID NOT NULL REFERENCES price_changes(id) ON DELETE CASCADE,
+  product_id UUID NOT NULL REFERENCES products(id),
+  old_price NUMERIC(12,2) NOT NULL,
+  new_price NUMERIC(12,2) NOT NULL,
+  PRIMARY KEY (price_change_id, product_id)
+);
+
+CREATE INDEX idx_products_sku_pattern ON products(sku varchar_pattern_ops);
+CREATE INDEX idx_categories_parent ON categories(parent_id);
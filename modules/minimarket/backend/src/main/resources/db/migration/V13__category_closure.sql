@@ -0,0 +1,62 @@
+CREATE TABLE category_closure (
+  ancestor_id UUID NOT NULL REFERENCES categories(id) ON DELETE CASCADE,
+  descendant_id UUID NOT NULL REFERENCES categories(id) ON DELETE CASCADE,
+  depth INTEGER NOT NULL CHECK (depth >= 0),
+  PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_category_closure_descendant ON category_closure(descendant_id);
+
+WITH RECURSIVE paths AS (
+  SELECT id AS ancestor_id, id AS descendant_id, 0 AS depth FROM categories
+  UNION ALL
+  SELECT p.ancestor_id, c.id, p.depth + 1
+  FROM paths p
+  JOIN categories c ON c.parent_id = p.descendant_id
+)
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+SELECT ancestor_id, descendant_id, depth FROM paths;
+
+CREATE FUNCTION category_closure_insert() RETURNS trigger
+  LANGUAGE plpgsql
+  AS $$
+BEGIN
+  INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+  SELECT NEW.id, NEW.id, 0
+  UNION ALL
+  SELECT ancestor_id, NEW.id, depth + 1 FROM category_closure WHERE descendant_id = NEW.parent_id;
+  RETURN NEW;
+END;
+$$;
+
+CREATE FUNCTION category_closure_move() RETURNS trigger
+  LANGUAGE plpgsql
+  AS $$
+BEGIN
+  IF NEW.parent_id IS NOT NULL AND EXISTS (
+    SELECT 1 FROM category_closure WHERE ancestor_id = NEW.id AND descendant_id = NEW.parent_id
+  ) THEN
+    RAISE EXCEPTION 'category % cannot be moved under its own subtree', NEW.id;
+  END IF;
+
+  DELETE FROM category_closure
+  WHERE descendant_id IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = NEW.id)
+    AND ancestor_id NOT IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = NEW.id);
+
+  INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+  SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1
+  FROM category_closure above
+  CROSS JOIN category_closure below
+  WHERE above.descendant_id = NEW.parent_id AND below.ancestor_id = NEW.id;
+  RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_category_closure_insert
+  AFTER INSERT ON categories
+  FOR EACH ROW EXECUTE FUNCTION category_closure_insert();
+
+CREATE TRIGGER trg_category_closure_move
+  AFTER UPDATE OF parent_id ON categories
+  FOR EACH ROW WHEN (OLD.parent_id IS DISTINCT FROM NEW.parent_id)
+  EXECUTE FUNCTION category_closure_move();
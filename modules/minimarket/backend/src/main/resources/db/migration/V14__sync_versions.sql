@@ -0,0 +1,107 @@
+CREATE FUNCTION sync_current_version() RETURNS BIGINT
+  LANGUAGE sql VOLATILE
+  AS $$ SELECT pg_current_xact_id()::text::bigint $$;
+
+CREATE FUNCTION sync_watermark() RETURNS BIGINT
+  LANGUAGE sql VOLATILE
+  AS $$ SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint $$;
+
+ALTER TABLE categories ADD COLUMN sync_version BIGINT NOT NULL DEFAULT sync_current_version();
+ALTER TABLE products ADD COLUMN sync_version BIGINT NOT NULL DEFAULT sync_current_version();
+
+CREATE INDEX idx_categories_sync_version ON categories(sync_version);
+CREATE INDEX idx_products_sync_version ON products(sync_version);
+
+CREATE TABLE product_stock_sync (
+  product_id UUID PRIMARY KEY REFERENCES products(id) ON DELETE CASCADE,
+  sync_version BIGINT NOT NULL
+);
+
+CREATE INDEX idx_product_stock_sync_version ON product_stock_sync(sync_version);
+
+INSERT INTO product_stock_sync (product_id, sync_version)
+SELECT id, sync_current_version() FROM products;
+
+CREATE TABLE sync_tombstones (
+  entity VARCHAR(20) NOT NULL,
+  entity_id UUID NOT NULL,
+  sync_version BIGINT NOT NULL,
+  PRIMARY KEY (entity, entity_id)
+);
+
+CREATE INDEX idx_sync_tombstones_version ON sync_tombstones(sync_version);
+
+CREATE FUNCTION sync_touch() RETURNS trigger
+  LANGUAGE plpgsql
+  AS $$
+BEGIN
+  NEW.sync_version := sync_current_version();
+  RETURN NEW;
+END;
+$$;
+
+CREATE FUNCTION sync_tombstone() RETURNS trigger
+  LANGUAGE plpgsql
+  AS $$
+BEGIN
+  INSERT INTO sync_tombstones (entity, entity_id, sync_version)
+  VALUES (TG_ARGV[0], OLD.id, sync_current_version())
+  ON CONFLICT (entity, entity_id) DO UPDATE SET sync_version = EXCLUDED.sync_version;
+  RETURN OLD;
+END;
+$$;
+
+CREATE FUNCTION sync_touch_stock() RETURNS trigger
+  LANGUAGE plpgsql
+  AS $$
+BEGIN
+  INSERT INTO product_stock_sync (product_id, sync_version)
+  SELECT DISTINCT product_id, sync_current_version() FROM moved
+  ON CONFLICT (product_id) DO UPDATE SET sync_version = EXCLUDED.sync_version
+  WHERE product_stock_sync.sync_version <> EXCLUDED.sync_version;
+  RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION sync_touch_product_stock() RETURNS trigger
+  LANGUAGE plpgsql
+  AS $$
+BEGIN
+  INSERT INTO product_stock_sync (product_id, sync_version)
+  VALUES (NEW.id, sync_current_version())
+  ON CONFLICT (product_id) DO UPDATE SET sync_version = EXCLUDED.sync_version;
+  RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_categories_sync
+  BEFORE UPDATE ON categories
+  FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+  EXECUTE FUNCTION sync_touch();
+
+CREATE TRIGGER trg_products_sync
+  BEFORE UPDATE ON products
+  FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+  EXECUTE FUNCTION sync_touch();
+
+CREATE TRIGGER trg_products_stock_sync_insert
+  AFTER INSERT ON products
+  FOR EACH ROW EXECUTE FUNCTION sync_touch_product_stock();
+
+CREATE TRIGGER trg_products_stock_sync_reactivate
+  AFTER UPDATE OF active ON products
+  FOR EACH ROW WHEN (NEW.active AND NOT OLD.active)
+  EXECUTE FUNCTION sync_touch_product_stock();
+
+CREATE TRIGGER trg_categories_tombstone
+  AFTER DELETE ON categories
+  FOR EACH ROW EXECUTE FUNCTION sync_tombstone('category');
+
+CREATE TRIGGER trg_products_tombstone
+  AFTER DELETE ON products
+  FOR EACH ROW EXECUTE FUNCTION sync_tombstone('product');
+
+CREATE TRIGGER trg_inventory_movements_sync
+  AFTER INSERT ON inventory_movements
+  REFERENCING NEW TABLE AS moved
+  FOR EACH STATEMENT EXECUTE FUNCTION sync_touch_stock();
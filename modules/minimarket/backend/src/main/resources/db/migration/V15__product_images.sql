@@ -0,0 +1 @@
+ALTER TABLE products ADD COLUMN image_hash VARCHAR(64);
@@ -0,0 +1,4 @@
+ALTER TABLE web_order_intake ADD COLUMN next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW();
+
+DROP INDEX idx_web_order_intake_queued;
+CREATE INDEX idx_web_order_intake_queued ON web_order_intake(next_attempt_at, created_at) WHERE status = 'QUEUED';
@@ -0,0 +1,27 @@
+ALTER TABLE outbox_events ADD COLUMN commit_seq BIGINT;
+ALTER TABLE outbox_events ADD COLUMN claimed_until TIMESTAMP WITH TIME ZONE;
+
+CREATE SEQUENCE outbox_commit_seq;
+
+UPDATE outbox_events SET commit_seq = id;
+SELECT setval('outbox_commit_seq', COALESCE(MAX(id), 0) + 1, false) FROM outbox_events;
+
+DROP INDEX idx_outbox_events_unpublished;
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events(commit_seq) WHERE published_at IS NULL;
+
+-- Runs at commit time. The advisory lock is held until the transaction ends,
+-- so commit_seq follows commit order across concurrent writers.
+CREATE FUNCTION outbox_assign_commit_seq() RETURNS trigger
+  LANGUAGE plpgsql
+  AS $$
+BEGIN
+  PERFORM pg_advisory_xact_lock(hashtext('outbox_commit_seq'));
+  UPDATE outbox_events SET commit_seq = nextval('outbox_commit_seq') WHERE id = NEW.id;
+  RETURN NULL;
+END;
+$$;
+
+CREATE CONSTRAINT TRIGGER trg_outbox_commit_seq
+  AFTER INSERT ON outbox_events
+  DEFERRABLE INITIALLY DEFERRED
+  FOR EACH ROW EXECUTE FUNCTION outbox_assign_commit_seq();
@@ -0,0 +1,13 @@
+-- Incremental exports page by the writing transaction id instead of created_at:
+-- rows below sync_watermark() are all committed, so a late commit can never land behind the cursor.
+ALTER TABLE local_sales ADD COLUMN export_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE inventory_movements ADD COLUMN export_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE payments ADD COLUMN export_xid BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE local_sales ALTER COLUMN export_xid SET DEFAULT sync_current_version();
+ALTER TABLE inventory_movements ALTER COLUMN export_xid SET DEFAULT sync_current_version();
+ALTER TABLE payments ALTER COLUMN export_xid SET DEFAULT sync_current_version();
+
+CREATE INDEX idx_local_sales_export_xid ON local_sales(export_xid);
+CREATE INDEX idx_inventory_movements_export_xid ON inventory_movements(export_xid);
+CREATE INDEX idx_payments_export_xid ON payments(export_xid);
@@ -0,0 +1,8 @@
+-- A change that keeps failing is parked as FAILED instead of being retried on every poll.
+ALTER TABLE price_changes DROP CONSTRAINT price_changes_status_check;
+ALTER TABLE price_changes ADD CONSTRAINT price_changes_status_check
+  CHECK (status IN ('PENDING', 'APPLIED', 'CANCELLED', 'FAILED'));
+
+ALTER TABLE price_changes ADD COLUMN skipped_count INTEGER;
+ALTER TABLE price_changes ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE price_changes ADD COLUMN last_error TEXT;
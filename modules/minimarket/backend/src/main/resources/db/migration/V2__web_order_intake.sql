@@ -0,0 +1,12 @@
+CREATE TABLE web_order_intake (
+  id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+  payload TEXT NOT NULL,
+  status VARCHAR(20) NOT NULL CHECK (status IN ('QUEUED', 'COMPLETED', 'REJECTED')),
+  web_order_id UUID REFERENCES web_orders(id),
+  error TEXT,
+  attempts INTEGER NOT NULL DEFAULT 0,
+  created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+  updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_web_order_intake_queued ON web_order_intake(created_at) WHERE status = 'QUEUED';
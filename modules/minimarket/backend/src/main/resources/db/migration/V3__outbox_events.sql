@@ -0,0 +1,11 @@
+CREATE TABLE outbox_events (
+  id BIGSERIAL PRIMARY KEY,
+  aggregate_type VARCHAR(40) NOT NULL,
+  aggregate_id UUID NOT NULL,
+  event_type VARCHAR(60) NOT NULL,
+  payload TEXT NOT NULL,
+  created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+  published_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events(id) WHERE published_at IS NULL;
@@ -0,0 +1,58 @@
+CREATE TABLE sales_daily_summary (
+  sale_date DATE NOT NULL,
+  sale_type VARCHAR(20) NOT NULL CHECK (sale_type IN ('WEB_ORDER', 'LOCAL_SALE')),
+  sales_count BIGINT NOT NULL DEFAULT 0,
+  total_amount NUMERIC(14,2) NOT NULL DEFAULT 0,
+  updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (sale_date, sale_type)
+);
+
+CREATE TABLE sales_daily_breakdown (
+  sale_date DATE NOT NULL,
+  sale_type VARCHAR(20) NOT NULL CHECK (sale_type IN ('WEB_ORDER', 'LOCAL_SALE')),
+  payment_method VARCHAR(20) NOT NULL CHECK (payment_method IN ('CASH', 'DEBIT', 'TRANSFER', 'UNSPECIFIED')),
+  sale_hour SMALLINT NOT NULL CHECK (sale_hour BETWEEN 0 AND 23),
+  sales_count BIGINT NOT NULL DEFAULT 0,
+  total_amount NUMERIC(14,2) NOT NULL DEFAULT 0,
+  PRIMARY KEY (sale_date, sale_type, payment_method, sale_hour)
+);
+
+-- Days and hours are bucketed in the store zone (app.store.zone, passed as a Flyway placeholder),
+-- the same zone SalesRollupService uses for new sales. Changing the zone later does not
+-- re-bucket rows that are already summarized.
+INSERT INTO sales_daily_summary (sale_date, sale_type, sales_count, total_amount)
+SELECT (s.created_at AT TIME ZONE '${storeZone}')::date, 'LOCAL_SALE', COUNT(*), SUM(s.total_amount)
+FROM local_sales s
+WHERE s.status = 'COMPLETED'
+GROUP BY 1;
+
+INSERT INTO sales_daily_breakdown (sale_date, sale_type, payment_method, sale_hour, sales_count, total_amount)
+SELECT
+  (s.created_at AT TIME ZONE '${storeZone}')::date,
+  'LOCAL_SALE',
+  COALESCE(p.method, 'UNSPECIFIED'),
+  EXTRACT(HOUR FROM s.created_at AT TIME ZONE '${storeZone}'),
+  COUNT(*),
+  SUM(s.total_amount)
+FROM local_sales s
+LEFT JOIN payments p ON p.reference_id = s.id AND p.sale_type = 'LOCAL_SALE'
+WHERE s.status = 'COMPLETED'
+GROUP BY 1, 3, 4;
+
+INSERT INTO sales_daily_summary (sale_date, sale_type, sales_count, total_amount)
+SELECT (o.updated_at AT TIME ZONE '${storeZone}')::date, 'WEB_ORDER', COUNT(*), SUM(o.total_amount)
+FROM web_orders o
+WHERE o.status IN ('PAID', 'DELIVERED')
+GROUP BY 1;
+
+INSERT INTO sales_daily_breakdown (sale_date, sale_type, payment_method, sale_hour, sales_count, total_amount)
+SELECT
+  (o.updated_at AT TIME ZONE '${storeZone}')::date,
+  'WEB_ORDER',
+  'UNSPECIFIED',
+  EXTRACT(HOUR FROM o.updated_at AT TIME ZONE '${storeZone}'),
+  COUNT(*),
+  SUM(o.total_amount)
+FROM web_orders o
+WHERE o.status IN ('PAID', 'DELIVERED')
+GROUP BY 1, 4;
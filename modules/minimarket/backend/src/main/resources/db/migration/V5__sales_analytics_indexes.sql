@@ -0,0 +1,4 @@
+CREATE INDEX idx_local_sales_created ON local_sales(created_at) WHERE status = 'COMPLETED';
+CREATE INDEX idx_local_sale_items_sale ON local_sale_items(local_sale_id);
+CREATE INDEX idx_web_orders_paid_updated ON web_orders(updated_at) WHERE status IN ('PAID', 'DELIVERED');
+CREATE INDEX idx_web_order_items_order ON web_order_items(web_order_id);
@@ -0,0 +1,15 @@
+CREATE TABLE product_forecasts (
+  product_id UUID PRIMARY KEY REFERENCES products(id),
+  daily_velocity NUMERIC(12,4) NOT NULL,
+  weekday_factors VARCHAR(120) NOT NULL,
+  stock_on_hand BIGINT NOT NULL,
+  days_of_cover NUMERIC(12,2),
+  forecast_demand NUMERIC(12,2) NOT NULL,
+  safety_stock NUMERIC(12,2) NOT NULL,
+  suggested_quantity INTEGER NOT NULL,
+  computed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_product_forecasts_reorder ON product_forecasts(days_of_cover) WHERE suggested_quantity > 0;
+CREATE INDEX idx_inventory_movements_sales ON inventory_movements(product_id, created_at)
+  INCLUDE (quantity) WHERE type = 'OUT' AND reason = 'venta';
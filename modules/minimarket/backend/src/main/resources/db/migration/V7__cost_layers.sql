@@ -0,0 +1,22 @@
+CREATE TABLE cost_layers (
+  id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+  product_id UUID NOT NULL REFERENCES products(id),
+  movement_id UUID REFERENCES inventory_movements(id),
+  unit_cost NUMERIC(12,4) NOT NULL,
+  quantity_received INTEGER NOT NULL CHECK (quantity_received > 0),
+  quantity_remaining INTEGER NOT NULL CHECK (quantity_remaining >= 0),
+  received_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_cost_layers_open ON cost_layers(product_id, received_at)
+  INCLUDE (quantity_remaining, unit_cost) WHERE quantity_remaining > 0;
+
+ALTER TABLE inventory_movements ADD COLUMN cost_amount NUMERIC(14,2);
+ALTER TABLE local_sale_items ADD COLUMN cost_amount NUMERIC(14,2);
+ALTER TABLE web_order_items ADD COLUMN cost_amount NUMERIC(14,2);
+
+INSERT INTO cost_layers (product_id, unit_cost, quantity_received, quantity_remaining)
+SELECT p.id, p.cost, i.stock_on_hand, i.stock_on_hand
+FROM products p
+JOIN inventory i ON i.product_id = p.id
+WHERE i.stock_on_hand > 0;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_local_sales_created_id ON local_sales(created_at, id);
+CREATE INDEX idx_inventory_movements_created_id ON inventory_movements(created_at, id);
+CREATE INDEX idx_payments_created_id ON payments(created_at, id);
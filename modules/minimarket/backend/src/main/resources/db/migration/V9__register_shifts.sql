@@ -0,0 +1,27 @@
+CREATE TABLE register_shifts (
+  id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+  user_id UUID NOT NULL REFERENCES users(id),
+  terminal VARCHAR(40) NOT NULL,
+  status VARCHAR(10) NOT NULL CHECK (status IN ('OPEN', 'CLOSED')),
+  opening_cash NUMERIC(12,2) NOT NULL DEFAULT 0,
+  counted_cash NUMERIC(12,2),
+  cash_expected NUMERIC(14,2),
+  opened_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+  closed_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE UNIQUE INDEX idx_register_shifts_open_user ON register_shifts(user_id) WHERE status = 'OPEN';
+CREATE UNIQUE INDEX idx_register_shifts_open_terminal ON register_shifts(terminal) WHERE status = 'OPEN';
+
+CREATE TABLE register_shift_totals (
+  shift_id UUID NOT NULL REFERENCES register_shifts(id),
+  payment_method VARCHAR(20) NOT NULL CHECK (payment_method IN ('CASH', 'DEBIT', 'TRANSFER')),
+  sales_count BIGINT NOT NULL DEFAULT 0,
+  total_amount NUMERIC(14,2) NOT NULL DEFAULT 0,
+  PRIMARY KEY (shift_id, payment_method)
+);
+
+ALTER TABLE local_sales ADD COLUMN shift_id UUID REFERENCES register_shifts(id);
+CREATE INDEX idx_local_sales_shift ON local_sales(shift_id) WHERE shift_id IS NOT NULL;
+
+CREATE INDEX idx_payments_reference ON payments(reference_id);
@@ -0,0 +1,113 @@
+package cl.pymerp.minimarket.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("benchmark")
+class PosProtobufCodecBenchmarkTest {
+  private static final int PRODUCTS = 5_000;
+  private static final int ROUNDS = 200;
+  private static final TypeReference<List<ProductResponse>> PRODUCT_LIST = new TypeReference<>() {};
+
+  @Test
+  void protobufContraJackson() throws Exception {
+    // Both sides decode into ProductResponse so parse times compare like for like.
+    ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+        .addMixIn(ProductResponse.class, ProductResponseMixin.class)
+        .addMixIn(ProductResponse.ProductResponseBuilder.class, ProductResponseBuilderMixin.class);
+    Random random = new Random(42);
+    List<ProductResponse> products = new ArrayList<>(PRODUCTS);
+    for (int i = 0; i < PRODUCTS; i++) {
+      products.add(ProductResponse.builder()
+          .id(UUID.randomUUID())
+          .categoryId(UUID.randomUUID())
+          .sku("SKU-" + i)
+          .barcode(String.valueOf(7800000000000L + i))
+          .name("Producto " + i + " marca " + random.nextInt(50))
+          .unit("unidad")
+          .price(BigDecimal.valueOf(500 + random.nextInt(5000)).setScale(2))
+          .cost(BigDecimal.valueOf(300 + random.nextInt(3000)).setScale(2))
+          .visibleWeb(true)
+          .active(true)
+          .lowStockThreshold(3)
+          .build());
+    }
+    List<LocalSaleItemResponse> items = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      items.add(LocalSaleItemResponse.builder()
+          .productId(UUID.randomUUID())
+          .name("Producto " + i)
+          .quantity(1 + i)
+          .unitPrice(new BigDecimal("1990.00"))
+          .lineTotal(new BigDecimal("1990.00").multiply(BigDecimal.valueOf(1 + i)))
+          .build());
+    }
+    LocalSaleResponse sale = LocalSaleResponse.builder()
+        .id(UUID.randomUUID())
+        .totalAmount(new BigDecimal("71640.00"))
+        .items(items)
+        .createdAt(OffsetDateTime.now())
+        .receiptUrl("/api/local-sales/" + UUID.randomUUID() + "/receipt.pdf")
+        .build();
+
+    byte[] json = mapper.writeValueAsBytes(products);
+    byte[] proto = PosProtobufCodec.encode(products);
+    System.out.printf("Lista de %d productos: JSON %d bytes, protobuf %d bytes (%.0f%%)%n",
+        PRODUCTS, json.length, proto.length, 100.0 * proto.length / json.length);
+    System.out.printf("Venta de %d lineas: JSON %d bytes, protobuf %d bytes%n",
+        items.size(), mapper.writeValueAsBytes(sale).length, PosProtobufCodec.encode(sale).length);
+
+    for (int i = 0; i < ROUNDS / 2; i++) {
+      mapper.writeValueAsBytes(products);
+      mapper.readValue(json, PRODUCT_LIST);
+      PosProtobufCodec.encode(products);
+      PosProtobufCodec.decodeProducts(proto);
+    }
+    long started = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      mapper.writeValueAsBytes(products);
+    }
+    double jsonWrite = (System.nanoTime() - started) / 1_000_000.0 / ROUNDS;
+    started = System.nanoTime();
+    int parsed = 0;
+    for (int i = 0; i < ROUNDS; i++) {
+      parsed += mapper.readValue(json, PRODUCT_LIST).size();
+    }
+    double jsonRead = (System.nanoTime() - started) / 1_000_000.0 / ROUNDS;
+    started = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      PosProtobufCodec.encode(products);
+    }
+    double protoWrite = (System.nanoTime() - started) / 1_000_000.0 / ROUNDS;
+    started = System.nanoTime();
+    int decoded = 0;
+    for (int i = 0; i < ROUNDS; i++) {
+      decoded += PosProtobufCodec.decodeProducts(proto).size();
+    }
+    double protoRead = (System.nanoTime() - started) / 1_000_000.0 / ROUNDS;
+    System.out.printf("Serializar: JSON %.2f ms, protobuf %.2f ms%n", jsonWrite, protoWrite);
+    System.out.printf("Parsear:    JSON %.2f ms, protobuf %.2f ms%n", jsonRead, protoRead);
+
+    assertEquals(parsed, decoded);
+  }
+
+  @JsonDeserialize(builder = ProductResponse.ProductResponseBuilder.class)
+  private abstract static class ProductResponseMixin {
+  }
+
+  @JsonPOJOBuilder(withPrefix = "")
+  private abstract static class ProductResponseBuilderMixin {
+  }
+}
@@ -0,0 +1,84 @@
+package cl.pymerp.minimarket.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cl.pymerp.minimarket.domain.PaymentMethod;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class PosProtobufCodecTest {
+  @Test
+  void listaDeProductosIdaYVuelta() {
+    ProductResponse product = ProductResponse.builder()
+        .id(UUID.randomUUID())
+        .categoryId(UUID.randomUUID())
+        .sku("SKU-1")
+        .barcode("7801234567890")
+        .name("Caf\u00e9 molido")
+        .description("x".repeat(300))
+        .unit("unidad")
+        .price(new BigDecimal("3990.00"))
+        .cost(new BigDecimal("2500.50"))
+        .active(true)
+        .lowStockThreshold(3)
+        .build();
+
+    List<ProductResponse> decoded = PosProtobufCodec.decodeProducts(
+        PosProtobufCodec.encode(List.of(product, ProductResponse.builder().name("Pan").build())));
+
+    assertEquals(2, decoded.size());
+    ProductResponse first = decoded.get(0);
+    assertEquals(product.getId(), first.getId());
+    assertEquals(product.getCategoryId(), first.getCategoryId());
+    assertEquals("Caf\u00e9 molido", first.getName());
+    assertEquals(300, first.getDescription().length());
+    assertEquals(0, new BigDecimal("3990").compareTo(first.getPrice()));
+    assertEquals(0, new BigDecimal("2500.50").compareTo(first.getCost()));
+    assertTrue(first.isActive());
+    assertFalse(first.isVisibleWeb());
+    assertEquals(3, first.getLowStockThreshold());
+    assertEquals("Pan", decoded.get(1).getName());
+    assertNull(decoded.get(1).getId());
+  }
+
+  @Test
+  void decodificaVentaConCamposDesconocidos() {
+    UUID productId = UUID.fromString("00112233-4455-6677-8899-aabbccddeeff");
+    byte[] bytes = {
+        0x12, 0x14,
+        0x0a, 0x10, 0x00, 0x11, 0x22, 0x33, 0x44, 0x55, 0x66, 0x77,
+        (byte) 0x88, (byte) 0x99, (byte) 0xaa, (byte) 0xbb, (byte) 0xcc, (byte) 0xdd, (byte) 0xee, (byte) 0xff,
+        0x10, 0x02,
+        0x18, 0x02,
+        0x4a, 0x01, 0x7a
+    };
+
+    LocalSaleRequest request = PosProtobufCodec.decodeSaleRequest(bytes);
+
+    assertEquals(PaymentMethod.DEBIT, request.getMethod());
+    assertEquals(1, request.getItems().size());
+    assertEquals(productId, request.getItems().get(0).getProductId());
+    assertEquals(2, request.getItems().get(0).getQuantity());
+  }
+
+  @Test
+  void mensajeTruncadoSeRechaza() {
+    assertThrows(IllegalArgumentException.class,
+        () -> PosProtobufCodec.decodeSaleRequest(new byte[] {0x12, 0x14, 0x0a}));
+  }
+
+  @Test
+  void soloTiposDelPosTienenRepresentacion() {
+    assertTrue(PosProtobufCodec.canEncode(List.of()));
+    assertTrue(PosProtobufCodec.canEncode(StockResponse.builder().build()));
+    assertFalse(PosProtobufCodec.canEncode(List.of(Map.of("id", 1))));
+    assertFalse(PosProtobufCodec.canEncode("texto"));
+  }
+}
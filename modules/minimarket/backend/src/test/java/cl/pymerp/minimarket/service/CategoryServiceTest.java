@@ -0,0 +1,126 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.CategoryRequest;
+import cl.pymerp.minimarket.api.CategoryTreeResponse;
+import cl.pymerp.minimarket.domain.Category;
+import cl.pymerp.minimarket.repository.CategoryRepository;
+import cl.pymerp.minimarket.repository.CategoryTreeRepository;
+import cl.pymerp.minimarket.repository.CategoryTreeRepository.CategoryRow;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class CategoryServiceTest {
+  private final CategoryRepository categoryRepository = Mockito.mock(CategoryRepository.class);
+  private final CategoryTreeRepository treeRepository = Mockito.mock(CategoryTreeRepository.class);
+  private final CategoryService service = new CategoryService(
+      categoryRepository, treeRepository, Mockito.mock(ApplicationEventPublisher.class));
+  private final UUID bebidas = UUID.randomUUID();
+  private final UUID gaseosas = UUID.randomUUID();
+  private final UUID colas = UUID.randomUUID();
+  private final UUID lacteos = UUID.randomUUID();
+
+  @Test
+  void arbolSumaProductosDelSubarbolYSeCachea() {
+    when(treeRepository.findAll()).thenReturn(rows());
+
+    CategoryTreeResponse tree = service.tree(false);
+    service.tree(true);
+
+    assertEquals(4, tree.getCategoryCount());
+    assertEquals(2, tree.getRoots().size());
+    CategoryTreeResponse.Node root = tree.getRoots().get(0);
+    assertEquals(bebidas, root.getId());
+    assertEquals(2, root.getProductCount());
+    assertEquals(10, root.getSubtreeProductCount());
+    assertEquals(2, root.getChildren().get(0).getChildren().get(0).getDepth());
+    verify(treeRepository, times(1)).findAll();
+  }
+
+  @Test
+  void arbolVisibleOmiteRamasOcultas() {
+    when(treeRepository.findAll()).thenReturn(rows());
+
+    CategoryTreeResponse tree = service.tree(true);
+
+    assertEquals(3, tree.getCategoryCount());
+    assertEquals(5, tree.getRoots().get(0).getSubtreeProductCount());
+    assertEquals(0, tree.getRoots().get(0).getChildren().get(0).getChildren().size());
+  }
+
+  @Test
+  void subarbolIncluyeDescendientesEInvalidaConCambios() {
+    when(treeRepository.findAll()).thenReturn(rows());
+
+    assertEquals(Set.of(bebidas, gaseosas, colas), service.subtree(bebidas));
+    assertEquals(Set.of(lacteos), service.subtree(lacteos));
+
+    service.onProductsChanged(new ProductsChangedEvent(List.of(UUID.randomUUID())));
+    service.subtree(colas);
+    verify(treeRepository, times(2)).findAll();
+  }
+
+  @Test
+  void cambioDuranteLaConstruccionNoDejaArbolViejoEnCache() {
+    when(treeRepository.findAll()).thenAnswer(invocation -> {
+      service.onCategoryChanged(new CategoryChangedEvent(bebidas));
+      return rows();
+    }).thenReturn(rows());
+
+    service.tree(false);
+    service.tree(false);
+    service.tree(false);
+
+    verify(treeRepository, times(2)).findAll();
+  }
+
+  @Test
+  void noPermiteMoverCategoriaDentroDeSuSubarbol() {
+    when(treeRepository.findAll()).thenReturn(rows());
+    Category category = new Category();
+    category.setId(bebidas);
+    when(categoryRepository.findById(bebidas)).thenReturn(Optional.of(category));
+    CategoryRequest request = new CategoryRequest();
+    request.setName("Bebidas");
+    request.setParentId(colas);
+
+    assertThrows(IllegalArgumentException.class, () -> service.update(bebidas, request));
+    verify(categoryRepository, never()).save(any());
+  }
+
+  @Test
+  void categoriaOcultaOBajoRamaOcultaNoEsPublica() {
+    UUID zero = UUID.randomUUID();
+    List<CategoryRow> rows = new ArrayList<>(rows());
+    rows.add(new CategoryRow(zero, "Zero", colas, true, 1));
+    when(treeRepository.findAll()).thenReturn(rows);
+
+    assertEquals(gaseosas, service.visibleNode(gaseosas).getId());
+    ResponseStatusException hidden = assertThrows(ResponseStatusException.class, () -> service.visibleNode(colas));
+    assertEquals(HttpStatus.NOT_FOUND, hidden.getStatusCode());
+    assertThrows(ResponseStatusException.class, () -> service.visibleNode(zero));
+  }
+
+  private List<CategoryRow> rows() {
+    return List.of(
+        new CategoryRow(bebidas, "Bebidas", null, true, 2),
+        new CategoryRow(colas, "Colas", gaseosas, false, 5),
+        new CategoryRow(gaseosas, "Gaseosas", bebidas, true, 3),
+        new CategoryRow(lacteos, "Lacteos", null, true, 1));
+  }
+}
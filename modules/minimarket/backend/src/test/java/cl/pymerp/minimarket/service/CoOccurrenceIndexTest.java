@@ -0,0 +1,60 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CoOccurrenceIndexTest {
+  private final UUID pan = UUID.randomUUID();
+  private final UUID mantequilla = UUID.randomUUID();
+  private final UUID cafe = UUID.randomUUID();
+  private final UUID leche = UUID.randomUUID();
+
+  @Test
+  void productosQueSeCompranJuntosSeOrdenanPorFrecuencia() {
+    CoOccurrenceIndex index = new CoOccurrenceIndex(40);
+    index.addBasket(List.of(pan, mantequilla), 1f);
+    index.addBasket(List.of(pan, mantequilla, cafe), 1f);
+    index.addBasket(List.of(pan, leche), 1f);
+    index.addBasket(List.of(cafe, leche), 1f);
+
+    List<CoOccurrenceIndex.Partner> related = index.top(pan, 2);
+    assertEquals(2, related.size());
+    assertEquals(mantequilla, related.get(0).getProductId());
+    assertEquals(2f, related.get(0).getScore());
+    assertEquals(2f / 3f, related.get(0).getConfidence(), 0.0001);
+  }
+
+  @Test
+  void fusionDeParticionesSumaPesos() {
+    CoOccurrenceIndex first = new CoOccurrenceIndex(40);
+    first.addBasket(List.of(pan, cafe), 0.5f);
+    CoOccurrenceIndex second = new CoOccurrenceIndex(40);
+    second.addBasket(List.of(leche, cafe), 1f);
+    second.addBasket(List.of(cafe, pan), 1f);
+
+    CoOccurrenceIndex merged = new CoOccurrenceIndex(40);
+    merged.mergeFrom(first);
+    merged.mergeFrom(second);
+
+    List<CoOccurrenceIndex.Partner> related = merged.top(cafe, 5);
+    assertEquals(pan, related.get(0).getProductId());
+    assertEquals(1.5f, related.get(0).getScore());
+    assertTrue(merged.top(UUID.randomUUID(), 5).isEmpty());
+  }
+
+  @Test
+  void mapaPrimitivoCreceSinPerderValores() {
+    IntFloatHashMap map = new IntFloatHashMap(2);
+    for (int i = 0; i < 1000; i++) {
+      map.addTo(i, i);
+      map.addTo(i, 1f);
+    }
+    assertEquals(1000, map.size());
+    assertEquals(500f, map.get(499));
+    assertEquals(0f, map.get(5000));
+  }
+}
@@ -0,0 +1,74 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.domain.CostLayer;
+import cl.pymerp.minimarket.domain.InventoryMovement;
+import cl.pymerp.minimarket.domain.MovementType;
+import cl.pymerp.minimarket.domain.Product;
+import cl.pymerp.minimarket.repository.CostLayerRepository;
+import cl.pymerp.minimarket.repository.InventoryProjectionRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class CostLayerServiceTest {
+  @Test
+  void salidaConsumeCapasEnOrdenFifo() {
+    CostLayerRepository layerRepository = Mockito.mock(CostLayerRepository.class);
+    CostLayerService service = new CostLayerService(layerRepository, Mockito.mock(InventoryProjectionRepository.class));
+    Product product = product("900");
+    CostLayer oldest = layer(product, "500", 3);
+    CostLayer newest = layer(product, "700", 10);
+    when(layerRepository.lockOpenLayers(List.of(product.getId()))).thenReturn(List.of(oldest, newest));
+
+    InventoryMovement first = movement(product, MovementType.OUT, 5);
+    InventoryMovement second = movement(product, MovementType.OUT, 2);
+    service.assignCost(List.of(first, second));
+
+    assertEquals(new BigDecimal("2900.00"), first.getCostAmount());
+    assertEquals(new BigDecimal("1400.00"), second.getCostAmount());
+    assertEquals(0, oldest.getQuantityRemaining());
+    assertEquals(6, newest.getQuantityRemaining());
+  }
+
+  @Test
+  void faltanteSinCapasUsaCostoDelProducto() {
+    CostLayerRepository layerRepository = Mockito.mock(CostLayerRepository.class);
+    CostLayerService service = new CostLayerService(layerRepository, Mockito.mock(InventoryProjectionRepository.class));
+    Product product = product("900");
+    when(layerRepository.lockOpenLayers(List.of(product.getId()))).thenReturn(List.of(layer(product, "500", 1)));
+
+    InventoryMovement merma = movement(product, MovementType.ADJUST, -3);
+    service.assignCost(List.of(merma));
+
+    assertEquals(new BigDecimal("2300.00"), merma.getCostAmount());
+  }
+
+  private Product product(String cost) {
+    Product product = new Product();
+    product.setId(UUID.randomUUID());
+    product.setCost(new BigDecimal(cost));
+    return product;
+  }
+
+  private CostLayer layer(Product product, String unitCost, int quantity) {
+    CostLayer layer = new CostLayer();
+    layer.setProduct(product);
+    layer.setUnitCost(new BigDecimal(unitCost));
+    layer.setQuantityReceived(quantity);
+    layer.setQuantityRemaining(quantity);
+    return layer;
+  }
+
+  private InventoryMovement movement(Product product, MovementType type, int quantity) {
+    InventoryMovement movement = new InventoryMovement();
+    movement.setProduct(product);
+    movement.setType(type);
+    movement.setQuantity(quantity);
+    return movement;
+  }
+}
@@ -1,21 +1,32 @@
 package cl.pymerp.minimarket.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import cl.pymerp.minimarket.api.DashboardResponse.LowStockItem;
+import cl.pymerp.minimarket.api.SalesDailyResponse;
+import cl.pymerp.minimarket.domain.OutboxEvent;
+import cl.pymerp.minimarket.domain.SaleType;
 import cl.pymerp.minimarket.repository.InventoryMovementRepository;
 import cl.pymerp.minimarket.repository.InventoryProjectionRepository;
-import cl.pymerp.minimarket.repository.LocalSaleRepository;
 import cl.pymerp.minimarket.repository.WebOrderRepository;
+import java.math.BigDecimal;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
 class DashboardServiceTest {
+  private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+
   @Test
   void stockBajoSeExponeEnDashboard() {
-    LocalSaleRepository localSaleRepository = Mockito.mock(LocalSaleRepository.class);
+    SalesRollupService salesRollupService = Mockito.mock(SalesRollupService.class);
     WebOrderRepository webOrderRepository = Mockito.mock(WebOrderRepository.class);
     InventoryMovementRepository movementRepository = Mockito.mock(InventoryMovementRepository.class);
     InventoryProjectionRepository projectionRepository = Mockito.mock(InventoryProjectionRepository.class);
@@ -27,18 +38,100 @@ class DashboardServiceTest {
         .build();
 
     when(projectionRepository.findLowStock()).thenReturn(List.of(item));
-    when(webOrderRepository.findByStatusOrderByCreatedAtAsc(Mockito.any())).thenReturn(List.of());
+    when(webOrderRepository.findTop10ByStatusInOrderByCreatedAtAsc(Mockito.any())).thenReturn(List.of());
     when(movementRepository.findTop10ByTypeOrderByCreatedAtDesc(Mockito.any())).thenReturn(List.of());
-    when(localSaleRepository.findByCreatedAtBetween(Mockito.any(), Mockito.any())).thenReturn(List.of());
+    when(salesRollupService.today(SaleType.LOCAL_SALE)).thenReturn(SalesDailyResponse.builder()
+        .saleType(SaleType.LOCAL_SALE)
+        .salesCount(0)
+        .totalAmount(BigDecimal.ZERO)
+        .build());
 
     DashboardService service = new DashboardService(
-        localSaleRepository,
+        salesRollupService,
         webOrderRepository,
         movementRepository,
-        projectionRepository);
+        projectionRepository,
+        new DashboardSummaryCache(5000),
+        Runnable::run,
+        Mockito.mock(PlatformTransactionManager.class),
+        jdbcTemplate,
+        1000);
 
     var response = service.getSummary();
     assertEquals(1, response.getLowStock().size());
+    verify(jdbcTemplate, times(5)).execute("SET LOCAL statement_timeout = 1000");
     assertEquals("Azucar", response.getLowStock().get(0).getName());
+    assertFalse(response.isDegraded());
+  }
+
+  @Test
+  void consultaFallidaDegradaSoloSuSeccion() {
+    SalesRollupService salesRollupService = Mockito.mock(SalesRollupService.class);
+    WebOrderRepository webOrderRepository = Mockito.mock(WebOrderRepository.class);
+    InventoryMovementRepository movementRepository = Mockito.mock(InventoryMovementRepository.class);
+    InventoryProjectionRepository projectionRepository = Mockito.mock(InventoryProjectionRepository.class);
+
+    when(projectionRepository.findLowStock()).thenThrow(new IllegalStateException("timeout"));
+    when(webOrderRepository.findTop10ByStatusInOrderByCreatedAtAsc(Mockito.any())).thenReturn(List.of());
+    when(movementRepository.findTop10ByTypeOrderByCreatedAtDesc(Mockito.any())).thenReturn(List.of());
+    when(salesRollupService.today(SaleType.LOCAL_SALE)).thenReturn(SalesDailyResponse.builder()
+        .saleType(SaleType.LOCAL_SALE)
+        .salesCount(4)
+        .totalAmount(new BigDecimal("12000"))
+        .build());
+
+    DashboardService service = new DashboardService(
+        salesRollupService,
+        webOrderRepository,
+        movementRepository,
+        projectionRepository,
+        new DashboardSummaryCache(5000),
+        Runnable::run,
+        Mockito.mock(PlatformTransactionManager.class),
+        jdbcTemplate,
+        1000);
+
+    var response = service.getSummary();
+    assertTrue(response.isDegraded());
+    assertEquals(List.of("lowStock"), response.getDegradedSections());
+    assertTrue(response.getLowStock().isEmpty());
+    assertEquals(4, response.getSalesTodayCount());
+  }
+
+  @Test
+  void resumenSeReutilizaHastaQueSeInvalida() {
+    SalesRollupService salesRollupService = Mockito.mock(SalesRollupService.class);
+    WebOrderRepository webOrderRepository = Mockito.mock(WebOrderRepository.class);
+    InventoryMovementRepository movementRepository = Mockito.mock(InventoryMovementRepository.class);
+    InventoryProjectionRepository projectionRepository = Mockito.mock(InventoryProjectionRepository.class);
+    DashboardSummaryCache cache = new DashboardSummaryCache(60000);
+
+    when(projectionRepository.findLowStock()).thenReturn(List.of());
+    when(webOrderRepository.countByStatusIn(Mockito.any())).thenReturn(3L, 4L);
+    when(webOrderRepository.findTop10ByStatusInOrderByCreatedAtAsc(Mockito.any())).thenReturn(List.of());
+    when(movementRepository.findTop10ByTypeOrderByCreatedAtDesc(Mockito.any())).thenReturn(List.of());
+    when(salesRollupService.today(SaleType.LOCAL_SALE)).thenReturn(SalesDailyResponse.builder()
+        .saleType(SaleType.LOCAL_SALE)
+        .salesCount(0)
+        .totalAmount(BigDecimal.ZERO)
+        .build());
+
+    DashboardService service = new DashboardService(
+        salesRollupService,
+        webOrderRepository,
+        movementRepository,
+        projectionRepository,
+        cache,
+        Runnable::run,
+        Mockito.mock(PlatformTransactionManager.class),
+        jdbcTemplate,
+        1000);
+
+    assertEquals(3, service.getSummary().getPendingWebOrders());
+    assertEquals(3, service.getSummary().getPendingWebOrders());
+    verify(webOrderRepository, times(1)).countByStatusIn(Mockito.any());
+
+    cache.onDataChanged(new OutboxEvent());
+    assertEquals(4, service.getSummary().getPendingWebOrders());
   }
 }
@@ -0,0 +1,67 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import cl.pymerp.minimarket.api.DashboardResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class DashboardSummaryCacheTest {
+  @Test
+  void consultasConcurrentesCalculanUnaSolaVez() throws Exception {
+    DashboardSummaryCache cache = new DashboardSummaryCache(60000);
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    DashboardResponse summary = DashboardResponse.builder().pendingWebOrders(2).build();
+
+    ExecutorService pool = Executors.newFixedThreadPool(30);
+    try {
+      List<Future<DashboardResponse>> results = new ArrayList<>();
+      for (int i = 0; i < 30; i++) {
+        results.add(pool.submit(() -> cache.get(() -> {
+          loads.incrementAndGet();
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+          return summary;
+        })));
+      }
+      Thread.sleep(100);
+      release.countDown();
+      for (Future<DashboardResponse> result : results) {
+        assertSame(summary, result.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void respuestaDegradadaNoQuedaEnCache() {
+    DashboardSummaryCache cache = new DashboardSummaryCache(60000);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get(() -> {
+      loads.incrementAndGet();
+      return DashboardResponse.builder().degraded(true).build();
+    });
+    cache.get(() -> {
+      loads.incrementAndGet();
+      return DashboardResponse.builder().build();
+    });
+
+    assertEquals(2, loads.get());
+  }
+}
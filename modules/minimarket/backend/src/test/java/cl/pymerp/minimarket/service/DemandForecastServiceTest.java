@@ -0,0 +1,101 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.ForecastRunResponse;
+import cl.pymerp.minimarket.api.ReorderSuggestionResponse;
+import cl.pymerp.minimarket.repository.ProductForecastRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class DemandForecastServiceTest {
+  private final ProductForecastRepository repository = Mockito.mock(ProductForecastRepository.class);
+  private final InventoryService inventoryService = Mockito.mock(InventoryService.class);
+  private final DemandForecastService service = new DemandForecastService(
+      repository, inventoryService, Runnable::run, "America/Santiago", 730, 3, 7, 1.65, 2);
+
+  @Test
+  void ventaEstableSugiereReponerLoQueFaltaParaElHorizonte() {
+    long[] daily = new long[120];
+    Arrays.fill(daily, 10);
+
+    ReorderSuggestionResponse forecast = service.forecast(
+        UUID.randomUUID(), daily, LocalDate.of(2024, 1, 1), 40, OffsetDateTime.now());
+
+    assertEquals(new BigDecimal("10.0000"), forecast.getDailyVelocity());
+    assertEquals(new BigDecimal("4.00"), forecast.getDaysOfCover());
+    assertEquals(new BigDecimal("100.00"), forecast.getForecastDemand());
+    assertEquals(60, forecast.getSuggestedQuantity());
+  }
+
+  @Test
+  void estacionalidadSemanalSeReflejaEnFactores() {
+    long[] daily = new long[182];
+    LocalDate monday = LocalDate.of(2024, 1, 1);
+    for (int i = 0; i < daily.length; i++) {
+      daily[i] = i % 7 == 5 ? 30 : 5;
+    }
+
+    ReorderSuggestionResponse forecast = service.forecast(UUID.randomUUID(), daily, monday, 0, OffsetDateTime.now());
+
+    assertTrue(forecast.getWeekdayFactors().get(5).compareTo(forecast.getWeekdayFactors().get(0)) > 0);
+  }
+
+  @Test
+  void productoSinVentasNoSugiereCompra() {
+    ReorderSuggestionResponse forecast = service.forecast(
+        UUID.randomUUID(), new long[60], LocalDate.of(2024, 1, 1), 3, OffsetDateTime.now());
+
+    assertNull(forecast.getDaysOfCover());
+    assertEquals(0, forecast.getSuggestedQuantity());
+  }
+
+  @Test
+  void ejecucionProcesaProductosEnBloques() {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    UUID c = UUID.randomUUID();
+    when(repository.findActiveProductIds()).thenReturn(List.of(a, b, c));
+    when(inventoryService.getStockOnHand(Mockito.<List<UUID>>any())).thenReturn(Map.of());
+
+    ForecastRunResponse result = service.start().join();
+
+    assertEquals(3, result.getProducts());
+    assertEquals(2, result.getChunks());
+    verify(repository, Mockito.times(2)).upsert(Mockito.any());
+  }
+
+  @Test
+  void segundaEjecucionConcurrenteRespondeConflicto() {
+    List<Runnable> tasks = new ArrayList<>();
+    DemandForecastService queued = new DemandForecastService(
+        repository, inventoryService, tasks::add, "America/Santiago", 730, 3, 7, 1.65, 2);
+    when(repository.findActiveProductIds()).thenReturn(List.of(UUID.randomUUID()));
+    when(inventoryService.getStockOnHand(Mockito.<List<UUID>>any())).thenReturn(Map.of());
+
+    CompletableFuture<ForecastRunResponse> run = queued.start();
+    ResponseStatusException busy = assertThrows(ResponseStatusException.class, queued::start);
+    tasks.forEach(Runnable::run);
+
+    assertEquals(HttpStatus.CONFLICT, busy.getStatusCode());
+    assertEquals(1, run.join().getProducts());
+    queued.start();
+    assertEquals(2, tasks.size());
+  }
+}
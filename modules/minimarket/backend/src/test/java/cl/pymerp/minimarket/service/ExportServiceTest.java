@@ -0,0 +1,76 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.domain.ExportDataset;
+import cl.pymerp.minimarket.domain.ExportFormat;
+import cl.pymerp.minimarket.repository.ExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ExportServiceTest {
+  @Test
+  void csvEscapaComillasYComasEnGzip() throws Exception {
+    ExportService service = serviceReturning(resultSet());
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    service.export(ExportDataset.MOVEMENTS, ExportFormat.CSV, null, null, null, 500L, output);
+
+    assertEquals("notes,quantity\r\n\"caja \"\"rota\"\", lote 2\",1500.50\r\n", gunzip(output));
+  }
+
+  @Test
+  void ndjsonEscribeUnObjetoPorLinea() throws Exception {
+    ExportService service = serviceReturning(resultSet());
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    service.export(ExportDataset.MOVEMENTS, ExportFormat.NDJSON, null, null, null, 500L, output);
+
+    assertEquals("{\"notes\":\"caja \\\"rota\\\", lote 2\",\"quantity\":1500.50}\n", gunzip(output));
+  }
+
+  private ExportService serviceReturning(ResultSet rs) {
+    ExportRepository repository = Mockito.mock(ExportRepository.class);
+    doAnswer(invocation -> {
+      ResultSetExtractor<?> extractor = invocation.getArgument(6);
+      return extractor.extractData(rs);
+    }).when(repository).stream(eq(ExportDataset.MOVEMENTS), any(), any(), any(), eq(500L), eq(100), any());
+    return new ExportService(
+        repository, Mockito.mock(PlatformTransactionManager.class), new ObjectMapper(), "America/Santiago", 100);
+  }
+
+  private ResultSet resultSet() throws Exception {
+    ResultSet rs = Mockito.mock(ResultSet.class);
+    ResultSetMetaData meta = Mockito.mock(ResultSetMetaData.class);
+    when(rs.getMetaData()).thenReturn(meta);
+    when(meta.getColumnCount()).thenReturn(2);
+    when(meta.getColumnLabel(1)).thenReturn("notes");
+    when(meta.getColumnLabel(2)).thenReturn("quantity");
+    when(meta.getColumnTypeName(1)).thenReturn("text");
+    when(meta.getColumnTypeName(2)).thenReturn("numeric");
+    when(rs.next()).thenReturn(true, false);
+    when(rs.getObject(1)).thenReturn("caja \"rota\", lote 2");
+    when(rs.getObject(2)).thenReturn(new BigDecimal("1500.50"));
+    return rs;
+  }
+
+  private String gunzip(ByteArrayOutputStream output) throws Exception {
+    try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+      return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
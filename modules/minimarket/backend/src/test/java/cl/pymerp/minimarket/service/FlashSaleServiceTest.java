@@ -0,0 +1,79 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.WebOrderItemRequest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.server.ResponseStatusException;
+
+class FlashSaleServiceTest {
+  @Test
+  void ventaFlashRechazaPedidosSobreCupoYLiberaAlFallar() {
+    InventoryService inventoryService = Mockito.mock(InventoryService.class);
+    FlashSaleService service = new FlashSaleService(inventoryService);
+
+    UUID productId = UUID.randomUUID();
+    when(inventoryService.getAvailable(Set.of(productId))).thenReturn(new HashMap<>(Map.of(productId, 3L)));
+    service.enable(productId);
+
+    FlashSaleService.Ticket first = service.acquire(List.of(item(productId, 2)));
+    assertThrows(ResponseStatusException.class, () -> service.acquire(List.of(item(productId, 2))));
+    assertEquals(1, service.list().get(0).getTokens());
+    assertEquals(2, service.list().get(0).getInFlight());
+
+    first.release();
+    assertEquals(3, service.list().get(0).getTokens());
+    assertEquals(0, service.list().get(0).getInFlight());
+  }
+
+  @Test
+  void conciliacionDescuentaPedidosEnCurso() {
+    InventoryService inventoryService = Mockito.mock(InventoryService.class);
+    FlashSaleService service = new FlashSaleService(inventoryService);
+
+    UUID productId = UUID.randomUUID();
+    when(inventoryService.getAvailable(Set.of(productId))).thenReturn(new HashMap<>(Map.of(productId, 10L)));
+    service.enable(productId);
+    service.acquire(List.of(item(productId, 4)));
+
+    when(inventoryService.getAvailable(Set.of(productId))).thenReturn(new HashMap<>(Map.of(productId, 7L)));
+    service.reconcile();
+
+    assertEquals(3, service.list().get(0).getTokens());
+  }
+
+  @Test
+  void conciliacionNoPisaTomasOcurridasDuranteLaConsulta() {
+    InventoryService inventoryService = Mockito.mock(InventoryService.class);
+    FlashSaleService service = new FlashSaleService(inventoryService);
+
+    UUID productId = UUID.randomUUID();
+    when(inventoryService.getAvailable(Set.of(productId))).thenReturn(new HashMap<>(Map.of(productId, 10L)));
+    service.enable(productId);
+
+    when(inventoryService.getAvailable(Set.of(productId))).thenAnswer(invocation -> {
+      service.acquire(List.of(item(productId, 6)));
+      return new HashMap<>(Map.of(productId, 10L));
+    });
+    service.reconcile();
+
+    assertEquals(4, service.list().get(0).getTokens());
+    assertEquals(6, service.list().get(0).getInFlight());
+    assertThrows(ResponseStatusException.class, () -> service.acquire(List.of(item(productId, 5))));
+  }
+
+  private WebOrderItemRequest item(UUID productId, int quantity) {
+    WebOrderItemRequest item = new WebOrderItemRequest();
+    item.setProductId(productId);
+    item.setQuantity(quantity);
+    return item;
+  }
+}
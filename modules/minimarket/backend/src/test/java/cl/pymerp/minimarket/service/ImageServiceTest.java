@@ -0,0 +1,110 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.ProductImageResponse;
+import cl.pymerp.minimarket.repository.ProductCatalogRepository;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class ImageServiceTest {
+  private final ImageStorage storage = Mockito.mock(ImageStorage.class);
+  private final ProductCatalogRepository catalogRepository = Mockito.mock(ProductCatalogRepository.class);
+  private final ApplicationEventPublisher publisher = Mockito.mock(ApplicationEventPublisher.class);
+  private final ImageService service = new ImageService(
+      storage, catalogRepository, publisher, Runnable::run, List.of(160, 320), 1024 * 1024, 4_000_000, 1000);
+
+  @Test
+  void subidaGuardaOriginalPorHashYPublicaCambio() throws IOException {
+    UUID productId = UUID.randomUUID();
+    when(storage.find(anyString())).thenReturn(Optional.empty());
+    when(catalogRepository.lockForImage(productId)).thenReturn(true);
+    when(catalogRepository.updateImageHash(eq(productId), anyString())).thenReturn(true);
+
+    ProductImageResponse response = service.upload(productId, new ByteArrayInputStream(png(1200, 600)));
+
+    assertEquals(64, response.getImageHash().length());
+    assertEquals(1200, response.getWidth());
+    assertEquals(600, response.getHeight());
+    assertEquals("/api/images/" + response.getImageHash() + "/160.jpg", response.getUrls().get(160));
+    verify(storage).write(startsWith("originals/" + response.getImageHash().substring(0, 2) + "/"), any());
+    verify(publisher).publishEvent(any(ProductChangedEvent.class));
+  }
+
+  @Test
+  void rechazaArchivoQueNoEsImagen() throws IOException {
+    assertThrows(IllegalArgumentException.class,
+        () -> service.upload(UUID.randomUUID(), new ByteArrayInputStream("hola".getBytes())));
+    verify(storage, never()).write(anyString(), any());
+    verify(catalogRepository, never()).updateImageHash(any(), anyString());
+  }
+
+  @Test
+  void productoInexistenteNoDejaOriginalHuerfano() {
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> service.upload(UUID.randomUUID(), new ByteArrayInputStream(png(100, 100))));
+
+    assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    verify(storage, never()).write(anyString(), any());
+  }
+
+  @Test
+  void miniaturaQueVencioSeReintentaTrasFallar() {
+    List<Runnable> tasks = new ArrayList<>();
+    ImageService slow = new ImageService(
+        storage, catalogRepository, publisher, tasks::add, List.of(160), 1024 * 1024, 4_000_000, 1);
+    when(storage.find(anyString())).thenReturn(Optional.empty());
+    String hash = "a".repeat(64);
+
+    ResponseStatusException pending = assertThrows(ResponseStatusException.class, () -> slow.thumbnail(hash, 160));
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, pending.getStatusCode());
+    tasks.get(0).run();
+    assertThrows(ResponseStatusException.class, () -> slow.thumbnail(hash, 160));
+
+    assertEquals(2, tasks.size());
+  }
+
+  @Test
+  void tamanoOHashInvalidoResponde404SinTocarAlmacenamiento() {
+    String hash = "a".repeat(64);
+    ResponseStatusException size = assertThrows(ResponseStatusException.class, () -> service.thumbnail(hash, 999));
+    assertEquals(HttpStatus.NOT_FOUND, size.getStatusCode());
+    assertThrows(ResponseStatusException.class, () -> service.thumbnail("../../etc/passwd", 160));
+    verify(storage, never()).find(anyString());
+  }
+
+  @Test
+  void miniaturaRespetaLadoMayorYProporcion() throws IOException {
+    BufferedImage resized = ImageIO.read(new ByteArrayInputStream(
+        ImageService.resize(new BufferedImage(1200, 600, BufferedImage.TYPE_INT_ARGB), 320)));
+
+    assertEquals(320, resized.getWidth());
+    assertEquals(160, resized.getHeight());
+  }
+
+  private byte[] png(int width, int height) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", output);
+    return output.toByteArray();
+  }
+}
@@ -29,7 +29,9 @@ class InventoryServiceTest {
         movementRepository,
         productRepository,
         userRepository,
-        reservationRepository);
+        reservationRepository,
+        Mockito.mock(OutboxService.class),
+        Mockito.mock(CostLayerService.class));
 
     UUID productId = UUID.randomUUID();
     UUID userId = UUID.randomUUID();
@@ -62,7 +64,9 @@ class InventoryServiceTest {
         movementRepository,
         productRepository,
         userRepository,
-        reservationRepository);
+        reservationRepository,
+        Mockito.mock(OutboxService.class),
+        Mockito.mock(CostLayerService.class));
 
     AdjustmentRequest request = new AdjustmentRequest();
     request.setReason(MovementReason.compra);
@@ -81,7 +85,9 @@ class InventoryServiceTest {
         movementRepository,
         productRepository,
         userRepository,
-        reservationRepository);
+        reservationRepository,
+        Mockito.mock(OutboxService.class),
+        Mockito.mock(CostLayerService.class));
 
     AdjustmentRequest request = new AdjustmentRequest();
     request.setQuantity(0);
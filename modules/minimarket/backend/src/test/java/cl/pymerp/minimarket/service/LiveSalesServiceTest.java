@@ -0,0 +1,87 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.LiveTopProductResponse;
+import cl.pymerp.minimarket.domain.InventoryMovement;
+import cl.pymerp.minimarket.domain.Product;
+import cl.pymerp.minimarket.repository.ProductRepository;
+import cl.pymerp.minimarket.repository.SalesAnalyticsRepository;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class LiveSalesServiceTest {
+  @Test
+  void topDeLaUltimaHoraOrdenaPorUnidades() {
+    ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+    LiveSalesService service = new LiveSalesService(
+        Mockito.mock(SalesAnalyticsRepository.class), productRepository, "America/Santiago", 200, 14);
+    Product pan = product("Pan");
+    Product leche = product("Leche");
+    when(productRepository.findAllById(Mockito.any())).thenReturn(List.of(pan, leche));
+
+    OffsetDateTime now = OffsetDateTime.now();
+    service.onProductsSold(new ProductsSoldEvent(now, List.of(movement(pan, 3), movement(leche, 1))));
+    service.onProductsSold(new ProductsSoldEvent(now, List.of(movement(pan, 2))));
+    service.onProductsSold(new ProductsSoldEvent(now.minusHours(3), List.of(movement(leche, 50))));
+
+    List<LiveTopProductResponse> hour = service.topProducts("hour", 20);
+    assertEquals("Pan", hour.get(0).getName());
+    assertEquals(5, hour.get(0).getUnits());
+    assertEquals(1, hour.get(1).getUnits());
+
+    List<LiveTopProductResponse> day = service.topProducts("day", 20);
+    assertEquals("Leche", day.get(0).getName());
+    assertEquals(51, day.get(0).getUnits());
+  }
+
+  @Test
+  void espacioAcotadoConservaLosMasVendidos() {
+    SpaceSavingSketch<Integer> sketch = new SpaceSavingSketch<>(10);
+    for (int round = 0; round < 100; round++) {
+      sketch.add(1, 5);
+      sketch.add(2, 3);
+      sketch.add(1000 + round, 1);
+    }
+    Map<Integer, long[]> totals = new HashMap<>();
+    sketch.mergeInto(totals);
+    assertEquals(10, totals.size());
+    assertTrue(totals.get(1)[0] >= 500);
+    assertTrue(totals.get(2)[0] >= 300);
+  }
+
+  @Test
+  void hyperLogLogEstimaClientesDistintos() {
+    HyperLogLog hll = new HyperLogLog(14);
+    List<String> phones = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      phones.add("+569" + (10000000 + i));
+    }
+    phones.forEach(hll::add);
+    phones.forEach(hll::add);
+    long estimate = hll.estimate();
+    assertTrue(Math.abs(estimate - 20000) < 20000 * 0.03, "estimacion: " + estimate);
+  }
+
+  private Product product(String name) {
+    Product product = new Product();
+    product.setId(UUID.randomUUID());
+    product.setName(name);
+    return product;
+  }
+
+  private InventoryMovement movement(Product product, int quantity) {
+    InventoryMovement movement = new InventoryMovement();
+    movement.setProduct(product);
+    movement.setQuantity(quantity);
+    return movement;
+  }
+}
@@ -19,6 +19,7 @@ import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 class LocalSaleServiceTest {
   @Test
@@ -36,7 +37,12 @@ class LocalSaleServiceTest {
         userRepository,
         movementRepository,
         paymentRepository,
-        inventoryService);
+        inventoryService,
+        Mockito.mock(OutboxService.class),
+        Mockito.mock(SalesRollupService.class),
+        Mockito.mock(CostLayerService.class),
+        Mockito.mock(ShiftService.class),
+        Mockito.mock(ApplicationEventPublisher.class));
 
     UUID productId = UUID.randomUUID();
     UUID userId = UUID.randomUUID();
@@ -79,7 +85,12 @@ class LocalSaleServiceTest {
         userRepository,
         movementRepository,
         paymentRepository,
-        inventoryService);
+        inventoryService,
+        Mockito.mock(OutboxService.class),
+        Mockito.mock(SalesRollupService.class),
+        Mockito.mock(CostLayerService.class),
+        Mockito.mock(ShiftService.class),
+        Mockito.mock(ApplicationEventPublisher.class));
 
     UUID productId = UUID.randomUUID();
     UUID userId = UUID.randomUUID();
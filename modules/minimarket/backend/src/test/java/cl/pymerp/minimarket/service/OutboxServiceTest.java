@@ -0,0 +1,70 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.domain.OutboxEvent;
+import cl.pymerp.minimarket.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class OutboxServiceTest {
+  private final OutboxEventRepository repository = Mockito.mock(OutboxEventRepository.class);
+  private final OutboxSink sink = Mockito.mock(OutboxSink.class);
+  private final OutboxService service = new OutboxService(
+      repository,
+      new ObjectMapper(),
+      Mockito.mock(ApplicationEventPublisher.class),
+      Mockito.mock(PlatformTransactionManager.class),
+      60000);
+
+  @Test
+  void loteReclamadoSePublicaYSeMarca() throws IOException {
+    when(repository.findUnpublished(10)).thenReturn(List.of(event(1L), event(2L)));
+
+    assertEquals(2, service.publishBatch(sink, 10));
+
+    verify(repository).claim(List.of(1L, 2L), 60000);
+    verify(sink).publish(any());
+    verify(repository).markPublished(eq(List.of(1L, 2L)), any());
+  }
+
+  @Test
+  void falloDelSinkLiberaElReclamoSinMarcarPublicado() throws IOException {
+    when(repository.findUnpublished(10)).thenReturn(List.of(event(1L)));
+    Mockito.doThrow(new IOException("timeout")).when(sink).publish(any());
+
+    assertThrows(UncheckedIOException.class, () -> service.publishBatch(sink, 10));
+
+    verify(repository).release(List.of(1L));
+    verify(repository, never()).markPublished(any(), any());
+  }
+
+  @Test
+  void otroRelayConReclamoVigenteNoDuplicaEnvio() throws IOException {
+    when(repository.hasActiveClaim()).thenReturn(true);
+
+    assertEquals(0, service.publishBatch(sink, 10));
+
+    verify(repository, never()).findUnpublished(anyInt());
+    verify(sink, never()).publish(any());
+  }
+
+  private OutboxEvent event(long id) {
+    OutboxEvent event = new OutboxEvent();
+    event.setId(id);
+    return event;
+  }
+}
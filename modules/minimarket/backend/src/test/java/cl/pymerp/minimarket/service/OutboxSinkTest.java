@@ -0,0 +1,83 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import cl.pymerp.minimarket.domain.OutboxEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OutboxSinkTest {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void archivoNdjsonAgregaUnaLineaPorEvento(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("outbox/events.ndjson");
+    FileOutboxSink sink = new FileOutboxSink(file, objectMapper);
+
+    sink.publish(List.of(event(1L, "LOCAL_SALE_CREATED")));
+    sink.publish(List.of(event(2L, "MOVEMENTS_RECORDED"), event(3L, "WEB_ORDER_CREATED")));
+
+    List<String> lines = Files.readAllLines(file);
+    assertEquals(3, lines.size());
+    JsonNode last = objectMapper.readTree(lines.get(2));
+    assertEquals(3L, last.get("id").asLong());
+    assertEquals("WEB_ORDER_CREATED", last.get("type").asText());
+    assertEquals(1200, last.get("payload").get("totalAmount").asInt());
+  }
+
+  @Test
+  void webhookEnviaLoteEnOrdenYFallaSiNoResponde2xx() throws IOException {
+    AtomicReference<String> body = new AtomicReference<>();
+    AtomicReference<String> lastId = new AtomicReference<>();
+    AtomicReference<Integer> status = new AtomicReference<>(204);
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/events", exchange -> {
+      body.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+      lastId.set(exchange.getRequestHeaders().getFirst("X-Outbox-Last-Id"));
+      exchange.sendResponseHeaders(status.get(), -1);
+      exchange.close();
+    });
+    server.start();
+    try {
+      URI endpoint = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/events");
+      WebhookOutboxSink sink = new WebhookOutboxSink(endpoint, Duration.ofSeconds(5), objectMapper);
+
+      sink.publish(List.of(event(7L, "WEB_ORDER_CREATED"), event(8L, "WEB_ORDER_STATUS_CHANGED")));
+
+      String[] lines = body.get().split("\n");
+      assertEquals(2, lines.length);
+      assertEquals(7L, objectMapper.readTree(lines[0]).get("id").asLong());
+      assertEquals(8L, objectMapper.readTree(lines[1]).get("id").asLong());
+      assertEquals("8", lastId.get());
+
+      status.set(500);
+      assertThrows(IOException.class, () -> sink.publish(List.of(event(9L, "WEB_ORDER_CREATED"))));
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  private OutboxEvent event(long id, String type) {
+    OutboxEvent event = new OutboxEvent();
+    event.setId(id);
+    event.setAggregateType("WEB_ORDER");
+    event.setAggregateId(UUID.randomUUID());
+    event.setEventType(type);
+    event.setPayload("{\"totalAmount\":1200}");
+    return event;
+  }
+}
@@ -0,0 +1,130 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.PriceChangeRequest;
+import cl.pymerp.minimarket.api.PriceChangeResponse;
+import cl.pymerp.minimarket.domain.PriceChangeMode;
+import cl.pymerp.minimarket.domain.PriceRounding;
+import cl.pymerp.minimarket.repository.PriceChangeCriteria;
+import cl.pymerp.minimarket.repository.PriceChangeRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class PriceChangeServiceTest {
+  private final PriceChangeRepository repository = Mockito.mock(PriceChangeRepository.class);
+  private final ApplicationEventPublisher publisher = Mockito.mock(ApplicationEventPublisher.class);
+  private final PriceChangeService service = new PriceChangeService(
+      repository, Mockito.mock(PlatformTransactionManager.class), publisher, 2, 3);
+
+  @Test
+  void cambioSinFechaSeAplicaDeInmediatoConUnSoloUpdate() {
+    UUID productId = UUID.randomUUID();
+    when(repository.apply(any())).thenReturn(List.of(productId));
+    when(repository.findById(any())).thenReturn(Optional.of(PriceChangeResponse.builder().build()));
+    PriceChangeRequest request = request();
+
+    service.create(request, UUID.randomUUID());
+
+    ArgumentCaptor<PriceChangeCriteria> criteria = ArgumentCaptor.forClass(PriceChangeCriteria.class);
+    verify(repository).insertItems(any(), criteria.capture());
+    assertEquals(PriceRounding.END_990, criteria.getValue().getRounding());
+    verify(repository, times(1)).apply(any());
+    ArgumentCaptor<ProductsChangedEvent> event = ArgumentCaptor.forClass(ProductsChangedEvent.class);
+    verify(publisher).publishEvent(event.capture());
+    assertEquals(List.of(productId), event.getValue().getProductIds());
+  }
+
+  @Test
+  void cambioProgramadoQuedaPendiente() {
+    when(repository.findById(any())).thenReturn(Optional.of(PriceChangeResponse.builder().build()));
+    PriceChangeRequest request = request();
+    request.setEffectiveAt(OffsetDateTime.now().plusDays(1));
+
+    service.create(request, UUID.randomUUID());
+
+    verify(repository).insert(any(), any(), eq(request.getEffectiveAt()), any());
+    verify(repository, never()).apply(any());
+    verify(publisher, never()).publishEvent(any());
+  }
+
+  @Test
+  void exigeFiltroYPorcentajeRazonable() {
+    PriceChangeRequest sinFiltro = request();
+    sinFiltro.setCategoryId(null);
+    assertThrows(IllegalArgumentException.class, () -> service.preview(sinFiltro, 10));
+
+    PriceChangeRequest excesivo = request();
+    excesivo.setValue(new BigDecimal("-95"));
+    assertThrows(IllegalArgumentException.class, () -> service.preview(excesivo, 10));
+  }
+
+  @Test
+  void tareaProgramadaAplicaLotesHastaVaciarPendientes() {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    UUID third = UUID.randomUUID();
+    when(repository.findDue(2)).thenReturn(List.of(first, second), List.of(third));
+    when(repository.lockDue(any(UUID.class))).thenReturn(true);
+    when(repository.apply(any())).thenReturn(List.of());
+
+    service.applyDue();
+
+    verify(repository, times(2)).findDue(2);
+    verify(repository).apply(first);
+    verify(repository).apply(second);
+    verify(repository).apply(third);
+  }
+
+  @Test
+  void cambioQueFallaSeRegistraSinBloquearAlResto() {
+    UUID failing = UUID.randomUUID();
+    UUID next = UUID.randomUUID();
+    when(repository.findDue(2)).thenReturn(List.of(failing, next));
+    when(repository.lockDue(any(UUID.class))).thenReturn(true);
+    when(repository.apply(failing)).thenThrow(new IllegalStateException("boom"));
+    when(repository.apply(next)).thenReturn(List.of());
+
+    service.applyDue();
+
+    verify(repository, times(1)).findDue(2);
+    verify(repository).recordFailure(failing, "boom", 3);
+    verify(repository).apply(next);
+  }
+
+  @Test
+  void montoQueDejaPreciosNegativosSeRechaza() {
+    when(repository.countNegative(any())).thenReturn(4L);
+    PriceChangeRequest request = request();
+    request.setMode(PriceChangeMode.AMOUNT);
+    request.setValue(new BigDecimal("-2000"));
+
+    assertThrows(IllegalArgumentException.class, () -> service.preview(request, 10));
+    assertThrows(IllegalArgumentException.class, () -> service.create(request, UUID.randomUUID()));
+    verify(repository, never()).insert(any(), any(), any(), any());
+  }
+
+  private PriceChangeRequest request() {
+    PriceChangeRequest request = new PriceChangeRequest();
+    request.setCategoryId(UUID.randomUUID());
+    request.setMode(PriceChangeMode.PERCENT);
+    request.setValue(new BigDecimal("8.5"));
+    request.setRounding(PriceRounding.END_990);
+    return request;
+  }
+}
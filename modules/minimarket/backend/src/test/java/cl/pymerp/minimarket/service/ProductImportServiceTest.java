@@ -0,0 +1,121 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.ProductImportResponse;
+import cl.pymerp.minimarket.repository.ProductImportRepository;
+import cl.pymerp.minimarket.repository.ProductImportRow;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ProductImportServiceTest {
+  private final ProductImportRepository repository = Mockito.mock(ProductImportRepository.class);
+  private final ApplicationEventPublisher publisher = Mockito.mock(ApplicationEventPublisher.class);
+
+  @Test
+  void actualizaPorSkuCreaNuevosYReportaErroresPorFila() throws Exception {
+    UUID existing = UUID.randomUUID();
+    when(repository.findCategoryIds()).thenReturn(Set.of());
+    when(repository.findByCodes(anyCollection(), anyCollection()))
+        .thenReturn(List.of(new ProductImportRepository.ProductKey(existing, "LEC-1", null)));
+    List<ProductImportRow> inserted = new ArrayList<>();
+    List<ProductImportRow> updated = new ArrayList<>();
+    doAnswer(invocation -> inserted.addAll(invocation.getArgument(0))).when(repository).insert(any());
+    doAnswer(invocation -> updated.addAll(invocation.getArgument(0))).when(repository).update(any());
+
+    ProductImportResponse response = service(2).importCsv(csv(
+        "sku;nombre;precio;activo\n"
+            + "LEC-1;;1290,50;\n"
+            + "PAN-1;\"Pan \"\"amasado\"\"; kg\";1990;si\n"
+            + "PAN-2;Pan integral;-5;\n"
+            + "\n"
+            + "PAN-3;;100;\n"));
+
+    assertEquals(4, response.getRows());
+    assertEquals(1, response.getUpdated());
+    assertEquals(1, response.getCreated());
+    assertEquals(2, response.getFailed());
+    assertEquals(4, response.getErrors().get(0).getLine());
+    assertEquals(6, response.getErrors().get(1).getLine());
+    assertEquals(existing, updated.get(0).getId());
+    assertEquals(new BigDecimal("1290.50"), updated.get(0).getPrice());
+    assertNull(updated.get(0).getName());
+    assertEquals("Pan \"amasado\"; kg", inserted.get(0).getName());
+    assertTrue(inserted.get(0).getActive());
+    verify(publisher, times(1)).publishEvent(any(ProductsChangedEvent.class));
+  }
+
+  @Test
+  void siFallaElLoteReintentaFilaPorFila() throws Exception {
+    when(repository.findCategoryIds()).thenReturn(Set.of());
+    when(repository.findByCodes(anyCollection(), anyCollection())).thenReturn(List.of());
+    doAnswer(invocation -> {
+      List<ProductImportRow> rows = invocation.getArgument(0);
+      if (rows.stream().anyMatch(row -> row.getSku().equals("MALO"))) {
+        throw new DataIntegrityViolationException("duplicate key");
+      }
+      return null;
+    }).when(repository).insert(any());
+
+    ProductImportResponse response = service(10).importCsv(csv(
+        "sku,name,price\nA-1,Uno,10\nMALO,Dos,20\nA-3,Tres,30\n"));
+
+    assertEquals(2, response.getCreated());
+    assertEquals(1, response.getFailed());
+    assertEquals(3, response.getErrors().get(0).getLine());
+    verify(publisher, times(2)).publishEvent(any(ProductsChangedEvent.class));
+  }
+
+  @Test
+  void rechazaArchivoSinColumnaDeCodigo() {
+    when(repository.findCategoryIds()).thenReturn(Set.of());
+    IllegalArgumentException ex = assertThrows(
+        IllegalArgumentException.class, () -> service(10).importCsv(csv("name,price\nUno,10\n")));
+    assertEquals("el archivo debe tener columna sku o barcode", ex.getMessage());
+  }
+
+  @Test
+  void montosUsanFormatoChileno() throws Exception {
+    when(repository.findCategoryIds()).thenReturn(Set.of());
+    when(repository.findByCodes(anyCollection(), anyCollection())).thenReturn(List.of());
+    List<ProductImportRow> inserted = new ArrayList<>();
+    doAnswer(invocation -> inserted.addAll(invocation.getArgument(0))).when(repository).insert(any());
+
+    ProductImportResponse response = service(10).importCsv(csv(
+        "sku;nombre;precio\nA-1;Uno;1.290\nA-2;Dos;1.290,50\nA-3;Tres;1290\nA-4;Cuatro;12.5\n"));
+
+    assertEquals(new BigDecimal("1290"), inserted.get(0).getPrice());
+    assertEquals(new BigDecimal("1290.50"), inserted.get(1).getPrice());
+    assertEquals(new BigDecimal("1290"), inserted.get(2).getPrice());
+    assertEquals(1, response.getFailed());
+    assertEquals(5, response.getErrors().get(0).getLine());
+  }
+
+  private ProductImportService service(int chunkSize) {
+    return new ProductImportService(
+        repository, Mockito.mock(PlatformTransactionManager.class), publisher, chunkSize, 100);
+  }
+
+  private ByteArrayInputStream csv(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,47 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.ProductSearchResponse;
+import cl.pymerp.minimarket.repository.ProductSearchRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ProductSearchServiceTest {
+  @Test
+  void consultaSeTransformaEnPrefijosSinOperadores() {
+    List<String> tokens = ProductSearchService.tokens("Lech & entra:* (1L)");
+
+    assertEquals(List.of("lech", "entra", "1l"), tokens);
+    assertEquals("lech:* | entra:* | 1l:*", ProductSearchService.prefixQuery(tokens));
+  }
+
+  @Test
+  void pideUnResultadoExtraParaSaberSiHayMasPaginas() {
+    ProductSearchRepository repository = Mockito.mock(ProductSearchRepository.class);
+    ProductSearchService service = new ProductSearchService(repository, 1000);
+    ProductSearchResponse.Hit hit = ProductSearchResponse.Hit.builder().name("Leche entera").build();
+    when(repository.search(anyString(), anyString(), anyString(), anyBoolean(), eq(3), eq(2)))
+        .thenReturn(List.of(hit, hit, hit));
+
+    ProductSearchResponse response = service.search("lech entra", false, 1, 2);
+
+    assertTrue(response.isHasMore());
+    assertEquals(2, response.getItems().size());
+  }
+
+  @Test
+  void rechazaPaginasFueraDelLimite() {
+    ProductSearchService service = new ProductSearchService(Mockito.mock(ProductSearchRepository.class), 100);
+    assertThrows(IllegalArgumentException.class, () -> service.search("leche", false, 5, 20));
+    assertThrows(IllegalArgumentException.class, () -> service.search("l", false, 0, 20));
+  }
+}
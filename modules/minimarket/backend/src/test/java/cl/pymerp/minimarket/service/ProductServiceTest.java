@@ -0,0 +1,88 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.ProductResponse;
+import cl.pymerp.minimarket.repository.ProductCatalogQuery;
+import cl.pymerp.minimarket.repository.ProductCatalogRepository;
+import cl.pymerp.minimarket.repository.ProductRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+class ProductServiceTest {
+  @Test
+  void paginaLlenaDevuelveCursorDelUltimoProducto() {
+    ProductCatalogRepository catalogRepository = Mockito.mock(ProductCatalogRepository.class);
+    ProductService service = service(catalogRepository);
+    ProductResponse pan = product("Pan");
+    ProductResponse queso = product("Queso");
+    when(catalogRepository.findPage(any(), eq(3))).thenReturn(List.of(product("Arroz"), pan, queso));
+
+    ProductPage page = service.page(null, false, true, null, null, null, null, 2);
+
+    assertEquals(2, page.getItems().size());
+    String[] cursor = ProductService.decodeCursor(page.getNextCursor());
+    assertEquals("Pan", cursor[0]);
+    assertEquals(pan.getId().toString(), cursor[1]);
+  }
+
+  @Test
+  void cursorSeTraduceAKeyset() {
+    ProductCatalogRepository catalogRepository = Mockito.mock(ProductCatalogRepository.class);
+    ProductService service = service(catalogRepository);
+    UUID id = UUID.randomUUID();
+    when(catalogRepository.findPage(any(), eq(11))).thenReturn(List.of());
+
+    ProductPage page = service.page(null, false, null, null, null, null, ProductService.encodeCursor("T\u00e9, verde\n", id), 10);
+
+    ArgumentCaptor<ProductCatalogQuery> query = ArgumentCaptor.forClass(ProductCatalogQuery.class);
+    Mockito.verify(catalogRepository).findPage(query.capture(), eq(11));
+    assertEquals("T\u00e9, verde\n", query.getValue().getAfterName());
+    assertEquals(id, query.getValue().getAfterId());
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  void sinLimitNiCursorDevuelveListadoCompleto() {
+    ProductCatalogRepository catalogRepository = Mockito.mock(ProductCatalogRepository.class);
+    ProductService service = service(catalogRepository);
+    when(catalogRepository.findPage(any(), isNull())).thenReturn(List.of(product("Arroz"), product("Pan")));
+
+    ProductPage page = service.page(null, false, null, null, null, null, null, null);
+
+    assertEquals(2, page.getItems().size());
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  void limitFueraDeRangoEsRechazado() {
+    ProductService service = service(Mockito.mock(ProductCatalogRepository.class));
+    assertThrows(IllegalArgumentException.class, () -> service.page(null, false, null, null, null, null, null, 501));
+    assertThrows(IllegalArgumentException.class, () -> service.page(null, false, null, null, null, null, null, 0));
+  }
+
+  @Test
+  void cursorInvalidoEsRechazado() {
+    ProductService service = service(Mockito.mock(ProductCatalogRepository.class));
+    assertThrows(IllegalArgumentException.class, () -> service.page(null, false, null, null, null, null, "xx", 10));
+  }
+
+  private ProductService service(ProductCatalogRepository catalogRepository) {
+    return new ProductService(
+        Mockito.mock(ProductRepository.class), catalogRepository, Mockito.mock(ApplicationEventPublisher.class), 100, 500);
+  }
+
+  private ProductResponse product(String name) {
+    return ProductResponse.builder().id(UUID.randomUUID()).name(name).build();
+  }
+}
@@ -0,0 +1,82 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import cl.pymerp.minimarket.api.ProductResponse;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("benchmark")
+class ProductSuggestIndexBenchmarkTest {
+  private static final int PRODUCTS = 100_000;
+  private static final String[] BRANDS = {"Soprole", "Colun", "Nestle", "Carozzi", "Lucchetti", "Ideal", "Costa", "Watts"};
+  private static final String[] ITEMS = {"Leche", "Yogurt", "Queso", "Mantequilla", "Fideos", "Arroz", "Galletas",
+      "Pan", "Jugo", "Bebida", "Cafe", "Te", "Azucar", "Harina", "Aceite", "Atun", "Detergente", "Shampoo"};
+  private static final String[] VARIANTS = {"entera", "descremada", "sin lactosa", "natural", "frutilla", "chocolate",
+      "integral", "light", "familiar", "premium", "tradicional", "original"};
+  private static final String[] QUERIES = {"l", "le", "lech", "leche ent", "yog fru", "fid carozzi", "arroz", "780",
+      "sku-4", "cafe nes", "ga cho", "deter"};
+
+  @Test
+  void sugerenciasSobreCienMilProductos() {
+    Random random = new Random(42);
+    List<ProductResponse> products = new ArrayList<>(PRODUCTS);
+    for (int i = 0; i < PRODUCTS; i++) {
+      String name = ITEMS[random.nextInt(ITEMS.length)] + " " + BRANDS[random.nextInt(BRANDS.length)] + " "
+          + VARIANTS[random.nextInt(VARIANTS.length)] + " " + (100 + random.nextInt(900)) + "g";
+      products.add(ProductResponse.builder()
+          .id(UUID.randomUUID())
+          .name(name)
+          .sku("SKU-" + i)
+          .barcode(String.valueOf(7800000000000L + i))
+          .price(BigDecimal.valueOf(500 + random.nextInt(5000)))
+          .build());
+    }
+
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+    long loadStarted = System.nanoTime();
+    ProductSuggestIndex index = new ProductSuggestIndex();
+    index.replaceAll(products);
+    long loadMillis = (System.nanoTime() - loadStarted) / 1_000_000;
+    System.gc();
+    long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+    for (int i = 0; i < 20_000; i++) {
+      index.suggest(QUERIES[i % QUERIES.length], 10);
+    }
+    System.out.printf("Carga: %d productos, %d terminos, %d ms, ~%d MB de heap%n",
+        index.size(), index.vocabularySize(), loadMillis, (heapAfter - heapBefore) / (1024 * 1024));
+    for (String query : QUERIES) {
+      int iterations = 5_000;
+      long started = System.nanoTime();
+      int results = 0;
+      for (int i = 0; i < iterations; i++) {
+        results += index.suggest(query, 10).size();
+      }
+      double micros = (System.nanoTime() - started) / 1_000.0 / iterations;
+      System.out.printf("%-12s %8.1f us/consulta (%d resultados)%n", query, micros, results / iterations);
+    }
+
+    long updateStarted = System.nanoTime();
+    for (int i = 0; i < 1_000; i++) {
+      ProductResponse product = products.get(random.nextInt(PRODUCTS));
+      index.upsert(ProductResponse.builder()
+          .id(product.getId())
+          .name(product.getName() + " nuevo" + i)
+          .sku(product.getSku())
+          .barcode(product.getBarcode())
+          .price(product.getPrice())
+          .build());
+    }
+    System.out.printf("Actualizacion incremental: %.1f us/producto%n", (System.nanoTime() - updateStarted) / 1_000.0 / 1_000);
+
+    assertFalse(index.suggest("leche ent", 10).isEmpty());
+  }
+}
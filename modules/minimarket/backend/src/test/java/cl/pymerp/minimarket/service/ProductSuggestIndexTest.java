@@ -0,0 +1,71 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cl.pymerp.minimarket.api.ProductResponse;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class ProductSuggestIndexTest {
+  @Test
+  void sugierePorPrefijoDeVariasPalabrasSinTildes() {
+    ProductSuggestIndex index = new ProductSuggestIndex();
+    index.replaceAll(List.of(
+        product("Leche entera 1L", "LEC-001", "7801234000011"),
+        product("Leche descremada 1L", "LEC-002", "7801234000028"),
+        product("Caf\u00e9 molido", "CAF-010", null),
+        product("Manjar de leche", "MAN-001", null)));
+
+    assertEquals(List.of("Leche entera 1L"), names(index.suggest("lech ent", 10)));
+    assertEquals(List.of("Caf\u00e9 molido"), names(index.suggest("cafe", 10)));
+    assertEquals("Leche entera 1L", names(index.suggest("leche", 10)).get(0));
+    assertEquals(3, index.suggest("leche", 10).size());
+  }
+
+  @Test
+  void codigoExactoQuedaPrimero() {
+    ProductSuggestIndex index = new ProductSuggestIndex();
+    index.replaceAll(List.of(
+        product("Arroz 1kg", "ARR-1", "780100"),
+        product("Arroz grado 2", "ARR-10", "7801001")));
+
+    assertEquals("Arroz 1kg", names(index.suggest("780100", 10)).get(0));
+    assertEquals("Arroz grado 2", names(index.suggest("arr-10", 10)).get(0));
+  }
+
+  @Test
+  void actualizacionYBajaSeReflejanSinRecargar() {
+    ProductSuggestIndex index = new ProductSuggestIndex();
+    ProductResponse pan = product("Pan amasado", "PAN-1", null);
+    index.replaceAll(List.of(pan));
+
+    index.upsert(ProductResponse.builder().id(pan.getId()).name("Hallulla").sku("PAN-1").build());
+    assertTrue(index.suggest("pan amas", 10).isEmpty());
+    assertEquals(List.of("Hallulla"), names(index.suggest("hall", 10)));
+
+    index.remove(pan.getId());
+    assertTrue(index.suggest("hall", 10).isEmpty());
+
+    index.upsert(product("Pan integral", "PAN-2", null));
+    assertEquals(List.of("Pan integral"), names(index.suggest("pan", 10)));
+  }
+
+  private List<String> names(List<ProductSuggestIndex.Suggestion> suggestions) {
+    return suggestions.stream().map(ProductSuggestIndex.Suggestion::getName).collect(Collectors.toList());
+  }
+
+  private ProductResponse product(String name, String sku, String barcode) {
+    return ProductResponse.builder()
+        .id(UUID.randomUUID())
+        .name(name)
+        .sku(sku)
+        .barcode(barcode)
+        .price(new BigDecimal("1000"))
+        .active(true)
+        .build();
+  }
+}
@@ -0,0 +1,54 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cl.pymerp.minimarket.api.RelatedProductResponse;
+import cl.pymerp.minimarket.domain.InventoryMovement;
+import cl.pymerp.minimarket.domain.Product;
+import cl.pymerp.minimarket.repository.SalesAnalyticsRepository;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class RelatedProductsServiceTest {
+  private final List<Runnable> tasks = new ArrayList<>();
+  private final RelatedProductsService service = new RelatedProductsService(
+      Mockito.mock(SalesAnalyticsRepository.class), tasks::add, Mockito.mock(PlatformTransactionManager.class),
+      365, 90, 2, 40, 100);
+
+  @Test
+  void reconstruccionNoBloqueaYNoCuentaDosVecesLasVentasNuevas() {
+    Product pan = product();
+    Product leche = product();
+
+    CompletableFuture<Void> rebuild = service.rebuild();
+    service.onProductsSold(new ProductsSoldEvent(OffsetDateTime.now(), List.of(movement(pan), movement(leche))));
+    assertEquals(2, tasks.size());
+    tasks.forEach(Runnable::run);
+    service.onProductsSold(new ProductsSoldEvent(OffsetDateTime.now(), List.of(movement(pan), movement(leche))));
+
+    assertTrue(rebuild.isDone());
+    List<RelatedProductResponse> related = service.related(pan.getId(), 5);
+    assertEquals(leche.getId(), related.get(0).getProductId());
+    assertEquals(2f, related.get(0).getScore(), 0.0001f);
+  }
+
+  private Product product() {
+    Product product = new Product();
+    product.setId(UUID.randomUUID());
+    return product;
+  }
+
+  private InventoryMovement movement(Product product) {
+    InventoryMovement movement = new InventoryMovement();
+    movement.setProduct(product);
+    movement.setQuantity(1);
+    return movement;
+  }
+}
@@ -0,0 +1,82 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.CategoryMarginResponse;
+import cl.pymerp.minimarket.api.ProductSalesResponse;
+import cl.pymerp.minimarket.repository.SalesAnalyticsRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class SalesAnalyticsServiceTest {
+  private static final ZoneId ZONE = ZoneId.of("America/Santiago");
+
+  @Test
+  void topProductosSumaTodosLosDiasYCacheaDiasCerrados() {
+    SalesAnalyticsRepository repository = Mockito.mock(SalesAnalyticsRepository.class);
+    SalesAnalyticsService service = new SalesAnalyticsService(repository, Runnable::run, ZONE.getId(), 31, 731, 800);
+    LocalDate from = LocalDate.of(2024, 3, 1);
+    LocalDate to = LocalDate.of(2024, 3, 2);
+    UUID pan = UUID.randomUUID();
+    UUID leche = UUID.randomUUID();
+
+    when(repository.findProductSalesByDay(from, to, ZONE)).thenReturn(Map.of(
+        from, List.of(line(pan, "Pan", 5, "5000", "3000"), line(leche, "Leche", 4, "4400", "3600")),
+        to, List.of(line(pan, "Pan", 2, "2000", "1200"))));
+    when(repository.findHourlySalesByDay(from, to, ZONE)).thenReturn(Map.of());
+
+    List<ProductSalesResponse> top = service.topProducts(from, to, "units", null, 1);
+    assertEquals(1, top.size());
+    assertEquals("Pan", top.get(0).getName());
+    assertEquals(7, top.get(0).getUnits());
+    assertEquals(new BigDecimal("7000"), top.get(0).getRevenue());
+
+    service.topProducts(from, to, "revenue", null, 10);
+    verify(repository, times(1)).findProductSalesByDay(from, to, ZONE);
+  }
+
+  @Test
+  void margenPorCategoriaUsaCostoDelProducto() {
+    SalesAnalyticsRepository repository = Mockito.mock(SalesAnalyticsRepository.class);
+    SalesAnalyticsService service = new SalesAnalyticsService(repository, Runnable::run, ZONE.getId(), 31, 731, 800);
+    LocalDate day = LocalDate.of(2024, 3, 1);
+
+    when(repository.findProductSalesByDay(day, day, ZONE)).thenReturn(Map.of(
+        day, List.of(line(UUID.randomUUID(), "Pan", 10, "10000", "6000"))));
+    when(repository.findHourlySalesByDay(day, day, ZONE)).thenReturn(Map.of());
+
+    List<CategoryMarginResponse> margins = service.categoryMargin(day, day);
+    assertEquals(1, margins.size());
+    assertEquals(new BigDecimal("4000"), margins.get(0).getGrossMargin());
+    assertEquals(new BigDecimal("0.4000"), margins.get(0).getMarginRate());
+  }
+
+  @Test
+  void rangoInvertidoSeRechaza() {
+    SalesAnalyticsService service = new SalesAnalyticsService(
+        Mockito.mock(SalesAnalyticsRepository.class), Runnable::run, ZONE.getId(), 31, 731, 800);
+    assertThrows(IllegalArgumentException.class,
+        () -> service.heatmap(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 1)));
+  }
+
+  private ProductSalesResponse line(UUID id, String name, long units, String revenue, String cost) {
+    return ProductSalesResponse.builder()
+        .productId(id)
+        .name(name)
+        .categoryName("Despensa")
+        .units(units)
+        .revenue(new BigDecimal(revenue))
+        .cost(new BigDecimal(cost))
+        .build();
+  }
+}
@@ -0,0 +1,49 @@
+package cl.pymerp.minimarket.service;
+
+import static org.mockito.Mockito.verify;
+
+import cl.pymerp.minimarket.domain.PaymentMethod;
+import cl.pymerp.minimarket.domain.SaleType;
+import cl.pymerp.minimarket.repository.SalesSummaryRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class SalesRollupServiceTest {
+  @Test
+  void ventaNocturnaSeAcumulaEnFechaLocalDeTienda() {
+    SalesSummaryRepository summaryRepository = Mockito.mock(SalesSummaryRepository.class);
+    SalesRollupService service = new SalesRollupService(summaryRepository, "America/Santiago");
+
+    OffsetDateTime utcAfterMidnight = OffsetDateTime.of(2026, 1, 15, 2, 30, 0, 0, ZoneOffset.UTC);
+    service.recordSale(SaleType.LOCAL_SALE, PaymentMethod.CASH, 1, new BigDecimal("2500"), utcAfterMidnight);
+
+    verify(summaryRepository).increment(
+        LocalDate.of(2026, 1, 14),
+        SaleType.LOCAL_SALE,
+        "CASH",
+        23,
+        1,
+        new BigDecimal("2500"));
+  }
+
+  @Test
+  void pagoWebSinMedioSeRegistraComoNoEspecificado() {
+    SalesSummaryRepository summaryRepository = Mockito.mock(SalesSummaryRepository.class);
+    SalesRollupService service = new SalesRollupService(summaryRepository, "America/Santiago");
+
+    OffsetDateTime at = OffsetDateTime.of(2026, 7, 10, 16, 0, 0, 0, ZoneOffset.UTC);
+    service.recordSale(SaleType.WEB_ORDER, null, 3, new BigDecimal("9000"), at);
+
+    verify(summaryRepository).increment(
+        LocalDate.of(2026, 7, 10),
+        SaleType.WEB_ORDER,
+        "UNSPECIFIED",
+        12,
+        3,
+        new BigDecimal("9000"));
+  }
+}
@@ -0,0 +1,125 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.ShiftCloseRequest;
+import cl.pymerp.minimarket.api.ShiftOpenRequest;
+import cl.pymerp.minimarket.api.ShiftReportResponse;
+import cl.pymerp.minimarket.domain.PaymentMethod;
+import cl.pymerp.minimarket.domain.RegisterShift;
+import cl.pymerp.minimarket.domain.ShiftStatus;
+import cl.pymerp.minimarket.domain.User;
+import cl.pymerp.minimarket.repository.RegisterShiftRepository;
+import cl.pymerp.minimarket.repository.ShiftTotalsRepository;
+import cl.pymerp.minimarket.repository.UserRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class ShiftServiceTest {
+  @Test
+  void cierreCalculaInformeZDesdeTotalesAcumulados() {
+    RegisterShiftRepository shiftRepository = Mockito.mock(RegisterShiftRepository.class);
+    ShiftTotalsRepository totalsRepository = Mockito.mock(ShiftTotalsRepository.class);
+    ShiftService service = new ShiftService(shiftRepository, totalsRepository, Mockito.mock(UserRepository.class));
+    RegisterShift shift = shift();
+    when(shiftRepository.lockById(shift.getId())).thenReturn(Optional.of(shift));
+    when(shiftRepository.save(any(RegisterShift.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    when(totalsRepository.findByShift(shift.getId())).thenReturn(List.of(
+        total(PaymentMethod.CASH, 4, "12000.00"),
+        total(PaymentMethod.DEBIT, 2, "8500.00")));
+
+    ShiftCloseRequest request = new ShiftCloseRequest();
+    request.setCountedCash(new BigDecimal("41500.00"));
+    ShiftReportResponse report = service.close(shift.getId(), shift.getUser().getId(), false, request);
+
+    assertEquals(ShiftStatus.CLOSED, report.getStatus());
+    assertEquals(6, report.getSalesCount());
+    assertEquals(new BigDecimal("20500.00"), report.getTotalAmount());
+    assertEquals(new BigDecimal("42000.00"), report.getCashExpected());
+    assertEquals(new BigDecimal("-500.00"), report.getCashDifference());
+    assertEquals(3, report.getMethods().size());
+    assertEquals(0, report.getMethods().get(2).getSalesCount());
+  }
+
+  @Test
+  void turnoCerradoNoSePuedeCerrarDeNuevo() {
+    RegisterShiftRepository shiftRepository = Mockito.mock(RegisterShiftRepository.class);
+    ShiftService service = new ShiftService(
+        shiftRepository, Mockito.mock(ShiftTotalsRepository.class), Mockito.mock(UserRepository.class));
+    RegisterShift shift = shift();
+    shift.setStatus(ShiftStatus.CLOSED);
+    when(shiftRepository.lockById(shift.getId())).thenReturn(Optional.of(shift));
+
+    ShiftCloseRequest request = new ShiftCloseRequest();
+    request.setCountedCash(BigDecimal.ZERO);
+    assertThrows(ResponseStatusException.class, () -> service.close(shift.getId(), shift.getUser().getId(), false, request));
+  }
+
+  @Test
+  void otroCajeroNoPuedeCerrarNiVerElTurno() {
+    RegisterShiftRepository shiftRepository = Mockito.mock(RegisterShiftRepository.class);
+    ShiftService service = new ShiftService(
+        shiftRepository, Mockito.mock(ShiftTotalsRepository.class), Mockito.mock(UserRepository.class));
+    RegisterShift shift = shift();
+    when(shiftRepository.lockById(shift.getId())).thenReturn(Optional.of(shift));
+    when(shiftRepository.findById(shift.getId())).thenReturn(Optional.of(shift));
+
+    ShiftCloseRequest request = new ShiftCloseRequest();
+    request.setCountedCash(BigDecimal.ZERO);
+    ResponseStatusException close = assertThrows(ResponseStatusException.class,
+        () -> service.close(shift.getId(), UUID.randomUUID(), false, request));
+    ResponseStatusException report = assertThrows(ResponseStatusException.class,
+        () -> service.report(shift.getId(), UUID.randomUUID(), false));
+
+    assertEquals(HttpStatus.FORBIDDEN, close.getStatusCode());
+    assertEquals(HttpStatus.FORBIDDEN, report.getStatusCode());
+    assertEquals(ShiftStatus.OPEN, shift.getStatus());
+  }
+
+  @Test
+  void aperturaConcurrenteRespondeConflicto() {
+    RegisterShiftRepository shiftRepository = Mockito.mock(RegisterShiftRepository.class);
+    UserRepository userRepository = Mockito.mock(UserRepository.class);
+    ShiftService service = new ShiftService(shiftRepository, Mockito.mock(ShiftTotalsRepository.class), userRepository);
+    RegisterShift shift = shift();
+    when(userRepository.findById(shift.getUser().getId())).thenReturn(Optional.of(shift.getUser()));
+    when(shiftRepository.saveAndFlush(any(RegisterShift.class)))
+        .thenThrow(new DataIntegrityViolationException("idx_register_shifts_open_user"));
+
+    ShiftOpenRequest request = new ShiftOpenRequest();
+    request.setTerminal("caja-1");
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> service.open(shift.getUser().getId(), request));
+
+    assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+  }
+
+  private RegisterShift shift() {
+    User user = new User();
+    user.setId(UUID.randomUUID());
+    RegisterShift shift = new RegisterShift();
+    shift.setId(UUID.randomUUID());
+    shift.setUser(user);
+    shift.setTerminal("caja-1");
+    shift.setOpeningCash(new BigDecimal("30000.00"));
+    return shift;
+  }
+
+  private ShiftReportResponse.MethodTotal total(PaymentMethod method, long count, String amount) {
+    return ShiftReportResponse.MethodTotal.builder()
+        .method(method)
+        .salesCount(count)
+        .totalAmount(new BigDecimal(amount))
+        .build();
+  }
+}
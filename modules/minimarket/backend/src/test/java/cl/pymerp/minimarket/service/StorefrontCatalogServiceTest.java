@@ -0,0 +1,68 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.StorefrontCatalogResponse;
+import cl.pymerp.minimarket.api.StorefrontCatalogResponse.ProductItem;
+import cl.pymerp.minimarket.repository.StorefrontRepository;
+import cl.pymerp.minimarket.repository.StorefrontRepository.CategoryRow;
+import cl.pymerp.minimarket.repository.StorefrontRepository.ProductRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class StorefrontCatalogServiceTest {
+  @Test
+  void agrupaProductosEnArbolYOmiteCategoriasVacias() {
+    UUID almacen = UUID.randomUUID();
+    UUID lacteos = UUID.randomUUID();
+    UUID vacia = UUID.randomUUID();
+    StorefrontCatalogResponse catalog = StorefrontCatalogService.build(
+        List.of(
+            new CategoryRow(almacen, "Almacen", null),
+            new CategoryRow(lacteos, "Lacteos", almacen),
+            new CategoryRow(vacia, "Vacia", null)),
+        List.of(
+            new ProductRow(lacteos, item("Leche")),
+            new ProductRow(null, item("Bolsa"))));
+
+    assertEquals(1, catalog.getCategories().size());
+    assertEquals("Almacen", catalog.getCategories().get(0).getName());
+    assertEquals("Leche", catalog.getCategories().get(0).getChildren().get(0).getProducts().get(0).getName());
+    assertEquals("Bolsa", catalog.getUncategorized().get(0).getName());
+  }
+
+  @Test
+  void snapshotGuardaGzipEquivalenteYNoCambiaSiElContenidoEsIgual() throws Exception {
+    StorefrontRepository repository = Mockito.mock(StorefrontRepository.class);
+    when(repository.findVisibleCategories()).thenReturn(List.of());
+    when(repository.findVisibleProducts()).thenReturn(List.of(new ProductRow(null, item("Pan"))));
+    StorefrontCatalogService service = new StorefrontCatalogService(repository, new ObjectMapper(), Runnable::run);
+
+    StorefrontSnapshot first = service.current();
+    service.onProductChanged(new ProductChangedEvent(UUID.randomUUID()));
+    service.refreshIfDirty();
+
+    assertSame(first, service.current());
+    try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(first.getGzip()))) {
+      assertArrayEquals(first.getJson(), input.readAllBytes());
+    }
+  }
+
+  private ProductItem item(String name) {
+    return ProductItem.builder()
+        .id(UUID.randomUUID())
+        .name(name)
+        .price(new BigDecimal("990"))
+        .available(true)
+        .build();
+  }
+}
@@ -0,0 +1,91 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.SyncChangesResponse;
+import cl.pymerp.minimarket.repository.SyncRepository;
+import cl.pymerp.minimarket.repository.SyncRepository.ProductChange;
+import cl.pymerp.minimarket.repository.SyncRepository.Tombstone;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class SyncServiceTest {
+  private final SyncRepository repository = Mockito.mock(SyncRepository.class);
+  private final SyncService service = new SyncService(repository, new ObjectMapper(), 2, 60000);
+
+  @Test
+  void cambiosSeparanDesactivadosComoEliminadosYAvanzanVersion() {
+    UUID pan = UUID.randomUUID();
+    UUID leche = UUID.randomUUID();
+    UUID categoria = UUID.randomUUID();
+    when(repository.watermark()).thenReturn(900L);
+    when(repository.findProducts(100, 900, 3)).thenReturn(List.of(
+        new ProductChange(true, product(pan)), new ProductChange(false, product(leche))));
+    when(repository.findTombstones(100, 900, 3)).thenReturn(List.of(new Tombstone("category", categoria)));
+
+    SyncChangesResponse changes = service.changes(100);
+
+    assertEquals(900, changes.getVersion());
+    assertFalse(changes.isResetRequired());
+    assertEquals(1, changes.getProducts().size());
+    assertEquals(pan, changes.getProducts().get(0).getId());
+    assertEquals(List.of(leche), changes.getRemovedProductIds());
+    assertEquals(List.of(categoria), changes.getRemovedCategoryIds());
+  }
+
+  @Test
+  void demasiadosCambiosPidenSnapshot() {
+    when(repository.watermark()).thenReturn(900L);
+    when(repository.findProducts(100, 900, 3)).thenReturn(List.of(
+        new ProductChange(true, product(UUID.randomUUID())),
+        new ProductChange(true, product(UUID.randomUUID())),
+        new ProductChange(true, product(UUID.randomUUID()))));
+
+    SyncChangesResponse changes = service.changes(100);
+
+    assertTrue(changes.isResetRequired());
+    assertEquals(100, changes.getVersion());
+    assertNull(changes.getProducts());
+  }
+
+  @Test
+  void versionAlDiaNoConsultaTablas() {
+    when(repository.watermark()).thenReturn(900L);
+
+    assertFalse(service.changes(900).isResetRequired());
+    assertTrue(service.changes(901).isResetRequired());
+    verify(repository, never()).findProducts(anyLong(), anyLong(), anyInt());
+  }
+
+  @Test
+  void snapshotSeReutilizaDentroDelTtl() {
+    when(repository.watermark()).thenReturn(900L);
+    when(repository.findActiveProducts()).thenReturn(List.of(product(UUID.randomUUID())));
+
+    SyncSnapshot first = service.snapshot();
+    SyncSnapshot second = service.snapshot();
+
+    assertSame(first, second);
+    assertEquals(900, first.getVersion());
+    assertTrue(first.getGzip().length > 0);
+    verify(repository, times(1)).findActiveProducts();
+  }
+
+  private SyncChangesResponse.Product product(UUID id) {
+    return SyncChangesResponse.Product.builder().id(id).name("Pan").unit("kg").price(new BigDecimal("1990")).build();
+  }
+}
@@ -0,0 +1,91 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cl.pymerp.minimarket.domain.WebOrder;
+import cl.pymerp.minimarket.domain.WebOrderStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class WebOrderBoardTest {
+  @Test
+  void tableroEntregaSoloEventosPosterioresAlCursor() {
+    WebOrderBoard board = new WebOrderBoard(10, 10, Runnable::run);
+    WebOrder order = new WebOrder();
+    order.setId(UUID.randomUUID());
+    order.setCustomerName("Cliente");
+
+    board.onOrderChanged(new WebOrderChangedEvent(order, true));
+    order.setStatus(WebOrderStatus.PREPARED);
+    board.onOrderChanged(new WebOrderChangedEvent(order, false));
+
+    var page = board.since(1);
+    assertFalse(page.isReset());
+    assertEquals(2, page.getCursor());
+    assertEquals(1, page.getEvents().size());
+    assertEquals("STATUS_CHANGED", page.getEvents().get(0).getType());
+    assertEquals(WebOrderStatus.PREPARED, page.getEvents().get(0).getStatus());
+    assertTrue(board.since(2).getEvents().isEmpty());
+  }
+
+  @Test
+  void cursorFueraDeVentanaPideRecargarTablero() {
+    WebOrderBoard board = new WebOrderBoard(2, 10, Runnable::run);
+    WebOrder order = new WebOrder();
+    order.setId(UUID.randomUUID());
+    for (int i = 0; i < 5; i++) {
+      board.onOrderChanged(new WebOrderChangedEvent(order, false));
+    }
+
+    assertTrue(board.since(1).isReset());
+    assertTrue(board.since(99).isReset());
+    assertFalse(board.since(3).isReset());
+    assertEquals(2, board.since(3).getEvents().size());
+  }
+
+  @Test
+  void suscriptorLentoNoBloqueaAlQueConfirmaYSeDesconectaAlDesbordar() {
+    List<Runnable> pending = new ArrayList<>();
+    WebOrderBoard board = new WebOrderBoard(10, 2, pending::add);
+    List<Long> received = new ArrayList<>();
+    AtomicInteger overflows = new AtomicInteger();
+    board.subscribe(event -> received.add(event.getSequence()), overflows::incrementAndGet);
+    WebOrder order = new WebOrder();
+    order.setId(UUID.randomUUID());
+
+    board.onOrderChanged(new WebOrderChangedEvent(order, true));
+    board.onOrderChanged(new WebOrderChangedEvent(order, false));
+    assertTrue(received.isEmpty());
+    assertEquals(1, pending.size());
+
+    board.onOrderChanged(new WebOrderChangedEvent(order, false));
+    board.onOrderChanged(new WebOrderChangedEvent(order, false));
+    while (!pending.isEmpty()) {
+      pending.remove(0).run();
+    }
+
+    assertTrue(received.isEmpty());
+    assertEquals(1, overflows.get());
+    board.onOrderChanged(new WebOrderChangedEvent(order, false));
+    assertTrue(pending.isEmpty());
+  }
+
+  @Test
+  void suscriptorAlDiaRecibeEventosEnOrden() {
+    WebOrderBoard board = new WebOrderBoard(10, 2, Runnable::run);
+    List<Long> received = new ArrayList<>();
+    board.subscribe(event -> received.add(event.getSequence()));
+    WebOrder order = new WebOrder();
+    order.setId(UUID.randomUUID());
+    for (int i = 0; i < 5; i++) {
+      board.onOrderChanged(new WebOrderChangedEvent(order, false));
+    }
+
+    assertEquals(List.of(1L, 2L, 3L, 4L, 5L), received);
+  }
+}
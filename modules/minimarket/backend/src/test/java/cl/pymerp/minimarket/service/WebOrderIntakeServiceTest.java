@@ -0,0 +1,111 @@
+package cl.pymerp.minimarket.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import cl.pymerp.minimarket.api.WebOrderRequest;
+import cl.pymerp.minimarket.domain.IntakeStatus;
+import cl.pymerp.minimarket.domain.WebOrderIntake;
+import cl.pymerp.minimarket.repository.WebOrderIntakeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class WebOrderIntakeServiceTest {
+  @Test
+  void colaLlenaRechazaNuevosPedidos() {
+    WebOrderIntakeRepository intakeRepository = Mockito.mock(WebOrderIntakeRepository.class);
+    WebOrderService webOrderService = Mockito.mock(WebOrderService.class);
+
+    WebOrderIntakeService service = new WebOrderIntakeService(
+        intakeRepository,
+        webOrderService,
+        new ObjectMapper(),
+        2,
+        3,
+        1000);
+
+    when(intakeRepository.countByStatus(IntakeStatus.QUEUED)).thenReturn(2L);
+
+    WebOrderRequest request = new WebOrderRequest();
+    request.setCustomerName("Cliente");
+    request.setCustomerPhone("+56900000000");
+
+    assertThrows(ResponseStatusException.class, () -> service.enqueue(request));
+  }
+
+  @Test
+  void pedidoSinStockQuedaRechazadoConMotivo() {
+    WebOrderIntakeRepository intakeRepository = Mockito.mock(WebOrderIntakeRepository.class);
+    WebOrderService webOrderService = Mockito.mock(WebOrderService.class);
+
+    WebOrderIntakeService service = new WebOrderIntakeService(
+        intakeRepository,
+        webOrderService,
+        new ObjectMapper(),
+        100,
+        3,
+        1000);
+
+    UUID intakeId = UUID.randomUUID();
+    WebOrderIntake intake = new WebOrderIntake();
+    intake.setId(intakeId);
+    when(intakeRepository.findById(intakeId)).thenReturn(Optional.of(intake));
+
+    service.markFailed(intakeId, new IllegalArgumentException("stock insuficiente para producto: Arroz"));
+
+    assertEquals(IntakeStatus.REJECTED, intake.getStatus());
+    assertEquals("stock insuficiente para producto: Arroz", intake.getError());
+    assertEquals(1, intake.getAttempts());
+  }
+
+  @Test
+  void falloTransitorioSeReintentaConEspera() {
+    WebOrderIntakeRepository intakeRepository = Mockito.mock(WebOrderIntakeRepository.class);
+    WebOrderIntakeService service = new WebOrderIntakeService(
+        intakeRepository,
+        Mockito.mock(WebOrderService.class),
+        new ObjectMapper(),
+        100,
+        3,
+        1000);
+
+    UUID intakeId = UUID.randomUUID();
+    WebOrderIntake intake = new WebOrderIntake();
+    intake.setId(intakeId);
+    when(intakeRepository.findById(intakeId)).thenReturn(Optional.of(intake));
+
+    service.markFailed(intakeId, new IllegalStateException("conexion perdida"));
+    assertEquals(IntakeStatus.QUEUED, intake.getStatus());
+    assertTrue(intake.getNextAttemptAt().isAfter(OffsetDateTime.now().plus(Duration.ofMillis(500))));
+
+    service.markFailed(intakeId, new IllegalStateException("conexion perdida"));
+    assertTrue(intake.getNextAttemptAt().isAfter(OffsetDateTime.now().plus(Duration.ofMillis(1500))));
+
+    service.markFailed(intakeId, new IllegalStateException("conexion perdida"));
+    assertEquals(IntakeStatus.REJECTED, intake.getStatus());
+  }
+
+  @Test
+  void seguimientoDesconocidoResponde404() {
+    WebOrderIntakeRepository intakeRepository = Mockito.mock(WebOrderIntakeRepository.class);
+    WebOrderIntakeService service = new WebOrderIntakeService(
+        intakeRepository,
+        Mockito.mock(WebOrderService.class),
+        new ObjectMapper(),
+        100,
+        3,
+        1000);
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.find(UUID.randomUUID()));
+    assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+  }
+}
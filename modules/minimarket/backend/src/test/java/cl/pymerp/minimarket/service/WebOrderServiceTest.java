@@ -1,22 +1,37 @@
 package cl.pymerp.minimarket.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import cl.pymerp.minimarket.api.WebOrderItemRequest;
 import cl.pymerp.minimarket.api.WebOrderRequest;
+import cl.pymerp.minimarket.api.WebOrderBulkStatusResult;
+import cl.pymerp.minimarket.domain.InventoryMovement;
 import cl.pymerp.minimarket.domain.Product;
+import cl.pymerp.minimarket.domain.ReservationStatus;
+import cl.pymerp.minimarket.domain.StockReservation;
+import cl.pymerp.minimarket.domain.User;
+import cl.pymerp.minimarket.domain.WebOrder;
+import cl.pymerp.minimarket.domain.WebOrderStatus;
 import cl.pymerp.minimarket.repository.InventoryMovementRepository;
 import cl.pymerp.minimarket.repository.ProductRepository;
 import cl.pymerp.minimarket.repository.StockReservationRepository;
 import cl.pymerp.minimarket.repository.UserRepository;
 import cl.pymerp.minimarket.repository.WebOrderRepository;
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 class WebOrderServiceTest {
   @Test
@@ -34,7 +49,11 @@ class WebOrderServiceTest {
         reservationRepository,
         movementRepository,
         userRepository,
-        inventoryService);
+        inventoryService,
+        Mockito.mock(ApplicationEventPublisher.class),
+        Mockito.mock(OutboxService.class),
+        Mockito.mock(SalesRollupService.class),
+        Mockito.mock(CostLayerService.class));
 
     UUID productId = UUID.randomUUID();
     Product product = new Product();
@@ -57,4 +76,114 @@ class WebOrderServiceTest {
 
     assertThrows(IllegalArgumentException.class, () -> service.createOrder(request));
   }
+
+  @Test
+  void lineasRepetidasDelMismoProductoSumanContraElStockBloqueado() {
+    ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+    InventoryService inventoryService = Mockito.mock(InventoryService.class);
+    WebOrderService service = new WebOrderService(
+        Mockito.mock(WebOrderRepository.class),
+        productRepository,
+        Mockito.mock(StockReservationRepository.class),
+        Mockito.mock(InventoryMovementRepository.class),
+        Mockito.mock(UserRepository.class),
+        inventoryService,
+        Mockito.mock(ApplicationEventPublisher.class),
+        Mockito.mock(OutboxService.class),
+        Mockito.mock(SalesRollupService.class),
+        Mockito.mock(CostLayerService.class));
+
+    UUID productId = UUID.randomUUID();
+    Product product = new Product();
+    product.setId(productId);
+    product.setName("Aceite");
+    product.setPrice(BigDecimal.valueOf(2500));
+    when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+    when(inventoryService.getStockOnHand(productId)).thenReturn(3L);
+    when(inventoryService.getReserved(productId)).thenReturn(0L);
+
+    WebOrderItemRequest first = new WebOrderItemRequest();
+    first.setProductId(productId);
+    first.setQuantity(2);
+    WebOrderItemRequest second = new WebOrderItemRequest();
+    second.setProductId(productId);
+    second.setQuantity(2);
+    WebOrderRequest request = new WebOrderRequest();
+    request.setCustomerName("Cliente");
+    request.setCustomerPhone("+56900000000");
+    request.setItems(List.of(first, second));
+
+    assertThrows(IllegalArgumentException.class, () -> service.createOrder(request));
+    verify(productRepository).lockAllById(Set.of(productId));
+  }
+
+  @Test
+  void entregaMasivaRespetaStockEntrePedidos() {
+    WebOrderRepository webOrderRepository = Mockito.mock(WebOrderRepository.class);
+    ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+    StockReservationRepository reservationRepository = Mockito.mock(StockReservationRepository.class);
+    InventoryMovementRepository movementRepository = Mockito.mock(InventoryMovementRepository.class);
+    UserRepository userRepository = Mockito.mock(UserRepository.class);
+    InventoryService inventoryService = Mockito.mock(InventoryService.class);
+
+    WebOrderService service = new WebOrderService(
+        webOrderRepository,
+        productRepository,
+        reservationRepository,
+        movementRepository,
+        userRepository,
+        inventoryService,
+        Mockito.mock(ApplicationEventPublisher.class),
+        Mockito.mock(OutboxService.class),
+        Mockito.mock(SalesRollupService.class),
+        Mockito.mock(CostLayerService.class));
+
+    UUID userId = UUID.randomUUID();
+    User user = new User();
+    user.setId(userId);
+    Product product = new Product();
+    product.setId(UUID.randomUUID());
+    product.setName("Leche");
+
+    WebOrder first = order(WebOrderStatus.PENDING);
+    WebOrder second = order(WebOrderStatus.PENDING);
+    WebOrder delivered = order(WebOrderStatus.DELIVERED);
+    UUID missing = UUID.randomUUID();
+
+    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(webOrderRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(first, second, delivered));
+    when(reservationRepository.findByWebOrderIdInAndStatus(Mockito.anyCollection(), Mockito.eq(ReservationStatus.ACTIVE)))
+        .thenReturn(List.of(reservation(first, product, 3), reservation(second, product, 3)));
+    when(inventoryService.getStockOnHand(Set.of(product.getId()))).thenReturn(new HashMap<>(Map.of(product.getId(), 4L)));
+
+    List<WebOrderBulkStatusResult> results = service.updateStatusBulk(
+        List.of(first.getId(), second.getId(), delivered.getId(), missing),
+        WebOrderStatus.DELIVERED,
+        userId);
+
+    assertEquals(4, results.size());
+    assertTrue(results.get(0).isUpdated());
+    assertFalse(results.get(1).isUpdated());
+    assertEquals("stock insuficiente para entregar pedido", results.get(1).getError());
+    assertEquals("pedido ya finalizado", results.get(2).getError());
+    assertEquals("pedido no encontrado", results.get(3).getError());
+    assertEquals(WebOrderStatus.DELIVERED, first.getStatus());
+    assertEquals(WebOrderStatus.PENDING, second.getStatus());
+    verify(movementRepository).saveAll(Mockito.<List<InventoryMovement>>argThat(movements -> movements.size() == 1));
+  }
+
+  private WebOrder order(WebOrderStatus status) {
+    WebOrder order = new WebOrder();
+    order.setId(UUID.randomUUID());
+    order.setStatus(status);
+    return order;
+  }
+
+  private StockReservation reservation(WebOrder order, Product product, int quantity) {
+    StockReservation reservation = new StockReservation();
+    reservation.setWebOrder(order);
+    reservation.setProduct(product);
+    reservation.setQuantity(quantity);
+    return reservation;
+  }
 }
@@ -223,12 +223,18 @@ export function App() {
           setStockById(next);
           setFirestoreCompanyId(companyId ?? activeProducts.find((p) => p.companyId)?.companyId ?? null);
         } else {
-          const response = await fetch(`${API_BASE}/api/products`);
-          if (!response.ok) {
-            if (active) setLoading(false);
-            return;
-          }
-          const data: Product[] = await response.json();
+          const data: Product[] = [];
+          let cursor: string | null = null;
+          do {
+            const query = cursor ? `?limit=500&cursor=${encodeURIComponent(cursor)}` : '?limit=500';
+            const response = await fetch(`${API_BASE}/api/products${query}`);
+            if (!response.ok) {
+              if (active) setLoading(false);
+              return;
+            }
+            data.push(...((await response.json()) as Product[]));
+            cursor = response.headers.get('X-Next-Cursor');
+          } while (cursor);
           if (!active) return;
           const activeProducts = data.filter((item) => item.active);
           setCompanyProducts(data);